@@ -0,0 +1,55 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados determinísticos usados pelos benchmarks.
+ *
+ * Sempre os mesmos valores para o mesmo tamanho, para que os resultados de
+ * duas versões sejam comparáveis.
+ */
+final class DadosBenchmark {
+
+    private static final String[] GENEROS = {"Rock", "Metal", "Pop", "Jazz", "Blues", "MPB"};
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Álbum válido segundo as regras do AlbumService (id null → criação).
+     */
+    static AlbumModel album(int i) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo("Álbum de estúdio número " + i);
+        album.setBanda("Banda " + (i % 500));
+        album.setAno(1960 + (i % 60));
+        album.setGenero(GENEROS[i % GENEROS.length]);
+        album.setPreco(new BigDecimal("39.90").add(BigDecimal.valueOf(i % 100)));
+        return album;
+    }
+
+    /**
+     * Lista de entidades com IDs preenchidos, como viriam do banco.
+     */
+    static List<AlbumModel> albuns(int quantidade) {
+        List<AlbumModel> albuns = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            AlbumModel album = album(i);
+            album.setId((long) i + 1);
+            albuns.add(album);
+        }
+        return albuns;
+    }
+
+    /**
+     * Lista de DTOs, como a devolvida pelas consultas de leitura.
+     */
+    static List<AlbumDTO> dtos(int quantidade) {
+        return albuns(quantidade).stream().map(AlbumDTO::de).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Ponto de entrada do benchmarks.jar.
+ *
+ * Executa o JMH com as opções recebidas na linha de comando e sempre:
+ * - com o profiler de GC (-prof gc): bytes alocados por operação e coletas
+ * - gravando o resultado completo do JMH em resultados/jmh.json
+ * - gravando um resumo em resultados/resumo.tsv, ordenado por benchmark e
+ *   parâmetros, com uma linha por medição. Esse arquivo é feito para ser
+ *   versionado e comparado com diff entre duas versões da API.
+ * - gravando em resultados/tamanhos.tsv o tamanho das respostas em cada
+ *   formato (JSON, CBOR, Smile), com e sem gzip
+ *
+ * A pasta de saída pode ser trocada com -Dresultados=<pasta>.
+ */
+public final class ExecutarBenchmarks {
+
+    // Métrica secundária do GCProfiler com os bytes alocados por operação
+    private static final String ALOCACAO_POR_OPERACAO = "gc.alloc.rate.norm";
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path pasta = Path.of(System.getProperty("resultados", "resultados"));
+        Files.createDirectories(pasta);
+
+        Options opcoes = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(pasta.resolve("jmh.json").toString())
+            .build();
+
+        Collection<RunResult> resultados = new Runner(opcoes).run();
+        Path resumo = pasta.resolve("resumo.tsv");
+        escreverResumo(resultados, resumo);
+        System.out.println("Resumo gravado em " + resumo.toAbsolutePath());
+
+        Path tamanhos = pasta.resolve("tamanhos.tsv");
+        FormatosRespostaBenchmark.escreverTamanhos(tamanhos);
+        System.out.println("Tamanhos gravados em " + tamanhos.toAbsolutePath());
+    }
+
+    /**
+     * Grava uma linha por benchmark/parâmetros, com colunas fixas separadas por TAB:
+     * benchmark, parametros, modo, score, erro, unidade, bytes_por_op
+     */
+    static void escreverResumo(Collection<RunResult> resultados, Path arquivo) throws IOException {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("# jdk=" + System.getProperty("java.version"));
+        linhas.add("benchmark\tparametros\tmodo\tscore\terro\tunidade\tbytes_por_op");
+
+        resultados.stream()
+            .sorted(Comparator.comparing((RunResult r) -> r.getParams().getBenchmark())
+                .thenComparing(r -> parametros(r.getParams())))
+            .forEach(resultado -> {
+                BenchmarkParams params = resultado.getParams();
+                Result<?> principal = resultado.getPrimaryResult();
+                Result<?> alocacao = resultado.getSecondaryResults().get(ALOCACAO_POR_OPERACAO);
+                linhas.add(String.join("\t",
+                    params.getBenchmark().replace(ExecutarBenchmarks.class.getPackageName() + ".", ""),
+                    parametros(params),
+                    params.getMode().shortLabel(),
+                    numero(principal.getScore()),
+                    numero(principal.getScoreError()),
+                    principal.getScoreUnit(),
+                    alocacao != null ? numero(alocacao.getScore()) : "-"));
+            });
+
+        Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+    }
+
+    private static String parametros(BenchmarkParams params) {
+        if (params.getParamsKeys().isEmpty()) {
+            return "-";
+        }
+        return params.getParamsKeys().stream()
+            .sorted()
+            .map(chave -> chave + "=" + params.getParam(chave))
+            .collect(Collectors.joining(","));
+    }
+
+    // Locale.ROOT: ponto decimal fixo, independente do idioma da máquina
+    private static String numero(double valor) {
+        return Double.isNaN(valor) ? "-" : String.format(Locale.ROOT, "%.3f", valor);
+    }
+}
@@ -0,0 +1,118 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.serializacao.FormatoResposta;
+import com.exercicioPratico.LabProgramacao.serializacao.SerializadorRespostas;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de codificar e decodificar a listagem de álbuns em cada formato de
+ * resposta negociável (JSON, CBOR e Smile).
+ *
+ * O tempo de CPU é medido pelo JMH; o tamanho dos corpos (com e sem gzip) não
+ * depende de medição e é gravado à parte por escreverTamanhos(), em
+ * resultados/tamanhos.tsv.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FormatosRespostaBenchmark {
+
+    private static final int[] TAMANHOS = {1, 100, 10000};
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public FormatoResposta formato;
+
+    @Param({"1", "100", "10000"})
+    public int tamanho;
+
+    private SerializadorRespostas serializador;
+    private ObjectReader leitor;
+    private List<AlbumDTO> albuns;
+    private byte[] corpo;
+
+    @Setup
+    public void preparar() {
+        serializador = novoSerializador();
+        leitor = serializador.mapper(formato).readerFor(new TypeReference<List<AlbumDTO>>() { });
+        albuns = DadosBenchmark.dtos(tamanho);
+        corpo = serializador.serializar(albuns, formato);
+    }
+
+    /**
+     * Lado do servidor: GET /api/albuns em uma falta do cache de respostas.
+     */
+    @Benchmark
+    public byte[] codificar() {
+        return serializador.serializar(albuns, formato);
+    }
+
+    /**
+     * Lado do cliente: leitura da mesma resposta.
+     */
+    @Benchmark
+    public List<AlbumDTO> decodificar() throws IOException {
+        return leitor.readValue(corpo);
+    }
+
+    /**
+     * Grava o tamanho da listagem em cada formato, sem e com gzip, com colunas
+     * separadas por TAB: formato, tamanho, bytes, bytes_gzip.
+     * Os dados são determinísticos, então o arquivo só muda quando o formato muda.
+     */
+    static void escreverTamanhos(Path arquivo) throws IOException {
+        SerializadorRespostas serializador = novoSerializador();
+        List<String> linhas = new ArrayList<>();
+        linhas.add("formato\ttamanho\tbytes\tbytes_gzip");
+        for (FormatoResposta formato : FormatoResposta.values()) {
+            for (int tamanho : TAMANHOS) {
+                byte[] corpo = serializador.serializar(DadosBenchmark.dtos(tamanho), formato);
+                linhas.add(formato + "\t" + tamanho + "\t" + corpo.length + "\t" + gzip(corpo).length);
+            }
+        }
+        Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+    }
+
+    // Mesmo ObjectMapper da aplicação, como em SerializacaoJsonBenchmark
+    private static SerializadorRespostas novoSerializador() {
+        return new SerializadorRespostas(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    // Nível padrão do Deflater, o mesmo usado pela compressão do Tomcat
+    private static byte[] gzip(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,52 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo da conversão AlbumModel → AlbumDTO feita no AlbumController
+ * (POST /batch, PUT e POST devolvem DTOs criados a partir das entidades).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapeamentoDTOBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int tamanho;
+
+    private List<AlbumModel> albuns;
+
+    @Setup
+    public void preparar() {
+        albuns = DadosBenchmark.albuns(tamanho);
+    }
+
+    /**
+     * Mesmo código do AlbumController.criarAlbunsEmLote.
+     */
+    @Benchmark
+    public List<AlbumDTO> mapearLista() {
+        return albuns.stream()
+            .map(AlbumDTO::de)
+            .collect(Collectors.toList());
+    }
+}
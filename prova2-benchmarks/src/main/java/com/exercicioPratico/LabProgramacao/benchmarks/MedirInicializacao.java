@@ -0,0 +1,199 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compara a inicialização da API com e sem o perfil Maven inicio-rapido
+ * (processamento AOT do Spring + arquivo AppCDS).
+ *
+ * Cada configuração sobe a aplicação várias vezes, como um processo novo,
+ * com o perfil Spring "embutido" (H2 em memória), e mede:
+ * - pronto_ms: do início do processo até /actuator/health/readiness responder 200
+ * - primeira_resposta_ms: duração da primeira requisição real (GET /api/albuns?limit=20)
+ * - ttfr_ms: do início do processo até o fim dessa primeira resposta
+ *   (time to first response)
+ * - rss_mb: memória residente do processo logo após a primeira resposta
+ *   (VmRSS de /proc; "-" fora do Linux)
+ * O resultado é a mediana das execuções, gravado em resultados/inicializacao.tsv.
+ *
+ * Configurações:
+ * - padrao: java -jar demo-0.0.1-SNAPSHOT-exec.jar
+ * - cds_aot: jar extraído, -XX:SharedArchiveFile e -Dspring.aot.enabled=true
+ * - cds_aot_aquecimento: o mesmo, com albuns.aquecimento.habilitado=true
+ *   (fica pronto mais tarde, mas a primeira resposta já encontra tudo carregado)
+ *
+ * Uso, depois de "mvn package -Pinicio-rapido" em prova2-crud-sebo e do
+ * package deste módulo (com o mesmo JDK do build: o .jsa só vale para ele):
+ * java -cp prova2-benchmarks/target/benchmarks.jar \
+ *     com.exercicioPratico.LabProgramacao.benchmarks.MedirInicializacao prova2-crud-sebo/target [repeticoes]
+ */
+public final class MedirInicializacao {
+
+    private static final String JAR = "demo-0.0.1-SNAPSHOT-exec.jar";
+    private static final Duration TEMPO_MAXIMO_SUBIDA = Duration.ofMinutes(2);
+
+    /**
+     * Argumentos da JVM e da aplicação de uma configuração.
+     */
+    private record Configuracao(String nome, List<String> jvm, Path jar, List<String> aplicacao) {
+    }
+
+    /**
+     * Medidas de uma execução.
+     */
+    private record Medida(double prontoMs, double primeiraRespostaMs, double ttfrMs, double rssMb) {
+    }
+
+    private MedirInicializacao() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(args.length > 0 ? args[0] : "prova2-crud-sebo/target");
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path pasta = Path.of(System.getProperty("resultados", "resultados"));
+        Files.createDirectories(pasta);
+
+        Path inicioRapido = target.resolve("inicio-rapido");
+        List<String> cdsAot = List.of(
+            "-XX:SharedArchiveFile=" + inicioRapido.resolve("aplicacao.jsa"),
+            "-Dspring.aot.enabled=true");
+        List<Configuracao> configuracoes = List.of(
+            new Configuracao("padrao", List.of(), target.resolve(JAR), List.of()),
+            new Configuracao("cds_aot", cdsAot, inicioRapido.resolve(JAR), List.of()),
+            new Configuracao("cds_aot_aquecimento", cdsAot, inicioRapido.resolve(JAR),
+                List.of("--albuns.aquecimento.habilitado=true")));
+
+        List<String> linhas = new ArrayList<>();
+        linhas.add("# jdk=" + System.getProperty("java.version") + " repeticoes=" + repeticoes);
+        linhas.add("configuracao\tpronto_ms\tprimeira_resposta_ms\tttfr_ms\trss_mb");
+        for (Configuracao configuracao : configuracoes) {
+            List<Medida> medidas = new ArrayList<>();
+            for (int i = 0; i < repeticoes; i++) {
+                medidas.add(medir(configuracao, pasta.resolve("inicializacao-" + configuracao.nome() + ".log")));
+            }
+            linhas.add(String.join("\t",
+                configuracao.nome(),
+                numero(mediana(medidas, Medida::prontoMs)),
+                numero(mediana(medidas, Medida::primeiraRespostaMs)),
+                numero(mediana(medidas, Medida::ttfrMs)),
+                numero(mediana(medidas, Medida::rssMb))));
+            System.out.println(linhas.get(linhas.size() - 1));
+        }
+
+        Path arquivo = pasta.resolve("inicializacao.tsv");
+        Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+        System.out.println("Inicialização gravada em " + arquivo.toAbsolutePath());
+    }
+
+    /**
+     * Sobe a aplicação, espera ficar pronta, faz a primeira requisição e encerra o processo.
+     */
+    private static Medida medir(Configuracao configuracao, Path log) throws Exception {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(configuracao.jvm());
+        comando.add("-jar");
+        comando.add(configuracao.jar().toString());
+        comando.add("--spring.profiles.active=embutido");
+        comando.add("--server.port=" + porta);
+        comando.addAll(configuracao.aplicacao());
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        String base = "http://localhost:" + porta;
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        try {
+            esperarPronto(cliente, base + "/actuator/health/readiness", processo, inicio);
+            long pronto = System.nanoTime();
+
+            HttpResponse<Void> resposta = cliente.send(
+                HttpRequest.newBuilder(URI.create(base + "/api/albuns?limit=20")).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+            long respondido = System.nanoTime();
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("Primeira requisição respondeu " + resposta.statusCode());
+            }
+
+            return new Medida(
+                milissegundos(pronto - inicio),
+                milissegundos(respondido - pronto),
+                milissegundos(respondido - inicio),
+                rssMb(processo.pid()));
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static void esperarPronto(HttpClient cliente, String url, Process processo, long inicio)
+            throws InterruptedException {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        while (System.nanoTime() - inicio < TEMPO_MAXIMO_SUBIDA.toNanos()) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação encerrou ao subir (código " + processo.exitValue() + ")");
+            }
+            try {
+                if (cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Servidor ainda não abriu a porta
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("A aplicação não ficou pronta em " + TEMPO_MAXIMO_SUBIDA);
+    }
+
+    // Memória residente (VmRSS, em kB) do processo; NaN quando /proc não existe
+    private static double rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return Double.NaN;
+        }
+        for (String linha : Files.readAllLines(status)) {
+            if (linha.startsWith("VmRSS:")) {
+                return Long.parseLong(linha.replaceAll("\\D", "")) / 1024.0;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double mediana(List<Medida> medidas, ToDoubleFunction<Medida> valor) {
+        double[] valores = medidas.stream().mapToDouble(valor).sorted().toArray();
+        int meio = valores.length / 2;
+        return valores.length % 2 == 1 ? valores[meio] : (valores[meio - 1] + valores[meio]) / 2;
+    }
+
+    private static double milissegundos(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // Locale.ROOT: ponto decimal fixo, independente do idioma da máquina
+    private static String numero(double valor) {
+        return Double.isNaN(valor) ? "-" : String.format(Locale.ROOT, "%.1f", valor);
+    }
+}
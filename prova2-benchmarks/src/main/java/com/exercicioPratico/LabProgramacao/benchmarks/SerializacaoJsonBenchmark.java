@@ -0,0 +1,66 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.PaginaAlbunsDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da serialização JSON das respostas de listagem pelo Jackson.
+ *
+ * O ObjectMapper é criado pelo Jackson2ObjectMapperBuilder, o mesmo usado pelo
+ * Spring Boot, para ter os mesmos módulos e configurações da aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializacaoJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<AlbumDTO> albuns;
+    private PaginaAlbunsDTO pagina;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        albuns = DadosBenchmark.dtos(tamanho);
+        pagina = new PaginaAlbunsDTO(albuns, "MTI6TWV0YWxsaWNh", (long) tamanho, null);
+    }
+
+    /**
+     * GET /api/albuns (lista simples, como fica guardada no cache de respostas).
+     */
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(albuns);
+    }
+
+    /**
+     * GET /api/albuns?limit=... (envelope da listagem paginada).
+     */
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,71 @@
+package com.exercicioPratico.LabProgramacao.benchmarks;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de AlbumService.salvar fora do banco: as validações de regra de negócio
+ * (Year.now(), comparações de BigDecimal.doubleValue()) e a publicação do
+ * evento de alteração.
+ *
+ * O AlbumRepository é substituído por um proxy cujo save() devolve o próprio
+ * álbum, então o resultado mede apenas o código da aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidacaoBenchmark {
+
+    private AlbumService albumService;
+    private AlbumModel album;
+
+    @Setup
+    public void preparar() {
+        AlbumRepository repositorio = (AlbumRepository) Proxy.newProxyInstance(
+            AlbumRepository.class.getClassLoader(),
+            new Class<?>[] {AlbumRepository.class},
+            (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("save")) {
+                    return argumentos[0];
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+
+        // Sequência de alterações sem banco: só o número gravado no álbum
+        AlteracoesRepository alteracoes = new AlteracoesRepository(null) {
+            @Override
+            public long proxima() {
+                return 1;
+            }
+        };
+
+        // Lote, Validator e índice não são usados por salvar() de um álbum novo
+        albumService = new AlbumService(repositorio, null, alteracoes, null, null, null, evento -> { },
+            500, 10_000, 1000, Duration.ofMinutes(1));
+        album = DadosBenchmark.album(42);
+    }
+
+    @Benchmark
+    public AlbumModel salvarNovoAlbum() {
+        return albumService.salvar(album);
+    }
+}
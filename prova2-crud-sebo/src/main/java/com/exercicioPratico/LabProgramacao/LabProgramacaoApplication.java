@@ -2,8 +2,11 @@ package com.exercicioPratico.LabProgramacao;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// @EnableScheduling: liga os métodos @Scheduled (ex: reconciliação das estatísticas do catálogo)
 @SpringBootApplication
+@EnableScheduling
 public class LabProgramacaoApplication {
 	
 	// Função principal que roda a aplicação
@@ -0,0 +1,204 @@
+package com.exercicioPratico.LabProgramacao.busca;
+
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.roteamento.LeituraNoPrimario;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.SequenciasAplicadas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Mantém o índice de trigramas do campo "banda" dos álbuns.
+ *
+ * - Na inicialização (antes do servidor web aceitar requisições) o índice é
+ *   reconstruído lendo todos os álbuns do banco em streaming.
+ * - Depois disso, é atualizado a cada escrita confirmada (AlbunsAlteradosEvent).
+ *   Alterações mais antigas que a última já aplicada ao mesmo álbum (eventos
+ *   entregues fora da ordem dos commits) são descartadas (SequenciasAplicadas).
+ * - Periodicamente (albuns.busca.reconstrucao) o índice é reconstruído a
+ *   partir do banco, corrigindo álbuns gravados por outra instância da
+ *   aplicação ou direto no MySQL, que não geram evento aqui.
+ *
+ * O índice só propõe candidatos: a busca confere a banda atual de cada
+ * álbum no banco (ver ConsultaAlbunsJpa), então um índice desatualizado
+ * nunca devolve um álbum que não contém o termo.
+ *
+ * Pode ser desligado com albuns.busca.indice-trigramas=false; nesse caso
+ * (ou enquanto não estiver pronto) a busca volta a usar o LIKE do banco.
+ */
+@Component
+public class IndiceBuscaAlbum implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaAlbum.class);
+
+    private final AlbumRepository albumRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final boolean habilitado;
+
+    private final IndiceTrigramas bandas = new IndiceTrigramas();
+
+    // Escritas recebidas durante uma reconstrução (null quando nenhuma está em andamento); protegido por "this"
+    private List<AlbunsAlteradosEvent.Alteracao> escritasDuranteReconstrucao;
+
+    // Descarta escritas entregues fora de ordem; protegido por "this"
+    private final SequenciasAplicadas sequencias = new SequenciasAplicadas();
+
+    // volatile: a thread de inicialização publica o índice para as threads das requisições
+    private volatile boolean pronto;
+
+    public IndiceBuscaAlbum(AlbumRepository albumRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${albuns.busca.indice-trigramas:true}") boolean habilitado) {
+        this.albumRepository = albumRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Chamado pelo Spring depois que todos os beans foram criados e antes
+     * do servidor web iniciar.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Periodicamente reconstrói o índice a partir do banco (se habilitado).
+     */
+    @Scheduled(fixedDelayString = "${albuns.busca.reconstrucao:10m}",
+        initialDelayString = "${albuns.busca.reconstrucao:10m}")
+    public void reconstruirPeriodicamente() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Relê todos os álbuns do banco e substitui o conteúdo do índice.
+     *
+     * A leitura do banco roda sem bloquear as escritas. As escritas
+     * confirmadas enquanto isso são guardadas e reaplicadas sobre o índice
+     * novo antes da troca: cada alteração traz a banda final do álbum, então
+     * reaplicar uma escrita que a leitura já viu não muda o resultado.
+     */
+    public void reconstruir() {
+        synchronized (this) {
+            if (escritasDuranteReconstrucao != null) {
+                return; // já existe uma reconstrução em andamento
+            }
+            escritasDuranteReconstrucao = new ArrayList<>();
+        }
+
+        long inicio = System.nanoTime();
+        IndiceTrigramas novo = new IndiceTrigramas();
+        try {
+            // Lê do primário: uma réplica atrasada deixaria álbuns já gravados fora do índice
+            LeituraNoPrimario.executar(() -> transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<AlbumRepository.BandaAlbum> albuns = albumRepository.streamBandas()) {
+                    albuns.forEach(album -> novo.indexar(album.getId(), album.getBanda()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                escritasDuranteReconstrucao = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (AlbunsAlteradosEvent.Alteracao alteracao : escritasDuranteReconstrucao) {
+                aplicar(novo, alteracao);
+            }
+            escritasDuranteReconstrucao = null;
+            bandas.substituirPor(novo);
+            sequencias.renovar();
+        }
+        pronto = true;
+        log.info("Índice de trigramas de bandas reconstruído: {} álbuns em {} ms",
+            bandas.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Indica se as buscas podem ser respondidas pelo índice.
+     */
+    public boolean pronto() {
+        return pronto;
+    }
+
+    /**
+     * IDs (em ordem crescente) dos álbuns cuja banda contém o termo.
+     */
+    public long[] buscarPorBanda(String termo) {
+        return bandas.buscar(termo);
+    }
+
+    /**
+     * Aplica uma escrita confirmada ao índice. É o primeiro listener a rodar,
+     * antes da invalidação do cache: uma busca recarregada logo após a
+     * invalidação já encontra o índice atualizado.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarAlbuns(AlbunsAlteradosEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        List<AlbunsAlteradosEvent.Alteracao> aplicaveis = sequencias.filtrar(evento.alteracoes());
+        if (aplicaveis.size() < evento.alteracoes().size()) {
+            log.warn("Escrita com {} alteração(ões) mais antiga(s) que a já aplicada ao álbum; descartada(s)",
+                evento.alteracoes().size() - aplicaveis.size());
+        }
+        for (AlbunsAlteradosEvent.Alteracao alteracao : aplicaveis) {
+            aplicar(bandas, alteracao);
+        }
+        if (escritasDuranteReconstrucao != null) {
+            escritasDuranteReconstrucao.addAll(aplicaveis);
+        }
+    }
+
+    private static void aplicar(IndiceTrigramas indice, AlbunsAlteradosEvent.Alteracao alteracao) {
+        if (alteracao.id() == null) {
+            return;
+        }
+        if (alteracao.tipo() == AlbunsAlteradosEvent.Tipo.EXCLUIDO) {
+            indice.remover(alteracao.id());
+        } else if (alteracao.bandaNova() != null) {
+            indice.indexar(alteracao.id(), alteracao.bandaNova());
+        }
+        // Atualização parcial sem mudança de banda: nada a fazer no índice
+    }
+
+    /**
+     * Atualiza o índice após a criação ou atualização de um álbum.
+     */
+    public void indexar(Long id, String banda) {
+        if (habilitado && id != null) {
+            bandas.indexar(id, banda);
+        }
+    }
+
+    /**
+     * Remove um álbum excluído do índice.
+     */
+    public void remover(Long id) {
+        if (habilitado && id != null) {
+            bandas.remover(id);
+        }
+    }
+}
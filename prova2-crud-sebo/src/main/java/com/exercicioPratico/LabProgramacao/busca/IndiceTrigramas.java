@@ -0,0 +1,184 @@
+package com.exercicioPratico.LabProgramacao.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para busca por substring ("contém").
+ *
+ * Uma consulta LIKE '%texto%' não consegue usar índice B-tree e sempre faz
+ * varredura completa da tabela. Este índice quebra cada texto em trigramas
+ * (sequências de 3 caracteres) e guarda, para cada trigrama, a lista dos IDs
+ * que o contêm.
+ *
+ * Exemplo: "metallica" → met, eta, tal, all, lli, lic, ica
+ *
+ * Para buscar "tall", basta intersectar as listas de "tal" e "all"; os
+ * candidatos restantes são confirmados com contains() no texto guardado,
+ * então o resultado é exatamente o mesmo da busca por substring.
+ *
+ * Os textos são normalizados (minúsculas e sem acentos), reproduzindo a
+ * comparação case/accent-insensitive da collation padrão do MySQL (utf8mb4_0900_ai_ci).
+ *
+ * Thread-safe: leituras concorrentes, escritas exclusivas (ReadWriteLock).
+ */
+public class IndiceTrigramas {
+
+    private static final int N = 3;
+    private static final Pattern MARCAS_DE_ACENTO = Pattern.compile("\\p{M}+");
+
+    // Texto normalizado de cada ID (usado para confirmar candidatos)
+    private final Map<Long, String> textos = new HashMap<>();
+
+    // Trigrama → IDs ordenados que o contêm
+    private final Map<String, ListaPostagens> postagens = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adiciona ou atualiza o texto de um ID no índice.
+     */
+    public void indexar(long id, String texto) {
+        String normalizado = normalizar(texto);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            textos.put(id, normalizado);
+            for (String trigrama : trigramas(normalizado)) {
+                postagens.computeIfAbsent(trigrama, t -> new ListaPostagens()).adicionar(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um ID do índice (ex: álbum excluído).
+     */
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice (usado na reconstrução).
+     */
+    public void substituirPor(IndiceTrigramas outro) {
+        lock.writeLock().lock();
+        try {
+            textos.clear();
+            postagens.clear();
+            textos.putAll(outro.textos);
+            postagens.putAll(outro.postagens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os IDs cujo texto contém o termo (case e accent-insensitive).
+     *
+     * @param termo Texto a ser buscado
+     * @return IDs encontrados, em ordem crescente
+     */
+    public long[] buscar(String termo) {
+        String normalizado = normalizar(termo);
+        lock.readLock().lock();
+        try {
+            if (normalizado.length() < N) {
+                // Termos curtos não formam trigrama: confere todos os textos em memória
+                return textos.entrySet().stream()
+                    .filter(e -> e.getValue().contains(normalizado))
+                    .mapToLong(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+            }
+
+            // Começa pela lista mais curta para reduzir o trabalho das intersecções
+            List<ListaPostagens> listas = new ArrayList<>();
+            for (String trigrama : trigramas(normalizado)) {
+                ListaPostagens lista = postagens.get(trigrama);
+                if (lista == null) {
+                    return new long[0];
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(ListaPostagens::tamanho));
+
+            long[] candidatos = listas.get(0).copiar();
+            for (int i = 1; i < listas.size() && candidatos.length > 0; i++) {
+                candidatos = listas.get(i).intersectar(candidatos, candidatos.length);
+            }
+
+            // Os trigramas podem aparecer fora de ordem no texto: confirma a substring
+            int quantidade = 0;
+            for (long id : candidatos) {
+                if (textos.get(id).contains(normalizado)) {
+                    candidatos[quantidade++] = id;
+                }
+            }
+            return Arrays.copyOf(candidatos, quantidade);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return textos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas e sem acentos: "Motörhead" → "motorhead".
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DE_ACENTO.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    private void removerSemLock(long id) {
+        String anterior = textos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String trigrama : trigramas(anterior)) {
+            ListaPostagens lista = postagens.get(trigrama);
+            if (lista != null) {
+                lista.remover(id);
+                if (lista.tamanho() == 0) {
+                    postagens.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String normalizado) {
+        Set<String> resultado = new LinkedHashSet<>();
+        for (int i = 0; i + N <= normalizado.length(); i++) {
+            resultado.add(normalizado.substring(i, i + N));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,97 @@
+package com.exercicioPratico.LabProgramacao.busca;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada de IDs (posting list) de um trigrama no IndiceTrigramas.
+ *
+ * Usa um long[] em vez de Set<Long> para não criar um objeto por ID:
+ * cada posição ocupa 8 bytes, o que mantém o índice viável com milhões de álbuns.
+ *
+ * Como os IDs do AUTO_INCREMENT são crescentes, a inserção quase sempre é
+ * um append no final; a busca binária cobre os demais casos.
+ *
+ * Não é thread-safe: o IndiceTrigramas controla o acesso concorrente.
+ */
+class ListaPostagens {
+
+    private long[] ids = new long[4];
+    private int tamanho;
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    long get(int posicao) {
+        return ids[posicao];
+    }
+
+    /**
+     * Adiciona o ID mantendo a lista ordenada (sem duplicatas).
+     */
+    void adicionar(long id) {
+        if (tamanho == 0 || ids[tamanho - 1] < id) {
+            garantirCapacidade();
+            ids[tamanho++] = id;
+            return;
+        }
+        int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+        if (posicao >= 0) {
+            return;
+        }
+        int insercao = -posicao - 1;
+        garantirCapacidade();
+        System.arraycopy(ids, insercao, ids, insercao + 1, tamanho - insercao);
+        ids[insercao] = id;
+        tamanho++;
+    }
+
+    /**
+     * Remove o ID, se presente.
+     */
+    void remover(long id) {
+        int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+        if (posicao >= 0) {
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+        }
+    }
+
+    /**
+     * Intersecção de dois conjuntos ordenados (merge linear).
+     *
+     * @param candidatos IDs ordenados já filtrados pelos trigramas anteriores
+     * @param quantidade Quantidade de posições válidas em candidatos
+     * @return Array com os IDs presentes nas duas listas, ainda ordenado
+     */
+    long[] intersectar(long[] candidatos, int quantidade) {
+        long[] resultado = new long[Math.min(quantidade, tamanho)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < quantidade && j < tamanho) {
+            long a = candidatos[i];
+            long b = ids[j];
+            if (a == b) {
+                resultado[k++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, k);
+    }
+
+    long[] copiar() {
+        return Arrays.copyOf(ids, tamanho);
+    }
+
+    private void garantirCapacidade() {
+        if (tamanho == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
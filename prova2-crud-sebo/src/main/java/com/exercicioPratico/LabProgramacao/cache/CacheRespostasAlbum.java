@@ -0,0 +1,332 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.serializacao.FormatoResposta;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória das respostas de leitura de álbuns.
+ *
+ * Guarda os bytes já serializados, então um acerto (hit) evita ao mesmo
+ * tempo a consulta ao MySQL, a conversão para AlbumDTO e a serialização do Jackson.
+ * Junto com os bytes ficam o ETag e o Last-Modified da resposta (RespostaCacheada).
+ *
+ * Chaves armazenadas (uma por FormatoResposta pedido, ex: "CBOR:id:12"):
+ * - "<formato>:id:<id>"       → GET /api/albuns/{id}
+ * - "<formato>:lista"         → GET /api/albuns
+ * - "<formato>:banda:<termo>" → GET /api/albuns?banda=<termo>, com o termo
+ *   normalizado (FiltroAlbuns.normalizarTermo e AlbumModel.normalizarBanda):
+ *   "Iron  Maiden", "iron maiden" e "Íron Maiden" são a mesma busca
+ *
+ * Carregamento único (single-flight): quando várias requisições iguais
+ * chegam juntas e a resposta não está no cache (ex: uma promoção divulgada
+ * e centenas de apps buscando a mesma banda), só a primeira consulta o
+ * banco e serializa; as outras esperam e recebem os mesmos bytes. Elas são
+ * contadas em "coalescidas" (GET /api/cache/estatisticas e a métrica
+ * albuns.cache.coalescidas).
+ *
+ * Política de remoção:
+ * - LRU: ao atingir o tamanho máximo, a entrada usada há mais tempo é descartada
+ * - TTL: entradas mais antigas que o TTL são tratadas como ausentes
+ *
+ * Invalidação: a cada escrita confirmada (AlbunsAlteradosEvent) são removidas
+ * apenas as entradas afetadas (o próprio álbum, a lista completa e as buscas por
+ * banda cujo termo aparece na banda antiga ou na nova).
+ *
+ * Escritas feitas por outra instância não geram evento aqui. Por isso a
+ * lista e as buscas guardam a versão da coleção (VersaoCatalogo) lida antes
+ * do carregamento, e só são devolvidas a quem pede a mesma versão: quando
+ * outra instância escreve, a versão muda e a entrada é carregada de novo, em
+ * vez de sair com o ETag novo e o corpo antigo.
+ */
+@Component
+public class CacheRespostasAlbum {
+
+    private static final String CHAVE_LISTA = "lista";
+    private static final String PREFIXO_ID = "id:";
+    private static final String PREFIXO_BANDA = "banda:";
+
+    /**
+     * Entrada do cache: a resposta, o instante em que foi gerada e a versão da
+     * coleção lida antes do carregamento (null no GET por ID).
+     */
+    private record Entrada(RespostaCacheada resposta, long criadaEmNanos, String versao) {
+    }
+
+    /**
+     * Carregamento em andamento de uma chave, a geração do cache em que começou
+     * e a versão da coleção pedida.
+     */
+    private record Carregamento(CompletableFuture<RespostaCacheada> resultado, long geracao, String versao) {
+    }
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+
+    /**
+     * LinkedHashMap com accessOrder=true mantém as entradas da menos para a mais
+     * recentemente usada; removeEldestEntry descarta a mais antiga (LRU).
+     * Todo acesso ao mapa é feito dentro de synchronized(this).
+     * Nenhuma E/S acontece dentro desses blocos (o carregador roda fora deles),
+     * então uma virtual thread nunca fica presa (pinned) esperando o banco aqui.
+     */
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    /**
+     * Carregamentos em andamento por chave (protegido por "this", como o mapa de entradas).
+     */
+    private final Map<String, Carregamento> carregamentos = new HashMap<>();
+
+    /**
+     * Incrementada a cada invalidação. Um carregamento que começou antes de uma
+     * escrita não grava seu resultado (possivelmente desatualizado) no cache.
+     */
+    private long geracao;
+
+    // Contadores para dimensionar o cache
+    private long acertos;
+    private long faltas;
+    private long coalescidas;
+    private long remocoesPorTamanho;
+    private long remocoesPorTtl;
+    private long remocoesPorVersao;
+    private long invalidacoes;
+
+    public CacheRespostasAlbum(@Value("${albuns.cache.tamanho-maximo:1000}") int tamanhoMaximo,
+                               @Value("${albuns.cache.ttl:60s}") Duration ttl,
+                               MeterRegistry registry) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() > CacheRespostasAlbum.this.tamanhoMaximo) {
+                    remocoesPorTamanho++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        FunctionCounter.builder("albuns.cache.coalescidas", this, cache -> cache.estatisticas().coalescidas())
+            .description("Leituras que esperaram o carregamento de uma requisição igual em vez de consultar o banco")
+            .register(registry);
+    }
+
+    /**
+     * Devolve a resposta de um álbum, carregando e guardando em caso de falta.
+     */
+    public RespostaCacheada obterAlbum(Long id, FormatoResposta formato, Supplier<RespostaCacheada> carregador) {
+        return obter(chave(formato, PREFIXO_ID + id), null, carregador);
+    }
+
+    /**
+     * Devolve a resposta da lista completa de álbuns.
+     *
+     * @param versao ETag da versão da coleção lida antes (VersaoCatalogo)
+     */
+    public RespostaCacheada obterLista(FormatoResposta formato, String versao,
+                                       Supplier<RespostaCacheada> carregador) {
+        return obter(chave(formato, CHAVE_LISTA), versao, carregador);
+    }
+
+    /**
+     * Devolve a resposta da busca por banda. O termo é normalizado (minúsculas,
+     * espaços e acentos), como na própria busca (AlbumService.buscarPorBanda),
+     * que ignora acentos como a collation do MySQL e a coluna banda_normalizada.
+     *
+     * @param versao ETag da versão da coleção lida antes (VersaoCatalogo)
+     */
+    public RespostaCacheada obterBuscaPorBanda(String banda, FormatoResposta formato, String versao,
+                                               Supplier<RespostaCacheada> carregador) {
+        return obter(chave(formato, PREFIXO_BANDA + normalizarBusca(banda)), versao, carregador);
+    }
+
+    /**
+     * Termo de busca por banda na forma usada na chave: espaços colapsados,
+     * minúsculas e sem acentos ("  Motörhead " → "motorhead").
+     */
+    private static String normalizarBusca(String banda) {
+        return AlbumModel.normalizarBanda(FiltroAlbuns.normalizarTermo(banda));
+    }
+
+    /**
+     * Chave de uma resposta no formato pedido. O nome do formato não tem ':',
+     * então tudo depois do primeiro ':' é a chave sem o formato.
+     */
+    private static String chave(FormatoResposta formato, String chaveSemFormato) {
+        return formato.name() + ":" + chaveSemFormato;
+    }
+
+    /**
+     * Busca a chave no cache; em caso de falta executa o carregador fora do
+     * bloqueio (a consulta ao banco não trava outras leituras do cache).
+     *
+     * Se a mesma chave já está sendo carregada, espera esse carregamento em
+     * vez de executar o carregador de novo. Só se junta a um carregamento da
+     * geração atual: um que começou antes de uma escrita pode trazer dados
+     * antigos, e quem chega depois da escrita precisa vê-la.
+     *
+     * Com versão (lista e buscas), a entrada e o carregamento só servem a quem
+     * pede a mesma versão; uma entrada de outra versão é descartada.
+     */
+    private RespostaCacheada obter(String chave, String versao, Supplier<RespostaCacheada> carregador) {
+        Carregamento emAndamento;
+        Carregamento carregamento = null;
+        synchronized (this) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (!Objects.equals(entrada.versao(), versao)) {
+                    entradas.remove(chave);
+                    remocoesPorVersao++;
+                } else if (System.nanoTime() - entrada.criadaEmNanos() <= ttlNanos) {
+                    acertos++;
+                    return entrada.resposta();
+                } else {
+                    entradas.remove(chave);
+                    remocoesPorTtl++;
+                }
+            }
+
+            emAndamento = carregamentos.get(chave);
+            if (emAndamento != null && emAndamento.geracao() == geracao
+                    && Objects.equals(emAndamento.versao(), versao)) {
+                coalescidas++;
+            } else {
+                emAndamento = null;
+                faltas++;
+                carregamento = new Carregamento(new CompletableFuture<>(), geracao, versao);
+                carregamentos.put(chave, carregamento);
+            }
+        }
+        // A espera fica fora do bloqueio, como o carregamento
+        if (emAndamento != null) {
+            return aguardar(emAndamento.resultado());
+        }
+
+        RespostaCacheada resposta;
+        try {
+            resposta = carregador.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                carregamentos.remove(chave, carregamento);
+            }
+            // Quem esperava recebe a mesma exceção (ex: álbum não encontrado → 404)
+            carregamento.resultado().completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            // Só guarda se nenhuma escrita aconteceu durante o carregamento
+            if (geracao == carregamento.geracao()) {
+                entradas.put(chave, new Entrada(resposta, System.nanoTime(), versao));
+            }
+            carregamentos.remove(chave, carregamento);
+        }
+        carregamento.resultado().complete(resposta);
+        return resposta;
+    }
+
+    /**
+     * Espera o carregamento feito por outra requisição. Se ele falhou, lança
+     * a mesma exceção que o carregador lançou.
+     */
+    private static RespostaCacheada aguardar(CompletableFuture<RespostaCacheada> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove as entradas afetadas por uma escrita confirmada.
+     *
+     * Roda depois da atualização do índice de busca (ver AlbunsAlteradosEvent).
+     *
+     * As bandas são comparadas sem acentos (AlbumModel.normalizarBanda), como
+     * na busca: renomear "Motörhead" remove também a busca "motor".
+     *
+     * Em lotes, as bandas repetidas são reunidas antes, e as chaves de busca
+     * são percorridas uma única vez para o lote inteiro. Se a banda antiga de
+     * algum álbum for desconhecida, todas as buscas por banda são removidas.
+     *
+     * @param evento Álbuns criados, atualizados ou excluídos
+     */
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlbuns(AlbunsAlteradosEvent evento) {
+        Set<String> bandas = new HashSet<>();
+        // Sem a banda antiga (PATCH/DELETE por comando único) qualquer busca pode conter o álbum
+        boolean todasAsBuscas = false;
+        for (AlbunsAlteradosEvent.Alteracao alteracao : evento.alteracoes()) {
+            todasAsBuscas |= alteracao.bandaAntigaDesconhecida();
+            if (alteracao.bandaAntiga() != null) {
+                bandas.add(AlbumModel.normalizarBanda(alteracao.bandaAntiga()));
+            }
+            if (alteracao.bandaNova() != null) {
+                bandas.add(AlbumModel.normalizarBanda(alteracao.bandaNova()));
+            }
+        }
+
+        synchronized (this) {
+            geracao++;
+            invalidacoes++;
+
+            for (FormatoResposta formato : FormatoResposta.values()) {
+                for (AlbunsAlteradosEvent.Alteracao alteracao : evento.alteracoes()) {
+                    if (alteracao.id() != null) {
+                        entradas.remove(chave(formato, PREFIXO_ID + alteracao.id()));
+                    }
+                }
+                entradas.remove(chave(formato, CHAVE_LISTA));
+            }
+
+            Iterator<String> chaves = entradas.keySet().iterator();
+            while (chaves.hasNext()) {
+                String chave = chaves.next();
+                String chaveSemFormato = chave.substring(chave.indexOf(':') + 1);
+                if (chaveSemFormato.startsWith(PREFIXO_BANDA)) {
+                    String termo = chaveSemFormato.substring(PREFIXO_BANDA.length());
+                    if (todasAsBuscas || bandas.stream().anyMatch(banda -> banda.contains(termo))) {
+                        chaves.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrato dos contadores do cache no momento da chamada.
+     *
+     * @return Estatísticas de acertos, faltas e remoções
+     */
+    public synchronized EstatisticasCache estatisticas() {
+        return new EstatisticasCache(entradas.size(), tamanhoMaximo, acertos, faltas, coalescidas,
+            remocoesPorTamanho, remocoesPorTtl, remocoesPorVersao, invalidacoes);
+    }
+}
@@ -0,0 +1,38 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Contadores do CacheRespostasAlbum, expostos em GET /api/cache/estatisticas.
+ *
+ * @param tamanho Quantidade de entradas guardadas no momento
+ * @param tamanhoMaximo Capacidade configurada (albuns.cache.tamanho-maximo)
+ * @param acertos Leituras atendidas pelo cache
+ * @param faltas Leituras que precisaram ir ao banco
+ * @param coalescidas Leituras que esperaram o carregamento de uma requisição igual
+ *                    já em andamento, em vez de ir ao banco
+ * @param remocoesPorTamanho Entradas descartadas pelo LRU por falta de espaço
+ * @param remocoesPorTtl Entradas descartadas por terem expirado
+ * @param remocoesPorVersao Listas e buscas descartadas porque a versão da coleção mudou
+ *                          (escrita feita por outra instância)
+ * @param invalidacoes Escritas que invalidaram entradas do cache
+ */
+public record EstatisticasCache(int tamanho,
+                                int tamanhoMaximo,
+                                long acertos,
+                                long faltas,
+                                long coalescidas,
+                                long remocoesPorTamanho,
+                                long remocoesPorTtl,
+                                long remocoesPorVersao,
+                                long invalidacoes) {
+
+    /**
+     * Proporção de leituras atendidas pelo cache (0.0 a 1.0).
+     */
+    @JsonProperty
+    public double taxaDeAcerto() {
+        long total = acertos + faltas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import java.time.Instant;
+
+/**
+ * Resposta de leitura guardada no CacheRespostasAlbum.
+ *
+ * Além dos bytes do corpo (JSON, CBOR ou Smile, conforme o FormatoResposta da
+ * chave), guarda os validadores HTTP da representação, para que
+ * um GET condicional (If-None-Match / If-Modified-Since) seja respondido com
+ * 304 Not Modified direto do cache, sem consultar o banco.
+ *
+ * @param corpo Corpo da resposta já serializado
+ * @param etag ETag forte da representação (null quando quem valida é a VersaoCatalogo)
+ * @param ultimaModificacao Valor do cabeçalho Last-Modified (null quando desconhecido)
+ */
+public record RespostaCacheada(byte[] corpo, String etag, Instant ultimaModificacao) {
+
+    /**
+     * Resposta sem validadores próprios (listas e buscas, validadas pela VersaoCatalogo).
+     */
+    public static RespostaCacheada semValidadores(byte[] corpo) {
+        return new RespostaCacheada(corpo, null, null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Versão da coleção de álbuns, usada como validador HTTP das listagens
+ * (GET /api/albuns com ou sem filtros, paginado ou não).
+ *
+ * A versão é a posição da sequência de alterações (o registro "alteracoes"
+ * no banco, o mesmo da sincronização incremental): toda escrita, feita por
+ * qualquer instância da aplicação, avança essa posição. Assim o ETag é o
+ * mesmo em todas as instâncias atrás do balanceador e sobrevive a restarts,
+ * e uma escrita feita em outra instância muda o ETag desta também. Se o ETag
+ * enviado pelo cliente em If-None-Match ainda é o atual, nenhum álbum mudou
+ * desde a última leitura e o Controller responde 304 Not Modified sem
+ * executar a consulta da lista.
+ *
+ * Custo: cada leitura da versão são duas ou três consultas pequenas no
+ * primário (escritas registradas na última duracao-maxima-escrita, pelo
+ * índice de registrada_em, e buscas pela chave primária), em vez da lista.
+ *
+ * A posição só avança até a menor escrita ainda em andamento (ver
+ * AlteracoesRepository.confirmadaAte): o ETag nunca é mais novo que os dados
+ * lidos depois dele no primário, no máximo mais antigo, e o cliente só baixa
+ * de novo na próxima vez. Com réplicas de leitura, a lista pode vir de uma
+ * réplica atrasada em relação ao ETag por até o atraso de replicação, que
+ * deve ficar bem abaixo do intervalo entre escritas.
+ *
+ * Escritas feitas direto no MySQL, fora da API, precisam registrar um número
+ * em "alteracoes" (como a sincronização incremental já exige) para mudar o ETag.
+ */
+@Component
+public class VersaoCatalogo {
+
+    /**
+     * Versão da coleção em um instante.
+     *
+     * @param etag ETag forte da versão, ex: "c-42"
+     * @param ultimaModificacao Instante da última escrita confirmada, em segundos (null se não houve nenhuma)
+     */
+    public record Versao(String etag, Instant ultimaModificacao) {
+    }
+
+    private final AlteracoesRepository alteracoes;
+    private final Duration duracaoMaximaEscrita;
+
+    public VersaoCatalogo(AlteracoesRepository alteracoes,
+                          @Value("${albuns.alteracoes.duracao-maxima-escrita:1m}") Duration duracaoMaximaEscrita) {
+        this.alteracoes = alteracoes;
+        this.duracaoMaximaEscrita = duracaoMaximaEscrita;
+    }
+
+    /**
+     * Lê a versão atual no banco.
+     *
+     * Chamado fora de transação, então a leitura vai para o primário (ver
+     * DataSourceRoteado): uma réplica atrasada não faz o ETag voltar.
+     */
+    public Versao atual() {
+        long valor = alteracoes.confirmadaAte(Instant.now().minus(duracaoMaximaEscrita));
+        Instant registradaEm = valor > 0 ? alteracoes.registradaEm(valor) : null;
+        // Truncado em segundos: é a precisão do cabeçalho Last-Modified
+        return new Versao("\"c-" + valor + "\"",
+            registradaEm != null ? registradaEm.truncatedTo(ChronoUnit.SECONDS) : null);
+    }
+}
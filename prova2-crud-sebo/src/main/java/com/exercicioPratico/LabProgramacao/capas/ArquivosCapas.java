@@ -0,0 +1,84 @@
+package com.exercicioPratico.LabProgramacao.capas;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Localiza no disco os arquivos das capas (AlbumModel.capa).
+ *
+ * O caminho gravado no álbum é relativo ao diretório albuns.capas.diretorio.
+ * Mesmo já validado na gravação (AlbumModel.PADRAO_CAPA), ele é conferido de
+ * novo aqui: depois de resolver links simbólicos, o arquivo precisa estar
+ * dentro do diretório de capas. Um registro alterado direto no banco não
+ * consegue fazer a API servir outro arquivo do servidor.
+ */
+@Component
+public class ArquivosCapas {
+
+    private static final Map<String, MediaType> TIPOS = Map.of(
+        "jpg", MediaType.IMAGE_JPEG,
+        "jpeg", MediaType.IMAGE_JPEG,
+        "png", MediaType.IMAGE_PNG,
+        "gif", MediaType.IMAGE_GIF,
+        "webp", MediaType.parseMediaType("image/webp"));
+
+    private final Path diretorio;
+
+    public ArquivosCapas(@Value("${albuns.capas.diretorio:capas}") String diretorio) {
+        this.diretorio = Path.of(diretorio).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Abre os metadados do arquivo de uma capa (tamanho, data de modificação e tipo).
+     *
+     * @param id ID do álbum (só para a mensagem de erro)
+     * @param caminho Caminho relativo gravado no álbum
+     * @return Capa pronta para ser enviada
+     * @throws RuntimeException se o arquivo não existir, estiver fora do
+     *         diretório de capas ou não for uma imagem conhecida
+     */
+    public Capa localizar(Long id, String caminho) {
+        MediaType tipo = TIPOS.get(extensao(caminho));
+        Path arquivo = diretorio.resolve(caminho).normalize();
+        if (tipo == null || !arquivo.startsWith(diretorio)) {
+            throw naoEncontrado(id);
+        }
+        try {
+            // toRealPath resolve links simbólicos: o destino também precisa estar no diretório
+            Path real = arquivo.toRealPath();
+            if (!real.startsWith(diretorio.toRealPath())) {
+                throw naoEncontrado(id);
+            }
+            BasicFileAttributes atributos = Files.readAttributes(real, BasicFileAttributes.class,
+                LinkOption.NOFOLLOW_LINKS);
+            if (!atributos.isRegularFile()) {
+                throw naoEncontrado(id);
+            }
+            return new Capa(real, atributos.size(), atributos.lastModifiedTime().toInstant(), tipo);
+        } catch (NoSuchFileException e) {
+            throw naoEncontrado(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String extensao(String caminho) {
+        int ponto = caminho.lastIndexOf('.');
+        return ponto < 0 ? "" : caminho.substring(ponto + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static RuntimeException naoEncontrado(Long id) {
+        return new RuntimeException("arquivo da capa não encontrado para o album com id: " + id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.exercicioPratico.LabProgramacao.capas;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Arquivo de capa localizado pelo ArquivosCapas.
+ *
+ * @param arquivo Caminho real (absoluto, sem links simbólicos)
+ * @param tamanho Tamanho em bytes
+ * @param modificadaEm Data de modificação do arquivo
+ * @param tipo Content-Type da imagem
+ */
+public record Capa(Path arquivo, long tamanho, Instant modificadaEm, MediaType tipo) {
+
+    /**
+     * ETag forte da capa: muda quando o arquivo é trocado ou regravado.
+     *
+     * Forte (sem W/) porque os bytes não dependem do Accept-Encoding (imagens
+     * não são comprimidas, ver server.compression.mime-types), e só um ETag
+     * forte pode ser usado no If-Range das requisições parciais.
+     */
+    public String etag() {
+        return "\"" + Long.toHexString(tamanho) + "-" + Long.toHexString(modificadaEm.toEpochMilli()) + "\"";
+    }
+}
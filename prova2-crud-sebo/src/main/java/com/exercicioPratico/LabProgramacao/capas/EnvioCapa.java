@@ -0,0 +1,160 @@
+package com.exercicioPratico.LabProgramacao.capas;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envia o arquivo de uma capa (GET /api/albuns/{id}/cover) sem passar os
+ * bytes pela thread da requisição.
+ *
+ * Com o Tomcat (conector NIO, sem TLS) o envio é por sendfile: a resposta só
+ * recebe os cabeçalhos e os atributos org.apache.tomcat.sendfile.* com o
+ * arquivo e a faixa. Depois que o controller retorna, a thread volta ao pool
+ * e o poller do Tomcat copia o arquivo para o socket com FileChannel.transferTo
+ * (sendfile(2) no Linux): do cache de páginas do sistema direto para a rede,
+ * sem buffers no heap e sem ocupar uma vaga do FiltroLimiteConcorrencia.
+ *
+ * Quando o sendfile não está disponível (HTTPS com JSSE, outro contêiner,
+ * MockMvc nos testes) o arquivo é copiado com FileChannel.transferTo para a
+ * saída da resposta. Aí a cópia acontece na thread da requisição, em blocos
+ * pequenos do próprio JDK; nunca o arquivo inteiro em memória.
+ *
+ * Cabeçalhos:
+ * - ETag forte (Capa.etag) e Last-Modified: If-None-Match / If-Modified-Since → 304
+ * - Cache-Control: public, max-age=albuns.capas.max-age. A capa raramente
+ *   muda; depois do prazo o cliente revalida e, sem mudança, recebe 304
+ * - Accept-Ranges: bytes. Range com uma faixa → 206 + Content-Range; faixa
+ *   fora do arquivo → 416; várias faixas ou Range inválido → capa inteira (200).
+ *   Com If-Range, a faixa só é atendida se o ETag (ou a data) ainda for o atual
+ */
+@Component
+public class EnvioCapa {
+
+    // Atributos de sendfile do Tomcat (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    private final String cacheControl;
+
+    public EnvioCapa(@Value("${albuns.capas.max-age:30d}") Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().getHeaderValue();
+    }
+
+    /**
+     * Responde com a capa inteira (200), uma faixa dela (206), 304, 412 ou 416.
+     *
+     * @param capa Arquivo localizado pelo ArquivosCapas
+     * @param request Requisição (Range, If-Range e cabeçalhos condicionais)
+     * @param response Resposta onde os cabeçalhos são gravados
+     * @throws IOException se a conexão com o cliente for interrompida (envio sem sendfile)
+     */
+    public void enviar(Capa capa, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Grava ETag e Last-Modified e, se a cópia do cliente for a atual, já deixa o status 304
+        if (new ServletWebRequest(request, response).checkNotModified(capa.etag(), capa.modificadaEm().toEpochMilli())) {
+            return;
+        }
+
+        long tamanho = capa.tamanho();
+        long inicio = 0;
+        long fim = tamanho - 1;
+        HttpRange faixa = faixaPedida(request, capa);
+        if (faixa != null) {
+            inicio = faixa.getRangeStart(tamanho);
+            fim = faixa.getRangeEnd(tamanho);
+            if (inicio >= tamanho || inicio > fim) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+        }
+
+        long quantidade = fim - inicio + 1;
+        response.setContentType(capa.tipo().toString());
+        response.setContentLengthLong(quantidade);
+        if ("HEAD".equals(request.getMethod()) || quantidade == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+            // Nada é escrito no corpo: o Tomcat envia o arquivo depois que o controller retorna
+            request.setAttribute(SENDFILE_ARQUIVO, capa.arquivo().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIM, fim + 1);
+            return;
+        }
+
+        try (FileChannel arquivo = FileChannel.open(capa.arquivo(), StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < quantidade) {
+                long transferidos = arquivo.transferTo(inicio + enviados, quantidade - enviados, saida);
+                if (transferidos <= 0) {
+                    // O arquivo encolheu depois de lido o tamanho: o Tomcat fecha a conexão
+                    break;
+                }
+                enviados += transferidos;
+            }
+        }
+    }
+
+    /**
+     * A faixa pedida no Range, ou null se a capa deve ir inteira: sem Range,
+     * Range inválido ou com várias faixas, ou If-Range de outra versão do arquivo.
+     */
+    private static HttpRange faixaPedida(HttpServletRequest request, Capa capa) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !ifRangeAtual(request, capa)) {
+            return null;
+        }
+        List<HttpRange> faixas;
+        try {
+            faixas = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // Range malformado é ignorado (RFC 9110)
+            return null;
+        }
+        return faixas.size() == 1 ? faixas.get(0) : null;
+    }
+
+    /**
+     * If-Range ausente, ou igual ao ETag forte / à data de modificação da capa.
+     * ETag fraco nunca confere: a faixa precisa ser do mesmo arquivo, byte a byte.
+     */
+    private static boolean ifRangeAtual(HttpServletRequest request, Capa capa) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(capa.etag());
+        }
+        try {
+            // O cabeçalho só tem precisão de segundos
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == capa.modificadaEm().getEpochSecond();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
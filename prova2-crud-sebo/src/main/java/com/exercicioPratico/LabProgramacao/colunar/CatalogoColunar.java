@@ -0,0 +1,240 @@
+package com.exercicioPratico.LabProgramacao.colunar;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.roteamento.LeituraNoPrimario;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbuns;
+import com.exercicioPratico.LabProgramacao.service.CorrespondenciaBanda;
+import com.exercicioPratico.LabProgramacao.service.CursorAlbum;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import com.exercicioPratico.LabProgramacao.service.PaginaAlbuns;
+import com.exercicioPratico.LabProgramacao.service.SequenciasAplicadas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Motor de leitura em memória (albuns.catalogo.motor=colunar), para
+ * instalações com muito mais leituras que escritas.
+ *
+ * Listagem, paginação, filtros, facetas, busca por banda e exportação são
+ * respondidos por uma cópia do catálogo em colunas (ColunasCatalogo), sem
+ * consultar o banco. O GET por ID continua no banco: a resposta leva versão
+ * e data de modificação (ETag / Last-Modified), que a cópia não guarda.
+ *
+ * - Na inicialização (antes do servidor web aceitar requisições) a cópia é
+ *   montada lendo todos os álbuns do banco em streaming.
+ * - As escritas continuam indo para o banco pelo AlbumService (durabilidade);
+ *   depois do commit, cada AlbunsAlteradosEvent gera uma cópia nova com a
+ *   escrita aplicada, na mesma thread da requisição, então quem escreveu já
+ *   lê o próprio dado na requisição seguinte.
+ * - Periodicamente (albuns.catalogo.recarga) a cópia é remontada a partir do
+ *   banco, corrigindo álbuns alterados fora da API e limpando dos dicionários
+ *   bandas e gêneros que deixaram de ser usados.
+ *
+ * Leituras sem trava: pegam a cópia atual (volatile) uma vez e trabalham nela
+ * até o fim; uma escrita concorrente publica outra cópia sem afetar a leitura
+ * em andamento. As escritas são serializadas (synchronized) e cada uma copia
+ * as colunas (copy-on-write), o que custa O(n) por escrita: é o preço de não
+ * travar as leituras.
+ */
+@Component
+public class CatalogoColunar implements ConsultaAlbuns, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoColunar.class);
+
+    private final AlbumRepository albumRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final boolean habilitado;
+
+    // Escritas recebidas durante uma recarga (null quando nenhuma está em andamento); protegido por "this"
+    private List<AlbunsAlteradosEvent.Alteracao> escritasDuranteRecarga;
+
+    // Descarta escritas entregues fora de ordem; protegido por "this"
+    private final SequenciasAplicadas sequencias = new SequenciasAplicadas();
+
+    // volatile: publicada pelas threads que escrevem, lida pelas requisições sem trava
+    private volatile ColunasCatalogo colunas;
+
+    // Lido em tempo de execução (e não com @ConditionalOnProperty): com o
+    // processamento AOT as condições ficam fixas no build
+    public CatalogoColunar(AlbumRepository albumRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${albuns.catalogo.motor:jpa}") String motor) {
+        if (!motor.equals("jpa") && !motor.equals("colunar")) {
+            throw new IllegalArgumentException("albuns.catalogo.motor deve ser jpa ou colunar: " + motor);
+        }
+        this.albumRepository = albumRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.habilitado = motor.equals("colunar");
+    }
+
+    /**
+     * Chamado pelo Spring depois que todos os beans foram criados e antes
+     * do servidor web iniciar.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Indica se as leituras podem vir daqui (motor colunar e cópia já carregada).
+     */
+    public boolean pronto() {
+        return colunas != null;
+    }
+
+    @Override
+    public List<AlbumDTO> listar() {
+        return colunas.listar();
+    }
+
+    @Override
+    public List<AlbumDTO> buscarPorBanda(String banda) {
+        return colunas.buscarPorBanda(banda, CorrespondenciaBanda.CONTEM);
+    }
+
+    @Override
+    public List<AlbumDTO> buscarPorBanda(String banda, CorrespondenciaBanda correspondencia) {
+        return colunas.buscarPorBanda(banda, correspondencia);
+    }
+
+    @Override
+    public List<AlbumDTO> filtrar(FiltroAlbuns filtro) {
+        return colunas.filtrar(filtro);
+    }
+
+    @Override
+    public FacetasDTO contarFacetas(FiltroAlbuns filtro) {
+        return colunas.contarFacetas(filtro);
+    }
+
+    @Override
+    public PaginaAlbuns listarPagina(FiltroAlbuns filtro, int limite, CursorAlbum cursor, boolean incluirTotal) {
+        return colunas.listarPagina(filtro, limite, cursor, incluirTotal);
+    }
+
+    @Override
+    public void exportar(Consumer<AlbumDTO> consumidor) {
+        colunas.exportar(consumidor);
+    }
+
+    /**
+     * Quantidade de álbuns na cópia atual.
+     */
+    public int tamanho() {
+        ColunasCatalogo atual = colunas;
+        return atual != null ? atual.tamanho : 0;
+    }
+
+    /**
+     * Memória aproximada da cópia atual, em bytes (colunas, títulos e dicionários).
+     */
+    public long bytesEstimados() {
+        ColunasCatalogo atual = colunas;
+        return atual != null ? atual.bytesEstimados() : 0;
+    }
+
+    /**
+     * Aplica uma escrita confirmada à cópia em memória. Roda junto com o
+     * índice de busca e antes do cache de respostas, que ao ser recarregado
+     * já lê daqui os dados novos.
+     *
+     * Alterações mais antigas que a última já aplicada ao mesmo álbum
+     * (eventos entregues fora da ordem dos commits) são descartadas.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarAlbuns(AlbunsAlteradosEvent evento) {
+        if (colunas == null) {
+            return;
+        }
+        List<AlbunsAlteradosEvent.Alteracao> aplicaveis = sequencias.filtrar(evento.alteracoes());
+        if (aplicaveis.size() < evento.alteracoes().size()) {
+            log.warn("Escrita com {} alteração(ões) mais antiga(s) que a já aplicada ao álbum; descartada(s)",
+                evento.alteracoes().size() - aplicaveis.size());
+        }
+        ColunasCatalogo.Aplicacao aplicacao = colunas.aplicar(aplicaveis);
+        if (aplicacao.ignoradas() > 0) {
+            log.warn("Escrita com {} álbum(ns) desconhecido(s) pelo catálogo colunar; corrigida na próxima recarga",
+                aplicacao.ignoradas());
+        }
+        if (escritasDuranteRecarga != null) {
+            escritasDuranteRecarga.addAll(aplicaveis);
+        }
+        colunas = aplicacao.colunas();
+    }
+
+    /**
+     * Periodicamente remonta a cópia a partir do banco (só com o motor colunar).
+     */
+    @Scheduled(fixedDelayString = "${albuns.catalogo.recarga:10m}",
+        initialDelayString = "${albuns.catalogo.recarga:10m}")
+    public void recarregarPeriodicamente() {
+        if (habilitado) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Remonta a cópia a partir do banco e substitui a atual.
+     *
+     * A leitura do banco roda sem bloquear as escritas. As escritas
+     * confirmadas enquanto isso são guardadas e reaplicadas sobre a cópia
+     * nova antes da troca: cada alteração grava os valores finais do álbum,
+     * então reaplicar uma escrita que a leitura já viu não muda o resultado.
+     */
+    public void recarregar() {
+        synchronized (this) {
+            if (escritasDuranteRecarga != null) {
+                return; // já existe uma recarga em andamento
+            }
+            escritasDuranteRecarga = new ArrayList<>();
+        }
+
+        long inicio = System.nanoTime();
+        ColunasCatalogo nova;
+        try {
+            // Lê do primário: uma réplica atrasada deixaria álbuns já gravados fora da cópia
+            ColunasCatalogo.Construtor construtor = new ColunasCatalogo.Construtor(tamanho());
+            LeituraNoPrimario.executar(() -> transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<AlbumDTO> albuns = albumRepository.streamTodos()) {
+                    albuns.forEach(construtor::adicionar);
+                }
+            }));
+            nova = construtor.construir();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                escritasDuranteRecarga = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            nova = nova.aplicar(escritasDuranteRecarga).colunas();
+            escritasDuranteRecarga = null;
+            colunas = nova;
+            sequencias.renovar();
+        }
+        log.info("Catálogo colunar carregado: {} álbuns, ~{} KB em memória, em {} ms",
+            nova.tamanho, nova.bytesEstimados() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
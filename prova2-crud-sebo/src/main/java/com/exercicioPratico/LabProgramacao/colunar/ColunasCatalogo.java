@@ -0,0 +1,662 @@
+package com.exercicioPratico.LabProgramacao.colunar;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceTrigramas;
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.CorrespondenciaBanda;
+import com.exercicioPratico.LabProgramacao.service.CursorAlbum;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import com.exercicioPratico.LabProgramacao.service.PaginaAlbuns;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Uma cópia imutável do catálogo, organizada em colunas.
+ *
+ * Em vez de um objeto por álbum, cada campo é um array com uma posição por
+ * álbum (posições em ordem crescente de ID):
+ * - ids: long[]
+ * - titulos: String[]
+ * - bandas, generos: int[] com o código do valor no Dicionario
+ * - anos: int[]
+ * - centavos: long[] com o preço × 100 (49,90 → 4990)
+ * - ordemBanda: int[] com as posições em ordem de (banda, id), a ordem das listagens
+ *
+ * Um filtro percorre só os arrays primitivos que precisa, em sequência, sem
+ * criar objetos; banda e gênero são testados uma vez por valor do dicionário
+ * (não uma vez por álbum). Os AlbumDTO são criados só para os álbuns devolvidos.
+ *
+ * Nenhum array é alterado depois de publicado: cada escrita gera uma cópia
+ * nova (aplicar), então as leituras não usam trava.
+ */
+final class ColunasCatalogo {
+
+    private static final BigDecimal MAIOR_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MENOR_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    final int tamanho;
+    final long[] ids;
+    final String[] titulos;
+    final int[] bandas;
+    final int[] generos;
+    final int[] anos;
+    final long[] centavos;
+    final int[] ordemBanda;
+
+    // Faixa dos anos presentes (contagem por década sem Map por álbum)
+    private final int anoMinimo;
+    private final int anoMaximo;
+
+    // Dicionários no momento da cópia: só códigos < quantidade aparecem nas colunas
+    private final String[] nomesBandas;
+    private final String[] bandasNormalizadas;
+    private final int quantidadeBandas;
+    private final String[] nomesGeneros;
+    private final String[] generosNormalizados;
+    private final int quantidadeGeneros;
+
+    // Usados só pela thread que escreve (aplicar), nunca pelas leituras
+    private final Dicionario dicionarioBandas;
+    private final Dicionario dicionarioGeneros;
+
+    private ColunasCatalogo(int tamanho, long[] ids, String[] titulos, int[] bandas, int[] generos,
+                            int[] anos, long[] centavos, int[] ordemBanda,
+                            Dicionario dicionarioBandas, Dicionario dicionarioGeneros) {
+        this.tamanho = tamanho;
+        this.ids = ids;
+        this.titulos = titulos;
+        this.bandas = bandas;
+        this.generos = generos;
+        this.anos = anos;
+        this.centavos = centavos;
+        this.ordemBanda = ordemBanda;
+        this.dicionarioBandas = dicionarioBandas;
+        this.dicionarioGeneros = dicionarioGeneros;
+        this.nomesBandas = dicionarioBandas.valores();
+        this.bandasNormalizadas = dicionarioBandas.normalizados();
+        this.quantidadeBandas = dicionarioBandas.tamanho();
+        this.nomesGeneros = dicionarioGeneros.valores();
+        this.generosNormalizados = dicionarioGeneros.normalizados();
+        this.quantidadeGeneros = dicionarioGeneros.tamanho();
+        int menor = Integer.MAX_VALUE;
+        int maior = Integer.MIN_VALUE;
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            menor = Math.min(menor, anos[posicao]);
+            maior = Math.max(maior, anos[posicao]);
+        }
+        this.anoMinimo = tamanho > 0 ? menor : 0;
+        this.anoMaximo = tamanho > 0 ? maior : -1;
+    }
+
+    // ========== LEITURAS ==========
+
+    List<AlbumDTO> listar() {
+        List<AlbumDTO> albuns = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            albuns.add(album(ordemBanda[i]));
+        }
+        return albuns;
+    }
+
+    List<AlbumDTO> buscarPorBanda(String termo, CorrespondenciaBanda correspondencia) {
+        boolean[] bandasAceitas = bandasAceitas(termo, correspondencia);
+        List<AlbumDTO> albuns = new ArrayList<>();
+        // Posições já estão em ordem de ID, a mesma ordem da busca no banco
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            if (bandasAceitas[bandas[posicao]]) {
+                albuns.add(album(posicao));
+            }
+        }
+        return albuns;
+    }
+
+    List<AlbumDTO> filtrar(FiltroAlbuns filtro) {
+        Selecao selecao = new Criterio(filtro).selecionar();
+        List<AlbumDTO> albuns = new ArrayList<>(selecao.quantidade());
+        for (int i = 0; i < tamanho && albuns.size() < selecao.quantidade(); i++) {
+            int posicao = ordemBanda[i];
+            if (selecao.contem(posicao)) {
+                albuns.add(album(posicao));
+            }
+        }
+        return albuns;
+    }
+
+    FacetasDTO contarFacetas(FiltroAlbuns filtro) {
+        Criterio criterio = new Criterio(filtro);
+        long[] porCodigoGenero = new long[quantidadeGeneros];
+        long[] porAno = new long[anoMaximo - anoMinimo + 1];
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            if (criterio.aceita(posicao)) {
+                porCodigoGenero[generos[posicao]]++;
+                porAno[anos[posicao] - anoMinimo]++;
+            }
+        }
+
+        // Valores distintos no dicionário podem ser o mesmo gênero para o agrupamento (ex: null e "")
+        Map<String, Long> porGenero = new TreeMap<>();
+        for (int codigo = 0; codigo < quantidadeGeneros; codigo++) {
+            if (porCodigoGenero[codigo] > 0) {
+                String genero = nomesGeneros[codigo];
+                porGenero.merge(genero != null ? genero : "", porCodigoGenero[codigo], Long::sum);
+            }
+        }
+        Map<Integer, Long> porDecada = new TreeMap<>();
+        for (int i = 0; i < porAno.length; i++) {
+            if (porAno[i] > 0) {
+                int ano = anoMinimo + i;
+                // Década = ano - (ano % 10), a mesma conta da consulta agrupada do banco
+                porDecada.merge(ano - ano % 10, porAno[i], Long::sum);
+            }
+        }
+        return new FacetasDTO(porGenero, porDecada);
+    }
+
+    PaginaAlbuns listarPagina(FiltroAlbuns filtro, int limite, CursorAlbum cursor, boolean incluirTotal) {
+        Selecao selecao = new Criterio(filtro).selecionar();
+
+        // Busca binária pela primeira posição depois do cursor, no lugar do WHERE (banda, id) > (:banda, :id)
+        int inicio = cursor == null ? 0 : primeiraAposCursor(cursor);
+
+        List<AlbumDTO> albuns = new ArrayList<>(limite);
+        String proximoCursor = null;
+        for (int i = inicio; i < tamanho; i++) {
+            int posicao = ordemBanda[i];
+            if (!selecao.contem(posicao)) {
+                continue;
+            }
+            if (albuns.size() == limite) {
+                // Há pelo menos mais um álbum: existe próxima página
+                AlbumDTO ultimo = albuns.get(limite - 1);
+                proximoCursor = new CursorAlbum(ultimo.getBanda(), ultimo.getId()).codificar();
+                break;
+            }
+            albuns.add(album(posicao));
+        }
+
+        Long total = incluirTotal ? Long.valueOf(selecao.quantidade()) : null;
+        return new PaginaAlbuns(albuns, proximoCursor, total);
+    }
+
+    void exportar(Consumer<AlbumDTO> consumidor) {
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            consumidor.accept(album(posicao));
+        }
+    }
+
+    private AlbumDTO album(int posicao) {
+        return new AlbumDTO(ids[posicao], titulos[posicao], nomesBandas[bandas[posicao]], anos[posicao],
+            nomesGeneros[generos[posicao]], BigDecimal.valueOf(centavos[posicao], 2));
+    }
+
+    /**
+     * Posição em ordemBanda do primeiro álbum depois de (cursor.banda, cursor.id).
+     */
+    private int primeiraAposCursor(CursorAlbum cursor) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            int posicao = ordemBanda[meio];
+            int comparacao = nomesBandas[bandas[posicao]].compareTo(cursor.banda());
+            if (comparacao < 0 || (comparacao == 0 && ids[posicao] <= cursor.id())) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Códigos de banda cujo nome contém, começa com ou é igual ao termo
+     * (minúsculas e sem acentos, como o índice de trigramas).
+     */
+    private boolean[] bandasAceitas(String termo, CorrespondenciaBanda correspondencia) {
+        String normalizado = IndiceTrigramas.normalizar(termo);
+        boolean[] aceitas = new boolean[quantidadeBandas];
+        for (int codigo = 0; codigo < quantidadeBandas; codigo++) {
+            aceitas[codigo] = correspondencia.aceita(bandasNormalizadas[codigo], normalizado);
+        }
+        return aceitas;
+    }
+
+    /**
+     * Álbuns aceitos por um filtro: um bit por posição (null quando não há
+     * filtro e todos são aceitos) e a quantidade de aceitos.
+     */
+    private record Selecao(long[] bits, int quantidade) {
+
+        boolean contem(int posicao) {
+            return bits == null || (bits[posicao >>> 6] & (1L << posicao)) != 0;
+        }
+    }
+
+    /**
+     * Filtro convertido para as colunas: banda e gênero viram um boolean[] por
+     * código do dicionário; o preço vira um intervalo em centavos.
+     */
+    private final class Criterio {
+
+        // null: sem filtro naquela coluna
+        private final boolean[] bandasAceitas;
+        private final boolean[] generosAceitos;
+        private final int anoMin;
+        private final int anoMax;
+        private final long centavosMin;
+        private final long centavosMax;
+
+        Criterio(FiltroAlbuns filtro) {
+            bandasAceitas = FiltroAlbuns.temTexto(filtro.banda())
+                ? bandasAceitas(filtro.banda(), CorrespondenciaBanda.CONTEM)
+                : null;
+            if (FiltroAlbuns.temTexto(filtro.genero())) {
+                // Igualdade sem diferenciar maiúsculas e acentos (como a collation do MySQL)
+                String genero = IndiceTrigramas.normalizar(filtro.genero());
+                generosAceitos = new boolean[quantidadeGeneros];
+                for (int codigo = 0; codigo < quantidadeGeneros; codigo++) {
+                    generosAceitos[codigo] = generosNormalizados[codigo].equals(genero);
+                }
+            } else {
+                generosAceitos = null;
+            }
+            anoMin = filtro.anoMin() != null ? filtro.anoMin() : Integer.MIN_VALUE;
+            anoMax = filtro.anoMax() != null ? filtro.anoMax() : Integer.MAX_VALUE;
+            // Arredonda para dentro do intervalo: preço mínimo 10,001 → 1001 centavos
+            centavosMin = filtro.precoMin() != null ? centavos(filtro.precoMin(), RoundingMode.CEILING) : Long.MIN_VALUE;
+            centavosMax = filtro.precoMax() != null ? centavos(filtro.precoMax(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+        }
+
+        /**
+         * Testa o filtro em todos os álbuns, percorrendo as colunas em
+         * sequência (ordem de posição). Listagens e páginas depois seguem a
+         * ordem por banda consultando só os bits, que cabem no cache do
+         * processador (1 milhão de álbuns = 122 KB), em vez de saltar entre
+         * as posições de todas as colunas.
+         */
+        Selecao selecionar() {
+            if (bandasAceitas == null && generosAceitos == null && anoMin == Integer.MIN_VALUE
+                    && anoMax == Integer.MAX_VALUE && centavosMin == Long.MIN_VALUE && centavosMax == Long.MAX_VALUE) {
+                return new Selecao(null, tamanho);
+            }
+            long[] bits = new long[(tamanho + 63) >>> 6];
+            int quantidade = 0;
+            for (int posicao = 0; posicao < tamanho; posicao++) {
+                if (aceita(posicao)) {
+                    bits[posicao >>> 6] |= 1L << posicao;
+                    quantidade++;
+                }
+            }
+            return new Selecao(bits, quantidade);
+        }
+
+        boolean aceita(int posicao) {
+            int ano = anos[posicao];
+            long preco = centavos[posicao];
+            return ano >= anoMin && ano <= anoMax
+                && preco >= centavosMin && preco <= centavosMax
+                && (generosAceitos == null || generosAceitos[generos[posicao]])
+                && (bandasAceitas == null || bandasAceitas[bandas[posicao]]);
+        }
+    }
+
+    // ========== ESCRITAS ==========
+
+    /**
+     * Álbum com os valores finais de uma escrita, antes de ir para as colunas.
+     */
+    private record Linha(long id, String titulo, String banda, String genero, int ano, long centavos) {
+    }
+
+    /**
+     * Resultado de aplicar(): a cópia nova e quantas alterações não puderam ser aplicadas.
+     */
+    record Aplicacao(ColunasCatalogo colunas, int ignoradas) {
+    }
+
+    /**
+     * Gera uma cópia com as escritas aplicadas (esta cópia não muda).
+     *
+     * Alterações parciais (PATCH, reajuste de preço) trazem só os campos
+     * alterados; os demais vêm da linha atual. Uma alteração parcial de um
+     * álbum que não está na cópia (ex: gravado direto no banco) é ignorada
+     * e contada: a próxima recarga corrige.
+     *
+     * Se nenhuma banda mudou e nenhum álbum entrou ou saiu, a ordem das
+     * linhas é a mesma: só as colunas alteradas são copiadas. Caso contrário
+     * as colunas são remontadas em uma passada (O(n)).
+     */
+    Aplicacao aplicar(List<AlbunsAlteradosEvent.Alteracao> alteracoes) {
+        // Estado final de cada álbum alterado; a última alteração de um mesmo ID prevalece
+        Map<Long, Linha> gravadas = new LinkedHashMap<>();
+        Set<Long> excluidas = new HashSet<>();
+        int ignoradas = 0;
+        for (AlbunsAlteradosEvent.Alteracao alteracao : alteracoes) {
+            long id = alteracao.id();
+            if (alteracao.tipo() == AlbunsAlteradosEvent.Tipo.EXCLUIDO) {
+                gravadas.remove(id);
+                excluidas.add(id);
+                continue;
+            }
+            Linha anterior = gravadas.containsKey(id) ? gravadas.get(id) : linha(posicaoDoId(id));
+            Linha nova = mesclar(anterior, alteracao);
+            if (nova == null) {
+                ignoradas++;
+                continue;
+            }
+            gravadas.put(id, nova);
+            excluidas.remove(id);
+        }
+
+        boolean mudaOrdem = false;
+        for (long id : excluidas) {
+            mudaOrdem |= posicaoDoId(id) >= 0;
+        }
+        for (Linha linha : gravadas.values()) {
+            int posicao = posicaoDoId(linha.id());
+            mudaOrdem |= posicao < 0 || !nomesBandas[bandas[posicao]].equals(linha.banda());
+        }
+
+        ColunasCatalogo nova = mudaOrdem
+            ? remontar(gravadas, excluidas)
+            : atualizarSemMudarOrdem(gravadas);
+        return new Aplicacao(nova, ignoradas);
+    }
+
+    /**
+     * Mesmas posições e mesma ordem: copia só as colunas que uma escrita pode alterar.
+     */
+    private ColunasCatalogo atualizarSemMudarOrdem(Map<Long, Linha> gravadas) {
+        if (gravadas.isEmpty()) {
+            return this;
+        }
+        String[] novosTitulos = titulos.clone();
+        int[] novosGeneros = generos.clone();
+        int[] novosAnos = anos.clone();
+        long[] novosCentavos = centavos.clone();
+        for (Linha linha : gravadas.values()) {
+            int posicao = posicaoDoId(linha.id());
+            novosTitulos[posicao] = linha.titulo();
+            novosGeneros[posicao] = dicionarioGeneros.codigo(linha.genero());
+            novosAnos[posicao] = linha.ano();
+            novosCentavos[posicao] = linha.centavos();
+        }
+        return new ColunasCatalogo(tamanho, ids, novosTitulos, bandas, novosGeneros, novosAnos, novosCentavos,
+            ordemBanda, dicionarioBandas, dicionarioGeneros);
+    }
+
+    /**
+     * Monta colunas novas: as linhas atuais que não mudaram, intercaladas
+     * por ID com as gravadas, e a ordem por (banda, id) intercalando a ordem
+     * atual com as gravadas.
+     */
+    private ColunasCatalogo remontar(Map<Long, Linha> gravadas, Set<Long> excluidas) {
+        // Linhas atuais que saem: excluídas ou substituídas por uma versão gravada
+        boolean[] sai = new boolean[tamanho];
+        int saindo = 0;
+        for (long id : excluidas) {
+            int posicao = posicaoDoId(id);
+            if (posicao >= 0) {
+                sai[posicao] = true;
+                saindo++;
+            }
+        }
+        for (long id : gravadas.keySet()) {
+            int posicao = posicaoDoId(id);
+            if (posicao >= 0) {
+                sai[posicao] = true;
+                saindo++;
+            }
+        }
+
+        List<Linha> novas = new ArrayList<>(gravadas.values());
+        novas.sort(Comparator.comparingLong(Linha::id));
+
+        Construtor construtor = new Construtor(tamanho - saindo + novas.size(), dicionarioBandas, dicionarioGeneros);
+        // Posição de cada linha atual na cópia nova (-1 se saiu) e de cada linha gravada
+        int[] novaPosicao = new int[tamanho];
+        int[] posicaoGravada = new int[novas.size()];
+        int j = 0;
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            while (j < novas.size() && novas.get(j).id() < ids[posicao]) {
+                posicaoGravada[j] = construtor.tamanho;
+                construtor.adicionar(novas.get(j++));
+            }
+            if (sai[posicao]) {
+                novaPosicao[posicao] = -1;
+            } else {
+                novaPosicao[posicao] = construtor.tamanho;
+                construtor.adicionar(ids[posicao], titulos[posicao], bandas[posicao], generos[posicao],
+                    anos[posicao], centavos[posicao]);
+            }
+        }
+        while (j < novas.size()) {
+            posicaoGravada[j] = construtor.tamanho;
+            construtor.adicionar(novas.get(j++));
+        }
+
+        // Gravadas em ordem de (banda, id), para intercalar com a ordem atual
+        Integer[] indicesGravadas = IntStream.range(0, novas.size()).boxed().toArray(Integer[]::new);
+        Arrays.sort(indicesGravadas, Comparator.<Integer, String>comparing(k -> novas.get(k).banda())
+            .thenComparingLong(k -> novas.get(k).id()));
+
+        int[] ordem = new int[construtor.tamanho];
+        int k = 0;
+        int g = 0;
+        for (int i = 0; i < tamanho; i++) {
+            int posicao = ordemBanda[i];
+            if (novaPosicao[posicao] < 0) {
+                continue;
+            }
+            String banda = nomesBandas[bandas[posicao]];
+            while (g < indicesGravadas.length && vemAntes(novas.get(indicesGravadas[g]), banda, ids[posicao])) {
+                ordem[k++] = posicaoGravada[indicesGravadas[g++]];
+            }
+            ordem[k++] = novaPosicao[posicao];
+        }
+        while (g < indicesGravadas.length) {
+            ordem[k++] = posicaoGravada[indicesGravadas[g++]];
+        }
+        return construtor.construir(ordem);
+    }
+
+    private static boolean vemAntes(Linha linha, String banda, long id) {
+        int comparacao = linha.banda().compareTo(banda);
+        return comparacao < 0 || (comparacao == 0 && linha.id() < id);
+    }
+
+    private static Linha mesclar(Linha anterior, AlbunsAlteradosEvent.Alteracao alteracao) {
+        AlbunsAlteradosEvent.Valores valores = alteracao.valoresNovos() != null
+            ? alteracao.valoresNovos()
+            : new AlbunsAlteradosEvent.Valores(null, null, null, null);
+        String titulo = valores.titulo() != null ? valores.titulo() : anterior != null ? anterior.titulo() : null;
+        String banda = alteracao.bandaNova() != null ? alteracao.bandaNova() : anterior != null ? anterior.banda() : null;
+        String genero = valores.genero() != null ? valores.genero() : anterior != null ? anterior.genero() : null;
+        Integer ano = valores.ano() != null ? valores.ano() : anterior != null ? Integer.valueOf(anterior.ano()) : null;
+        Long preco = valores.preco() != null
+            ? Long.valueOf(centavos(valores.preco(), RoundingMode.HALF_UP))
+            : anterior != null ? Long.valueOf(anterior.centavos()) : null;
+        if (titulo == null || banda == null || ano == null || preco == null) {
+            return null;
+        }
+        return new Linha(alteracao.id(), titulo, banda, genero, ano, preco);
+    }
+
+    private Linha linha(int posicao) {
+        if (posicao < 0) {
+            return null;
+        }
+        return new Linha(ids[posicao], titulos[posicao], nomesBandas[bandas[posicao]],
+            nomesGeneros[generos[posicao]], anos[posicao], centavos[posicao]);
+    }
+
+    private int posicaoDoId(long id) {
+        int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+        return posicao >= 0 ? posicao : -1;
+    }
+
+    /**
+     * Preço em centavos, limitado à faixa do long (filtros podem vir com valores absurdos).
+     */
+    static long centavos(BigDecimal preco, RoundingMode arredondamento) {
+        BigDecimal valor = preco.movePointRight(2).setScale(0, arredondamento);
+        if (valor.compareTo(MAIOR_LONG) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (valor.compareTo(MENOR_LONG) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return valor.longValue();
+    }
+
+    // ========== MEMÓRIA ==========
+
+    /**
+     * Memória aproximada desta cópia: arrays das colunas, títulos e
+     * dicionários (referências comprimidas de 4 bytes, como no HotSpot com heap até 32 GB).
+     */
+    long bytesEstimados() {
+        long bytes = bytesArray(ids.length, 8) + bytesArray(titulos.length, 4) + bytesArray(bandas.length, 4)
+            + bytesArray(generos.length, 4) + bytesArray(anos.length, 4) + bytesArray(centavos.length, 8)
+            + bytesArray(ordemBanda.length, 4);
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            bytes += bytesString(titulos[posicao]);
+        }
+        return bytes + dicionarioBandas.bytesEstimados() + dicionarioGeneros.bytesEstimados();
+    }
+
+    // Cabeçalho de 16 bytes + elementos, alinhado em 8 bytes
+    static long bytesArray(int elementos, int bytesPorElemento) {
+        return alinhar(16 + (long) elementos * bytesPorElemento);
+    }
+
+    // Objeto String (24 bytes) + byte[] com 1 byte por caractere (Latin-1) ou 2 (UTF-16)
+    static long bytesString(String texto) {
+        if (texto == null) {
+            return 0;
+        }
+        boolean latin1 = texto.chars().allMatch(c -> c <= 0xFF);
+        return 24 + bytesArray(texto.length(), latin1 ? 1 : 2);
+    }
+
+    private static long alinhar(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // ========== CONSTRUÇÃO ==========
+
+    /**
+     * Monta as colunas a partir de álbuns recebidos em ordem crescente de ID
+     * (a leitura do banco na recarga e a remontagem de aplicar()).
+     */
+    static final class Construtor {
+
+        private final Dicionario dicionarioBandas;
+        private final Dicionario dicionarioGeneros;
+        private long[] ids;
+        private String[] titulos;
+        private int[] bandas;
+        private int[] generos;
+        private int[] anos;
+        private long[] centavos;
+        private int tamanho;
+
+        /**
+         * Construtor com dicionários novos (recarga do catálogo).
+         */
+        Construtor(int capacidade) {
+            this(capacidade, new Dicionario(), new Dicionario());
+        }
+
+        private Construtor(int capacidade, Dicionario dicionarioBandas, Dicionario dicionarioGeneros) {
+            int inicial = Math.max(capacidade, 16);
+            this.dicionarioBandas = dicionarioBandas;
+            this.dicionarioGeneros = dicionarioGeneros;
+            this.ids = new long[inicial];
+            this.titulos = new String[inicial];
+            this.bandas = new int[inicial];
+            this.generos = new int[inicial];
+            this.anos = new int[inicial];
+            this.centavos = new long[inicial];
+        }
+
+        void adicionar(AlbumDTO album) {
+            adicionar(album.getId(), album.getTitulo(), dicionarioBandas.codigo(album.getBanda()),
+                dicionarioGeneros.codigo(album.getGenero()), album.getAno(),
+                centavos(album.getPreco(), RoundingMode.HALF_UP));
+        }
+
+        private void adicionar(Linha linha) {
+            adicionar(linha.id(), linha.titulo(), dicionarioBandas.codigo(linha.banda()),
+                dicionarioGeneros.codigo(linha.genero()), linha.ano(), linha.centavos());
+        }
+
+        private void adicionar(long id, String titulo, int banda, int genero, int ano, long preco) {
+            if (tamanho == ids.length) {
+                int capacidade = tamanho + (tamanho >> 1);
+                ids = Arrays.copyOf(ids, capacidade);
+                titulos = Arrays.copyOf(titulos, capacidade);
+                bandas = Arrays.copyOf(bandas, capacidade);
+                generos = Arrays.copyOf(generos, capacidade);
+                anos = Arrays.copyOf(anos, capacidade);
+                centavos = Arrays.copyOf(centavos, capacidade);
+            }
+            ids[tamanho] = id;
+            titulos[tamanho] = titulo;
+            bandas[tamanho] = banda;
+            generos[tamanho] = genero;
+            anos[tamanho] = ano;
+            centavos[tamanho] = preco;
+            tamanho++;
+        }
+
+        /**
+         * Colunas com a ordem por (banda, id) calculada aqui.
+         *
+         * As bandas distintas são ordenadas uma vez pelo nome; cada álbum
+         * vira um long com (posição da banda nessa ordem, posição do álbum) e
+         * um sort de long[] dá a ordem final. Como as posições já estão em
+         * ordem de ID, a segunda metade do long desempata pelo ID.
+         */
+        ColunasCatalogo construir() {
+            String[] nomes = dicionarioBandas.valores();
+            Integer[] codigos = IntStream.range(0, dicionarioBandas.tamanho()).boxed().toArray(Integer[]::new);
+            Arrays.sort(codigos, Comparator.comparing(codigo -> nomes[codigo]));
+            int[] postoBanda = new int[codigos.length];
+            for (int i = 0; i < codigos.length; i++) {
+                postoBanda[codigos[i]] = i;
+            }
+
+            long[] chaves = new long[tamanho];
+            for (int posicao = 0; posicao < tamanho; posicao++) {
+                chaves[posicao] = ((long) postoBanda[bandas[posicao]] << 32) | posicao;
+            }
+            Arrays.sort(chaves);
+            int[] ordem = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                ordem[i] = (int) chaves[i];
+            }
+            return construir(ordem);
+        }
+
+        private ColunasCatalogo construir(int[] ordem) {
+            // Arrays no tamanho exato: a cópia publicada não guarda capacidade sobrando
+            return new ColunasCatalogo(tamanho, Arrays.copyOf(ids, tamanho), Arrays.copyOf(titulos, tamanho),
+                Arrays.copyOf(bandas, tamanho), Arrays.copyOf(generos, tamanho), Arrays.copyOf(anos, tamanho),
+                Arrays.copyOf(centavos, tamanho), ordem, dicionarioBandas, dicionarioGeneros);
+        }
+    }
+}
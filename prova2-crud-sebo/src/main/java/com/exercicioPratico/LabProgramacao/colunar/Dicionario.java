@@ -0,0 +1,71 @@
+package com.exercicioPratico.LabProgramacao.colunar;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceTrigramas;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codificação por dicionário de uma coluna de texto com muitos valores
+ * repetidos (banda, gênero): cada valor distinto recebe um código inteiro e
+ * a coluna guarda só o código (4 bytes por álbum, em vez de uma referência
+ * para uma String própria).
+ *
+ * Só cresce: um valor que deixou de ser usado continua com seu código até
+ * a próxima recarga do catálogo, que monta dicionários novos.
+ *
+ * Não é thread-safe; usado apenas pela thread que escreve no catálogo. As
+ * leituras usam os arrays capturados em cada ColunasCatalogo: um código já
+ * atribuído nunca muda de posição, e ao crescer os valores vão para arrays
+ * novos, então uma cópia antiga nunca vê um array alterado nas suas posições.
+ */
+final class Dicionario {
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private String[] valores = new String[16];
+    // Valor em minúsculas e sem acentos, usado nos filtros
+    private String[] normalizados = new String[16];
+    private int tamanho;
+
+    /**
+     * Código do valor, atribuindo o próximo código livre se ele for novo.
+     */
+    int codigo(String valor) {
+        Integer codigo = codigos.get(valor);
+        if (codigo != null) {
+            return codigo;
+        }
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, tamanho * 2);
+            normalizados = Arrays.copyOf(normalizados, tamanho * 2);
+        }
+        valores[tamanho] = valor;
+        normalizados[tamanho] = IndiceTrigramas.normalizar(valor);
+        codigos.put(valor, tamanho);
+        return tamanho++;
+    }
+
+    String[] valores() {
+        return valores;
+    }
+
+    String[] normalizados() {
+        return normalizados;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Memória aproximada do dicionário (strings, arrays e o mapa de códigos).
+     */
+    long bytesEstimados() {
+        long bytes = 2 * ColunasCatalogo.bytesArray(valores.length, 4) + tamanho * 48L;
+        for (int i = 0; i < tamanho; i++) {
+            bytes += ColunasCatalogo.bytesString(valores[i]) + ColunasCatalogo.bytesString(normalizados[i]);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,166 @@
+package com.exercicioPratico.LabProgramacao.concorrencia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Limite adaptativo de requisições simultâneas na frente do AlbumController
+ * (todas as rotas /api/albuns).
+ *
+ * Sem limite, num pico de tráfego as requisições se acumulam esperando uma
+ * conexão do pool dentro do AlbumService: a latência sobe para todos até as
+ * esperas estourarem e virarem erros 500. Aqui a requisição que passaria do
+ * limite (LimiteAdaptativo, ajustado pela latência observada) é recusada na
+ * hora com 503 e Retry-After, sem ocupar o banco; as admitidas continuam
+ * rápidas.
+ *
+ * Prioridades (albuns.limite.reserva-prioritaria):
+ * - GET /api/albuns/{id}: leitura barata (uma linha, geralmente do cache),
+ *   pode ocupar o limite inteiro
+ * - demais rotas (listagens, buscas, escritas): só até (1 - reserva) do
+ *   limite, e por isso são as primeiras a serem recusadas
+ *
+ * Exportação, lote e operações em massa levam tempo proporcional à
+ * quantidade de álbuns, não à carga: ocupam vaga, mas sua latência não
+ * entra no cálculo do limite. O mesmo vale para a capa (/{id}/cover) quando
+ * é copiada sem sendfile: o tempo depende do tamanho do arquivo.
+ *
+ * Lido em tempo de execução (e não com @ConditionalOnProperty): com o
+ * processamento AOT as condições ficam fixas no build.
+ */
+@Component
+public class FiltroLimiteConcorrencia extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "/api/albuns";
+    private static final Pattern BUSCA_POR_ID = Pattern.compile("/api/albuns/\\d+");
+
+    private final LimiteAdaptativo limite;
+    private final boolean habilitado;
+    private final double fracaoNormal;
+    private final ObjectMapper objectMapper;
+    private final Counter rejeitadasPrioritarias;
+    private final Counter rejeitadasNormais;
+
+    public FiltroLimiteConcorrencia(ObjectMapper objectMapper, MeterRegistry registry,
+                                    @Value("${albuns.limite.habilitado:true}") boolean habilitado,
+                                    @Value("${albuns.limite.inicial:50}") int inicial,
+                                    @Value("${albuns.limite.minimo:8}") int minimo,
+                                    @Value("${albuns.limite.maximo:400}") int maximo,
+                                    @Value("${albuns.limite.reserva-prioritaria:0.2}") double reserva) {
+        if (reserva < 0 || reserva >= 1) {
+            throw new IllegalArgumentException("albuns.limite.reserva-prioritaria deve estar entre 0 e 1: " + reserva);
+        }
+        this.limite = new LimiteAdaptativo(inicial, minimo, maximo);
+        this.habilitado = habilitado;
+        this.fracaoNormal = 1 - reserva;
+        this.objectMapper = objectMapper;
+        this.rejeitadasPrioritarias = contador(registry, "prioritaria");
+        this.rejeitadasNormais = contador(registry, "normal");
+
+        Gauge.builder("albuns.limite.concorrencia", limite, LimiteAdaptativo::limite)
+            .description("Limite atual de requisições simultâneas em /api/albuns")
+            .register(registry);
+        Gauge.builder("albuns.limite.em-andamento", limite, LimiteAdaptativo::emAndamento)
+            .description("Requisições em andamento em /api/albuns")
+            .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || !caminho(request).startsWith(PREFIXO);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String caminho = caminho(request);
+        boolean prioritaria = request.getMethod().equals("GET") && BUSCA_POR_ID.matcher(caminho).matches();
+
+        int emAndamento = limite.tentarAdquirir(prioritaria ? 1.0 : fracaoNormal);
+        if (emAndamento == 0) {
+            (prioritaria ? rejeitadasPrioritarias : rejeitadasNormais).increment();
+            recusar(response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        try {
+            chain.doFilter(request, response);
+            falhou = response.getStatus() >= 500;
+        } finally {
+            limite.liberar();
+            if (falhou) {
+                limite.registrarFalha();
+            } else if (!porVolume(request.getMethod(), caminho)) {
+                limite.registrarSucesso(System.nanoTime() - inicio, emAndamento);
+            }
+        }
+    }
+
+    /**
+     * Limite usado pelo filtro (para métricas e testes).
+     */
+    public LimiteAdaptativo limite() {
+        return limite;
+    }
+
+    /**
+     * Rotas cujo tempo depende da quantidade de álbuns (exportação, lote e
+     * operações em massa) ou do tamanho do arquivo (capa).
+     */
+    private static boolean porVolume(String metodo, String caminho) {
+        return caminho.equals(PREFIXO + "/export")
+            || caminho.endsWith("/cover")
+            || caminho.equals(PREFIXO + "/batch")
+            || caminho.equals(PREFIXO + "/reajuste-preco")
+            || (metodo.equals("DELETE") && caminho.equals(PREFIXO));
+    }
+
+    /**
+     * Resposta 503 no mesmo formato do ApiExceptionHandler. O filtro roda
+     * antes do DispatcherServlet, então a resposta é escrita aqui.
+     */
+    private void recusar(HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Serviço Indisponível");
+        body.put("message", "Servidor sobrecarregado. Tente novamente em instantes.");
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Counter contador(MeterRegistry registry, String prioridade) {
+        return Counter.builder("albuns.limite.rejeitadas")
+            .description("Requisições recusadas com 503 pelo limite de concorrência, por prioridade")
+            .tag("prioridade", prioridade)
+            .register(registry);
+    }
+}
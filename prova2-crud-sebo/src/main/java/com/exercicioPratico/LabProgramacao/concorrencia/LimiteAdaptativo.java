@@ -0,0 +1,140 @@
+package com.exercicioPratico.LabProgramacao.concorrencia;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite adaptativo de requisições em andamento (concurrency limit).
+ *
+ * Em vez de um número fixo, o limite acompanha a latência observada:
+ * - latência atual: média móvel curta (JANELA_CURTA amostras)
+ * - latência de referência: a menor latência atual já vista, o tempo de
+ *   resposta de quando o banco não está sobrecarregado. Se uma latência
+ *   maior persistir (ex: o catálogo cresceu e as consultas ficaram mais
+ *   caras), a referência sobe devagar até ela, em cerca de JANELA_LONGA amostras
+ * - gradiente = TOLERANCIA * referência / atual, entre 0,5 e 1: enquanto a
+ *   latência atual fica abaixo de TOLERANCIA vezes a referência o gradiente
+ *   é 1 e o limite cresce (raiz do limite, como folga de fila); acima disso
+ *   as requisições estão esperando (conexões do pool, travas no MySQL) e o
+ *   limite encolhe na proporção do atraso
+ * - falha (resposta 5xx ou exceção): redução multiplicativa (limite * 0,9),
+ *   como no AIMD
+ *
+ * O limite só cresce quando está sendo usado (pelo menos metade ocupada):
+ * com pouco tráfego a latência baixa não prova que o banco aguentaria mais.
+ *
+ * Cada classe de requisição usa uma fração do limite (ver tentarAdquirir):
+ * as de baixa prioridade são recusadas antes, e a fração restante fica
+ * reservada para as prioritárias.
+ */
+public class LimiteAdaptativo {
+
+    // Janelas das médias móveis exponenciais, em amostras
+    private static final int JANELA_CURTA = 10;
+    private static final int JANELA_LONGA = 500;
+    // Latência até 2x a referência ainda é considerada normal
+    private static final double TOLERANCIA = 2.0;
+    // Peso de cada novo cálculo no limite (evita oscilações a cada amostra)
+    private static final double SUAVIZACAO = 0.2;
+    private static final double REDUCAO_EM_FALHA = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    // volatile: alterado sob a trava de "this", lido sem trava em tentarAdquirir
+    private volatile double limite;
+
+    // Protegidos por "this"
+    private double latenciaCurta;
+    private double latenciaReferencia;
+    private long amostras;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo) {
+        if (minimo < 1 || minimo > inicial || inicial > maximo) {
+            throw new IllegalArgumentException("O limite deve respeitar 1 <= mínimo <= inicial <= máximo.");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.limite = inicial;
+    }
+
+    /**
+     * Tenta ocupar uma vaga para uma requisição.
+     *
+     * @param fracao Fração do limite que a classe da requisição pode ocupar (0 a 1)
+     * @return Requisições em andamento contando esta, ou 0 se foi recusada
+     */
+    public int tentarAdquirir(double fracao) {
+        int maximoClasse = Math.max(1, (int) (limite * fracao));
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= maximoClasse) {
+                return 0;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return atual + 1;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga ocupada por tentarAdquirir.
+     */
+    public void liberar() {
+        emAndamento.decrementAndGet();
+    }
+
+    /**
+     * Registra a latência de uma requisição concluída e recalcula o limite.
+     *
+     * @param latenciaNanos Tempo da requisição
+     * @param emAndamentoNoInicio Requisições em andamento quando ela foi admitida
+     */
+    public synchronized void registrarSucesso(long latenciaNanos, int emAndamentoNoInicio) {
+        amostras++;
+        if (amostras == 1) {
+            latenciaCurta = latenciaNanos;
+            latenciaReferencia = latenciaNanos;
+            return;
+        }
+        latenciaCurta += (latenciaNanos - latenciaCurta) / JANELA_CURTA;
+        if (latenciaCurta < latenciaReferencia) {
+            latenciaReferencia = latenciaCurta;
+        } else {
+            latenciaReferencia += (latenciaCurta - latenciaReferencia) / JANELA_LONGA;
+        }
+
+        double atual = limite;
+        if (emAndamentoNoInicio < atual / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * latenciaReferencia / latenciaCurta));
+        double calculado = atual * gradiente + Math.sqrt(atual);
+        limite = limitar(atual * (1 - SUAVIZACAO) + calculado * SUAVIZACAO);
+    }
+
+    /**
+     * Registra uma requisição que falhou (5xx ou exceção) e reduz o limite.
+     */
+    public synchronized void registrarFalha() {
+        limite = limitar(limite * REDUCAO_EM_FALHA);
+    }
+
+    /**
+     * Limite atual (arredondado para baixo).
+     */
+    public int limite() {
+        return (int) limite;
+    }
+
+    /**
+     * Requisições em andamento neste momento.
+     */
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+
+    private double limitar(double valor) {
+        return Math.max(minimo, Math.min(maximo, valor));
+    }
+}
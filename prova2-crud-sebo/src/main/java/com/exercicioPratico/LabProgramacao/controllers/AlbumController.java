@@ -1,13 +1,44 @@
 package com.exercicioPratico.LabProgramacao.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.exercicioPratico.LabProgramacao.cache.CacheRespostasAlbum;
+import com.exercicioPratico.LabProgramacao.cache.RespostaCacheada;
+import com.exercicioPratico.LabProgramacao.cache.VersaoCatalogo;
+import com.exercicioPratico.LabProgramacao.capas.ArquivosCapas;
+import com.exercicioPratico.LabProgramacao.capas.EnvioCapa;
 import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AlteracoesDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.EscritaAssincronaDTO;
+import com.exercicioPratico.LabProgramacao.dto.EstatisticasDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.dto.OperacaoEmMassaDTO;
+import com.exercicioPratico.LabProgramacao.dto.PaginaAlbunsDTO;
+import com.exercicioPratico.LabProgramacao.dto.ReajustePrecoDTO;
+import com.exercicioPratico.LabProgramacao.estatisticas.EstatisticasCatalogo;
 import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.serializacao.FormatoResposta;
+import com.exercicioPratico.LabProgramacao.serializacao.SerializadorRespostas;
 import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.CorrespondenciaBanda;
+import com.exercicioPratico.LabProgramacao.service.EscritaAssincronaAlbuns;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import com.exercicioPratico.LabProgramacao.service.PaginaAlbuns;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,70 +59,347 @@ public class AlbumController {
     // O Spring Boot automaticamente injeta uma instância de AlbumService
     private final AlbumService albumService;
 
-    public AlbumController(AlbumService albumService) {
+    // ObjectMappers de JSON, CBOR e Smile com a configuração do Spring Boot
+    private final SerializadorRespostas serializador;
+
+    // Cache das respostas de leitura já serializadas (GET por ID, lista e busca por banda)
+    private final CacheRespostasAlbum cacheRespostas;
+
+    // Versão da coleção: ETag e Last-Modified das listagens
+    private final VersaoCatalogo versaoCatalogo;
+
+    // Fila de criação assíncrona (POST /api/albuns?async=true)
+    private final EscritaAssincronaAlbuns escritaAssincrona;
+
+    // Estatísticas do catálogo mantidas em memória (GET /api/albuns/stats)
+    private final EstatisticasCatalogo estatisticas;
+
+    // Arquivos das capas e o envio deles (GET /api/albuns/{id}/cover)
+    private final ArquivosCapas arquivosCapas;
+    private final EnvioCapa envioCapa;
+
+    public AlbumController(AlbumService albumService, SerializadorRespostas serializador,
+                           CacheRespostasAlbum cacheRespostas, VersaoCatalogo versaoCatalogo,
+                           EscritaAssincronaAlbuns escritaAssincrona, EstatisticasCatalogo estatisticas,
+                           ArquivosCapas arquivosCapas, EnvioCapa envioCapa) {
         this.albumService = albumService;
+        this.serializador = serializador;
+        this.cacheRespostas = cacheRespostas;
+        this.versaoCatalogo = versaoCatalogo;
+        this.escritaAssincrona = escritaAssincrona;
+        this.estatisticas = estatisticas;
+        this.arquivosCapas = arquivosCapas;
+        this.envioCapa = envioCapa;
     }
 
+    /**
+     * Tamanho de página usado quando o cliente envia "after" sem "limit".
+     */
+    private static final int LIMITE_PADRAO_PAGINA = 50;
+
     /**
      * Endpoint GET /api/albuns
      * Lista todos os álbuns ou filtra por banda (se o parâmetro for fornecido).
      * 
+     * Por padrão a banda é buscada por "contém". Com correspondencia=prefixo ou
+     * correspondencia=exata (só na busca apenas por banda) a consulta usa o
+     * índice da banda normalizada no banco, sem passar pelo cache de respostas.
+     * Exemplo: GET /api/albuns?banda=iron&correspondencia=prefixo
+     * 
+     * Filtros adicionais (opcionais e combináveis com banda):
+     * Exemplo: GET /api/albuns?genero=Metal&anoMin=1980&anoMax=1989&precoMax=100
+     * 
+     * Modo paginado (por cursor): ativado quando "limit" ou "after" é informado.
+     * Exemplo: GET /api/albuns?limit=20 → primeira página
+     *          GET /api/albuns?limit=20&after=<proximoCursor> → próxima página
+     * Nesse modo (e quando facetas=true) a resposta é um PaginaAlbunsDTO em vez
+     * de uma lista simples, e só uma página é lida do banco por requisição.
+     * 
+     * GET condicional: toda listagem responde com o ETag da versão atual da
+     * coleção (VersaoCatalogo, lida no banco e igual em todas as instâncias).
+     * Se o cliente reenviar esse ETag em If-None-Match (ou uma data em
+     * If-Modified-Since) e nenhum álbum tiver mudado, a resposta é 304 Not Modified
+     * sem corpo, e a consulta da lista nem chega a ser executada. O ETag das
+     * listagens é fraco (W/"..."), porque o corpo pode sair comprimido.
+     * 
+     * Formato da resposta (cabeçalho Accept, ver FormatoResposta): JSON por padrão,
+     * ou os formatos binários application/cbor e application/x-jackson-smile,
+     * menores e mais rápidos de ler no app. Cada formato tem seu ETag.
+     * 
      * @param banda Parâmetro opcional de query string para filtrar por nome da banda
-     * @return Lista de álbuns convertidos para DTO com status HTTP 200 (OK)
+     * @param correspondencia Como a banda é comparada: contem (padrão), prefixo ou exata
+     * @param genero Filtra pelo gênero exato (case-insensitive)
+     * @param anoMin Ano de lançamento mínimo (inclusive)
+     * @param anoMax Ano de lançamento máximo (inclusive)
+     * @param precoMin Preço mínimo (inclusive)
+     * @param precoMax Preço máximo (inclusive)
+     * @param limit Quantidade de álbuns por página (ativa o modo paginado)
+     * @param after Cursor da página anterior (ativa o modo paginado)
+     * @param total Se true, inclui o total de álbuns do filtro na resposta paginada
+     * @param facetas Se true, inclui a contagem de álbuns por gênero e por década
+     * @param cabecalhos Cabeçalhos da requisição (Accept / If-None-Match / If-Modified-Since)
+     * @return Lista de álbuns (ou página de álbuns) convertidos para DTO com status HTTP 200 (OK),
+     *         ou 304 (NOT_MODIFIED) se a cópia do cliente ainda é a atual
      */
     @GetMapping
-    public ResponseEntity<List<AlbumDTO>> listarAlbuns(@RequestParam(required = false) String banda) {
-        List<AlbumModel> albuns;
-        
+    public ResponseEntity<?> listarAlbuns(@RequestParam(required = false) String banda,
+                                          @RequestParam(required = false) String correspondencia,
+                                          @RequestParam(required = false) String genero,
+                                          @RequestParam(required = false) Integer anoMin,
+                                          @RequestParam(required = false) Integer anoMax,
+                                          @RequestParam(required = false) BigDecimal precoMin,
+                                          @RequestParam(required = false) BigDecimal precoMax,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "false") boolean total,
+                                          @RequestParam(defaultValue = "false") boolean facetas,
+                                          @RequestHeader HttpHeaders cabecalhos) {
+        FormatoResposta formato = FormatoResposta.negociar(cabecalhos.getAccept());
+
+        // Lidos antes da consulta: se um álbum mudar durante a leitura, o cliente
+        // recebe dados novos com o ETag antigo e apenas baixa de novo na próxima vez
+        VersaoCatalogo.Versao versao = versaoCatalogo.atual();
+        String etag = formato.etag(versao.etag());
+        Instant ultimaModificacao = versao.ultimaModificacao();
+        if (naoModificado(cabecalhos, etag, ultimaModificacao)) {
+            return naoModificadoResposta(etag, ultimaModificacao, true);
+        }
+
+        FiltroAlbuns filtro = new FiltroAlbuns(banda, genero, anoMin, anoMax, precoMin, precoMax);
+        boolean paginado = limit != null || after != null;
+
+        // Começo ou igualdade da banda: consulta indexada, barata o bastante para dispensar o cache
+        CorrespondenciaBanda modoBanda = CorrespondenciaBanda.de(correspondencia);
+        if (modoBanda != CorrespondenciaBanda.CONTEM) {
+            if (!FiltroAlbuns.temTexto(banda) || paginado || facetas || filtro.temFiltrosAlemDaBanda()) {
+                throw new IllegalArgumentException(
+                    "O parâmetro correspondencia só pode ser usado na busca apenas por banda.");
+            }
+            return comValidadores(ResponseEntity.ok(), etag, ultimaModificacao, true)
+                .contentType(formato.tipo())
+                .body(albumService.buscarPorBanda(banda, modoBanda));
+        }
+
+        // Resposta com envelope: página por cursor e/ou facetas
+        if (paginado || facetas) {
+            List<AlbumDTO> itens;
+            String proximoCursor = null;
+            Long totalAlbuns = null;
+
+            if (paginado) {
+                int limite = limit != null ? limit : LIMITE_PADRAO_PAGINA;
+                PaginaAlbuns pagina = albumService.listarPagina(filtro, limite, after, total);
+                itens = pagina.albuns();
+                proximoCursor = pagina.proximoCursor();
+                totalAlbuns = pagina.total();
+            } else {
+                itens = albumService.filtrar(filtro);
+                totalAlbuns = total ? (long) itens.size() : null;
+            }
+
+            FacetasDTO contagens = facetas ? albumService.contarFacetas(filtro) : null;
+            // Com o Content-Type definido, o Spring escolhe o conversor do formato negociado
+            return comValidadores(ResponseEntity.ok(), etag, ultimaModificacao, true)
+                .contentType(formato.tipo())
+                .body(new PaginaAlbunsDTO(itens, proximoCursor, totalAlbuns, contagens));
+        }
+
+        // Filtros de gênero, ano ou preço: consulta combinada no banco
+        if (filtro.temFiltrosAlemDaBanda()) {
+            return comValidadores(ResponseEntity.ok(), etag, ultimaModificacao, true)
+                .contentType(formato.tipo())
+                .body(albumService.filtrar(filtro));
+        }
+
         // Verifica se foi fornecido um filtro de banda na query string
         // Exemplo: GET /api/albuns?banda=Metallica
+        // A resposta vem pronta do cache (no formato pedido); o banco só é consultado em caso de falta
+        RespostaCacheada resposta;
         if (banda != null && !banda.isEmpty()) {
             // Busca álbuns que contenham o nome da banda (case-insensitive)
-            albuns = albumService.buscarPorBanda(banda);
+            resposta = cacheRespostas.obterBuscaPorBanda(banda, formato, etag, () -> RespostaCacheada.semValidadores(
+                serializador.serializar(albumService.buscarPorBanda(banda), formato)));
         } else {
             // Lista todos os álbuns ordenados por banda
-            albuns = albumService.listar();
+            resposta = cacheRespostas.obterLista(formato, etag, () -> RespostaCacheada.semValidadores(
+                serializador.serializar(albumService.listar(), formato)));
         }
         
-        // Converte lista de AlbumModel (entidade JPA) para AlbumDTO (objeto de transferência)
-        // Isso evita expor detalhes internos da entidade e melhora a performance
-        List<AlbumDTO> albunsDTO = albuns.stream()
-            .map(album -> new AlbumDTO(
-                album.getId(),
-                album.getTitulo(),
-                album.getBanda(),
-                album.getAno(),
-                album.getGenero(),
-                album.getPreco()
-            ))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(albunsDTO);
+        return comValidadores(ResponseEntity.ok(), etag, ultimaModificacao, true)
+            .contentType(formato.tipo())
+            .body(resposta.corpo());
+    }
+
+    /**
+     * Endpoint GET /api/albuns/export
+     * Exporta o catálogo completo para jobs de sincronização e feeds de parceiros.
+     * 
+     * Cada álbum é escrito na resposta assim que é lido do banco (streaming),
+     * sem montar listas em memória. O consumo de memória é o mesmo para
+     * 10 mil ou 10 milhões de registros.
+     * 
+     * Formatos suportados:
+     * - formato=json (padrão): um array JSON [ {...}, {...} ]
+     * - formato=ndjson: um objeto JSON por linha (application/x-ndjson)
+     * - formato=cbor: um array CBOR (application/cbor), escrito sem tamanho
+     *   prévio (indefinite-length), também em streaming
+     * 
+     * @param formato Formato da exportação ("json", "ndjson" ou "cbor")
+     * @param response Resposta HTTP onde os álbuns são escritos diretamente
+     * @throws IOException se a conexão com o cliente for interrompida
+     */
+    @GetMapping("/export")
+    public void exportarAlbuns(@RequestParam(defaultValue = "json") String formato,
+                               HttpServletResponse response) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(formato);
+        boolean cbor = "cbor".equalsIgnoreCase(formato);
+        if (!ndjson && !cbor && !"json".equalsIgnoreCase(formato)) {
+            throw new IllegalArgumentException("Formato de exportação inválido. Use json, ndjson ou cbor.");
+        }
+
+        FormatoResposta formatoGerador = cbor ? FormatoResposta.CBOR : FormatoResposta.JSON;
+        if (cbor) {
+            response.setContentType(FormatoResposta.CBOR.tipo().toString());
+        } else {
+            response.setContentType(ndjson ? "application/x-ndjson" : MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+        }
+
+        try (JsonGenerator gerador = serializador.mapper(formatoGerador).getFactory()
+                .createGenerator(response.getOutputStream())) {
+            if (!ndjson) {
+                gerador.writeStartArray();
+            }
+
+            albumService.exportar(album -> {
+                try {
+                    escreverAlbum(gerador, album);
+                    if (ndjson) {
+                        gerador.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    // Cliente desconectou: interrompe a leitura do banco
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (!ndjson) {
+                gerador.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Escreve um álbum como objeto JSON direto no gerador, com os mesmos
+     * campos do AlbumDTO, sem criar objetos intermediários.
+     */
+    private void escreverAlbum(JsonGenerator gerador, AlbumDTO album) throws IOException {
+        gerador.writeStartObject();
+        gerador.writeNumberField("id", album.getId());
+        gerador.writeStringField("titulo", album.getTitulo());
+        gerador.writeStringField("banda", album.getBanda());
+        if (album.getAno() != null) {
+            gerador.writeNumberField("ano", album.getAno());
+        } else {
+            gerador.writeNullField("ano");
+        }
+        gerador.writeStringField("genero", album.getGenero());
+        gerador.writeNumberField("preco", album.getPreco());
+        gerador.writeEndObject();
+    }
+
+    /**
+     * Endpoint GET /api/albuns/stats
+     * Estatísticas do catálogo para o painel: total, contagem por gênero e por
+     * década, e mínimo/média/máximo e percentis do preço.
+     * 
+     * Não consulta o banco: as estatísticas são mantidas em memória e
+     * atualizadas a cada escrita (ver EstatisticasCatalogo).
+     * 
+     * @return Estatísticas do catálogo com status HTTP 200 (OK)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EstatisticasDTO> estatisticas() {
+        return ResponseEntity.ok(estatisticas.obter());
+    }
+
+    /**
+     * Endpoint GET /api/albuns/changes?since=<token>
+     * Sincronização incremental para o app que guarda uma cópia local do catálogo.
+     * 
+     * Devolve só os álbuns criados ou atualizados depois do token, os IDs
+     * dos álbuns excluídos depois dele e o token para a próxima chamada.
+     * Sem "since" (primeira sincronização), ou com um token antigo demais,
+     * devolve o catálogo completo com "completo": true.
+     * 
+     * Exemplo: GET /api/albuns/changes?since=czo0Mg
+     * 
+     * @param since Token recebido na sincronização anterior (opcional)
+     * @return Alterações com status HTTP 200 (OK)
+     * @throws IllegalArgumentException se o token for inválido (tratado pelo ApiExceptionHandler → 400)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesDTO> listarAlteracoes(@RequestParam(required = false) String since) {
+        // no-store: a resposta depende do token e do momento da chamada
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(albumService.listarAlteracoes(since));
     }
 
     /**
      * Endpoint GET /api/albuns/{id}
      * Busca um álbum específico pelo seu ID.
      * 
+     * A resposta leva um ETag forte ("<id>-<versão>") e o Last-Modified do álbum.
+     * Se o cliente reenviar o ETag em If-None-Match e o álbum não tiver mudado,
+     * a resposta é 304 Not Modified sem corpo (servida pelo cache quando possível).
+     * 
+     * Responde em JSON, CBOR ou Smile conforme o Accept (ver listarAlbuns).
+     * 
      * @param id ID do álbum extraído da URL (path variable)
-     * @return Álbum convertido para DTO com status HTTP 200 (OK)
+     * @param cabecalhos Cabeçalhos da requisição (Accept / If-None-Match / If-Modified-Since)
+     * @return Álbum (servido pelo cache quando possível) com status HTTP 200 (OK),
+     *         ou 304 (NOT_MODIFIED) se a cópia do cliente ainda é a atual
      * @throws RuntimeException se o álbum não for encontrado (tratado no Service)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AlbumDTO> buscarPorId(@PathVariable Long id) {
-        // Busca o álbum no banco de dados através do Service
-        AlbumModel album = albumService.buscarPorId(id);
-        
-        // Converte a entidade para DTO antes de retornar
-        AlbumDTO albumDTO = new AlbumDTO(
-            album.getId(),
-            album.getTitulo(),
-            album.getBanda(),
-            album.getAno(),
-            album.getGenero(),
-            album.getPreco()
-        );
-        return ResponseEntity.ok(albumDTO);
+    public ResponseEntity<byte[]> buscarPorId(@PathVariable Long id, @RequestHeader HttpHeaders cabecalhos) {
+        FormatoResposta formato = FormatoResposta.negociar(cabecalhos.getAccept());
+
+        // Busca o álbum no banco de dados através do Service (já como DTO)
+        RespostaCacheada resposta = cacheRespostas.obterAlbum(id, formato, () -> {
+            AlbumDTO album = albumService.buscarPorId(id);
+            return new RespostaCacheada(serializador.serializar(album, formato),
+                formato.etag(etagAlbum(album)), album.getAtualizadoEm());
+        });
+
+        if (naoModificado(cabecalhos, resposta.etag(), resposta.ultimaModificacao())) {
+            return naoModificadoResposta(resposta.etag(), resposta.ultimaModificacao(), false);
+        }
+        return comValidadores(ResponseEntity.ok(), resposta.etag(), resposta.ultimaModificacao(), false)
+            .contentType(formato.tipo())
+            .body(resposta.corpo());
+    }
+
+    /**
+     * Endpoint GET /api/albuns/{id}/cover
+     * Envia a imagem da capa do álbum (campo capa, relativo a albuns.capas.diretorio).
+     * 
+     * O arquivo vai do disco para a rede sem passar pela thread da requisição
+     * (sendfile do Tomcat, ver EnvioCapa). A resposta leva ETag forte e
+     * Cache-Control: public com max-age longo; aceita Range de uma faixa
+     * (206 Partial Content), útil para retomar downloads interrompidos no app.
+     * 
+     * @param id ID do álbum extraído da URL (path variable)
+     * @param request Requisição (Range, If-Range, If-None-Match, If-Modified-Since)
+     * @param response Resposta onde os cabeçalhos são gravados
+     * @throws RuntimeException se o álbum não existir, não tiver capa ou o arquivo não existir (404)
+     * @throws IOException se a conexão com o cliente for interrompida
+     */
+    @GetMapping("/{id}/cover")
+    public void buscarCapa(@PathVariable Long id, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        envioCapa.enviar(arquivosCapas.localizar(id, albumService.buscarCapa(id)), request, response);
     }
 
     /**
@@ -104,25 +412,75 @@ public class AlbumController {
      * @Valid ativa as validações do Bean Validation (@NotBlank, @Size, etc.)
      * Se a validação falhar, o ApiExceptionHandler captura e retorna erro 400.
      * 
+     * Modo assíncrono (opcional): POST /api/albuns?async=true
+     * O álbum é validado na hora e colocado em uma fila; a gravação acontece em
+     * lote logo em seguida. A resposta é 202 (ACCEPTED) com um código de rastreio
+     * e o cabeçalho Location apontando para GET /api/albuns/escritas/{rastreio}.
+     * Com a fila cheia, a resposta é 503 com Retry-After.
+     * 
      * @param album Objeto AlbumModel recebido no corpo da requisição HTTP
-     * @return Álbum criado convertido para DTO com status HTTP 201 (CREATED)
+     * @param async Se true, usa a criação assíncrona
+     * @return Álbum criado convertido para DTO com status HTTP 201 (CREATED),
+     *         ou o rastreio da escrita com status HTTP 202 (ACCEPTED) no modo assíncrono
      */
     @PostMapping
-    public ResponseEntity<AlbumDTO> criarAlbum(@Valid @RequestBody AlbumModel album) {
+    public ResponseEntity<?> criarAlbum(@Valid @RequestBody AlbumModel album,
+                                        @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            String rastreio = escritaAssincrona.enfileirar(album);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/albuns/escritas/" + rastreio))
+                .body(new EscritaAssincronaDTO(rastreio,
+                    EscritaAssincronaAlbuns.StatusEscrita.PENDENTE.name(), null, null));
+        }
+
         // O Service valida os dados e salva no banco
         // Se o ID estiver null, será criado um novo registro
         AlbumModel albumSalvo = albumService.salvar(album);
         
         // Converte para DTO e retorna com status 201 (Created)
-        AlbumDTO albumDTO = new AlbumDTO(
-            albumSalvo.getId(),
-            albumSalvo.getTitulo(),
-            albumSalvo.getBanda(),
-            albumSalvo.getAno(),
-            albumSalvo.getGenero(),
-            albumSalvo.getPreco()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(albumDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(AlbumDTO.de(albumSalvo));
+    }
+
+    /**
+     * Endpoint GET /api/albuns/escritas/{rastreio}
+     * Consulta o status de uma criação assíncrona (POST /api/albuns?async=true).
+     * 
+     * Status possíveis: PENDENTE (na fila), GRAVADO (com o albumId) ou FALHOU (com a mensagem).
+     * Os status finalizados ficam disponíveis por albuns.escrita-assincrona.retencao-status.
+     * 
+     * @param rastreio Código de rastreio devolvido na criação
+     * @return Status da escrita com status HTTP 200 (OK)
+     * @throws RuntimeException se o rastreio não existir ou já tiver expirado (404)
+     */
+    @GetMapping("/escritas/{rastreio}")
+    public ResponseEntity<EscritaAssincronaDTO> statusEscrita(@PathVariable String rastreio) {
+        return escritaAssincrona.status(rastreio)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new RuntimeException("escrita não encontrada com rastreio: " + rastreio));
+    }
+
+    /**
+     * Endpoint POST /api/albuns/batch
+     * Cria vários álbuns em uma única requisição (ex: nova consignação de discos).
+     * 
+     * O corpo da requisição é um array JSON de álbuns. Todos são validados antes
+     * de qualquer gravação; se algum for inválido, nada é salvo e a resposta 400
+     * traz os erros de cada item pela sua posição no array.
+     * 
+     * @param albuns Lista de álbuns recebida no corpo da requisição HTTP
+     * @return Álbuns criados convertidos para DTO com status HTTP 201 (CREATED)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<AlbumDTO>> criarAlbunsEmLote(@RequestBody List<AlbumModel> albuns) {
+        // O Service valida todos os itens e insere em lotes JDBC
+        List<AlbumModel> albunsSalvos = albumService.salvarLote(albuns);
+
+        List<AlbumDTO> albunsDTO = albunsSalvos.stream()
+            .map(AlbumDTO::de)
+            .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(albunsDTO);
     }
 
     /**
@@ -145,15 +503,30 @@ public class AlbumController {
         AlbumModel albumAtualizado = albumService.salvar(album);
         
         // Converte para DTO e retorna
-        AlbumDTO albumDTO = new AlbumDTO(
-            albumAtualizado.getId(),
-            albumAtualizado.getTitulo(),
-            albumAtualizado.getBanda(),
-            albumAtualizado.getAno(),
-            albumAtualizado.getGenero(),
-            albumAtualizado.getPreco()
-        );
-        return ResponseEntity.ok(albumDTO);
+        return ResponseEntity.ok(AlbumDTO.de(albumAtualizado));
+    }
+
+    /**
+     * Endpoint PATCH /api/albuns/{id}
+     * Atualiza apenas os campos enviados de um álbum.
+     * 
+     * Exemplo: PATCH /api/albuns/1 com { "preco": 79.90 } → altera só o preço
+     * 
+     * Diferente do PUT, o álbum não é lido antes: o banco recebe um único UPDATE.
+     * Por isso a resposta não traz o álbum; quem precisar dele faz um GET
+     * (o ETag antigo deixa de valer, então o GET devolve a versão nova).
+     * 
+     * @param id ID do álbum a ser atualizado (extraído da URL)
+     * @param campos Campos a alterar (ausentes ficam como estão)
+     * @return Resposta vazia com status HTTP 204 (NO_CONTENT) indicando sucesso
+     * @throws RuntimeException se o álbum não for encontrado (tratado no Service)
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> atualizarAlbumParcial(@PathVariable Long id,
+                                                      @RequestBody AtualizacaoParcialDTO campos) {
+        // O Service valida os campos enviados e executa o UPDATE
+        albumService.atualizarParcial(id, campos);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -166,10 +539,133 @@ public class AlbumController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> excluirAlbum(@PathVariable Long id) {
-        // O Service verifica se o álbum existe antes de excluir
+        // O Service executa o DELETE e verifica pela quantidade de linhas se o álbum existia
         albumService.excluir(id);
         
         // Retorna status 204 (No Content) - operação bem-sucedida, sem conteúdo
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint DELETE /api/albuns?banda=&genero=&anoMin=&anoMax=&precoMin=&precoMax=
+     * Exclui todos os álbuns que atendem aos filtros (os mesmos da listagem).
+     * 
+     * Exemplo: DELETE /api/albuns?banda=Metallica → retira o catálogo da banda
+     * 
+     * A exclusão é feita no banco, em blocos por faixa de ID, sem ler cada álbum.
+     * Pelo menos um filtro é obrigatório (sem filtro a resposta é 400).
+     * 
+     * @return Quantidade de álbuns excluídos com status HTTP 200 (OK)
+     */
+    @DeleteMapping
+    public ResponseEntity<OperacaoEmMassaDTO> excluirAlbunsPorFiltro(@RequestParam(required = false) String banda,
+                                                                   @RequestParam(required = false) String genero,
+                                                                   @RequestParam(required = false) Integer anoMin,
+                                                                   @RequestParam(required = false) Integer anoMax,
+                                                                   @RequestParam(required = false) BigDecimal precoMin,
+                                                                   @RequestParam(required = false) BigDecimal precoMax) {
+        FiltroAlbuns filtro = new FiltroAlbuns(banda, genero, anoMin, anoMax, precoMin, precoMax);
+        return ResponseEntity.ok(new OperacaoEmMassaDTO(albumService.excluirPorFiltro(filtro)));
+    }
+
+    /**
+     * Endpoint POST /api/albuns/reajuste-preco?banda=&genero=&anoMin=&anoMax=&precoMin=&precoMax=&todos=
+     * Reajusta o preço de todos os álbuns que atendem aos filtros.
+     * 
+     * Exemplo: POST /api/albuns/reajuste-preco?genero=Metal com { "percentual": -10 }
+     *          → 10% de desconto em todos os álbuns de Metal
+     * 
+     * Como na exclusão em massa, pelo menos um filtro é obrigatório (sem filtro a
+     * resposta é 400); para reajustar o catálogo inteiro envie todos=true.
+     * Se o reajuste deixar algum álbum com preço fora da faixa (maior que 0 e
+     * menor que 1000), nenhum preço é alterado e a resposta é 400.
+     * 
+     * @param reajuste Percentual ou valor do reajuste (apenas um deles)
+     * @return Quantidade de álbuns reajustados com status HTTP 200 (OK)
+     */
+    @PostMapping("/reajuste-preco")
+    public ResponseEntity<OperacaoEmMassaDTO> reajustarPrecos(@RequestParam(required = false) String banda,
+                                                              @RequestParam(required = false) String genero,
+                                                              @RequestParam(required = false) Integer anoMin,
+                                                              @RequestParam(required = false) Integer anoMax,
+                                                              @RequestParam(required = false) BigDecimal precoMin,
+                                                              @RequestParam(required = false) BigDecimal precoMax,
+                                                              @RequestParam(defaultValue = "false") boolean todos,
+                                                              @RequestBody ReajustePrecoDTO reajuste) {
+        FiltroAlbuns filtro = new FiltroAlbuns(banda, genero, anoMin, anoMax, precoMin, precoMax);
+        long reajustados = albumService.reajustarPrecos(filtro, reajuste.getPercentual(), reajuste.getValor(), todos);
+        return ResponseEntity.ok(new OperacaoEmMassaDTO(reajustados));
+    }
+
+    /**
+     * ETag de um álbum: muda sempre que a versão do registro muda.
+     * Álbuns gravados antes da coluna de versão existir são tratados como versão 0.
+     */
+    private static String etagAlbum(AlbumDTO album) {
+        long versao = album.getVersao() != null ? album.getVersao() : 0L;
+        return "\"" + album.getId() + "-" + versao + "\"";
+    }
+
+    /**
+     * Verifica se a cópia que o cliente já tem ainda é a atual.
+     * 
+     * Segue a precedência do HTTP (RFC 9110): If-None-Match é avaliado primeiro;
+     * If-Modified-Since só é considerado quando o cliente não enviou ETag.
+     * 
+     * @param cabecalhos Cabeçalhos da requisição
+     * @param etag ETag atual da representação
+     * @param ultimaModificacao Última modificação (pode ser null)
+     * @return true se a resposta deve ser 304 Not Modified
+     */
+    private static boolean naoModificado(HttpHeaders cabecalhos, String etag, Instant ultimaModificacao) {
+        List<String> etagsCliente = cabecalhos.getIfNoneMatch();
+        if (!etagsCliente.isEmpty()) {
+            for (String etagCliente : etagsCliente) {
+                // Em GET a comparação é fraca: W/"x" e "x" representam a mesma versão
+                String semPrefixo = etagCliente.startsWith("W/") ? etagCliente.substring(2) : etagCliente;
+                if ("*".equals(semPrefixo) || semPrefixo.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long desde = cabecalhos.getIfModifiedSince();
+        return desde >= 0 && ultimaModificacao != null && ultimaModificacao.toEpochMilli() <= desde;
+    }
+
+    /**
+     * Resposta 304 Not Modified, sem corpo, repetindo os validadores.
+     */
+    private static <T> ResponseEntity<T> naoModificadoResposta(String etag, Instant ultimaModificacao,
+                                                               boolean fraco) {
+        return comValidadores(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, ultimaModificacao, fraco)
+            .build();
+    }
+
+    /**
+     * Adiciona ETag, Last-Modified, Cache-Control: no-cache e Vary: Accept à resposta.
+     * 
+     * no-cache não impede o cliente de guardar a resposta: obriga que ele
+     * revalide (GET condicional) antes de reutilizá-la. Vary: Accept avisa
+     * caches intermediários que o corpo muda conforme o formato pedido.
+     * 
+     * Listagens usam ETag fraco (W/"..."): passam de
+     * server.compression.min-response-size, então os bytes mudam conforme o
+     * Accept-Encoding, e o Tomcat não comprime respostas com ETag forte.
+     * Um álbum sozinho fica abaixo desse mínimo, nunca é comprimido e mantém
+     * o ETag forte. naoModificado() compara de forma fraca, então os dois
+     * tipos validam mesmo que o cliente tenha guardado o outro.
+     *
+     * @param fraco Se true, o ETag sai com o prefixo W/ (listagens)
+     */
+    private static ResponseEntity.BodyBuilder comValidadores(ResponseEntity.BodyBuilder resposta,
+                                                             String etag, Instant ultimaModificacao,
+                                                             boolean fraco) {
+        resposta.eTag(fraco ? "W/" + etag : etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        if (ultimaModificacao != null) {
+            resposta.lastModified(ultimaModificacao);
+        }
+        return resposta;
+    }
+}
@@ -0,0 +1,37 @@
+package com.exercicioPratico.LabProgramacao.controllers;
+
+import com.exercicioPratico.LabProgramacao.cache.CacheRespostasAlbum;
+import com.exercicioPratico.LabProgramacao.cache.EstatisticasCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST que expõe os contadores do cache de respostas de álbuns.
+ *
+ * Usado para dimensionar o cache (albuns.cache.tamanho-maximo e albuns.cache.ttl):
+ * - taxa de acerto baixa com muitas remoções por tamanho → aumentar o tamanho máximo
+ * - muitas remoções por TTL → avaliar um TTL maior
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheRespostasAlbum cacheRespostas;
+
+    public CacheController(CacheRespostasAlbum cacheRespostas) {
+        this.cacheRespostas = cacheRespostas;
+    }
+
+    /**
+     * Endpoint GET /api/cache/estatisticas
+     * Retorna acertos, faltas, remoções e ocupação atual do cache.
+     *
+     * @return Estatísticas do cache com status HTTP 200 (OK)
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<EstatisticasCache> estatisticas() {
+        return ResponseEntity.ok(cacheRespostas.estatisticas());
+    }
+}
@@ -1,6 +1,10 @@
 package com.exercicioPratico.LabProgramacao.dto;
 
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * DTO (Data Transfer Object) - Objeto de Transferência de Dados
@@ -25,6 +29,9 @@ import java.math.BigDecimal;
  *    - Permite diferentes versões da API com diferentes DTOs
  * 
  * Fluxo: AlbumModel (entidade) → AlbumDTO (transferência) → JSON → Frontend
+ * 
+ * Nas leituras (listagem, busca, GET por ID) o AlbumRepository já devolve
+ * AlbumDTO direto da consulta (SELECT new AlbumDTO(...)), sem passar pela entidade.
  */
 public class AlbumDTO {
     private Long id;
@@ -33,6 +40,13 @@ public class AlbumDTO {
     private Integer ano;
     private String genero;
     private BigDecimal preco;
+
+    // Validadores HTTP (ETag / Last-Modified): não fazem parte do JSON enviado ao cliente.
+    // Só são preenchidos na leitura por ID; nas listagens ficam null.
+    @JsonIgnore
+    private Long versao;
+    @JsonIgnore
+    private Instant atualizadoEm;
     
     /**
      * Construtor padrão (sem argumentos).
@@ -60,6 +74,40 @@ public class AlbumDTO {
         this.genero = genero;
         this.preco = preco;
     }
+
+    /**
+     * Construtor com a versão e a data de modificação do registro.
+     * Usado na leitura por ID, que responde com ETag e Last-Modified.
+     * 
+     * @param versao Versão do registro (incrementada a cada atualização)
+     * @param atualizadoEm Instante da última modificação
+     */
+    public AlbumDTO(Long id, String titulo, String banda, Integer ano, String genero, BigDecimal preco,
+                    Long versao, Instant atualizadoEm) {
+        this(id, titulo, banda, ano, genero, preco);
+        this.versao = versao;
+        this.atualizadoEm = atualizadoEm;
+    }
+    
+    /**
+     * Converte uma entidade AlbumModel em AlbumDTO.
+     * Único ponto do sistema onde este mapeamento campo a campo é feito.
+     * 
+     * @param album Entidade a ser convertida
+     * @return DTO com os mesmos dados da entidade
+     */
+    public static AlbumDTO de(AlbumModel album) {
+        return new AlbumDTO(
+            album.getId(),
+            album.getTitulo(),
+            album.getBanda(),
+            album.getAno(),
+            album.getGenero(),
+            album.getPreco(),
+            album.getVersao(),
+            album.getAtualizadoEm()
+        );
+    }
     
     // Getters e Setters
     public Long getId() {
@@ -109,4 +157,22 @@ public class AlbumDTO {
     public void setPreco(BigDecimal preco) {
         this.preco = preco;
     }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    public Long getVersao() {
+        return versao;
+    }
+    
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+    
+    @JsonIgnore
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+    
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
@@ -0,0 +1,70 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da sincronização incremental (GET /api/albuns/changes?since=).
+ *
+ * Exemplo de resposta:
+ * {
+ *   "alterados": [ { "id": 7, "titulo": "...", ... }, ... ],
+ *   "excluidos": [ 3, 12 ],
+ *   "token": "czo0Mg",
+ *   "completo": false
+ * }
+ *
+ * - alterados: álbuns criados ou atualizados depois do token enviado.
+ * - excluidos: IDs dos álbuns excluídos depois do token enviado.
+ * - token: deve ser enviado no parâmetro "since" da próxima sincronização.
+ * - completo: true quando a resposta traz o catálogo inteiro (primeira
+ *   sincronização ou token antigo demais); o app deve substituir a cópia
+ *   local em vez de aplicar as diferenças.
+ */
+public class AlteracoesDTO {
+    private List<AlbumDTO> alterados;
+    private List<Long> excluidos;
+    private String token;
+    private boolean completo;
+
+    public AlteracoesDTO() {}
+
+    public AlteracoesDTO(List<AlbumDTO> alterados, List<Long> excluidos, String token, boolean completo) {
+        this.alterados = alterados;
+        this.excluidos = excluidos;
+        this.token = token;
+        this.completo = completo;
+    }
+
+    // Getters e Setters
+    public List<AlbumDTO> getAlterados() {
+        return alterados;
+    }
+
+    public void setAlterados(List<AlbumDTO> alterados) {
+        this.alterados = alterados;
+    }
+
+    public List<Long> getExcluidos() {
+        return excluidos;
+    }
+
+    public void setExcluidos(List<Long> excluidos) {
+        this.excluidos = excluidos;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public boolean isCompleto() {
+        return completo;
+    }
+
+    public void setCompleto(boolean completo) {
+        this.completo = completo;
+    }
+}
@@ -0,0 +1,70 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de entrada da atualização parcial (PATCH /api/albuns/{id}).
+ *
+ * Só os campos enviados são alterados; campos ausentes (ou null) ficam como estão.
+ * Exemplo: { "preco": 79.90 } altera apenas o preço.
+ *
+ * Os campos enviados passam pelas mesmas validações da criação e do PUT.
+ */
+public class AtualizacaoParcialDTO {
+    private String titulo;
+    private String banda;
+    private Integer ano;
+    private String genero;
+    private BigDecimal preco;
+
+    public AtualizacaoParcialDTO() {}
+
+    public AtualizacaoParcialDTO(String titulo, String banda, Integer ano, String genero, BigDecimal preco) {
+        this.titulo = titulo;
+        this.banda = banda;
+        this.ano = ano;
+        this.genero = genero;
+        this.preco = preco;
+    }
+
+    // Getters e Setters
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public String getBanda() {
+        return banda;
+    }
+
+    public void setBanda(String banda) {
+        this.banda = banda;
+    }
+
+    public Integer getAno() {
+        return ano;
+    }
+
+    public void setAno(Integer ano) {
+        this.ano = ano;
+    }
+
+    public String getGenero() {
+        return genero;
+    }
+
+    public void setGenero(String genero) {
+        this.genero = genero;
+    }
+
+    public BigDecimal getPreco() {
+        return preco;
+    }
+
+    public void setPreco(BigDecimal preco) {
+        this.preco = preco;
+    }
+}
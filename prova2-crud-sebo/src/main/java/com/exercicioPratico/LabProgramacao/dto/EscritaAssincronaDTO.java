@@ -0,0 +1,68 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO de resposta da criação assíncrona (POST /api/albuns?async=true)
+ * e da consulta de status (GET /api/albuns/escritas/{rastreio}).
+ *
+ * Exemplo:
+ * {
+ *   "rastreio": "5f0c2a7e-...",
+ *   "status": "GRAVADO",
+ *   "albumId": 1234
+ * }
+ *
+ * - status: PENDENTE (na fila), GRAVADO (já está no banco) ou FALHOU
+ * - albumId: só é enviado quando o status é GRAVADO
+ * - mensagem: só é enviada quando o status é FALHOU
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EscritaAssincronaDTO {
+    private String rastreio;
+    private String status;
+    private Long albumId;
+    private String mensagem;
+
+    public EscritaAssincronaDTO() {}
+
+    public EscritaAssincronaDTO(String rastreio, String status, Long albumId, String mensagem) {
+        this.rastreio = rastreio;
+        this.status = status;
+        this.albumId = albumId;
+        this.mensagem = mensagem;
+    }
+
+    // Getters e Setters
+    public String getRastreio() {
+        return rastreio;
+    }
+
+    public void setRastreio(String rastreio) {
+        this.rastreio = rastreio;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
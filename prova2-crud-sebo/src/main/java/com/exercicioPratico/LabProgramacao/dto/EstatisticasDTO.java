@@ -0,0 +1,90 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO de resposta de GET /api/albuns/stats (painel do catálogo).
+ *
+ * Exemplo:
+ * {
+ *   "total": 1234,
+ *   "porGenero": { "Metal": 420, "Rock": 814 },
+ *   "porDecada": { "1970": 300, "1980": 934 },
+ *   "preco": { "minimo": 9.90, "media": 57.31, "maximo": 999.00,
+ *              "p50": 49.90, "p90": 99.90, "p95": 129.00, "p99": 310.00 },
+ *   "atualizadoEm": "2025-01-10T12:00:00Z",
+ *   "reconciliadoEm": "2025-01-10T11:55:00Z"
+ * }
+ *
+ * "preco" é null quando o catálogo está vazio.
+ */
+public class EstatisticasDTO {
+    private long total;
+    private Map<String, Long> porGenero;
+    private Map<Integer, Long> porDecada;
+    private EstatisticasPrecoDTO preco;
+    private Instant atualizadoEm;
+    private Instant reconciliadoEm;
+
+    public EstatisticasDTO() {}
+
+    public EstatisticasDTO(long total, Map<String, Long> porGenero, Map<Integer, Long> porDecada,
+                           EstatisticasPrecoDTO preco, Instant atualizadoEm, Instant reconciliadoEm) {
+        this.total = total;
+        this.porGenero = porGenero;
+        this.porDecada = porDecada;
+        this.preco = preco;
+        this.atualizadoEm = atualizadoEm;
+        this.reconciliadoEm = reconciliadoEm;
+    }
+
+    // Getters e Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getPorGenero() {
+        return porGenero;
+    }
+
+    public void setPorGenero(Map<String, Long> porGenero) {
+        this.porGenero = porGenero;
+    }
+
+    public Map<Integer, Long> getPorDecada() {
+        return porDecada;
+    }
+
+    public void setPorDecada(Map<Integer, Long> porDecada) {
+        this.porDecada = porDecada;
+    }
+
+    public EstatisticasPrecoDTO getPreco() {
+        return preco;
+    }
+
+    public void setPreco(EstatisticasPrecoDTO preco) {
+        this.preco = preco;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Instant getReconciliadoEm() {
+        return reconciliadoEm;
+    }
+
+    public void setReconciliadoEm(Instant reconciliadoEm) {
+        this.reconciliadoEm = reconciliadoEm;
+    }
+}
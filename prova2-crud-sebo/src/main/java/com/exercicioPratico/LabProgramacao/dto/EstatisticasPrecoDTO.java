@@ -0,0 +1,89 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO com a distribuição dos preços do catálogo (parte de EstatisticasDTO).
+ *
+ * Mínimo, média e máximo são exatos; os percentis são aproximados, com
+ * erro de no máximo 1% do valor (ex: p95 = 200.00 significa entre 198 e 202).
+ */
+public class EstatisticasPrecoDTO {
+    private BigDecimal minimo;
+    private BigDecimal media;
+    private BigDecimal maximo;
+    private BigDecimal p50;
+    private BigDecimal p90;
+    private BigDecimal p95;
+    private BigDecimal p99;
+
+    public EstatisticasPrecoDTO() {}
+
+    public EstatisticasPrecoDTO(BigDecimal minimo, BigDecimal media, BigDecimal maximo,
+                                BigDecimal p50, BigDecimal p90, BigDecimal p95, BigDecimal p99) {
+        this.minimo = minimo;
+        this.media = media;
+        this.maximo = maximo;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    // Getters e Setters
+    public BigDecimal getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(BigDecimal minimo) {
+        this.minimo = minimo;
+    }
+
+    public BigDecimal getMedia() {
+        return media;
+    }
+
+    public void setMedia(BigDecimal media) {
+        this.media = media;
+    }
+
+    public BigDecimal getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(BigDecimal maximo) {
+        this.maximo = maximo;
+    }
+
+    public BigDecimal getP50() {
+        return p50;
+    }
+
+    public void setP50(BigDecimal p50) {
+        this.p50 = p50;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public void setP90(BigDecimal p90) {
+        this.p90 = p90;
+    }
+
+    public BigDecimal getP95() {
+        return p95;
+    }
+
+    public void setP95(BigDecimal p95) {
+        this.p95 = p95;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+}
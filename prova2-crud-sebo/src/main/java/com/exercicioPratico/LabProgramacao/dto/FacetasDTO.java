@@ -0,0 +1,44 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.util.Map;
+
+/**
+ * DTO com as contagens de álbuns (facetas) do resultado de um filtro.
+ *
+ * Exemplo:
+ * {
+ *   "porGenero": { "Metal": 42, "Rock": 17 },
+ *   "porDecada": { "1970": 12, "1980": 30, "1990": 17 }
+ * }
+ *
+ * Permite ao app mostrar quantos álbuns existem em cada opção de filtro
+ * sem precisar baixar a lista completa.
+ */
+public class FacetasDTO {
+    private Map<String, Long> porGenero;
+    private Map<Integer, Long> porDecada;
+
+    public FacetasDTO() {}
+
+    public FacetasDTO(Map<String, Long> porGenero, Map<Integer, Long> porDecada) {
+        this.porGenero = porGenero;
+        this.porDecada = porDecada;
+    }
+
+    // Getters e Setters
+    public Map<String, Long> getPorGenero() {
+        return porGenero;
+    }
+
+    public void setPorGenero(Map<String, Long> porGenero) {
+        this.porGenero = porGenero;
+    }
+
+    public Map<Integer, Long> getPorDecada() {
+        return porDecada;
+    }
+
+    public void setPorDecada(Map<Integer, Long> porDecada) {
+        this.porDecada = porDecada;
+    }
+}
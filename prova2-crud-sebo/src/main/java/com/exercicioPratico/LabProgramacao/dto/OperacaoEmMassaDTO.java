@@ -0,0 +1,26 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+/**
+ * DTO de resposta das operações em massa (DELETE /api/albuns?filtros
+ * e POST /api/albuns/reajuste-preco).
+ *
+ * Exemplo: { "linhasAfetadas": 1234 }
+ */
+public class OperacaoEmMassaDTO {
+    private long linhasAfetadas;
+
+    public OperacaoEmMassaDTO() {}
+
+    public OperacaoEmMassaDTO(long linhasAfetadas) {
+        this.linhasAfetadas = linhasAfetadas;
+    }
+
+    // Getters e Setters
+    public long getLinhasAfetadas() {
+        return linhasAfetadas;
+    }
+
+    public void setLinhasAfetadas(long linhasAfetadas) {
+        this.linhasAfetadas = linhasAfetadas;
+    }
+}
@@ -0,0 +1,72 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da listagem paginada por cursor (GET /api/albuns?limit=&after=)
+ * e da listagem com facetas (GET /api/albuns?facetas=true).
+ *
+ * Exemplo de resposta:
+ * {
+ *   "itens": [ { "id": 1, "titulo": "...", ... }, ... ],
+ *   "proximoCursor": "MTI6TWV0YWxsaWNh",
+ *   "total": 1234,
+ *   "facetas": { "porGenero": { ... }, "porDecada": { ... } }
+ * }
+ *
+ * - proximoCursor: deve ser enviado no parâmetro "after" para buscar a próxima página.
+ *   Quando for null, não há mais páginas.
+ * - total: só é enviado quando o cliente pede (?total=true), pois exige um COUNT no banco.
+ * - facetas: só são enviadas quando o cliente pede (?facetas=true).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginaAlbunsDTO {
+    private List<AlbumDTO> itens;
+    private String proximoCursor;
+    private Long total;
+    private FacetasDTO facetas;
+
+    public PaginaAlbunsDTO() {}
+
+    public PaginaAlbunsDTO(List<AlbumDTO> itens, String proximoCursor, Long total, FacetasDTO facetas) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.total = total;
+        this.facetas = facetas;
+    }
+
+    // Getters e Setters
+    public List<AlbumDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<AlbumDTO> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public FacetasDTO getFacetas() {
+        return facetas;
+    }
+
+    public void setFacetas(FacetasDTO facetas) {
+        this.facetas = facetas;
+    }
+}
@@ -0,0 +1,39 @@
+package com.exercicioPratico.LabProgramacao.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de entrada do reajuste de preços em massa (POST /api/albuns/reajuste-preco).
+ *
+ * Exatamente um dos campos deve ser enviado:
+ * { "percentual": -10 }  → 10% de desconto
+ * { "valor": 5.00 }      → R$ 5,00 a mais em cada álbum
+ */
+public class ReajustePrecoDTO {
+    private BigDecimal percentual;
+    private BigDecimal valor;
+
+    public ReajustePrecoDTO() {}
+
+    public ReajustePrecoDTO(BigDecimal percentual, BigDecimal valor) {
+        this.percentual = percentual;
+        this.valor = valor;
+    }
+
+    // Getters e Setters
+    public BigDecimal getPercentual() {
+        return percentual;
+    }
+
+    public void setPercentual(BigDecimal percentual) {
+        this.percentual = percentual;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
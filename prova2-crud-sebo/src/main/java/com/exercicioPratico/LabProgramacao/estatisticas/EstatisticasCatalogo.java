@@ -0,0 +1,165 @@
+package com.exercicioPratico.LabProgramacao.estatisticas;
+
+import com.exercicioPratico.LabProgramacao.dto.EstatisticasDTO;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.roteamento.LeituraNoPrimario;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.SequenciasAplicadas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas do catálogo servidas em GET /api/albuns/stats, sem consultar o banco.
+ *
+ * - Na inicialização (antes do servidor web aceitar requisições) o resumo é
+ *   montado lendo todos os álbuns do banco em streaming.
+ * - Depois disso, cada escrita confirmada (AlbunsAlteradosEvent) é aplicada
+ *   ao resumo: os valores antigos do álbum são descontados e os novos somados.
+ * - Periodicamente (albuns.estatisticas.reconciliacao) o resumo é remontado a
+ *   partir do banco, corrigindo qualquer diferença (ex: álbuns alterados
+ *   direto no MySQL, fora da API). As diferenças encontradas vão para o log.
+ *
+ * Leitura em O(1): a cada escrita é gerada uma cópia imutável das estatísticas
+ * (EstatisticasDTO), e obter() apenas devolve a cópia atual.
+ */
+@Component
+public class EstatisticasCatalogo implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasCatalogo.class);
+
+    private final AlbumRepository albumRepository;
+    private final TransactionTemplate transacaoLeitura;
+
+    // Protegido por "this": alterado pelos listeners e pela reconciliação
+    private ResumoCatalogo resumo = new ResumoCatalogo();
+
+    // Escritas recebidas durante uma reconciliação (null quando nenhuma está em andamento)
+    private List<AlbunsAlteradosEvent.Alteracao> escritasDuranteReconciliacao;
+
+    // Descarta escritas entregues fora de ordem
+    private final SequenciasAplicadas sequencias = new SequenciasAplicadas();
+
+    private Instant atualizadoEm;
+    private Instant reconciliadoEm;
+
+    // volatile: publicada pelas threads que escrevem, lida pelas requisições sem trava
+    private volatile EstatisticasDTO atual;
+
+    public EstatisticasCatalogo(AlbumRepository albumRepository, PlatformTransactionManager transactionManager) {
+        this.albumRepository = albumRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.atual = resumo.foto(null, null);
+    }
+
+    /**
+     * Chamado pelo Spring depois que todos os beans foram criados e antes
+     * do servidor web iniciar.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconciliar();
+    }
+
+    /**
+     * Estatísticas atuais (cópia imutável; não consulta o banco).
+     */
+    public EstatisticasDTO obter() {
+        return atual;
+    }
+
+    /**
+     * Aplica uma escrita confirmada ao resumo. Não depende dos demais
+     * listeners (índice, catálogo colunar e cache), por isso roda por último.
+     *
+     * Alterações mais antigas que a última já aplicada ao mesmo álbum
+     * (eventos entregues fora da ordem dos commits) são descartadas.
+     */
+    @Order(4)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarAlbuns(AlbunsAlteradosEvent evento) {
+        List<AlbunsAlteradosEvent.Alteracao> aplicaveis = sequencias.filtrar(evento.alteracoes());
+        if (aplicaveis.size() < evento.alteracoes().size()) {
+            log.warn("Escrita com {} alteração(ões) mais antiga(s) que a já aplicada ao álbum; descartada(s)",
+                evento.alteracoes().size() - aplicaveis.size());
+        }
+        boolean aplicou = true;
+        for (AlbunsAlteradosEvent.Alteracao alteracao : aplicaveis) {
+            aplicou &= resumo.aplicar(alteracao);
+        }
+        if (!aplicou) {
+            log.warn("Escrita com álbum desconhecido pelas estatísticas; corrigida na próxima reconciliação");
+        }
+        if (escritasDuranteReconciliacao != null) {
+            escritasDuranteReconciliacao.addAll(aplicaveis);
+        }
+        atualizadoEm = Instant.now();
+        atual = resumo.foto(atualizadoEm, reconciliadoEm);
+    }
+
+    /**
+     * Remonta o resumo a partir do banco e substitui o atual.
+     *
+     * A leitura do banco roda sem bloquear as escritas. As escritas
+     * confirmadas enquanto isso são guardadas e reaplicadas sobre o resumo
+     * novo antes da troca: cada alteração grava os valores finais do álbum,
+     * então reaplicar uma escrita que a leitura já viu não muda o resultado.
+     */
+    @Scheduled(fixedDelayString = "${albuns.estatisticas.reconciliacao:10m}",
+        initialDelayString = "${albuns.estatisticas.reconciliacao:10m}")
+    public void reconciliar() {
+        synchronized (this) {
+            if (escritasDuranteReconciliacao != null) {
+                return; // já existe uma reconciliação em andamento
+            }
+            escritasDuranteReconciliacao = new ArrayList<>();
+        }
+
+        long inicio = System.nanoTime();
+        ResumoCatalogo novo = new ResumoCatalogo();
+        try {
+            // Lê do primário: com uma réplica atrasada a reconciliação "corrigiria" para valores antigos
+            LeituraNoPrimario.executar(() -> transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<AlbumRepository.ValoresAlbum> albuns = albumRepository.streamValores()) {
+                    albuns.forEach(album ->
+                        novo.gravar(album.getId(), album.getGenero(), album.getAno(), album.getPreco()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                escritasDuranteReconciliacao = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (AlbunsAlteradosEvent.Alteracao alteracao : escritasDuranteReconciliacao) {
+                novo.aplicar(alteracao);
+            }
+            escritasDuranteReconciliacao = null;
+
+            long diferencas = reconciliadoEm != null ? resumo.diferencas(novo) : 0;
+            if (diferencas > 0) {
+                log.warn("Reconciliação das estatísticas corrigiu {} álbuns divergentes do banco", diferencas);
+            }
+            resumo = novo;
+            sequencias.renovar();
+            reconciliadoEm = Instant.now();
+            atual = resumo.foto(atualizadoEm != null ? atualizadoEm : reconciliadoEm, reconciliadoEm);
+        }
+        log.info("Estatísticas do catálogo reconciliadas: {} álbuns em {} ms",
+            novo.total(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,186 @@
+package com.exercicioPratico.LabProgramacao.estatisticas;
+
+import com.exercicioPratico.LabProgramacao.dto.EstatisticasDTO;
+import com.exercicioPratico.LabProgramacao.dto.EstatisticasPrecoDTO;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Resumo em memória do catálogo: contagem por gênero, por década e
+ * distribuição dos preços.
+ *
+ * Guarda os valores (gênero, ano, preço) de cada álbum. Assim uma escrita é
+ * aplicada descontando os valores antigos e somando os novos, mesmo quando
+ * quem escreveu não leu o álbum antes (PATCH e DELETE por ID só conhecem o ID
+ * e os campos enviados).
+ *
+ * Preço: mínimo e máximo são exatos (contagem por valor em centavos, no
+ * máximo 100 mil valores distintos entre 0 e 1000); os percentis vêm do
+ * SketchQuantis, com erro relativo de 1%.
+ *
+ * Não é thread-safe: o acesso é controlado pela EstatisticasCatalogo.
+ */
+class ResumoCatalogo {
+
+    private static final double ERRO_PERCENTIS = 0.01;
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    /**
+     * Valores de um álbum que entram nas estatísticas.
+     */
+    private record Linha(String genero, int ano, long centavos) {
+    }
+
+    private final Map<Long, Linha> linhas = new HashMap<>();
+    private final Map<String, Long> porGenero = new TreeMap<>();
+    private final Map<Integer, Long> porDecada = new TreeMap<>();
+
+    // Preço em centavos → quantidade de álbuns (mínimo e máximo exatos)
+    private final TreeMap<Long, Long> precos = new TreeMap<>();
+    private final SketchQuantis sketchPrecos = new SketchQuantis(ERRO_PERCENTIS);
+    private long somaCentavos;
+
+    /**
+     * Aplica uma escrita confirmada.
+     *
+     * @return false se a alteração não pôde ser aplicada (atualização parcial de
+     *         um álbum que o resumo não conhece); a próxima reconciliação corrige
+     */
+    boolean aplicar(AlbunsAlteradosEvent.Alteracao alteracao) {
+        if (alteracao.id() == null) {
+            return false;
+        }
+        if (alteracao.tipo() == AlbunsAlteradosEvent.Tipo.EXCLUIDO) {
+            remover(alteracao.id());
+            return true;
+        }
+        AlbunsAlteradosEvent.Valores valores = alteracao.valoresNovos();
+        if (valores == null) {
+            return true; // escrita que não mexe em gênero, ano nem preço
+        }
+        return gravar(alteracao.id(), valores.genero(), valores.ano(), valores.preco());
+    }
+
+    /**
+     * Registra os valores de um álbum. Campos null mantêm o valor anterior.
+     */
+    boolean gravar(long id, String genero, Integer ano, BigDecimal preco) {
+        Linha anterior = linhas.get(id);
+        if (anterior == null && (ano == null || preco == null)) {
+            return false;
+        }
+        Linha nova = new Linha(
+            genero != null ? genero : anterior != null ? anterior.genero() : "",
+            ano != null ? ano : anterior.ano(),
+            preco != null ? centavos(preco) : anterior.centavos());
+
+        if (anterior != null) {
+            descontar(anterior);
+        }
+        linhas.put(id, nova);
+        contar(nova);
+        return true;
+    }
+
+    void remover(long id) {
+        Linha anterior = linhas.remove(id);
+        if (anterior != null) {
+            descontar(anterior);
+        }
+    }
+
+    long total() {
+        return linhas.size();
+    }
+
+    /**
+     * Quantidade de álbuns com valores diferentes entre este resumo e outro
+     * (álbuns presentes em só um deles também contam).
+     */
+    long diferencas(ResumoCatalogo outro) {
+        long diferentes = 0;
+        for (Map.Entry<Long, Linha> linha : linhas.entrySet()) {
+            if (!Objects.equals(linha.getValue(), outro.linhas.get(linha.getKey()))) {
+                diferentes++;
+            }
+        }
+        for (Long id : outro.linhas.keySet()) {
+            if (!linhas.containsKey(id)) {
+                diferentes++;
+            }
+        }
+        return diferentes;
+    }
+
+    /**
+     * Cópia imutável das estatísticas atuais, para ser servida sem travas.
+     */
+    EstatisticasDTO foto(Instant atualizadoEm, Instant reconciliadoEm) {
+        EstatisticasPrecoDTO preco = null;
+        if (!precos.isEmpty()) {
+            long minimo = precos.firstKey();
+            long maximo = precos.lastKey();
+            preco = new EstatisticasPrecoDTO(
+                reais(minimo),
+                BigDecimal.valueOf(somaCentavos).divide(BigDecimal.valueOf(total()), 0, RoundingMode.HALF_UP)
+                    .divide(CEM, 2, RoundingMode.UNNECESSARY),
+                reais(maximo),
+                percentil(0.5, minimo, maximo),
+                percentil(0.9, minimo, maximo),
+                percentil(0.95, minimo, maximo),
+                percentil(0.99, minimo, maximo));
+        }
+        return new EstatisticasDTO(total(), Collections.unmodifiableMap(new TreeMap<>(porGenero)),
+            Collections.unmodifiableMap(new TreeMap<>(porDecada)), preco,
+            atualizadoEm, reconciliadoEm);
+    }
+
+    private void contar(Linha linha) {
+        porGenero.merge(linha.genero(), 1L, Long::sum);
+        porDecada.merge(decada(linha.ano()), 1L, Long::sum);
+        precos.merge(linha.centavos(), 1L, Long::sum);
+        sketchPrecos.adicionar(linha.centavos());
+        somaCentavos += linha.centavos();
+    }
+
+    private void descontar(Linha linha) {
+        decrementar(porGenero, linha.genero());
+        decrementar(porDecada, decada(linha.ano()));
+        decrementar(precos, linha.centavos());
+        sketchPrecos.remover(linha.centavos());
+        somaCentavos -= linha.centavos();
+    }
+
+    // Remove a chave quando chega a zero: gêneros e décadas sem álbuns somem da resposta
+    private static <K> void decrementar(Map<K, Long> contagens, K chave) {
+        contagens.computeIfPresent(chave, (k, quantidade) -> quantidade > 1 ? quantidade - 1 : null);
+    }
+
+    // O sketch tem erro relativo: a estimativa é limitada ao mínimo e máximo exatos
+    private BigDecimal percentil(double q, long minimo, long maximo) {
+        long estimado = Math.round(sketchPrecos.quantil(q));
+        return reais(Math.max(minimo, Math.min(maximo, estimado)));
+    }
+
+    // Década = ano - (ano % 10), a mesma regra das facetas (1987 → 1980)
+    private static int decada(int ano) {
+        return ano - (ano % 10);
+    }
+
+    // O banco guarda o preço com 2 casas decimais (precision 10, scale 2)
+    private static long centavos(BigDecimal preco) {
+        return preco.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
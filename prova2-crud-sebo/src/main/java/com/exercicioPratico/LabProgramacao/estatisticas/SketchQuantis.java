@@ -0,0 +1,146 @@
+package com.exercicioPratico.LabProgramacao.estatisticas;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sketch de quantis com erro relativo garantido (no estilo do DDSketch).
+ *
+ * Em vez de guardar todos os valores, cada valor é contado em um balde de
+ * faixa logarítmica: o balde i cobre (gama^(i-1), gama^i], com
+ * gama = (1 + erro) / (1 - erro). Qualquer quantil é estimado pelo centro do
+ * balde onde cai, com erro de no máximo "erro" (ex: 1%) do valor real.
+ *
+ * Exemplo com erro de 1%: preços de R$ 0,01 a R$ 1000 cabem em ~580 baldes,
+ * independente de o catálogo ter mil ou dez milhões de álbuns.
+ *
+ * Diferente de sketches por amostragem, este aceita remoção (o balde é
+ * decrementado), o que permite acompanhar atualizações e exclusões, e é
+ * mesclável: dois sketches com o mesmo erro somam balde a balde, ex: os
+ * resumos de várias instâncias da aplicação, ou de partes do catálogo
+ * calculadas separadamente.
+ *
+ * Não é thread-safe: quem usa controla o acesso.
+ */
+public class SketchQuantis {
+
+    // Valores até este limite (ex: preço 0,00) ficam em um balde próprio
+    private static final double MINIMO_INDEXAVEL = 1e-9;
+
+    private final double erroRelativo;
+    private final double gama;
+    private final double logGama;
+
+    // Índice do balde → quantidade de valores (TreeMap: percorrido em ordem nos quantis)
+    private final TreeMap<Integer, Long> baldes = new TreeMap<>();
+    private long zeros;
+    private long contagem;
+
+    /**
+     * @param erroRelativo Erro relativo máximo dos quantis (ex: 0.01 = 1%)
+     */
+    public SketchQuantis(double erroRelativo) {
+        if (erroRelativo <= 0 || erroRelativo >= 1) {
+            throw new IllegalArgumentException("O erro relativo deve estar entre 0 e 1.");
+        }
+        this.erroRelativo = erroRelativo;
+        this.gama = (1 + erroRelativo) / (1 - erroRelativo);
+        this.logGama = Math.log(gama);
+    }
+
+    /**
+     * Conta um valor (não negativo).
+     */
+    public void adicionar(double valor) {
+        if (valor <= MINIMO_INDEXAVEL) {
+            zeros++;
+        } else {
+            baldes.merge(indice(valor), 1L, Long::sum);
+        }
+        contagem++;
+    }
+
+    /**
+     * Desconta um valor adicionado antes (ex: preço antigo de um álbum atualizado).
+     */
+    public void remover(double valor) {
+        if (valor <= MINIMO_INDEXAVEL) {
+            if (zeros == 0) {
+                return;
+            }
+            zeros--;
+        } else {
+            int indice = indice(valor);
+            Long quantidade = baldes.get(indice);
+            if (quantidade == null) {
+                return;
+            }
+            if (quantidade == 1) {
+                baldes.remove(indice);
+            } else {
+                baldes.put(indice, quantidade - 1);
+            }
+        }
+        contagem--;
+    }
+
+    /**
+     * Soma os valores de outro sketch a este.
+     *
+     * @throws IllegalArgumentException se os sketches tiverem erros relativos diferentes
+     */
+    public void mesclar(SketchQuantis outro) {
+        if (outro.erroRelativo != erroRelativo) {
+            throw new IllegalArgumentException("Só é possível mesclar sketches com o mesmo erro relativo.");
+        }
+        for (Map.Entry<Integer, Long> balde : outro.baldes.entrySet()) {
+            baldes.merge(balde.getKey(), balde.getValue(), Long::sum);
+        }
+        zeros += outro.zeros;
+        contagem += outro.contagem;
+    }
+
+    /**
+     * Valor aproximado do quantil q (ex: 0.5 = mediana, 0.95 = percentil 95).
+     *
+     * @return Estimativa do quantil, ou NaN se o sketch estiver vazio
+     */
+    public double quantil(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1.");
+        }
+        if (contagem == 0) {
+            return Double.NaN;
+        }
+
+        // Posição (0 a contagem - 1) do valor procurado na ordem crescente
+        long posicao = (long) Math.floor(q * (contagem - 1));
+        if (posicao < zeros) {
+            return 0;
+        }
+        long acumulado = zeros;
+        for (Map.Entry<Integer, Long> balde : baldes.entrySet()) {
+            acumulado += balde.getValue();
+            if (acumulado > posicao) {
+                return valor(balde.getKey());
+            }
+        }
+        return valor(baldes.lastKey());
+    }
+
+    /**
+     * Quantidade de valores contados.
+     */
+    public long contagem() {
+        return contagem;
+    }
+
+    private int indice(double valor) {
+        return (int) Math.ceil(Math.log(valor) / logGama);
+    }
+
+    // Centro do balde: fica a no máximo erroRelativo de qualquer valor do balde
+    private double valor(int indice) {
+        return 2 * Math.pow(gama, indice) / (gama + 1);
+    }
+}
@@ -1,8 +1,11 @@
 package com.exercicioPratico.LabProgramacao.exceptions;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -81,6 +84,29 @@ public class ApiExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
     
+    /**
+     * Trata erros de validação na criação de álbuns em lote
+     * 
+     * Quando o Service encontra itens inválidos em POST /api/albuns/batch,
+     * nenhum álbum é gravado e os erros são devolvidos por posição no lote.
+     * 
+     * Exemplo: { "errors": { "0": ["Ano de lançamento inválido."], "3": ["titulo: ..."] } }
+     * 
+     * @param ex Exceção com os erros de cada item do lote
+     * @return Resposta HTTP 400 (Bad Request) com os erros de cada item
+     */
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<Object> handleLoteInvalido(LoteInvalidoException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Erro de Validação");
+        body.put("message", ex.getMessage());
+        body.put("errors", ex.getErrosPorItem());
+        
+        return ResponseEntity.badRequest().body(body);
+    }
+    
     /**
      * Trata exceções de violação de integridade de dados no banco
      * 
@@ -123,6 +149,55 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
     
+    /**
+     * Trata a falta de conexões com o banco de dados
+     * 
+     * Lançadas quando o pool de conexões (HikariCP) não entrega uma conexão dentro
+     * de spring.datasource.hikari.connection-timeout: todas estão ocupadas
+     * (pico de requisições) ou o MySQL está fora do ar.
+     * 
+     * Não é um erro do cliente nem um bug: a resposta 503 com Retry-After indica
+     * que a mesma requisição pode ser repetida em alguns segundos.
+     * 
+     * @param ex Exceção de falha ao obter conexão / iniciar transação
+     * @return Resposta HTTP 503 (Service Unavailable) com cabeçalho Retry-After
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Object> handleBancoIndisponivel(RuntimeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Serviço Indisponível");
+        body.put("message", "O servidor está sobrecarregado. Tente novamente em alguns segundos.");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "2")
+            .body(body);
+    }
+    
+    /**
+     * Trata a fila de escrita assíncrona cheia (contrapressão)
+     * 
+     * Lançada por POST /api/albuns?async=true quando a fila já tem
+     * albuns.escrita-assincrona.capacidade-fila álbuns aguardando gravação,
+     * ou quando a aplicação está sendo desligada.
+     * 
+     * @param ex Exceção de fila cheia
+     * @return Resposta HTTP 503 (Service Unavailable) com cabeçalho Retry-After
+     */
+    @ExceptionHandler(FilaEscritaCheiaException.class)
+    public ResponseEntity<Object> handleFilaEscritaCheia(FilaEscritaCheiaException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Serviço Indisponível");
+        body.put("message", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(body);
+    }
+    
     /**
      * Trata exceções quando recurso não é encontrado
      * 
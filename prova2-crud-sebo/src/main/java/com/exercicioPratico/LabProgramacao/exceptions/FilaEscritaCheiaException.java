@@ -0,0 +1,17 @@
+package com.exercicioPratico.LabProgramacao.exceptions;
+
+/**
+ * Exceção lançada quando a fila de escrita assíncrona está cheia
+ * (ou a aplicação está desligando e não aceita mais escritas).
+ *
+ * É a contrapressão (back-pressure) da escrita assíncrona: em vez de acumular
+ * álbuns sem limite na memória, a requisição é recusada e o cliente tenta de novo.
+ *
+ * Tratada no ApiExceptionHandler, que retorna HTTP 503 (Service Unavailable) com Retry-After.
+ */
+public class FilaEscritaCheiaException extends RuntimeException {
+
+    public FilaEscritaCheiaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.exercicioPratico.LabProgramacao.exceptions;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exceção lançada quando um ou mais álbuns de um lote falham na validação.
+ *
+ * Guarda os erros de cada item pela sua posição (índice) no lote, para que
+ * o frontend consiga indicar exatamente quais registros precisam ser corrigidos.
+ *
+ * Exemplo: { 0: ["Ano de lançamento inválido."], 3: ["titulo: O título não pode estar em branco"] }
+ *
+ * Tratada no ApiExceptionHandler, que retorna HTTP 400 (Bad Request).
+ */
+public class LoteInvalidoException extends RuntimeException {
+
+    private final Map<Integer, List<String>> errosPorItem;
+
+    public LoteInvalidoException(Map<Integer, List<String>> errosPorItem) {
+        super("O lote contém " + errosPorItem.size() + " álbum(ns) inválido(s).");
+        this.errosPorItem = errosPorItem;
+    }
+
+    public Map<Integer, List<String>> getErrosPorItem() {
+        return errosPorItem;
+    }
+}
@@ -0,0 +1,135 @@
+package com.exercicioPratico.LabProgramacao.inicializacao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aquecimento opcional (albuns.aquecimento.habilitado=true): antes da
+ * instância se declarar pronta, faz requisições de leitura ao próprio
+ * AlbumController pela porta HTTP local.
+ *
+ * Sem aquecimento, as primeiras requisições reais pagam o carregamento das
+ * classes do Spring MVC, do Jackson e do Hibernate, a montagem das consultas
+ * e o código ainda interpretado (sem JIT). Aqui esse custo fica na
+ * inicialização: o servidor web já está no ar, mas os ApplicationRunners
+ * rodam antes do estado de prontidão mudar para ACCEPTING_TRAFFIC, então um
+ * balanceador que consulta /actuator/health/readiness só manda tráfego depois.
+ *
+ * Só faz leituras (listagem, paginação, filtros, busca por banda, por ID,
+ * estatísticas, formatos binários) e um POST inválido, recusado pela validação
+ * antes de chegar ao banco: o catálogo não é alterado. A primeira rodada lê
+ * do banco; as seguintes passam pelo cache de respostas, o caminho mais comum
+ * em produção. As requisições do aquecimento também entram nas métricas
+ * http.server.requests.
+ *
+ * Falhas não impedem a inicialização: são registradas no log e a instância
+ * segue normalmente. Roda depois do CatalogoExemplo (catálogo já populado).
+ */
+@Component
+@Order(2)
+public class AquecimentoApi implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoApi.class);
+
+    // Primeiro "id" de uma resposta JSON (usado para aquecer o GET por ID com um álbum que existe)
+    private static final Pattern PRIMEIRO_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final Environment environment;
+    private final boolean habilitado;
+    private final int iteracoes;
+
+    // Lido em tempo de execução (e não com @ConditionalOnProperty): com o
+    // processamento AOT as condições ficam fixas no build
+    public AquecimentoApi(Environment environment,
+                          @Value("${albuns.aquecimento.habilitado:false}") boolean habilitado,
+                          @Value("${albuns.aquecimento.iteracoes:50}") int iteracoes) {
+        this.environment = environment;
+        this.habilitado = habilitado;
+        this.iteracoes = iteracoes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Sem servidor web (ex: treino do CDS, testes sem porta) não há o que aquecer
+        Integer porta = environment.getProperty("local.server.port", Integer.class);
+        if (!habilitado || porta == null) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        String base = "http://localhost:" + porta + "/api/albuns";
+        try {
+            List<HttpRequest> requisicoes = requisicoes(cliente, base);
+            int respostas = 0;
+            for (int i = 0; i < iteracoes; i++) {
+                for (HttpRequest requisicao : requisicoes) {
+                    cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                    respostas++;
+                }
+            }
+            log.info("Aquecimento concluído: {} requisições em {} ms",
+                respostas, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Aquecimento interrompido, a aplicação segue sem ele: {}", e.toString());
+        }
+    }
+
+    /**
+     * Requisições de cada rodada do aquecimento.
+     */
+    private static List<HttpRequest> requisicoes(HttpClient cliente, String base) throws Exception {
+        List<HttpRequest> requisicoes = new ArrayList<>();
+        for (String caminho : List.of(
+                "",
+                "?limit=20",
+                "?limit=20&total=true&facetas=true",
+                "?banda=the",
+                "?genero=Rock&anoMin=1970&anoMax=1999",
+                "?precoMin=10&precoMax=100",
+                "/stats")) {
+            requisicoes.add(get(base + caminho, "application/json"));
+        }
+        requisicoes.add(get(base + "?limit=20", "application/cbor"));
+        requisicoes.add(get(base + "?limit=20", "application/x-jackson-smile"));
+
+        // GET por ID: um álbum existente (se houver) e um inexistente (404 pelo ApiExceptionHandler)
+        String primeiraPagina = cliente.send(get(base + "?limit=1", "application/json"),
+            HttpResponse.BodyHandlers.ofString()).body();
+        Matcher id = PRIMEIRO_ID.matcher(primeiraPagina);
+        if (id.find()) {
+            requisicoes.add(get(base + "/" + id.group(1), "application/json"));
+        }
+        requisicoes.add(get(base + "/" + Long.MAX_VALUE, "application/json"));
+
+        // Leitura do corpo JSON e validação (400); nada é gravado
+        requisicoes.add(HttpRequest.newBuilder(URI.create(base))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{}"))
+            .build());
+        return requisicoes;
+    }
+
+    private static HttpRequest get(String url, String accept) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Accept", accept).GET().build();
+    }
+}
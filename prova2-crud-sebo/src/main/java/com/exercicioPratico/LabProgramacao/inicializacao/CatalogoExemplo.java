@@ -0,0 +1,102 @@
+package com.exercicioPratico.LabProgramacao.inicializacao;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catálogo de exemplo (albuns.exemplo.quantidade > 0): na inicialização,
+ * grava álbuns sintéticos em um catálogo vazio.
+ *
+ * Feito para o perfil "embutido" (H2 em memória), que sobe sem nenhum álbum:
+ * testes de carga, aquecimento e medições de inicialização precisam de dados.
+ * Um catálogo que já tem álbuns nunca é alterado, então ligar a propriedade
+ * por engano contra o MySQL de produção não grava nada.
+ *
+ * Os álbuns são sempre os mesmos para a mesma quantidade (semente fixa):
+ * execuções diferentes do teste de carga leem os mesmos dados. Bandas se
+ * repetem (a busca por banda encontra vários álbuns) e gêneros, anos e
+ * preços são variados (filtros, facetas e estatísticas).
+ *
+ * Roda antes do AquecimentoApi, que assim já aquece com o catálogo populado.
+ */
+@Component
+@Order(1)
+public class CatalogoExemplo implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoExemplo.class);
+
+    private static final long SEMENTE = 42;
+    private static final List<String> GENEROS = List.of(
+        "Rock", "Metal", "Pop", "Jazz", "Blues", "MPB", "Samba", "Eletrônica", "Hip Hop", "Clássica");
+    private static final List<String> PREFIXOS = List.of(
+        "The", "Os", "Black", "Velvet", "Electric", "Banda", "Iron", "Blue", "Los", "Pink");
+    private static final List<String> SUFIXOS = List.of(
+        "Stones", "Mutantes", "Sabbath", "Underground", "Light", "do Mar", "Maiden", "Notes", "Hermanos", "Floyd");
+
+    private final AlbumService albumService;
+    private final AlbumRepository albumRepository;
+    private final int quantidade;
+    private final int tamanhoLote;
+
+    public CatalogoExemplo(AlbumService albumService, AlbumRepository albumRepository,
+                           @Value("${albuns.exemplo.quantidade:0}") int quantidade,
+                           @Value("${albuns.lote.maximo-itens:10000}") int tamanhoLote) {
+        this.albumService = albumService;
+        this.albumRepository = albumRepository;
+        this.quantidade = quantidade;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (quantidade <= 0) {
+            return;
+        }
+        if (albumRepository.count() > 0) {
+            log.info("Catálogo de exemplo ignorado: o catálogo já tem álbuns");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        Random aleatorio = new Random(SEMENTE);
+        List<AlbumModel> lote = new ArrayList<>(Math.min(quantidade, tamanhoLote));
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(album(i, aleatorio));
+            // salvarLote recusa lotes acima de albuns.lote.maximo-itens
+            if (lote.size() == tamanhoLote || i == quantidade - 1) {
+                albumService.salvarLote(lote);
+                lote = new ArrayList<>(Math.min(quantidade - i - 1, tamanhoLote));
+            }
+        }
+        log.info("Catálogo de exemplo: {} álbuns gravados em {} ms",
+            quantidade, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static AlbumModel album(int numero, Random aleatorio) {
+        AlbumModel album = new AlbumModel();
+        // ~1 banda para cada 8 álbuns, com nomes formados por prefixo + sufixo + número
+        int banda = aleatorio.nextInt(Math.max(1, numero / 8 + 1));
+        album.setBanda(PREFIXOS.get(banda % PREFIXOS.size()) + " "
+            + SUFIXOS.get(banda / PREFIXOS.size() % SUFIXOS.size()) + " " + banda);
+        album.setTitulo("Álbum " + numero);
+        album.setGenero(GENEROS.get(aleatorio.nextInt(GENEROS.size())));
+        album.setAno(1950 + aleatorio.nextInt(75));
+        // Preços entre 9,90 e 299,90, concentrados nos valores baixos (como em um sebo)
+        long centavos = 990 + Math.round(Math.pow(aleatorio.nextDouble(), 2) * 29_000);
+        album.setPreco(BigDecimal.valueOf(centavos, 2));
+        return album;
+    }
+}
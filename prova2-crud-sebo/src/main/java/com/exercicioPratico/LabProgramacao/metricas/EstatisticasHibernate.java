@@ -0,0 +1,64 @@
+package com.exercicioPratico.LabProgramacao.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Estatísticas do Hibernate com registro de consultas lentas.
+ *
+ * Substitui o spring.jpa.show-sql=true: em vez de imprimir todo comando SQL,
+ * só as consultas que passaram do limite (albuns.sql.lenta.limite) vão para o
+ * log, e mesmo essas são amostradas (albuns.sql.lenta.amostragem), para que
+ * uma rajada de consultas lentas não vire uma rajada de log.
+ *
+ * Nenhuma consulta lenta se perde: todas são contadas na métrica
+ * "albuns.sql.lentas", e o tempo máximo de cada consulta continua nas
+ * estatísticas normais do Hibernate.
+ *
+ * O Hibernate cria esta classe no lugar da StatisticsImpl padrão por meio
+ * da propriedade hibernate.stats.factory (ver MetricasConfig).
+ */
+public class EstatisticasHibernate extends StatisticsImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasHibernate.class);
+
+    private final long limiteMs;
+    private final double amostragem;
+    private final Counter consultasLentas;
+
+    public EstatisticasHibernate(SessionFactoryImplementor sessionFactory, MeterRegistry registry,
+                                 Duration limite, double amostragem) {
+        super(sessionFactory);
+        this.limiteMs = limite.toMillis();
+        this.amostragem = amostragem;
+        this.consultasLentas = Counter.builder("albuns.sql.lentas")
+            .description("Consultas que passaram de albuns.sql.lenta.limite")
+            .register(registry);
+    }
+
+    /**
+     * Chamado pelo Hibernate ao fim de cada consulta HQL/Criteria.
+     *
+     * @param hql Consulta executada
+     * @param linhas Quantidade de linhas devolvidas
+     * @param tempoMs Tempo de execução em milissegundos
+     */
+    @Override
+    public void queryExecuted(String hql, int linhas, long tempoMs) {
+        super.queryExecuted(hql, linhas, tempoMs);
+
+        if (tempoMs >= limiteMs) {
+            consultasLentas.increment();
+            if (ThreadLocalRandom.current().nextDouble() < amostragem) {
+                log.warn("Consulta lenta ({} ms, {} linhas): {}", tempoMs, linhas, hql);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.exercicioPratico.LabProgramacao.metricas;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração das métricas da aplicação.
+ *
+ * O que é medido e onde aparece (GET /actuator/prometheus ou /actuator/metrics/{nome}):
+ * - http.server.requests: latência de cada endpoint (tag "uri"), com histograma de percentis
+ * - albuns.servico: tempo de cada método do AlbumService (tag "method")
+ * - hibernate.*: consultas, carregamento de entidades, flushes (hibernate.generate_statistics)
+ * - hikaricp.connections.*: conexões em uso, ociosas, threads esperando e tempo de espera
+ * - albuns.sql.lentas: consultas acima de albuns.sql.lenta.limite
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Ativa a anotação @Timed (usada no AlbumService).
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Faz o Hibernate usar EstatisticasHibernate (com registro de consultas lentas)
+     * no lugar da implementação padrão de estatísticas.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasHibernate(
+            MeterRegistry registry,
+            @Value("${albuns.sql.lenta.limite:200ms}") Duration limite,
+            @Value("${albuns.sql.lenta.amostragem:0.1}") double amostragem) {
+        StatisticsFactory fabrica = sessionFactory -> new EstatisticasHibernate(sessionFactory, registry, limite, amostragem);
+        return propriedades -> propriedades.put(StatisticsSettings.STATS_BUILDER, fabrica);
+    }
+}
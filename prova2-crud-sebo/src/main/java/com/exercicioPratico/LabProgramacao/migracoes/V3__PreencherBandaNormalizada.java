@@ -0,0 +1,63 @@
+package com.exercicioPratico.LabProgramacao.migracoes;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceTrigramas;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Migração 3: preenche a banda normalizada (coluna criada pela V2) dos
+ * álbuns que já existiam.
+ *
+ * É em Java, e não em SQL, porque a normalização precisa ser exatamente a
+ * do AlbumModel (IndiceTrigramas.normalizar: minúsculas e sem acentos); o
+ * SQL não tem como remover acentos igual nos dois bancos.
+ *
+ * O nome da classe segue a convenção do Flyway (versão e descrição). Como
+ * @Component, o Spring Boot a entrega ao Flyway junto com os scripts de
+ * db/migration/{vendor}, valendo para o MySQL e para o H2.
+ *
+ * Os álbuns são lidos em ordem de ID, TAMANHO_LOTE por vez, e cada lote é
+ * gravado em um batch JDBC: a memória usada não depende do tamanho do catálogo.
+ */
+@Component
+public class V3__PreencherBandaNormalizada extends BaseJavaMigration {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    private static final String SQL_LER =
+        "SELECT id, banda FROM albuns WHERE id > ? ORDER BY id LIMIT " + TAMANHO_LOTE;
+    private static final String SQL_ATUALIZAR =
+        "UPDATE albuns SET banda_normalizada = ? WHERE id = ?";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection conexao = context.getConnection();
+        try (PreparedStatement leitura = conexao.prepareStatement(SQL_LER);
+             PreparedStatement atualizacao = conexao.prepareStatement(SQL_ATUALIZAR)) {
+            long ultimoId = 0;
+            int lidos;
+            do {
+                lidos = 0;
+                leitura.setLong(1, ultimoId);
+                try (ResultSet linhas = leitura.executeQuery()) {
+                    while (linhas.next()) {
+                        ultimoId = linhas.getLong(1);
+                        atualizacao.setString(1, IndiceTrigramas.normalizar(linhas.getString(2)));
+                        atualizacao.setLong(2, ultimoId);
+                        atualizacao.addBatch();
+                        lidos++;
+                    }
+                }
+                if (lidos > 0) {
+                    atualizacao.executeBatch();
+                }
+            } while (lidos == TAMANHO_LOTE);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.exercicioPratico.LabProgramacao.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Registro de exclusão (tombstone) de um álbum, usado pela sincronização
+ * incremental: o app que tem o álbum na cópia local precisa saber que ele
+ * deixou de existir, e a linha em "albuns" já não está lá para contar.
+ *
+ * O registro se mantém compacto:
+ * - uma linha por álbum (o ID é a chave; IDs não são reaproveitados)
+ * - exclusões mais antigas que albuns.alteracoes.retencao-exclusoes são
+ *   removidas periodicamente (CompactacaoExclusoes)
+ *
+ * Tabela criada pela migração V1 (db/migration); mapeada para que o
+ * Hibernate valide a estrutura. Lida e escrita por AlteracoesRepository com JDBC.
+ */
+@Entity
+@Table(name = "albuns_excluidos")
+public class AlbumExcluido {
+
+    /**
+     * ID do álbum excluído.
+     */
+    @Id
+    private Long albumId;
+
+    /**
+     * Número da escrita que excluiu o álbum (ver RegistroAlteracao).
+     */
+    private long sequenciaAlteracao;
+
+    private Instant excluidoEm;
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public long getSequenciaAlteracao() {
+        return sequenciaAlteracao;
+    }
+
+    public void setSequenciaAlteracao(long sequenciaAlteracao) {
+        this.sequenciaAlteracao = sequenciaAlteracao;
+    }
+
+    public Instant getExcluidoEm() {
+        return excluidoEm;
+    }
+
+    public void setExcluidoEm(Instant excluidoEm) {
+        this.excluidoEm = excluidoEm;
+    }
+}
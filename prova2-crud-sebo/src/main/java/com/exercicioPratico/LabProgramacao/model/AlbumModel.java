@@ -5,8 +5,14 @@ import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.exercicioPratico.LabProgramacao.busca.IndiceTrigramas;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.time.Year; //para captarmos ano atual
 
 /**
@@ -22,11 +28,19 @@ import java.time.Year; //para captarmos ano atual
  * 
  * As anotações de validação (@NotBlank, @Size, etc.) garantem integridade dos dados
  * antes mesmo de chegar ao banco de dados.
+ * 
+ * A tabela e os índices são criados pelas migrações do Flyway
+ * (src/main/resources/db/migration); o Hibernate só valida o mapeamento.
  */
 @Entity
 @Table(name = "albuns")
 public class AlbumModel {
 
+    /**
+     * Caminho relativo de imagem aceito no campo capa.
+     */
+    public static final String PADRAO_CAPA = "^(?!.*\\.\\.)[a-z0-9][a-z0-9 ._/-]*\\.(jpe?g|png|gif|webp)$";
+
     /**
      * ID único do álbum (chave primária).
      * 
@@ -58,6 +72,22 @@ public class AlbumModel {
     @Size(max = 100, message = "O nome da banda deve ter no máximo 100 caracteres")
     private String banda;
 
+    /**
+     * Nome da banda em minúsculas e sem acentos ("Motörhead" → "motorhead"),
+     * com a mesma normalização do índice de trigramas (IndiceTrigramas.normalizar).
+     * 
+     * As buscas por banda comparam esta coluna, e não LOWER(banda): uma função
+     * aplicada à coluna impede o banco de usar o índice, e o resultado não
+     * depende da collation (no H2 a comparação de acentos é diferente da do MySQL).
+     * Índice idx_albuns_banda_normalizada (migração V2).
+     * 
+     * Mantida pela própria entidade (setBanda e callbacks do JPA); quem grava
+     * sem passar pelo JPA (AlbumLoteRepository, atualizarParcial) preenche igual.
+     */
+    @JsonIgnore
+    @Column(length = 100)
+    private String bandaNormalizada;
+
     /**
      * Ano de lançamento do álbum.
      * 
@@ -97,6 +127,79 @@ public class AlbumModel {
     @Column(precision = 10, scale = 2)
     private BigDecimal preco;
 
+    /**
+     * Arquivo da capa do álbum (opcional), relativo ao diretório de capas
+     * (albuns.capas.diretorio). Ex: "iron-maiden/killers.jpg".
+     * 
+     * Servida por GET /api/albuns/{id}/cover (ver EnvioCapa). Não faz parte
+     * do AlbumDTO: o cliente pede a capa pela URL e recebe 404 se não houver.
+     * 
+     * @Pattern: caminho relativo (sem "/" no início e sem "..") terminado em
+     * jpg, jpeg, png, gif ou webp. O ArquivosCapas confere de novo ao abrir o arquivo.
+     */
+    @Size(max = 255, message = "O caminho da capa deve ter no máximo 255 caracteres")
+    @Pattern(regexp = PADRAO_CAPA, flags = Pattern.Flag.CASE_INSENSITIVE,
+        message = "A capa deve ser um caminho relativo de imagem (jpg, jpeg, png, gif ou webp)")
+    private String capa;
+
+    /**
+     * Versão do registro: começa em 1 e é incrementada a cada atualização.
+     * 
+     * É a base do ETag de GET /api/albuns/{id}: se a versão não mudou, o
+     * cliente pode reutilizar a cópia que já tem (resposta 304 Not Modified).
+     * 
+     * Não é @Version (lock otimista) de propósito: registros criados antes
+     * desta coluna existir ficam com versão null, e o Spring Data trataria
+     * esses registros como novos no save().
+     * 
+     * @JsonIgnore: a versão é mantida pelo servidor, nunca recebida do cliente.
+     */
+    @JsonIgnore
+    private Long versao;
+
+    /**
+     * Instante da última criação ou atualização do registro.
+     * Enviado ao cliente no cabeçalho Last-Modified.
+     */
+    @JsonIgnore
+    private Instant atualizadoEm;
+
+    /**
+     * Número da escrita que gravou o álbum pela última vez, tirado da
+     * sequência de alterações (RegistroAlteracao) na mesma transação.
+     * 
+     * É a base da sincronização incremental (GET /api/albuns/changes): o app
+     * pede só os álbuns com sequência maior que a do seu token. Fica null em
+     * registros gravados antes desta coluna existir (entram só na sincronização completa).
+     * 
+     * Não é preenchida pelos callbacks do JPA: quem grava (AlbumService e os
+     * repositórios) pede o número à sequência e preenche.
+     */
+    @JsonIgnore
+    private Long sequenciaAlteracao;
+
+    /**
+     * Callback do JPA executado antes de cada INSERT e UPDATE.
+     * Mantém versão, data de modificação e banda normalizada sem depender de quem chamou o save().
+     * 
+     * O instante é truncado em segundos porque o cabeçalho Last-Modified
+     * (e o If-Modified-Since enviado de volta) só tem precisão de segundos.
+     */
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        versao = versao == null ? 1L : versao + 1;
+        atualizadoEm = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        bandaNormalizada = normalizarBanda(banda);
+    }
+
+    /**
+     * Forma da banda gravada em bandaNormalizada e usada nas buscas por ela.
+     */
+    public static String normalizarBanda(String banda) {
+        return banda == null ? null : IndiceTrigramas.normalizar(banda);
+    }
+
     // ========== GETTERS E SETTERS ==========
     // 
     // Getters e Setters permitem acesso controlado aos campos privados.
@@ -127,6 +230,11 @@ public class AlbumModel {
 
     public void setBanda(String banda) {
         this.banda = banda;
+        this.bandaNormalizada = normalizarBanda(banda);
+    }
+
+    public String getBandaNormalizada() {
+        return bandaNormalizada;
     }
 
     public Integer getAno() {
@@ -152,5 +260,36 @@ public class AlbumModel {
     public void setPreco(BigDecimal preco) {
         this.preco = preco;
     }
-}
 
+    public String getCapa() {
+        return capa;
+    }
+
+    public void setCapa(String capa) {
+        this.capa = capa;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Long getSequenciaAlteracao() {
+        return sequenciaAlteracao;
+    }
+
+    public void setSequenciaAlteracao(Long sequenciaAlteracao) {
+        this.sequenciaAlteracao = sequenciaAlteracao;
+    }
+}
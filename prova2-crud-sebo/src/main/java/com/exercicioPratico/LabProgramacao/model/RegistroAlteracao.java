@@ -0,0 +1,53 @@
+package com.exercicioPratico.LabProgramacao.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Registro de uma escrita no catálogo (criação, atualização, exclusão, bloco
+ * de operação em massa): a origem dos números da sincronização incremental.
+ *
+ * Cada escrita insere uma linha na sua própria transação e grava o número
+ * gerado (AUTO_INCREMENT) nos álbuns alterados (AlbumModel.sequenciaAlteracao)
+ * ou nas exclusões (AlbumExcluido). Escritas concorrentes não se esperam, e
+ * por isso podem confirmar fora da ordem dos números: um número que ainda
+ * não aparece aqui pode ser de uma escrita em andamento. A leitura só avança
+ * até o primeiro desses buracos (ver AlteracoesRepository.posicao).
+ *
+ * Tabela criada pela migração V6 (db/migration); mapeada para que o
+ * Hibernate valide a estrutura. Lida e escrita por AlteracoesRepository com JDBC.
+ */
+@Entity
+@Table(name = "alteracoes")
+public class RegistroAlteracao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequencia;
+
+    /**
+     * Instante em que a escrita pediu o número (início da escrita).
+     */
+    private Instant registradaEm;
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public Instant getRegistradaEm() {
+        return registradaEm;
+    }
+
+    public void setRegistradaEm(Instant registradaEm) {
+        this.registradaEm = registradaEm;
+    }
+}
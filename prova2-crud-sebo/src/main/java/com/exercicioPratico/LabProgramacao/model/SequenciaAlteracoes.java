@@ -0,0 +1,44 @@
+package com.exercicioPratico.LabProgramacao.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Estado da sequência de alterações do catálogo: uma única linha (id = 1).
+ *
+ * Os números da sequência vêm do registro de alterações (RegistroAlteracao);
+ * aqui fica só "descartadasAte", a maior sequência entre as exclusões já
+ * removidas do registro (ver AlteracoesRepository.descartarExclusoes): um
+ * token mais antigo que isso não consegue mais saber o que foi excluído e
+ * recebe o catálogo completo.
+ *
+ * Tabela criada pela migração V1 (db/migration), linha criada pela V6;
+ * mapeada para que o Hibernate valide a estrutura. Lida e escrita por
+ * AlteracoesRepository com JDBC.
+ */
+@Entity
+@Table(name = "sequencia_alteracoes")
+public class SequenciaAlteracoes {
+
+    @Id
+    private Integer id;
+
+    private long descartadasAte;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getDescartadasAte() {
+        return descartadasAte;
+    }
+
+    public void setDescartadasAte(long descartadasAte) {
+        this.descartadasAte = descartadasAte;
+    }
+}
@@ -0,0 +1,19 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import java.math.BigDecimal;
+
+/**
+ * Álbum alterado ou excluído por uma operação em massa (um bloco de
+ * AlbumRepositoryCustom.excluirBloco / reajustarPrecosBloco).
+ *
+ * A banda e o preço são devolvidos para que o Service publique o
+ * AlbunsAlteradosEvent (índice de busca e cache de respostas dependem da
+ * banda; as estatísticas do catálogo, do preço).
+ *
+ * @param id ID do álbum
+ * @param banda Banda do álbum no momento da alteração
+ * @param preco Preço depois da alteração (no reajuste, o novo preço; na exclusão, o que o álbum tinha)
+ * @param sequenciaAlteracao Número da escrita do bloco na sequência de alterações
+ */
+public record AlbumAfetado(Long id, String banda, BigDecimal preco, Long sequenciaAlteracao) {
+}
@@ -0,0 +1,113 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositório JDBC para inserção de álbuns em lote.
+ *
+ * Por que não usar albumRepository.saveAll()?
+ * O ID do AlbumModel é gerado por AUTO_INCREMENT (GenerationType.IDENTITY).
+ * Nesse modo o Hibernate precisa executar cada INSERT na hora para descobrir
+ * o ID gerado, e por isso desativa silenciosamente o batch de inserções:
+ * cada álbum vira uma ida e volta ao banco.
+ *
+ * Aqui os INSERTs são enviados com PreparedStatement.addBatch/executeBatch.
+ * Com rewriteBatchedStatements=true na URL do MySQL, o driver reescreve cada
+ * batch em um único INSERT com várias linhas, e os IDs gerados continuam
+ * disponíveis via getGeneratedKeys().
+ */
+@Repository
+public class AlbumLoteRepository {
+
+    private static final String SQL_INSERT =
+        "INSERT INTO albuns (titulo, banda, banda_normalizada, ano, genero, preco, capa, versao, atualizado_em,"
+            + " sequencia_alteracao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlbumLoteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insere os álbuns em batches JDBC e preenche o ID gerado em cada um.
+     *
+     * Deve ser chamado dentro de uma transação (@Transactional no Service),
+     * para que todos os batches usem a mesma conexão e sejam confirmados juntos.
+     *
+     * @param albuns Álbuns novos já validados
+     * @param tamanhoLote Quantidade de INSERTs enviados em cada batch
+     * @param sequenciaAlteracao Número da escrita na sequência de alterações (o mesmo para o lote todo)
+     */
+    public void inserir(List<AlbumModel> albuns, int tamanhoLote, long sequenciaAlteracao) {
+        // O JDBC não passa pelos callbacks do JPA (@PrePersist), então versão e
+        // data de modificação são preenchidas aqui, como o AlbumModel faria
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (AlbumModel album : albuns) {
+            album.setVersao(1L);
+            album.setAtualizadoEm(agora);
+            album.setSequenciaAlteracao(sequenciaAlteracao);
+        }
+
+        for (int inicio = 0; inicio < albuns.size(); inicio += tamanhoLote) {
+            List<AlbumModel> lote = albuns.subList(inicio, Math.min(inicio + tamanhoLote, albuns.size()));
+
+            KeyHolder chavesGeradas = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                conexao -> conexao.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AlbumModel album = lote.get(i);
+                        ps.setString(1, album.getTitulo());
+                        ps.setString(2, album.getBanda());
+                        ps.setString(3, AlbumModel.normalizarBanda(album.getBanda()));
+                        ps.setInt(4, album.getAno());
+                        if (album.getGenero() != null) {
+                            ps.setString(5, album.getGenero());
+                        } else {
+                            ps.setNull(5, Types.VARCHAR);
+                        }
+                        ps.setBigDecimal(6, album.getPreco());
+                        if (album.getCapa() != null) {
+                            ps.setString(7, album.getCapa());
+                        } else {
+                            ps.setNull(7, Types.VARCHAR);
+                        }
+                        ps.setLong(8, album.getVersao());
+                        ps.setTimestamp(9, Timestamp.from(album.getAtualizadoEm()));
+                        ps.setLong(10, album.getSequenciaAlteracao());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lote.size();
+                    }
+                },
+                chavesGeradas
+            );
+
+            // Os IDs voltam na mesma ordem em que os álbuns foram inseridos
+            List<Map<String, Object>> chaves = chavesGeradas.getKeyList();
+            for (int i = 0; i < lote.size() && i < chaves.size(); i++) {
+                Number id = (Number) chaves.get(i).values().iterator().next();
+                lote.get(i).setId(id.longValue());
+            }
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.exercicioPratico.LabProgramacao.repositories;
 
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
 import com.exercicioPratico.LabProgramacao.model.AlbumModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * CAMADA DE ACESSO AOS DADOS (Data Access Layer / Repository)
@@ -22,8 +34,33 @@ import java.util.List;
  * - existsById(Long) → Verifica se existe por ID
  * - count() → Conta total de registros
  * - etc.
+ * 
+ * JpaSpecificationExecutor permite consultas com filtros combináveis
+ * (ver AlbumSpecifications), e AlbumRepositoryCustom traz as consultas
+ * escritas manualmente com a Criteria API (ex: contagem de facetas).
  */
-public interface AlbumRepository extends JpaRepository<AlbumModel, Long> {
+public interface AlbumRepository extends JpaRepository<AlbumModel, Long>,
+        JpaSpecificationExecutor<AlbumModel>, AlbumRepositoryCustom {
+
+    /**
+     * Quantidade de linhas que o driver JDBC traz do banco a cada ida à rede
+     * durante a exportação. Com useCursorFetch=true na URL do MySQL, o driver
+     * usa um cursor no servidor e mantém em memória apenas este lote.
+     */
+    String TAMANHO_LOTE_EXPORTACAO = "1000";
+
+    /**
+     * Constructor expression usada nas consultas de leitura que devolvem AlbumDTO.
+     */
+    String PROJECAO_DTO = "new com.exercicioPratico.LabProgramacao.dto.AlbumDTO("
+        + "a.id, a.titulo, a.banda, a.ano, a.genero, a.preco)";
+
+    /**
+     * Constructor expression com versão e data de modificação, usada na leitura
+     * por ID (a resposta leva ETag e Last-Modified).
+     */
+    String PROJECAO_DTO_VERSIONADO = "new com.exercicioPratico.LabProgramacao.dto.AlbumDTO("
+        + "a.id, a.titulo, a.banda, a.ano, a.genero, a.preco, a.versao, a.atualizadoEm)";
     
     /**
      * Método customizado para buscar álbuns por nome da banda.
@@ -48,4 +85,191 @@ public interface AlbumRepository extends JpaRepository<AlbumModel, Long> {
      * @return Lista de álbuns cujo nome da banda contém o texto fornecido
      */
     List<AlbumModel> findByBandaContainingIgnoreCase(String banda);
+
+    /**
+     * Lista todos os álbuns já como AlbumDTO, ordenados por banda.
+     *
+     * A expressão "SELECT new ...AlbumDTO(...)" (constructor expression) faz o
+     * Hibernate montar o DTO direto a partir das colunas, sem criar entidades
+     * gerenciadas nem guardar cópias delas para dirty checking.
+     *
+     * @return Lista de DTOs ordenada por nome da banda (A-Z)
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a ORDER BY a.banda ASC")
+    List<AlbumDTO> listarDTOs();
+
+    /**
+     * Busca um álbum pelo ID já como AlbumDTO, incluindo versão e data de modificação.
+     *
+     * @param id ID do álbum
+     * @return Optional com o DTO, ou vazio se o álbum não existir
+     */
+    @Query("SELECT " + PROJECAO_DTO_VERSIONADO + " FROM AlbumModel a WHERE a.id = :id")
+    Optional<AlbumDTO> buscarDTOPorId(@Param("id") Long id);
+
+    /**
+     * Caminho da capa de um álbum (só a coluna, pela chave primária).
+     *
+     * @param id ID do álbum
+     * @return Optional com o caminho, ou vazio se o álbum não existir ou não tiver capa
+     */
+    @Query("SELECT a.capa FROM AlbumModel a WHERE a.id = :id")
+    Optional<String> buscarCapa(@Param("id") Long id);
+
+    /**
+     * Busca vários álbuns pelos IDs já como AlbumDTO, ordenados por ID, entre
+     * os que ainda têm a banda contendo o texto.
+     * Usado para carregar os resultados encontrados pelo índice de trigramas:
+     * o índice só propõe candidatos, e o LIKE na banda atual descarta os que
+     * ele ainda guarda com uma banda antiga. A leitura continua pela chave
+     * primária; o LIKE só é avaliado nessas linhas.
+     *
+     * @param ids IDs dos álbuns
+     * @param padrao Padrão do LIKE normalizado (AlbumSpecifications.padraoContem), ex: "%metal%"
+     * @return Lista de DTOs ordenada por ID
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a "
+        + "WHERE a.id IN :ids AND a.bandaNormalizada LIKE :padrao ESCAPE '\\' ORDER BY a.id ASC")
+    List<AlbumDTO> buscarDTOsPorIds(@Param("ids") Collection<Long> ids, @Param("padrao") String padrao);
+
+    /**
+     * Álbuns gravados pelas escritas com sequência em (desde, ate], já como AlbumDTO.
+     * Usado pela sincronização incremental (GET /api/albuns/changes), com o
+     * índice de sequenciaAlteracao: o custo acompanha a quantidade de
+     * alterações, não o tamanho do catálogo.
+     *
+     * @param desde Sequência do token do cliente (exclusiva)
+     * @param ate Sequência atual (inclusiva)
+     * @return Lista de DTOs em ordem de sequência e ID
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a "
+        + "WHERE a.sequenciaAlteracao > :desde AND a.sequenciaAlteracao <= :ate "
+        + "ORDER BY a.sequenciaAlteracao ASC, a.id ASC")
+    List<AlbumDTO> buscarDTOsAlteradosEntre(@Param("desde") long desde, @Param("ate") long ate);
+
+    /**
+     * Busca por banda "contém" já como AlbumDTO, sem diferenciar maiúsculas e acentos.
+     *
+     * Compara a coluna bandaNormalizada (ver AlbumModel). Com o curinga no
+     * início o índice não ajuda e a tabela é percorrida; por isso esta consulta
+     * só é usada quando o índice de trigramas não responde (ver ConsultaAlbunsJpa).
+     *
+     * O padrão do LIKE é montado pelo chamador (ver AlbumSpecifications.padraoContem),
+     * com os curingas digitados pelo usuário (% e _) escapados com '\'.
+     *
+     * Ordenada por ID, como a busca pelo índice: a ordem do resultado não
+     * depende de qual dos dois caminhos respondeu.
+     *
+     * @param padrao Padrão do LIKE normalizado, ex: "%metal%"
+     * @return Lista de DTOs cujo nome da banda contém o texto fornecido, ordenada por ID
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a "
+        + "WHERE a.bandaNormalizada LIKE :padrao ESCAPE '\\' ORDER BY a.id ASC")
+    List<AlbumDTO> buscarDTOsPorBanda(@Param("padrao") String padrao);
+
+    /**
+     * Álbuns cuja banda é igual ao texto (sem diferenciar maiúsculas e acentos),
+     * já como AlbumDTO.
+     *
+     * Igualdade na coluna pura: o banco vai direto às linhas pelo índice
+     * idx_albuns_banda_normalizada (banda_normalizada, id), que já as entrega
+     * em ordem de ID.
+     *
+     * @param bandaNormalizada Banda normalizada (AlbumModel.normalizarBanda)
+     * @return Lista de DTOs ordenada por ID
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a "
+        + "WHERE a.bandaNormalizada = :banda ORDER BY a.id ASC")
+    List<AlbumDTO> buscarDTOsPorBandaIgual(@Param("banda") String bandaNormalizada);
+
+    /**
+     * Álbuns cuja banda começa com o texto (sem diferenciar maiúsculas e
+     * acentos), já como AlbumDTO.
+     *
+     * Sem curinga no início, o LIKE vira uma faixa do índice
+     * idx_albuns_banda_normalizada: o banco lê só as bandas que começam com o texto.
+     *
+     * @param padrao Padrão do LIKE montado por AlbumSpecifications.padraoPrefixo, ex: "iron%"
+     * @return Lista de DTOs ordenada por ID
+     */
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a "
+        + "WHERE a.bandaNormalizada LIKE :padrao ESCAPE '\\' ORDER BY a.id ASC")
+    List<AlbumDTO> buscarDTOsPorInicioDaBanda(@Param("padrao") String padrao);
+
+    /**
+     * Lê todos os álbuns como um Stream de AlbumDTO, sem carregar a tabela inteira em memória.
+     *
+     * - HINT_FETCH_SIZE: o driver busca os registros em lotes pelo cursor do banco
+     * - Constructor expression: nenhuma entidade é criada, então o contexto de
+     *   persistência não cresce durante a leitura
+     *
+     * O Stream mantém a conexão aberta, então DEVE ser consumido dentro de uma
+     * transação e fechado ao final (try-with-resources).
+     *
+     * @return Stream de DTOs ordenados por ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_EXPORTACAO),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + PROJECAO_DTO + " FROM AlbumModel a ORDER BY a.id ASC")
+    Stream<AlbumDTO> streamTodos();
+
+    /**
+     * Projeção com apenas o ID e a banda, usada para reconstruir o índice de trigramas.
+     */
+    interface BandaAlbum {
+        Long getId();
+        String getBanda();
+    }
+
+    /**
+     * Lê o ID e a banda de todos os álbuns como um Stream (em lotes pelo cursor).
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream com ID e banda de cada álbum
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_EXPORTACAO),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.banda AS banda FROM AlbumModel a")
+    Stream<BandaAlbum> streamBandas();
+
+    /**
+     * Projeção com os campos das estatísticas do catálogo (gênero, ano e preço).
+     */
+    interface ValoresAlbum {
+        Long getId();
+        String getGenero();
+        Integer getAno();
+        BigDecimal getPreco();
+    }
+
+    /**
+     * Lê gênero, ano e preço de todos os álbuns como um Stream (em lotes pelo cursor).
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream com ID, gênero, ano e preço de cada álbum
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_EXPORTACAO),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.genero AS genero, a.ano AS ano, a.preco AS preco FROM AlbumModel a")
+    Stream<ValoresAlbum> streamValores();
+
+    /**
+     * Exclui um álbum pelo ID com um único DELETE.
+     *
+     * Diferente de deleteById(), que primeiro faz um SELECT para carregar a
+     * entidade, aqui o banco só recebe o DELETE; a quantidade de linhas
+     * excluídas diz se o álbum existia. Deve ser chamado dentro de uma transação.
+     *
+     * @param id ID do álbum
+     * @return 1 se o álbum foi excluído, 0 se não existia
+     */
+    @Modifying
+    @Query("DELETE FROM AlbumModel a WHERE a.id = :id")
+    int excluirPorId(@Param("id") Long id);
 }
@@ -0,0 +1,87 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Consultas do AlbumRepository que não cabem em métodos derivados nem em @Query,
+ * implementadas manualmente em AlbumRepositoryCustomImpl.
+ */
+public interface AlbumRepositoryCustom {
+
+    /**
+     * Conta os álbuns que atendem ao filtro, por gênero e por década, em uma única
+     * consulta agrupada (GROUP BY genero, década).
+     *
+     * @param filtro Critérios de filtro (os mesmos usados na listagem)
+     * @return Contagens por gênero e por década
+     */
+    FacetasDTO contarFacetas(Specification<AlbumModel> filtro);
+
+    /**
+     * Busca os álbuns que atendem ao filtro já como AlbumDTO, ordenados por (banda, id).
+     *
+     * Equivale a findAll(filtro, sort), mas com SELECT new AlbumDTO(...):
+     * nenhuma entidade gerenciada é criada.
+     *
+     * @param filtro Critérios de filtro
+     * @param limite Quantidade máxima de registros (0 para sem limite)
+     * @return Lista de DTOs
+     */
+    List<AlbumDTO> buscarDTOs(Specification<AlbumModel> filtro, int limite);
+
+    /**
+     * Atualiza apenas os campos enviados de um álbum, com um único
+     * UPDATE ... WHERE id = ? (sem SELECT antes).
+     *
+     * Versão e data de modificação também são atualizadas, como o @PreUpdate
+     * do AlbumModel faria, e o número da sequência de alterações é gravado
+     * no mesmo UPDATE. Deve ser chamado dentro de uma transação.
+     *
+     * @param id ID do álbum
+     * @param campos Campos a alterar (os null ficam como estão)
+     * @param sequencia Número da escrita (AlteracoesRepository.proxima)
+     * @return 1 se o álbum foi atualizado, 0 se não existe
+     */
+    int atualizarParcial(Long id, AtualizacaoParcialDTO campos, long sequencia);
+
+    /**
+     * Exclui o próximo bloco de álbuns do filtro, em ordem de ID, a partir de aposId.
+     *
+     * Em uma transação curta: trava as linhas do bloco (SELECT ... FOR UPDATE,
+     * em ordem de ID) e as exclui com um único DELETE ... WHERE id IN (...).
+     * Só as linhas do bloco ficam travadas, e apenas até o commit do bloco.
+     * Cada bloco recebe um número da sequência de alterações e registra a
+     * exclusão dos seus álbuns (AlbumExcluido) na mesma transação.
+     *
+     * @param filtro Critérios dos álbuns a excluir
+     * @param aposId Último ID do bloco anterior (0 no primeiro bloco)
+     * @param tamanho Quantidade máxima de álbuns no bloco
+     * @return Álbuns excluídos, em ordem de ID (vazio quando não há mais álbuns)
+     */
+    List<AlbumAfetado> excluirBloco(Specification<AlbumModel> filtro, long aposId, int tamanho);
+
+    /**
+     * Reajusta o preço do próximo bloco de álbuns do filtro, em ordem de ID, a partir de aposId.
+     *
+     * Mesma estratégia de excluirBloco, com um único UPDATE por bloco:
+     * preco = ROUND(preco * fator / 100 + acrescimo, 2), e versão e data de
+     * modificação atualizadas como o @PreUpdate do AlbumModel faria, e o
+     * número do bloco na sequência de alterações.
+     *
+     * @param filtro Critérios dos álbuns a reajustar (incluindo a faixa de preço permitida)
+     * @param fator Porcentagem do preço atual (100 + percentual; 100 para reajuste em valor absoluto)
+     * @param acrescimo Valor somado ao preço (0 para reajuste percentual)
+     * @param aposId Último ID do bloco anterior (0 no primeiro bloco)
+     * @param tamanho Quantidade máxima de álbuns no bloco
+     * @return Álbuns reajustados, em ordem de ID, com os preços novos (vazio quando não há mais álbuns)
+     */
+    List<AlbumAfetado> reajustarPrecosBloco(Specification<AlbumModel> filtro, BigDecimal fator,
+                                            BigDecimal acrescimo, long aposId, int tamanho);
+}
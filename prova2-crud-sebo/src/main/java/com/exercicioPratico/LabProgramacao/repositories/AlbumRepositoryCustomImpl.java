@@ -0,0 +1,231 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementação das consultas de AlbumRepositoryCustom usando a Criteria API.
+ *
+ * O Spring Data encontra esta classe pelo nome (interface + "Impl") e
+ * junta seus métodos aos do AlbumRepository.
+ */
+public class AlbumRepositoryCustomImpl implements AlbumRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final AlteracoesRepository alteracoes;
+
+    public AlbumRepositoryCustomImpl(EntityManager entityManager, AlteracoesRepository alteracoes) {
+        this.entityManager = entityManager;
+        this.alteracoes = alteracoes;
+    }
+
+    @Override
+    public FacetasDTO contarFacetas(Specification<AlbumModel> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AlbumModel> album = query.from(AlbumModel.class);
+
+        // Década = ano - (ano % 10), ex: 1987 → 1980 (só operações inteiras, portável entre bancos)
+        Expression<Integer> ano = album.get("ano");
+        Expression<Integer> decada = cb.diff(ano, cb.mod(ano, 10));
+        Expression<String> genero = album.get("genero");
+
+        query.multiselect(genero, decada, cb.count(album));
+        Predicate predicado = filtro.toPredicate(album, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.groupBy(genero, decada);
+
+        // Uma linha por combinação (gênero, década); as duas facetas saem da mesma consulta
+        Map<String, Long> porGenero = new TreeMap<>();
+        Map<Integer, Long> porDecada = new TreeMap<>();
+        for (Tuple linha : entityManager.createQuery(query).getResultList()) {
+            String chaveGenero = linha.get(0, String.class);
+            Integer chaveDecada = linha.get(1, Integer.class);
+            Long quantidade = linha.get(2, Long.class);
+            porGenero.merge(chaveGenero != null ? chaveGenero : "", quantidade, Long::sum);
+            if (chaveDecada != null) {
+                porDecada.merge(chaveDecada, quantidade, Long::sum);
+            }
+        }
+        return new FacetasDTO(porGenero, porDecada);
+    }
+
+    @Override
+    public List<AlbumDTO> buscarDTOs(Specification<AlbumModel> filtro, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AlbumDTO> query = cb.createQuery(AlbumDTO.class);
+        Root<AlbumModel> album = query.from(AlbumModel.class);
+
+        // cb.construct é o equivalente Criteria de "SELECT new AlbumDTO(...)"
+        query.select(cb.construct(AlbumDTO.class,
+            album.get("id"), album.get("titulo"), album.get("banda"),
+            album.get("ano"), album.get("genero"), album.get("preco")));
+        Predicate predicado = filtro.toPredicate(album, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        query.orderBy(cb.asc(album.get("banda")), cb.asc(album.get("id")));
+
+        TypedQuery<AlbumDTO> consulta = entityManager.createQuery(query);
+        if (limite > 0) {
+            consulta.setMaxResults(limite);
+        }
+        return consulta.getResultList();
+    }
+
+    @Override
+    public int atualizarParcial(Long id, AtualizacaoParcialDTO campos, long sequencia) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<AlbumModel> update = cb.createCriteriaUpdate(AlbumModel.class);
+        Root<AlbumModel> album = update.from(AlbumModel.class);
+
+        // O SET só tem as colunas enviadas pelo cliente
+        if (campos.getTitulo() != null) {
+            update.set(album.<String>get("titulo"), campos.getTitulo());
+        }
+        if (campos.getBanda() != null) {
+            update.set(album.<String>get("banda"), campos.getBanda());
+            // UPDATE direto não passa pelo AlbumModel: a coluna de busca é mantida aqui
+            update.set(album.<String>get("bandaNormalizada"), AlbumModel.normalizarBanda(campos.getBanda()));
+        }
+        if (campos.getAno() != null) {
+            update.set(album.<Integer>get("ano"), campos.getAno());
+        }
+        if (campos.getGenero() != null) {
+            update.set(album.<String>get("genero"), campos.getGenero());
+        }
+        if (campos.getPreco() != null) {
+            update.set(album.<BigDecimal>get("preco"), campos.getPreco());
+        }
+        registrarVersao(cb, update, album);
+        update.set(album.<Long>get("sequenciaAlteracao"), sequencia);
+        update.where(cb.equal(album.get("id"), id));
+
+        // Com o MySQL a contagem é de linhas encontradas (padrão do driver), não só das
+        // modificadas; e a versão sempre muda, então 0 significa que o álbum não existe
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // Cada chamada é uma transação própria: as travas do bloco duram só até o commit dele
+    @Override
+    @Transactional
+    public List<AlbumAfetado> excluirBloco(Specification<AlbumModel> filtro, long aposId, int tamanho) {
+        List<AlbumAfetado> bloco = travarBloco(filtro, aposId, tamanho);
+        if (bloco.isEmpty()) {
+            return bloco;
+        }
+        // Número pedido só quando o bloco tem álbuns (o último bloco costuma vir vazio)
+        long sequencia = alteracoes.proxima();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<AlbumModel> delete = cb.createCriteriaDelete(AlbumModel.class);
+        Root<AlbumModel> album = delete.from(AlbumModel.class);
+        delete.where(album.get("id").in(ids(bloco)));
+        entityManager.createQuery(delete).executeUpdate();
+        alteracoes.registrarExclusoes(ids(bloco), sequencia);
+        return bloco.stream()
+            .map(excluido -> new AlbumAfetado(excluido.id(), excluido.banda(), excluido.preco(), sequencia))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public List<AlbumAfetado> reajustarPrecosBloco(Specification<AlbumModel> filtro, BigDecimal fator,
+                                                   BigDecimal acrescimo, long aposId, int tamanho) {
+        List<AlbumAfetado> bloco = travarBloco(filtro, aposId, tamanho);
+        if (bloco.isEmpty()) {
+            return bloco;
+        }
+        long sequencia = alteracoes.proxima();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<AlbumModel> update = cb.createCriteriaUpdate(AlbumModel.class);
+        Root<AlbumModel> album = update.from(AlbumModel.class);
+        update.set(album.<BigDecimal>get("preco"), AlbumSpecifications.precoReajustado(album, cb, fator, acrescimo));
+        registrarVersao(cb, update, album);
+        update.set(album.<Long>get("sequenciaAlteracao"), sequencia);
+        update.where(album.get("id").in(ids(bloco)));
+        entityManager.createQuery(update).executeUpdate();
+
+        // Os preços novos são calculados pelo banco: relê o bloco (linhas já travadas por esta transação)
+        return lerBloco(ids(bloco));
+    }
+
+    /**
+     * UPDATE em massa não passa pelo @PreUpdate do AlbumModel: versão e data
+     * de modificação são atualizadas aqui, com as mesmas regras.
+     */
+    private static void registrarVersao(CriteriaBuilder cb, CriteriaUpdate<AlbumModel> update,
+                                        Root<AlbumModel> album) {
+        Expression<Long> versao = album.get("versao");
+        update.set(album.<Long>get("versao"), cb.sum(cb.coalesce(versao, 0L), 1L));
+        update.set(album.<Instant>get("atualizadoEm"), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Lê e trava (SELECT ... FOR UPDATE) os próximos álbuns do filtro depois de aposId.
+     *
+     * A ordem por ID faz o banco percorrer a chave primária em faixas, e
+     * transações concorrentes travam as linhas sempre na mesma ordem.
+     */
+    private List<AlbumAfetado> travarBloco(Specification<AlbumModel> filtro, long aposId, int tamanho) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AlbumAfetado> query = cb.createQuery(AlbumAfetado.class);
+        Root<AlbumModel> album = query.from(AlbumModel.class);
+
+        query.select(cb.construct(AlbumAfetado.class, album.get("id"), album.get("banda"), album.get("preco"),
+            album.get("sequenciaAlteracao")));
+        Predicate aposCursor = cb.greaterThan(album.get("id"), aposId);
+        Predicate predicado = filtro.toPredicate(album, query, cb);
+        query.where(predicado != null ? cb.and(aposCursor, predicado) : aposCursor);
+        query.orderBy(cb.asc(album.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(tamanho)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList();
+    }
+
+    /**
+     * Lê os álbuns de um bloco, em ordem de ID, com os valores atuais.
+     */
+    private List<AlbumAfetado> lerBloco(List<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AlbumAfetado> query = cb.createQuery(AlbumAfetado.class);
+        Root<AlbumModel> album = query.from(AlbumModel.class);
+
+        query.select(cb.construct(AlbumAfetado.class, album.get("id"), album.get("banda"), album.get("preco"),
+            album.get("sequenciaAlteracao")));
+        query.where(album.get("id").in(ids));
+        query.orderBy(cb.asc(album.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static List<Long> ids(List<AlbumAfetado> bloco) {
+        return bloco.stream().map(AlbumAfetado::id).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceTrigramas;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Critérios de consulta reutilizáveis para AlbumModel (Spring Data JPA Specifications).
+ *
+ * Cada método devolve um pedaço de WHERE que pode ser combinado com os outros:
+ *
+ *   Specification.allOf(bandaContem("iron"), generoIgual("Metal"), anoMinimo(1980))
+ *   → WHERE banda_normalizada LIKE '%iron%' AND LOWER(genero) = 'metal' AND ano >= 1980
+ *
+ * Assim um novo filtro é só mais um método aqui, em vez de multiplicar métodos
+ * derivados no AlbumRepository (findByBandaAndGeneroAndAnoBetween...).
+ */
+public final class AlbumSpecifications {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private AlbumSpecifications() {
+    }
+
+    /**
+     * Banda contém o texto, sem diferenciar maiúsculas e acentos.
+     * Compara a coluna bandaNormalizada (ver AlbumModel), sem LOWER().
+     */
+    public static Specification<AlbumModel> bandaContem(String banda) {
+        String padrao = padraoContem(banda);
+        return (root, query, cb) -> cb.like(root.get("bandaNormalizada"), padrao, '\\');
+    }
+
+    /**
+     * Gênero igual ao informado (case-insensitive).
+     */
+    public static Specification<AlbumModel> generoIgual(String genero) {
+        String valor = genero.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("genero")), valor);
+    }
+
+    /**
+     * Ano de lançamento maior ou igual ao informado.
+     */
+    public static Specification<AlbumModel> anoMinimo(int ano) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("ano"), ano);
+    }
+
+    /**
+     * Ano de lançamento menor ou igual ao informado.
+     */
+    public static Specification<AlbumModel> anoMaximo(int ano) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("ano"), ano);
+    }
+
+    /**
+     * Preço maior ou igual ao informado.
+     */
+    public static Specification<AlbumModel> precoMinimo(BigDecimal preco) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("preco"), preco);
+    }
+
+    /**
+     * Preço menor ou igual ao informado.
+     */
+    public static Specification<AlbumModel> precoMaximo(BigDecimal preco) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("preco"), preco);
+    }
+
+    /**
+     * Preço depois do reajuste (ver precoReajustado) maior que minimo e menor que maximo,
+     * sem incluir os extremos, como o @DecimalMin/@DecimalMax do AlbumModel.
+     * Usado no reajuste em massa para que nenhum álbum saia da faixa de preço permitida.
+     */
+    public static Specification<AlbumModel> precoReajustadoEntre(BigDecimal fator, BigDecimal acrescimo,
+                                                                 BigDecimal minimo, BigDecimal maximo) {
+        return (root, query, cb) -> {
+            Expression<BigDecimal> reajustado = precoReajustado(root, cb, fator, acrescimo);
+            return cb.and(cb.greaterThan(reajustado, minimo), cb.lessThan(reajustado, maximo));
+        };
+    }
+
+    /**
+     * Expressão do preço reajustado: ROUND(preco * fator / 100 + acrescimo, 2).
+     *
+     * O fator é a porcentagem do preço atual que o álbum passa a custar:
+     * Reajuste percentual de p% → fator = 100 + p e acrescimo = 0 (ex: -10% → 90)
+     * Reajuste absoluto de v    → fator = 100 e acrescimo = v
+     *
+     * O fator é expresso em porcentagem (e não como 0.9) porque o Hibernate envia
+     * o parâmetro com o tipo da coluna preco (2 casas decimais): 0.875 viraria 0.88,
+     * enquanto 87.50 chega exato.
+     *
+     * É a mesma expressão no SET do UPDATE e no WHERE que verifica a faixa de preço.
+     */
+    public static Expression<BigDecimal> precoReajustado(Root<AlbumModel> root, CriteriaBuilder cb,
+                                                         BigDecimal fator, BigDecimal acrescimo) {
+        Expression<BigDecimal> preco = root.get("preco");
+        Expression<BigDecimal> proporcional = cb.quot(cb.prod(preco, fator), CEM).as(BigDecimal.class);
+        return cb.round(cb.sum(proporcional, acrescimo), 2);
+    }
+
+    /**
+     * Posição depois do cursor na ordenação (banda, id), para paginação por keyset.
+     * Equivale a WHERE (banda, id) > (:banda, :id), escrito como
+     * banda >= :banda AND (banda > :banda OR id > :id): o primeiro termo, sozinho
+     * e sem OR, é a faixa do índice idx_albuns_banda_id onde a página começa.
+     */
+    public static Specification<AlbumModel> aposCursor(String banda, Long id) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.get("banda"), banda),
+            cb.or(cb.greaterThan(root.get("banda"), banda), cb.greaterThan(root.get("id"), id))
+        );
+    }
+
+    /**
+     * Monta o padrão de LIKE "contém" normalizado como a coluna bandaNormalizada
+     * (minúsculas e sem acentos): "Motör_" → "%motor\_%".
+     * Os curingas (% e _) digitados pelo usuário são escapados com '\'.
+     */
+    public static String padraoContem(String texto) {
+        return "%" + escaparLike(IndiceTrigramas.normalizar(texto)) + "%";
+    }
+
+    /**
+     * Monta o padrão de LIKE "começa com", normalizado como padraoContem:
+     * "Iron" → "iron%". Sem curinga no início, o banco percorre só a faixa
+     * do índice que começa com o texto.
+     */
+    public static String padraoPrefixo(String texto) {
+        return escaparLike(IndiceTrigramas.normalizar(texto)) + "%";
+    }
+
+    /**
+     * Escapa os curingas do LIKE (% e _) para que sejam buscados literalmente.
+     */
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
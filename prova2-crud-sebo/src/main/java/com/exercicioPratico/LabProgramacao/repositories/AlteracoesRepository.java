@@ -0,0 +1,189 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repositório JDBC do registro de alterações (RegistroAlteracao), do estado
+ * da sequência (SequenciaAlteracoes) e do registro de exclusões
+ * (AlbumExcluido), usados pela sincronização incremental (GET /api/albuns/changes).
+ *
+ * As escritas exigem uma transação já aberta (MANDATORY): o número da
+ * sequência só vale se for confirmado junto com a escrita que o recebeu.
+ */
+@Repository
+public class AlteracoesRepository {
+
+    private static final String SQL_REGISTRAR =
+        "INSERT INTO alteracoes (registrada_em) VALUES (?)";
+    private static final String SQL_RECENTES =
+        "SELECT sequencia FROM alteracoes WHERE registrada_em >= ? ORDER BY sequencia";
+    private static final String SQL_ANTERIOR =
+        "SELECT MAX(sequencia) FROM alteracoes WHERE sequencia < ?";
+    private static final String SQL_ULTIMA =
+        "SELECT MAX(sequencia) FROM alteracoes";
+    private static final String SQL_REGISTRADA_EM =
+        "SELECT registrada_em FROM alteracoes WHERE sequencia = ?";
+    private static final String SQL_DESCARTADAS_ATE =
+        "SELECT descartadas_ate FROM sequencia_alteracoes WHERE id = 1";
+    private static final String SQL_INSERIR_EXCLUSAO =
+        "INSERT INTO albuns_excluidos (album_id, sequencia_alteracao, excluido_em) VALUES (?, ?, ?)";
+    private static final String SQL_EXCLUSOES_ENTRE =
+        "SELECT album_id FROM albuns_excluidos WHERE sequencia_alteracao > ? AND sequencia_alteracao <= ?"
+            + " ORDER BY sequencia_alteracao, album_id";
+    private static final String SQL_MARCAR_DESCARTADAS =
+        "UPDATE sequencia_alteracoes SET descartadas_ate = GREATEST(descartadas_ate, COALESCE("
+            + "(SELECT MAX(sequencia_alteracao) FROM albuns_excluidos WHERE excluido_em < ?), 0)) WHERE id = 1";
+    private static final String SQL_DESCARTAR =
+        "DELETE FROM albuns_excluidos WHERE excluido_em < ?";
+    private static final String SQL_ULTIMA_ANTES =
+        "SELECT MAX(sequencia) FROM alteracoes WHERE registrada_em < ?";
+    private static final String SQL_DESCARTAR_REGISTROS =
+        "DELETE FROM alteracoes WHERE sequencia < ?";
+
+    /**
+     * Posição atual da sequência.
+     *
+     * @param valor Maior número até o qual todas as escritas já estão confirmadas
+     * @param descartadasAte Maior sequência entre as exclusões já removidas do registro
+     */
+    public record Posicao(long valor, long descartadasAte) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlteracoesRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Próximo número da sequência, para gravar nos álbuns da escrita em andamento.
+     *
+     * Um INSERT no registro de alterações: o número vem do AUTO_INCREMENT,
+     * que não fica travado até o commit, então escritas concorrentes não
+     * esperam umas pelas outras. Em troca, podem confirmar fora da ordem dos
+     * números (ver confirmadaAte()). Quem escreve pede o número, de preferência,
+     * só quando já sabe que vai gravar algo: um número de escrita desfeita
+     * (rollback) segura a posição da sincronização até ficar mais antigo que a
+     * duração máxima de escrita. A exceção é o PATCH, que grava o número no
+     * próprio UPDATE e só então sabe se o álbum existe.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long proxima() {
+        KeyHolder chave = new GeneratedKeyHolder();
+        Timestamp agora = Timestamp.from(Instant.now());
+        jdbcTemplate.update(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_REGISTRAR, Statement.RETURN_GENERATED_KEYS);
+            ps.setTimestamp(1, agora);
+            return ps;
+        }, chave);
+        return chave.getKey().longValue();
+    }
+
+    /**
+     * Posição atual da sequência ((0, 0) se ainda não houve nenhuma escrita).
+     *
+     * @param corte Agora menos a duração máxima de uma escrita
+     */
+    public Posicao posicao(Instant corte) {
+        List<Long> descartadas = jdbcTemplate.queryForList(SQL_DESCARTADAS_ATE, Long.class);
+        long descartadasAte = descartadas.isEmpty() ? 0 : descartadas.get(0);
+        return new Posicao(confirmadaAte(corte), descartadasAte);
+    }
+
+    /**
+     * Maior número N tal que todas as escritas até N já estão confirmadas
+     * (0 se ainda não houve nenhuma escrita): o fim da primeira faixa
+     * contínua de números visíveis.
+     *
+     * Um número que falta pode ser de uma escrita em andamento (ainda não
+     * confirmada) e segura a posição, a menos que algum número maior tenha
+     * sido registrado antes de "corte": nesse caso a escrita dele está
+     * aberta há mais que a duração máxima e é considerada desfeita.
+     *
+     * Só as escritas registradas depois de "corte" são lidas (índice de
+     * registrada_em), além de uma consulta pela chave primária.
+     *
+     * @param corte Agora menos a duração máxima de uma escrita
+     */
+    public long confirmadaAte(Instant corte) {
+        List<Long> recentes = jdbcTemplate.queryForList(SQL_RECENTES, Long.class, Timestamp.from(corte));
+        if (recentes.isEmpty()) {
+            // Nenhuma escrita recente: as que faltam já passaram da duração máxima
+            Long ultima = jdbcTemplate.queryForObject(SQL_ULTIMA, Long.class);
+            return ultima == null ? 0 : ultima;
+        }
+
+        // O número anterior ao primeiro recente foi registrado antes do corte: tudo até ele vale
+        Long anterior = jdbcTemplate.queryForObject(SQL_ANTERIOR, Long.class, recentes.get(0));
+        long valor = anterior == null ? 0 : anterior;
+        for (long sequencia : recentes) {
+            if (sequencia != valor + 1) {
+                // Buraco recente: escrita ainda em andamento (ou desfeita há pouco)
+                break;
+            }
+            valor = sequencia;
+        }
+        return valor;
+    }
+
+    /**
+     * Instante em que o número foi registrado (null se não existe no registro).
+     */
+    public Instant registradaEm(long sequencia) {
+        List<Timestamp> registros = jdbcTemplate.queryForList(SQL_REGISTRADA_EM, Timestamp.class, sequencia);
+        return registros.isEmpty() ? null : registros.get(0).toInstant();
+    }
+
+    /**
+     * Registra a exclusão dos álbuns com o número da escrita que os excluiu.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusoes(List<Long> ids, long sequencia) {
+        Timestamp agora = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(SQL_INSERIR_EXCLUSAO, ids, ids.size(), (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setLong(2, sequencia);
+            ps.setTimestamp(3, agora);
+        });
+    }
+
+    /**
+     * IDs dos álbuns excluídos com sequência em (desde, ate].
+     */
+    public List<Long> exclusoesEntre(long desde, long ate) {
+        return jdbcTemplate.queryForList(SQL_EXCLUSOES_ENTRE, Long.class, desde, ate);
+    }
+
+    /**
+     * Remove do registro as exclusões anteriores a antesDe, guardando antes
+     * em descartadasAte a maior sequência removida: tokens até ela deixam de
+     * ter as exclusões completas e passam a receber o catálogo inteiro.
+     *
+     * Também remove as linhas do registro de alterações anteriores a antesDe,
+     * menos a última delas: é ela que posicao() encontra antes das escritas
+     * recentes, e guarda onde a numeração parou.
+     *
+     * @return Quantidade de exclusões removidas
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int descartarExclusoes(Instant antesDe) {
+        Timestamp limite = Timestamp.from(antesDe);
+        jdbcTemplate.update(SQL_MARCAR_DESCARTADAS, limite);
+        Long ultimaAntiga = jdbcTemplate.queryForObject(SQL_ULTIMA_ANTES, Long.class, limite);
+        if (ultimaAntiga != null) {
+            jdbcTemplate.update(SQL_DESCARTAR_REGISTROS, ultimaAntiga);
+        }
+        return jdbcTemplate.update(SQL_DESCARTAR, limite);
+    }
+}
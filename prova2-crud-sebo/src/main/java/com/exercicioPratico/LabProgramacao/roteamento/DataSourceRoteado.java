@@ -0,0 +1,165 @@
+package com.exercicioPratico.LabProgramacao.roteamento;
+
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que separa leituras e escritas entre o primário e as réplicas.
+ *
+ * Uma conexão vai para uma réplica quando:
+ * - está dentro de uma transação somente leitura (@Transactional(readOnly = true),
+ *   ex: listar(), buscarPorBanda(), buscarPorId()), e
+ * - nenhuma escrita foi confirmada nos últimos janelaAposEscrita, e
+ * - a thread não pediu o primário (LeituraNoPrimario).
+ * Todo o resto (escritas, transações de escrita que também leem, e acesso
+ * sem transação) usa o primário.
+ *
+ * Leitura das próprias escritas: a replicação é assíncrona, então logo depois
+ * de um commit a réplica ainda não tem a alteração. Durante a janela após
+ * cada escrita as leituras continuam no primário; assim o cache de respostas,
+ * recarregado logo após a invalidação, nunca guarda dados antigos da réplica.
+ * A janela deve ser maior que o atraso normal de replicação. Em um catálogo
+ * com muito mais leituras que escritas, as réplicas atendem quase todas as leituras.
+ *
+ * Escolha da réplica: rodízio (round-robin). Uma réplica que falha ao entregar
+ * uma conexão fica de quarentena e é pulada; passada a quarentena volta a ser
+ * tentada. Sem réplica disponível, a leitura vai para o primário.
+ *
+ * A decisão é tomada quando a conexão é realmente obtida. Por isso este
+ * DataSource é usado atrás de um LazyConnectionDataSourceProxy: o proxy só pede
+ * a conexão no primeiro comando SQL, quando a transação (e o readOnly) já começou.
+ */
+public class DataSourceRoteado extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceRoteado.class);
+
+    /**
+     * Réplica com o instante (System.nanoTime) até o qual fica de quarentena.
+     */
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter conexoes;
+        private volatile long quarentenaAteNanos;
+        private volatile boolean emQuarentena;
+
+        private Replica(HikariDataSource dataSource, Counter conexoes) {
+            this.dataSource = dataSource;
+            this.conexoes = conexoes;
+        }
+    }
+
+    private final HikariDataSource primario;
+    private final List<Replica> replicas;
+    private final long janelaAposEscritaNanos;
+    private final long quarentenaNanos;
+    private final Counter conexoesPrimario;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    // Instante (System.nanoTime) da última escrita confirmada
+    private volatile long ultimaEscritaNanos;
+    private volatile boolean houveEscrita;
+
+    public DataSourceRoteado(HikariDataSource primario, List<HikariDataSource> replicas, Duration janelaAposEscrita,
+                             Duration quarentena, MeterRegistry registry) {
+        this.primario = primario;
+        this.replicas = replicas.stream()
+            .map(replica -> new Replica(replica, contador(registry, replica.getPoolName())))
+            .toList();
+        this.janelaAposEscritaNanos = janelaAposEscrita.toNanos();
+        this.quarentenaNanos = quarentena.toNanos();
+        this.conexoesPrimario = contador(registry, "primario");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (deveLerDaReplica()) {
+            Connection conexao = conexaoDeReplica();
+            if (conexao != null) {
+                return conexao;
+            }
+        }
+        conexoesPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        conexoesPrimario.increment();
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * Marca o instante da escrita. Roda antes dos demais listeners (índice,
+     * cache, versão): quando o cache é invalidado, a recarga já vai para o primário.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlbuns(AlbunsAlteradosEvent evento) {
+        ultimaEscritaNanos = System.nanoTime();
+        houveEscrita = true;
+    }
+
+    private boolean deveLerDaReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || LeituraNoPrimario.ativa()) {
+            return false;
+        }
+        return !houveEscrita || System.nanoTime() - ultimaEscritaNanos > janelaAposEscritaNanos;
+    }
+
+    /**
+     * Próxima réplica disponível no rodízio, ou null se todas falharem ou estiverem de quarentena.
+     */
+    private Connection conexaoDeReplica() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.emQuarentena && System.nanoTime() - replica.quarentenaAteNanos < 0) {
+                continue;
+            }
+            try {
+                Connection conexao = replica.dataSource.getConnection();
+                if (replica.emQuarentena) {
+                    replica.emQuarentena = false;
+                    log.info("Réplica {} voltou a responder", replica.dataSource.getPoolName());
+                }
+                replica.conexoes.increment();
+                return conexao;
+            } catch (SQLException e) {
+                replica.quarentenaAteNanos = System.nanoTime() + quarentenaNanos;
+                replica.emQuarentena = true;
+                log.warn("Réplica {} indisponível, fora do rodízio por {} ms: {}",
+                    replica.dataSource.getPoolName(), quarentenaNanos / 1_000_000, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fecha os pools das réplicas (o do primário é um bean e o Spring fecha).
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static Counter contador(MeterRegistry registry, String destino) {
+        return Counter.builder("albuns.datasource.conexoes")
+            .description("Conexões entregues pelo roteamento de leitura/escrita, por destino")
+            .tag("destino", destino)
+            .register(registry);
+    }
+}
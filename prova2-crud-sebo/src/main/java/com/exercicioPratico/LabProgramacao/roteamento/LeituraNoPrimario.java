@@ -0,0 +1,50 @@
+package com.exercicioPratico.LabProgramacao.roteamento;
+
+import java.util.function.Supplier;
+
+/**
+ * Força as leituras da thread atual a usarem o banco primário, mesmo em
+ * transações somente leitura.
+ *
+ * Usado por quem monta estruturas em memória a partir do banco inteiro
+ * (índice de busca, estatísticas do catálogo): uma réplica atrasada faria a
+ * estrutura perder escritas já confirmadas, e o erro só seria corrigido na
+ * próxima reconstrução.
+ *
+ * Sem réplicas configuradas (albuns.replicas.urls) não tem efeito: todas as
+ * leituras já vão para o primário.
+ */
+public final class LeituraNoPrimario {
+
+    private static final ThreadLocal<Boolean> ATIVA = ThreadLocal.withInitial(() -> false);
+
+    private LeituraNoPrimario() {
+    }
+
+    /**
+     * Executa a ação com as leituras direcionadas ao primário.
+     */
+    public static <T> T executar(Supplier<T> acao) {
+        boolean anterior = ATIVA.get();
+        ATIVA.set(true);
+        try {
+            return acao.get();
+        } finally {
+            ATIVA.set(anterior);
+        }
+    }
+
+    /**
+     * Executa a ação com as leituras direcionadas ao primário.
+     */
+    public static void executar(Runnable acao) {
+        executar(() -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    static boolean ativa() {
+        return ATIVA.get();
+    }
+}
@@ -0,0 +1,82 @@
+package com.exercicioPratico.LabProgramacao.roteamento;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura em réplicas: só é ativada quando albuns.replicas.urls é informado.
+ *
+ * Sem a propriedade, o Spring Boot cria o DataSource de spring.datasource.*
+ * normalmente e todo o tráfego vai para ele. Com a propriedade:
+ * - dataSourcePrimario: o mesmo pool HikariCP de spring.datasource.* e
+ *   spring.datasource.hikari.* (recebe todas as escritas)
+ * - um pool por réplica, com as mesmas configurações do primário
+ *   (usuário, senha, tamanho do pool), trocando apenas a URL
+ * - dataSource (@Primary): o DataSourceRoteado atrás de um
+ *   LazyConnectionDataSourceProxy, usado pelo JPA e pelo JdbcTemplate
+ *
+ * Exemplo (duas réplicas do MySQL):
+ * albuns.replicas.urls=jdbc:mysql://replica1:3306/albuns,jdbc:mysql://replica2:3306/albuns
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "albuns.replicas", name = "urls")
+public class ReplicasLeituraConfig {
+
+    /**
+     * Pool do primário, configurado como o Spring Boot faria sem réplicas.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DataSourceRoteado dataSourceRoteado(
+            HikariDataSource dataSourcePrimario,
+            MeterRegistry registry,
+            @Value("${albuns.replicas.urls}") List<String> urls,
+            @Value("${albuns.replicas.janela-apos-escrita:2s}") Duration janelaAposEscrita,
+            @Value("${albuns.replicas.quarentena:10s}") Duration quarentena,
+            @Value("${albuns.replicas.tempo-maximo-conexao:1s}") Duration tempoMaximoConexao) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig configuracao = new HikariConfig();
+            dataSourcePrimario.copyStateTo(configuracao);
+            configuracao.setJdbcUrl(urls.get(i).trim());
+            configuracao.setPoolName("replica-" + (i + 1));
+            // Réplica fora do ar: falha rápido e a leitura segue para outra réplica ou para o primário
+            configuracao.setConnectionTimeout(tempoMaximoConexao.toMillis());
+            // Não impede a inicialização da aplicação se a réplica estiver fora do ar
+            configuracao.setInitializationFailTimeout(-1);
+            configuracao.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new HikariDataSource(configuracao));
+        }
+        return new DataSourceRoteado(dataSourcePrimario, replicas, janelaAposEscrita, quarentena, registry);
+    }
+
+    /**
+     * DataSource usado pela aplicação. O proxy adia a escolha do destino até
+     * o primeiro comando SQL, quando já se sabe se a transação é somente leitura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceRoteado dataSourceRoteado) {
+        return new LazyConnectionDataSourceProxy(dataSourceRoteado);
+    }
+}
@@ -0,0 +1,86 @@
+package com.exercicioPratico.LabProgramacao.serializacao;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formatos em que a API de álbuns pode responder, escolhidos pelo cabeçalho Accept.
+ *
+ * - JSON: padrão, usado quando o cliente não pede outro formato
+ * - CBOR (RFC 8949): JSON binário; números e tamanhos viram bytes, sem aspas nem vírgulas
+ * - SMILE: JSON binário do Jackson; além disso, nomes de campo repetidos
+ *   ("titulo", "banda", ...) são escritos uma vez e depois referenciados
+ *
+ * Os três representam os mesmos dados: o cliente escolhe só a codificação.
+ */
+public enum FormatoResposta {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(new MediaType("application", "cbor"), "cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile");
+
+    private final MediaType tipo;
+    private final String sufixoEtag;
+
+    FormatoResposta(MediaType tipo, String sufixoEtag) {
+        this.tipo = tipo;
+        this.sufixoEtag = sufixoEtag;
+    }
+
+    /**
+     * Content-Type das respostas neste formato.
+     */
+    public MediaType tipo() {
+        return tipo;
+    }
+
+    /**
+     * Escolhe o formato a partir dos tipos aceitos pelo cliente (cabeçalho Accept).
+     *
+     * Os tipos são avaliados do preferido para o menos preferido (fator q e
+     * especificidade). Qualquer tipo, "application/*" ou nenhum Accept → JSON.
+     * Se nenhum tipo aceito for suportado, também responde JSON, como a API
+     * sempre fez (o Accept era ignorado).
+     *
+     * @param aceitos Tipos do cabeçalho Accept
+     * @return Formato da resposta
+     */
+    public static FormatoResposta negociar(List<MediaType> aceitos) {
+        if (aceitos.isEmpty()) {
+            return JSON;
+        }
+        List<MediaType> ordenados = new ArrayList<>(aceitos);
+        MimeTypeUtils.sortBySpecificity(ordenados);
+        for (MediaType aceito : ordenados) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            for (FormatoResposta formato : values()) {
+                if (aceito.includes(formato.tipo)) {
+                    return formato;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * ETag da representação neste formato.
+     *
+     * O ETag identifica a representação, não só a versão dos dados, então
+     * cada formato precisa do seu: "12-3" em JSON vira "12-3-cbor" em CBOR. O JSON mantém o
+     * ETag sem sufixo, e os clientes que já guardaram ETags continuam validando.
+     *
+     * @param etag ETag da versão dos dados (entre aspas)
+     * @return ETag da representação
+     */
+    public String etag(String etag) {
+        if (sufixoEtag == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + sufixoEtag + "\"";
+    }
+}
@@ -0,0 +1,31 @@
+package com.exercicioPratico.LabProgramacao.serializacao;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Conversores HTTP de CBOR e Smile com os mappers do SerializadorRespostas.
+ *
+ * O Spring MVC já registra esses conversores quando as bibliotecas estão no
+ * classpath, mas com mappers próprios, sem a configuração do Spring Boot.
+ * Declarados como beans, eles substituem os padrão na mesma posição: o JSON
+ * continua antes, e é o escolhido quando o cliente aceita qualquer formato.
+ *
+ * Com eles, as respostas montadas pelo Spring (listagem paginada, POST, PUT,
+ * erros do ApiExceptionHandler) também respondem no formato do Accept.
+ */
+@Configuration
+public class FormatosRespostaConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(SerializadorRespostas serializador) {
+        return new MappingJackson2CborHttpMessageConverter(serializador.mapper(FormatoResposta.CBOR));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(SerializadorRespostas serializador) {
+        return new MappingJackson2SmileHttpMessageConverter(serializador.mapper(FormatoResposta.SMILE));
+    }
+}
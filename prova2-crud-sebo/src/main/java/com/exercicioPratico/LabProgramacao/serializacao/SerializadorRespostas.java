@@ -0,0 +1,51 @@
+package com.exercicioPratico.LabProgramacao.serializacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Um ObjectMapper por FormatoResposta, todos com a configuração do Spring Boot.
+ *
+ * Os mappers de CBOR e Smile são cópias do ObjectMapper JSON da aplicação
+ * (copyWith troca apenas o formato de saída), então módulos, @JsonInclude,
+ * @JsonIgnore e as propriedades spring.jackson.* valem igualmente nos três.
+ *
+ * Não são registrados como beans ObjectMapper de propósito: um bean desse tipo
+ * desligaria o ObjectMapper JSON criado automaticamente pelo Spring Boot.
+ */
+@Component
+public class SerializadorRespostas {
+
+    private final Map<FormatoResposta, ObjectMapper> mappers = new EnumMap<>(FormatoResposta.class);
+
+    public SerializadorRespostas(ObjectMapper objectMapper) {
+        mappers.put(FormatoResposta.JSON, objectMapper);
+        mappers.put(FormatoResposta.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(FormatoResposta.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * ObjectMapper do formato (usado também pelos HttpMessageConverters).
+     */
+    public ObjectMapper mapper(FormatoResposta formato) {
+        return mappers.get(formato);
+    }
+
+    /**
+     * Serializa o objeto no formato pedido, como o Spring faria ao escrever a resposta.
+     */
+    public byte[] serializar(Object valor, FormatoResposta formato) {
+        try {
+            return mappers.get(formato).writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,11 +1,36 @@
 package com.exercicioPratico.LabProgramacao.service;
+import com.exercicioPratico.LabProgramacao.colunar.CatalogoColunar;
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AlteracoesDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.exceptions.LoteInvalidoException;
 import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumAfetado;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumLoteRepository;
 import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
-import org.springframework.data.domain.Sort;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumSpecifications;
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.jpa.domain.Specification;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.Year; //para captarmos ano atual
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 
 /**
@@ -19,9 +44,30 @@ import java.util.Optional;
  * 
  * O Spring Boot gerencia automaticamente o ciclo de vida desta classe
  * através da anotação @Service (Injeção de Dependência).
+ * 
+ * @Timed mede o tempo de cada método público (métrica "albuns.servico",
+ * com o nome do método na tag "method"), incluindo os que terminam em exceção.
+ *
+ * As leituras de listagem, busca, filtros, facetas e exportação são
+ * respondidas pelo motor configurado em albuns.catalogo.motor (ConsultaAlbuns):
+ * consultas JPA (padrão) ou o catálogo colunar em memória. As escritas vão
+ * sempre para o banco.
  */
 @Service
+@Timed(value = "albuns.servico", description = "Tempo dos métodos do AlbumService",
+    percentiles = {0.5, 0.95, 0.99})
 public class AlbumService {
+
+    /**
+     * Tamanho máximo de página aceito na listagem paginada.
+     * Evita que um cliente peça uma "página" com o catálogo inteiro.
+     */
+    public static final int LIMITE_MAXIMO_PAGINA = 500;
+
+    // Faixa de preço permitida (a mesma regra de validar())
+    private static final BigDecimal PRECO_MINIMO = BigDecimal.ZERO;
+    private static final BigDecimal PRECO_MAXIMO = new BigDecimal("1000");
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
     
     /**
      * Repositório JPA que abstrai o acesso ao banco de dados.
@@ -31,23 +77,97 @@ public class AlbumService {
      */
     private final AlbumRepository albumRepository;
 
+    /**
+     * Repositório JDBC usado na criação em lote (inserções com batch real).
+     */
+    private final AlbumLoteRepository albumLoteRepository;
+
+    /**
+     * Sequência de alterações e registro de exclusões (sincronização incremental).
+     * Toda escrita que altera algo pede um número à sequência e o grava nos álbuns alterados.
+     */
+    private final AlteracoesRepository alteracoes;
+
+    /**
+     * Validador do Bean Validation, usado para validar cada item do lote
+     * com as mesmas anotações que o @Valid aplica no Controller.
+     */
+    private final Validator validator;
+
+    /**
+     * Leituras pelo banco (motor padrão, e enquanto o catálogo colunar não está pronto).
+     */
+    private final ConsultaAlbuns consultaJpa;
+
+    /**
+     * Leituras em memória (albuns.catalogo.motor=colunar).
+     */
+    private final CatalogoColunar catalogoColunar;
+
+    /**
+     * Publica um AlbunsAlteradosEvent a cada escrita. Índice de busca, catálogo
+     * colunar, cache de respostas e estatísticas se atualizam a partir dele.
+     */
+    private final ApplicationEventPublisher eventos;
+
+    // Quantidade de INSERTs enviados ao banco em cada batch JDBC
+    private final int tamanhoLoteJdbc;
+
+    // Quantidade máxima de álbuns aceitos em uma única requisição de lote
+    private final int maximoItensLote;
+
+    // Quantidade de álbuns alterados por transação nas operações em massa
+    private final int tamanhoBlocoMassa;
+
+    // Tempo máximo de uma escrita: números da sequência ausentes há mais que isso são de escritas desfeitas
+    private final Duration duracaoMaximaEscrita;
+
     /**
      * Construtor com injeção de dependência.
      * O Spring Boot automaticamente fornece uma instância de AlbumRepository
      * quando esta classe é criada (padrão IoC - Inversion of Control).
      */
-    public AlbumService(AlbumRepository albumRepository) {
+    public AlbumService(AlbumRepository albumRepository,
+                        AlbumLoteRepository albumLoteRepository,
+                        AlteracoesRepository alteracoes,
+                        Validator validator,
+                        ConsultaAlbunsJpa consultaJpa,
+                        CatalogoColunar catalogoColunar,
+                        ApplicationEventPublisher eventos,
+                        @Value("${albuns.lote.tamanho-jdbc:500}") int tamanhoLoteJdbc,
+                        @Value("${albuns.lote.maximo-itens:10000}") int maximoItensLote,
+                        @Value("${albuns.massa.tamanho-bloco:1000}") int tamanhoBlocoMassa,
+                        @Value("${albuns.alteracoes.duracao-maxima-escrita:1m}") Duration duracaoMaximaEscrita) {
         this.albumRepository = albumRepository;
+        this.albumLoteRepository = albumLoteRepository;
+        this.alteracoes = alteracoes;
+        this.validator = validator;
+        this.consultaJpa = consultaJpa;
+        this.catalogoColunar = catalogoColunar;
+        this.eventos = eventos;
+        this.tamanhoLoteJdbc = tamanhoLoteJdbc;
+        this.maximoItensLote = maximoItensLote;
+        this.tamanhoBlocoMassa = tamanhoBlocoMassa;
+        this.duracaoMaximaEscrita = duracaoMaximaEscrita;
+    }
+
+    /**
+     * Motor que responde as leituras: o catálogo colunar, se estiver
+     * configurado e carregado; senão as consultas JPA.
+     */
+    private ConsultaAlbuns consulta() {
+        return catalogoColunar.pronto() ? catalogoColunar : consultaJpa;
     }
 
     /**
      * Lista todos os álbuns cadastrados, ordenados alfabeticamente por banda.
      * 
+     * Leituras devolvem AlbumDTO (projeção), sem criar entidades gerenciadas.
+     * 
      * @return Lista de álbuns ordenada por nome da banda (A-Z)
      */
-    public List<AlbumModel> listar() {
-        // Sort.by("banda").ascending() ordena os resultados por nome da banda em ordem crescente
-        return albumRepository.findAll(Sort.by("banda").ascending());
+    public List<AlbumDTO> listar() {
+        return consulta().listar();
     }
 
     /**
@@ -56,20 +176,105 @@ public class AlbumService {
      * 
      * Exemplo: buscarPorBanda("metal") retorna álbuns de "Metallica", "Iron Maiden", etc.
      * 
+     * No motor JPA a busca é respondida pelo índice de trigramas em memória
+     * (IndiceBuscaAlbum), que encontra os IDs sem varrer a tabela.
+     * 
+     * Espaços nas pontas e repetidos não contam ("  iron   maiden" = "iron maiden"),
+     * como na chave do cache de respostas (FiltroAlbuns.normalizarTermo).
+     * 
      * @param banda Texto a ser buscado no nome da banda
-     * @return Lista de álbuns que correspondem à busca
+     * @return Lista de álbuns que correspondem à busca, em ordem de ID
+     */
+    public List<AlbumDTO> buscarPorBanda(String banda) {
+        return consulta().buscarPorBanda(FiltroAlbuns.normalizarTermo(banda));
+    }
+
+    /**
+     * Busca álbuns cujo nome da banda contenha, comece com ou seja igual ao
+     * texto, sem diferenciar maiúsculas e acentos.
+     * 
+     * Exemplo: buscarPorBanda("iron", PREFIXO) retorna "Iron Maiden" e "Iron Butterfly".
+     * 
+     * No motor JPA, PREFIXO e EXATA são consultas pelo índice da banda
+     * normalizada (ver CorrespondenciaBanda).
+     * 
+     * @param banda Texto a ser comparado com o nome da banda
+     * @param correspondencia Como o texto é comparado
+     * @return Lista de álbuns que correspondem à busca, em ordem de ID
+     */
+    public List<AlbumDTO> buscarPorBanda(String banda, CorrespondenciaBanda correspondencia) {
+        return consulta().buscarPorBanda(FiltroAlbuns.normalizarTermo(banda), correspondencia);
+    }
+
+    /**
+     * Lista os álbuns que atendem aos filtros, ordenados por banda.
+     *
+     * @param filtro Filtros de banda, gênero, ano e preço (todos opcionais)
+     * @return Lista de álbuns filtrada e ordenada por banda (A-Z)
+     * @throws IllegalArgumentException se algum intervalo for inválido
      */
-    public List<AlbumModel> buscarPorBanda(String banda) {
-        // findByBandaContainingIgnoreCase é um método customizado do Repository
-        // O Spring Data JPA gera automaticamente a query SQL baseada no nome do método
-        return albumRepository.findByBandaContainingIgnoreCase(banda);
+    public List<AlbumDTO> filtrar(FiltroAlbuns filtro) {
+        filtro.validar();
+        return consulta().filtrar(filtro);
+    }
+
+    /**
+     * Conta os álbuns que atendem aos filtros por gênero e por década.
+     *
+     * @param filtro Filtros de banda, gênero, ano e preço (todos opcionais)
+     * @return Facetas com as contagens por gênero e por década
+     * @throws IllegalArgumentException se algum intervalo for inválido
+     */
+    public FacetasDTO contarFacetas(FiltroAlbuns filtro) {
+        filtro.validar();
+        return consulta().contarFacetas(filtro);
+    }
+
+    /**
+     * Lista uma página de álbuns usando paginação por cursor (keyset).
+     *
+     * Os álbuns são ordenados por (banda, id). O id entra na ordenação para
+     * desempatar álbuns da mesma banda, garantindo que nenhum registro seja
+     * repetido ou pulado entre páginas.
+     *
+     * Cada página começa logo depois do álbum indicado pelo cursor, sem
+     * percorrer as páginas anteriores (ver CursorAlbum). O próximo cursor só
+     * vem preenchido se houver mais álbuns depois da página.
+     *
+     * @param filtro Filtros de banda, gênero, ano e preço (todos opcionais)
+     * @param limite Quantidade de álbuns por página (1 a LIMITE_MAXIMO_PAGINA)
+     * @param after Cursor recebido na página anterior (null para a primeira página)
+     * @param incluirTotal Se true, também conta o total de álbuns do filtro
+     * @return PaginaAlbuns com os álbuns, o próximo cursor e o total (opcional)
+     * @throws IllegalArgumentException se o limite, o cursor ou os filtros forem inválidos
+     */
+    public PaginaAlbuns listarPagina(FiltroAlbuns filtro, int limite, String after, boolean incluirTotal) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+        filtro.validar();
+        CursorAlbum cursor = after != null && !after.isEmpty() ? CursorAlbum.decodificar(after) : null;
+        return consulta().listarPagina(filtro, limite, cursor, incluirTotal);
+    }
+
+    /**
+     * Percorre todos os álbuns, um a um, entregando cada registro ao consumidor.
+     *
+     * Diferente de listar(), nenhuma lista é montada: no motor JPA o Stream
+     * lê o banco em lotes pelo cursor, então o uso de memória fica constante
+     * independente do tamanho da tabela.
+     *
+     * @param consumidor Função chamada para cada álbum (ex: escrever no corpo da resposta)
+     */
+    public void exportar(Consumer<AlbumDTO> consumidor) {
+        consulta().exportar(consumidor);
     }
 
     /**
      * Busca um álbum específico pelo seu ID.
      * 
      * @param id ID do álbum a ser buscado
-     * @return AlbumModel encontrado
+     * @return AlbumDTO encontrado
      * @throws RuntimeException se o álbum não for encontrado
      * 
      * Nota: Esta exceção pode ocorrer se:
@@ -77,13 +282,68 @@ public class AlbumService {
      * - O registro foi deletado por outro processo
      * - O banco de dados foi corrompido externamente
      */
-    public AlbumModel buscarPorId(Long id) {
-        // findById retorna um Optional<AlbumModel>
+    @Transactional(readOnly = true)
+    public AlbumDTO buscarPorId(Long id) {
+        // buscarDTOPorId retorna um Optional<AlbumDTO>
         // Optional evita NullPointerException e permite tratamento elegante de valores ausentes
-        return albumRepository.findById(id)
+        return albumRepository.buscarDTOPorId(id)
             .orElseThrow(() -> new RuntimeException("album não encontrado com id: " + id));
     }
 
+    /**
+     * Caminho da capa de um álbum, relativo ao diretório de capas.
+     *
+     * @param id ID do álbum
+     * @return Caminho gravado em AlbumModel.capa
+     * @throws RuntimeException se o álbum não existir ou não tiver capa
+     */
+    @Transactional(readOnly = true)
+    public String buscarCapa(Long id) {
+        return albumRepository.buscarCapa(id)
+            .orElseThrow(() -> new RuntimeException("album sem capa ou não encontrado com id: " + id));
+    }
+
+    /**
+     * Sincronização incremental: o que mudou no catálogo depois do token.
+     *
+     * Toda escrita grava nos álbuns alterados (ou no registro de exclusões)
+     * um número da sequência de alterações; o token guarda o último
+     * número que o cliente já recebeu. A resposta traz só os álbuns e as
+     * exclusões com número maior, lidos pelo índice da sequência: o custo
+     * acompanha a quantidade de alterações, não o tamanho do catálogo.
+     *
+     * A posição segura da sequência é lida primeiro e limita as leituras
+     * seguintes: as escritas não se esperam e podem confirmar fora da ordem
+     * dos números, então a posição para antes do menor número ainda em
+     * andamento (ver AlteracoesRepository.posicao). Todas até ela já estão
+     * visíveis; as demais ficam para a próxima sincronização.
+     *
+     * Sem token, ou com um token mais antigo que as exclusões já descartadas
+     * do registro (albuns.alteracoes.retencao-exclusoes), a resposta traz o
+     * catálogo completo e "completo" = true.
+     *
+     * @param since Token recebido na sincronização anterior (null na primeira)
+     * @return AlteracoesDTO com os álbuns alterados, os IDs excluídos e o próximo token
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesDTO listarAlteracoes(String since) {
+        TokenAlteracoes token = since != null && !since.isEmpty() ? TokenAlteracoes.decodificar(since) : null;
+        AlteracoesRepository.Posicao posicao = alteracoes.posicao(Instant.now().minus(duracaoMaximaEscrita));
+
+        if (token == null || token.sequencia() < posicao.descartadasAte()) {
+            return new AlteracoesDTO(albumRepository.listarDTOs(), List.of(),
+                new TokenAlteracoes(posicao.valor()).codificar(), true);
+        }
+
+        // Token à frente da posição lida (ex: réplica atrasada): nada novo, e o token não volta
+        long ate = Math.max(token.sequencia(), posicao.valor());
+        return new AlteracoesDTO(
+            albumRepository.buscarDTOsAlteradosEntre(token.sequencia(), ate),
+            alteracoes.exclusoesEntre(token.sequencia(), ate),
+            new TokenAlteracoes(ate).codificar(), false);
+    }
+
     /**
      * Salva um álbum no banco de dados (cria novo ou atualiza existente).
      * 
@@ -100,33 +360,11 @@ public class AlbumService {
      * @return AlbumModel salvo (com ID preenchido se for novo registro)
      * @throws IllegalArgumentException se alguma validação falhar
      */
+    // @Transactional: o número da sequência de alterações é confirmado junto com o álbum
+    @Transactional
     public AlbumModel salvar(AlbumModel album) {
-        // Obtém o ano atual para validação
-        int anoAtual = Year.now().getValue();
-
-        // ========== VALIDAÇÕES DE REGRA DE NEGÓCIO ==========
-        
-        // Validação: Título não pode ser nulo ou vazio
-        if (album.getTitulo() == null || album.getTitulo().isBlank()) {
-            throw new IllegalArgumentException("O título do álbum não pode ser vazio.");
-        }
-        
-        // Validação: Banda não pode ser nula ou vazia
-        if (album.getBanda() == null || album.getBanda().isBlank()) {
-            throw new IllegalArgumentException("O nome da banda não pode ser vazio.");
-        }
-
-        // Validação: Ano deve estar entre 1900 e o ano atual
-        // Evita anos inválidos como 0, negativos ou futuros
-        if (album.getAno() == null || album.getAno() < 1900 || album.getAno() > anoAtual) {
-            throw new IllegalArgumentException("Ano de lançamento inválido.");
-        }
-        
-        // Validação: Preço deve estar entre 0 e 1000
-        // doubleValue() converte BigDecimal para double para comparação
-        if (album.getPreco() == null || album.getPreco().doubleValue() < 0 || album.getPreco().doubleValue() > 1000) {
-            throw new IllegalArgumentException("Preço invalido, verifique o valor.");
-        }
+        // Aplica as regras de negócio antes de qualquer acesso ao banco
+        validar(album);
 
         // ========== LÓGICA DE CRIAÇÃO/ATUALIZAÇÃO ==========
         
@@ -141,36 +379,357 @@ public class AlbumService {
                 // Atualiza os campos do registro existente
                 // Mantém a referência do objeto gerenciado pelo JPA (melhor performance)
                 AlbumModel atualizado = existente.get();
+                String bandaAntiga = atualizado.getBanda();
                 atualizado.setTitulo(album.getTitulo());
                 atualizado.setBanda(album.getBanda());
                 atualizado.setAno(album.getAno());
                 atualizado.setPreco(album.getPreco());
                 atualizado.setGenero(album.getGenero());
+                atualizado.setCapa(album.getCapa());
+                atualizado.setSequenciaAlteracao(alteracoes.proxima());
                 
                 // Salva e retorna o registro atualizado
-                return albumRepository.save(atualizado);
+                // O @PreUpdate do AlbumModel incrementa a versão e a data de modificação
+                AlbumModel salvo = albumRepository.save(atualizado);
+                eventos.publishEvent(AlbunsAlteradosEvent.de(
+                    AlbunsAlteradosEvent.Alteracao.gravado(salvo, bandaAntiga)));
+                return salvo;
             }
         }
         
         // Se chegou aqui, é um novo registro (ID null ou não encontrado)
         // O JPA automaticamente gera um novo ID ao salvar
-        return albumRepository.save(album);
+        album.setSequenciaAlteracao(alteracoes.proxima());
+        AlbumModel salvo = albumRepository.save(album);
+        eventos.publishEvent(AlbunsAlteradosEvent.de(AlbunsAlteradosEvent.Alteracao.gravado(salvo, null)));
+        return salvo;
+    }
+
+    /**
+     * Cria vários álbuns de uma só vez (ex: chegada de uma nova consignação).
+     *
+     * Todos os itens são validados ANTES de qualquer escrita, com as mesmas
+     * regras de salvar() e também com as anotações do Bean Validation da entidade.
+     * Se algum item for inválido, nada é gravado e os erros são devolvidos
+     * indicando a posição (índice) de cada álbum no lote.
+     *
+     * A inserção é feita em lotes JDBC de tamanhoLoteJdbc registros, dentro de
+     * uma única transação: ou todos os álbuns são criados, ou nenhum.
+     *
+     * @param albuns Lista de álbuns novos (sem ID)
+     * @return A mesma lista, com os IDs gerados pelo banco preenchidos
+     * @throws IllegalArgumentException se o lote estiver vazio ou grande demais
+     * @throws LoteInvalidoException se algum item falhar na validação
+     */
+    @Transactional
+    public List<AlbumModel> salvarLote(List<AlbumModel> albuns) {
+        if (albuns == null || albuns.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter pelo menos um álbum.");
+        }
+        if (albuns.size() > maximoItensLote) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + maximoItensLote + " álbuns.");
+        }
+
+        // ========== VALIDAÇÃO DE TODOS OS ITENS ==========
+        // TreeMap mantém os erros ordenados pela posição no lote
+        Map<Integer, List<String>> erros = new TreeMap<>();
+        for (int i = 0; i < albuns.size(); i++) {
+            AlbumModel album = albuns.get(i);
+            if (album == null) {
+                erros.put(i, List.of("O álbum não pode ser nulo."));
+                continue;
+            }
+
+            List<String> mensagens = new ArrayList<>();
+
+            // Regras do Bean Validation (@NotBlank, @Size, etc.), as mesmas do @Valid
+            for (ConstraintViolation<AlbumModel> violacao : validator.validate(album)) {
+                mensagens.add(violacao.getPropertyPath() + ": " + violacao.getMessage());
+            }
+
+            if (album.getId() != null) {
+                mensagens.add("O lote aceita apenas álbuns novos (sem id).");
+            }
+
+            // Regras de negócio de salvar()
+            try {
+                validar(album);
+            } catch (IllegalArgumentException e) {
+                mensagens.add(e.getMessage());
+            }
+
+            if (!mensagens.isEmpty()) {
+                erros.put(i, mensagens);
+            }
+        }
+
+        if (!erros.isEmpty()) {
+            throw new LoteInvalidoException(erros);
+        }
+
+        // ========== INSERÇÃO EM LOTES JDBC ==========
+        // Um único número da sequência de alterações para o lote inteiro
+        albumLoteRepository.inserir(albuns, tamanhoLoteJdbc, alteracoes.proxima());
+
+        // Um único evento para o lote inteiro; como este método é @Transactional,
+        // os listeners só rodam depois do commit
+        eventos.publishEvent(new AlbunsAlteradosEvent(albuns.stream()
+            .map(album -> AlbunsAlteradosEvent.Alteracao.gravado(album, null))
+            .toList()));
+        return albuns;
+    }
+
+    /**
+     * Atualiza apenas os campos enviados de um álbum (PATCH).
+     *
+     * Diferente de salvar(), que lê o álbum (findById) e grava a entidade
+     * inteira, aqui o banco recebe um UPDATE ... WHERE id = ? com as colunas
+     * enviadas e o número da sequência de alterações, sem SELECT antes. A
+     * quantidade de linhas atualizadas diz se o álbum existe; num 404 o número
+     * é desfeito com a transação, como qualquer escrita desfeita (ver
+     * AlteracoesRepository.confirmadaAte).
+     *
+     * Os campos enviados passam pelas mesmas validações de salvar() e do @Valid:
+     * as anotações do Bean Validation da entidade e as regras de negócio.
+     *
+     * @param id ID do álbum a ser atualizado
+     * @param campos Campos a alterar (os null ficam como estão)
+     * @throws IllegalArgumentException se nenhum campo for enviado ou algum for inválido
+     * @throws RuntimeException se o álbum não for encontrado
+     */
+    @Transactional
+    public void atualizarParcial(Long id, AtualizacaoParcialDTO campos) {
+        if (campos == null || (campos.getTitulo() == null && campos.getBanda() == null && campos.getAno() == null
+                && campos.getGenero() == null && campos.getPreco() == null)) {
+            throw new IllegalArgumentException("Informe pelo menos um campo para atualizar.");
+        }
+
+        // Regras do Bean Validation (@NotBlank, @Size, etc.) só dos campos enviados
+        validarCampo("titulo", campos.getTitulo());
+        validarCampo("banda", campos.getBanda());
+        validarCampo("ano", campos.getAno());
+        validarCampo("genero", campos.getGenero());
+        validarCampo("preco", campos.getPreco());
+
+        // Regras de negócio de salvar(), também só dos campos enviados
+        if (campos.getTitulo() != null) {
+            validarTitulo(campos.getTitulo());
+        }
+        if (campos.getBanda() != null) {
+            validarBanda(campos.getBanda());
+        }
+        if (campos.getAno() != null) {
+            validarAno(campos.getAno());
+        }
+        if (campos.getPreco() != null) {
+            validarPreco(campos.getPreco());
+        }
+
+        long sequencia = alteracoes.proxima();
+        if (albumRepository.atualizarParcial(id, campos, sequencia) == 0) {
+            throw new RuntimeException("album não encontrado com id: " + id);
+        }
+
+        // A banda antiga não foi lida: o cache descarta todas as buscas por banda
+        eventos.publishEvent(AlbunsAlteradosEvent.de(new AlbunsAlteradosEvent.Alteracao(
+            id, AlbunsAlteradosEvent.Tipo.ATUALIZADO, null, campos.getBanda(),
+            new AlbunsAlteradosEvent.Valores(
+                campos.getTitulo(), campos.getGenero(), campos.getAno(), campos.getPreco()),
+            sequencia)));
     }
 
     /**
      * Exclui um álbum do banco de dados pelo seu ID.
      * 
+     * Um único DELETE ... WHERE id = ?: a quantidade de linhas excluídas diz se
+     * o álbum existia, sem um SELECT antes (como existsById/findById fariam).
+     * 
      * @param id ID do álbum a ser excluído
      * @throws RuntimeException se o álbum não for encontrado
      */
+    @Transactional
     public void excluir(Long id) {
-        // Verifica se o álbum existe antes de tentar excluir
-        // Isso evita erros silenciosos e fornece mensagem clara ao usuário
-        if (!albumRepository.existsById(id)) {
+        // 0 linhas excluídas: o álbum não existe (ou já foi excluído por outra requisição)
+        if (albumRepository.excluirPorId(id) == 0) {
             throw new RuntimeException("album não encontrado com id: " + id);
         }
-        
-        // Se chegou aqui, o álbum existe e pode ser excluído com segurança
-        albumRepository.deleteById(id);
+        // Registro da exclusão para a sincronização incremental, na mesma transação
+        long sequencia = alteracoes.proxima();
+        alteracoes.registrarExclusoes(List.of(id), sequencia);
+
+        // A banda não foi lida: o cache descarta todas as buscas por banda
+        eventos.publishEvent(AlbunsAlteradosEvent.de(new AlbunsAlteradosEvent.Alteracao(
+            id, AlbunsAlteradosEvent.Tipo.EXCLUIDO, null, null, null, sequencia)));
+    }
+
+    /**
+     * Exclui todos os álbuns que atendem ao filtro (ex: retirar o catálogo de uma banda).
+     *
+     * Em vez de um findById + DELETE por álbum, os álbuns são excluídos em blocos
+     * de tamanhoBlocoMassa, em ordem de ID: cada bloco é um único DELETE em uma
+     * transação curta, então nenhuma transação trava a tabela inteira.
+     * Cada bloco confirmado publica seu AlbunsAlteradosEvent; se a operação for
+     * interrompida no meio, os blocos já confirmados continuam excluídos.
+     *
+     * @param filtro Filtros de banda, gênero, ano e preço (pelo menos um é obrigatório)
+     * @return Quantidade de álbuns excluídos
+     * @throws IllegalArgumentException se nenhum filtro for informado ou algum intervalo for inválido
+     */
+    public long excluirPorFiltro(FiltroAlbuns filtro) {
+        if (!filtro.temAlgumFiltro()) {
+            throw new IllegalArgumentException("Informe pelo menos um filtro para a exclusão em massa.");
+        }
+        Specification<AlbumModel> criterios = filtro.paraSpecification();
+
+        long excluidos = 0;
+        long ultimoId = 0;
+        List<AlbumAfetado> bloco;
+        do {
+            bloco = albumRepository.excluirBloco(criterios, ultimoId, tamanhoBlocoMassa);
+            if (!bloco.isEmpty()) {
+                excluidos += bloco.size();
+                ultimoId = bloco.get(bloco.size() - 1).id();
+                eventos.publishEvent(new AlbunsAlteradosEvent(bloco.stream()
+                    .map(album -> new AlbunsAlteradosEvent.Alteracao(
+                        album.id(), album.banda(), null, album.sequenciaAlteracao()))
+                    .toList()));
+            }
+        } while (bloco.size() == tamanhoBlocoMassa);
+        return excluidos;
+    }
+
+    /**
+     * Reajusta o preço de todos os álbuns que atendem ao filtro (ex: 10% de desconto em Metal).
+     *
+     * Exatamente um dos tipos de reajuste deve ser informado:
+     * - percentual: -10 → 10% de desconto; 15 → 15% de aumento (até 2 casas decimais)
+     * - valor: -5.00 → R$ 5,00 a menos; 5.00 → R$ 5,00 a mais
+     * O novo preço é arredondado para 2 casas decimais.
+     *
+     * A regra de preço do AlbumModel (maior que 0 e menor que 1000) continua
+     * valendo: antes de alterar qualquer álbum, uma contagem verifica se algum
+     * sairia da faixa e,
+     * nesse caso, nada é alterado. O UPDATE de cada bloco também só atinge
+     * álbuns cujo novo preço fica na faixa (protege contra alterações concorrentes
+     * entre a contagem e o reajuste).
+     *
+     * Os blocos seguem a mesma estratégia de excluirPorFiltro().
+     *
+     * @param filtro Filtros de banda, gênero, ano e preço (pelo menos um é obrigatório, salvo com todos)
+     * @param percentual Reajuste percentual (null se o reajuste for por valor)
+     * @param valor Reajuste em valor absoluto (null se o reajuste for percentual)
+     * @param todos Confirma o reajuste do catálogo inteiro quando nenhum filtro é informado
+     * @return Quantidade de álbuns reajustados
+     * @throws IllegalArgumentException se faltar filtro, se o reajuste for inválido ou se deixaria
+     *         algum preço fora da faixa
+     */
+    public long reajustarPrecos(FiltroAlbuns filtro, BigDecimal percentual, BigDecimal valor, boolean todos) {
+        if (!filtro.temAlgumFiltro() && !todos) {
+            throw new IllegalArgumentException("Informe pelo menos um filtro para o reajuste em massa "
+                + "(ou todos=true para reajustar o catálogo inteiro).");
+        }
+        if ((percentual == null) == (valor == null)) {
+            throw new IllegalArgumentException("Informe o reajuste em percentual ou em valor (apenas um deles).");
+        }
+
+        // percentual p → preco * (100 + p) / 100; valor v → preco * 100 / 100 + v
+        BigDecimal fator = percentual != null
+            ? CEM.add(percentual).setScale(2, RoundingMode.HALF_UP)
+            : CEM;
+        BigDecimal acrescimo = valor != null ? valor : BigDecimal.ZERO;
+
+        Specification<AlbumModel> criterios = filtro.paraSpecification();
+        Specification<AlbumModel> dentroDaFaixa =
+            AlbumSpecifications.precoReajustadoEntre(fator, acrescimo, PRECO_MINIMO, PRECO_MAXIMO);
+
+        long foraDaFaixa = albumRepository.count(Specification.allOf(criterios, Specification.not(dentroDaFaixa)));
+        if (foraDaFaixa > 0) {
+            throw new IllegalArgumentException("O reajuste deixaria " + foraDaFaixa
+                + " álbum(ns) com preço fora da faixa (maior que 0 e menor que 1000). Nenhum preço foi alterado.");
+        }
+
+        Specification<AlbumModel> reajustaveis = Specification.allOf(criterios, dentroDaFaixa);
+        long reajustados = 0;
+        long ultimoId = 0;
+        List<AlbumAfetado> bloco;
+        do {
+            bloco = albumRepository.reajustarPrecosBloco(reajustaveis, fator, acrescimo, ultimoId, tamanhoBlocoMassa);
+            if (!bloco.isEmpty()) {
+                reajustados += bloco.size();
+                ultimoId = bloco.get(bloco.size() - 1).id();
+                eventos.publishEvent(new AlbunsAlteradosEvent(bloco.stream()
+                    .map(album -> new AlbunsAlteradosEvent.Alteracao(album.id(), AlbunsAlteradosEvent.Tipo.ATUALIZADO,
+                        album.banda(), album.banda(), new AlbunsAlteradosEvent.Valores(null, null, null, album.preco()),
+                        album.sequenciaAlteracao()))
+                    .toList()));
+            }
+        } while (bloco.size() == tamanhoBlocoMassa);
+        return reajustados;
+    }
+
+    /**
+     * Valida as regras de negócio de um álbum:
+     * - Título e banda não podem estar vazios
+     * - Ano deve estar entre 1900 e o ano atual
+     * - Preço deve estar entre 0 e 1000
+     *
+     * @param album Álbum a ser validado
+     * @throws IllegalArgumentException com a mensagem da primeira regra violada
+     */
+    // Visível no pacote: a EscritaAssincronaAlbuns valida com as mesmas regras antes de enfileirar
+    void validar(AlbumModel album) {
+        // ========== VALIDAÇÕES DE REGRA DE NEGÓCIO ==========
+        validarTitulo(album.getTitulo());
+        validarBanda(album.getBanda());
+        validarAno(album.getAno());
+        validarPreco(album.getPreco());
+    }
+
+    // Validação: Título não pode ser nulo ou vazio
+    private static void validarTitulo(String titulo) {
+        if (titulo == null || titulo.isBlank()) {
+            throw new IllegalArgumentException("O título do álbum não pode ser vazio.");
+        }
+    }
+
+    // Validação: Banda não pode ser nula ou vazia
+    private static void validarBanda(String banda) {
+        if (banda == null || banda.isBlank()) {
+            throw new IllegalArgumentException("O nome da banda não pode ser vazio.");
+        }
+    }
+
+    // Validação: Ano deve estar entre 1900 e o ano atual
+    // Evita anos inválidos como 0, negativos ou futuros
+    private static void validarAno(Integer ano) {
+        // Obtém o ano atual para validação
+        int anoAtual = Year.now().getValue();
+        if (ano == null || ano < 1900 || ano > anoAtual) {
+            throw new IllegalArgumentException("Ano de lançamento inválido.");
+        }
+    }
+
+    // Validação: Preço deve estar entre 0 e 1000
+    // doubleValue() converte BigDecimal para double para comparação
+    private static void validarPreco(BigDecimal preco) {
+        if (preco == null || preco.doubleValue() < 0 || preco.doubleValue() > 1000) {
+            throw new IllegalArgumentException("Preço invalido, verifique o valor.");
+        }
+    }
+
+    /**
+     * Aplica a um único campo enviado as anotações do Bean Validation do AlbumModel,
+     * as mesmas que o @Valid aplica no Controller. Campos null não foram enviados.
+     *
+     * @throws IllegalArgumentException com "campo: mensagem" da primeira anotação violada
+     */
+    private void validarCampo(String campo, Object valor) {
+        if (valor == null) {
+            return;
+        }
+        Set<ConstraintViolation<AlbumModel>> violacoes = validator.validateValue(AlbumModel.class, campo, valor);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(campo + ": " + violacoes.iterator().next().getMessage());
+        }
     }
 }
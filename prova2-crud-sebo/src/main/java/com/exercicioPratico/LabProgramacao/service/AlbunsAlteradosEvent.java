@@ -0,0 +1,100 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Evento publicado pelo AlbumService a cada escrita de álbuns.
+ *
+ * As estruturas em memória que dependem dos dados (índice de busca, catálogo
+ * colunar, cache de respostas, estatísticas) escutam este evento com
+ * @TransactionalEventListener:
+ * dentro de uma transação elas só são atualizadas depois do commit, para que
+ * nenhuma leitura concorrente veja álbuns que ainda podem sofrer rollback.
+ *
+ * A ordem dos listeners (@Order) importa: índice e catálogo colunar → cache.
+ * As estatísticas do catálogo (@Order(4)) não dependem das demais. A versão
+ * da coleção (VersaoCatalogo) não escuta o evento: é lida no banco.
+ *
+ * Depois do commit as escritas não passam por nenhuma trava comum: dois
+ * eventos do mesmo álbum podem chegar na ordem inversa à dos commits. Quem
+ * guarda os valores do álbum descarta a alteração mais antiga pela
+ * sequenciaAlteracao (ver SequenciasAplicadas).
+ *
+ * @param alteracoes Álbuns afetados pela escrita (um por álbum em operações em lote)
+ */
+public record AlbunsAlteradosEvent(List<Alteracao> alteracoes) {
+
+    /**
+     * Tipo da escrita sofrida pelo álbum.
+     */
+    public enum Tipo {
+        CRIADO, ATUALIZADO, EXCLUIDO
+    }
+
+    /**
+     * Alteração de um único álbum.
+     *
+     * Escritas feitas com um único comando (PATCH e DELETE por ID) não leem o
+     * álbum antes, então a banda antiga chega null mesmo em atualizações e
+     * exclusões (ver bandaAntigaDesconhecida()).
+     *
+     * @param id ID do álbum
+     * @param tipo Criação, atualização ou exclusão
+     * @param bandaAntiga Banda antes da escrita (null em criações ou quando desconhecida)
+     * @param bandaNova Banda depois da escrita (null em exclusões ou quando a banda não foi alterada)
+     * @param valoresNovos Título, gênero, ano e preço depois da escrita (null em exclusões ou quando não informados)
+     * @param sequenciaAlteracao Número da escrita na sequência de alterações (null se desconhecido)
+     */
+    public record Alteracao(Long id, Tipo tipo, String bandaAntiga, String bandaNova, Valores valoresNovos,
+                            Long sequenciaAlteracao) {
+
+        /**
+         * Alteração com as bandas antes e depois já lidas; o tipo é deduzido delas.
+         */
+        public Alteracao(Long id, String bandaAntiga, String bandaNova, Long sequenciaAlteracao) {
+            this(id, bandaNova == null ? Tipo.EXCLUIDO : bandaAntiga == null ? Tipo.CRIADO : Tipo.ATUALIZADO,
+                bandaAntiga, bandaNova, null, sequenciaAlteracao);
+        }
+
+        /**
+         * Álbum criado (bandaAntiga null) ou atualizado por inteiro, com todos os valores gravados.
+         */
+        public static Alteracao gravado(AlbumModel album, String bandaAntiga) {
+            return new Alteracao(album.getId(), bandaAntiga == null ? Tipo.CRIADO : Tipo.ATUALIZADO,
+                bandaAntiga, album.getBanda(),
+                new Valores(album.getTitulo(), album.getGenero(), album.getAno(), album.getPreco()),
+                album.getSequenciaAlteracao());
+        }
+
+        /**
+         * Indica se a banda antes da escrita não é conhecida. Nesse caso quem
+         * depende dela (ex: buscas por banda no cache) deve considerar qualquer banda.
+         */
+        public boolean bandaAntigaDesconhecida() {
+            return tipo != Tipo.CRIADO && bandaAntiga == null;
+        }
+    }
+
+    /**
+     * Valores de um álbum depois da escrita, usados pelas estatísticas do catálogo
+     * e pelo catálogo colunar. Em atualizações parciais os campos não enviados
+     * chegam null (ficaram como estavam).
+     *
+     * @param titulo Título gravado (null se não alterado)
+     * @param genero Gênero gravado (null se não alterado)
+     * @param ano Ano gravado (null se não alterado)
+     * @param preco Preço gravado (null se não alterado)
+     */
+    public record Valores(String titulo, String genero, Integer ano, BigDecimal preco) {
+    }
+
+    /**
+     * Evento de um único álbum criado, atualizado ou excluído.
+     */
+    public static AlbunsAlteradosEvent de(Alteracao alteracao) {
+        return new AlbunsAlteradosEvent(List.of(alteracao));
+    }
+}
@@ -0,0 +1,56 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Compactação periódica do registro de exclusões (AlbumExcluido) da
+ * sincronização incremental.
+ *
+ * Sem ela o registro cresceria com todas as exclusões já feitas. Aqui as
+ * mais antigas que albuns.alteracoes.retencao-exclusoes são removidas; um
+ * app que ficou mais tempo que isso sem sincronizar recebe o catálogo
+ * completo na próxima sincronização (ver AlbumService.listarAlteracoes).
+ */
+@Component
+public class CompactacaoExclusoes {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactacaoExclusoes.class);
+
+    private final AlteracoesRepository alteracoes;
+    private final TransactionTemplate transacao;
+    private final Duration retencao;
+
+    public CompactacaoExclusoes(AlteracoesRepository alteracoes,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${albuns.alteracoes.retencao-exclusoes:30d}") Duration retencao) {
+        this.alteracoes = alteracoes;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.retencao = retencao;
+    }
+
+    /**
+     * Remove as exclusões mais antigas que a retenção.
+     *
+     * @return Quantidade de registros removidos
+     */
+    @Scheduled(fixedDelayString = "${albuns.alteracoes.compactacao:1h}",
+        initialDelayString = "${albuns.alteracoes.compactacao:1h}")
+    public int compactar() {
+        int removidas = transacao.execute(status -> alteracoes.descartarExclusoes(Instant.now().minus(retencao)));
+        if (removidas > 0) {
+            log.info("Registro de exclusões compactado: {} exclusão(ões) com mais de {} removida(s)",
+                removidas, retencao);
+        }
+        return removidas;
+    }
+}
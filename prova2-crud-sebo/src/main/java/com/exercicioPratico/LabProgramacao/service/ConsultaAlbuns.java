@@ -0,0 +1,60 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Motor de leitura do catálogo usado pelo AlbumService (albuns.catalogo.motor).
+ *
+ * - ConsultaAlbunsJpa: consultas ao banco (padrão)
+ * - CatalogoColunar: cópia do catálogo em memória, organizada em colunas
+ *
+ * As escritas não passam por aqui: continuam no AlbumService, sempre no banco.
+ * Os dois motores devolvem os mesmos álbuns. A ordem por banda segue a
+ * collation do banco no JPA e a comparação de String (binária) no colunar:
+ * iguais no H2, podem diferir em maiúsculas e acentos no MySQL. Validações
+ * dos parâmetros (limite, cursor, intervalos do filtro) ficam no AlbumService.
+ */
+public interface ConsultaAlbuns {
+
+    /**
+     * Todos os álbuns, ordenados por banda.
+     */
+    List<AlbumDTO> listar();
+
+    /**
+     * Álbuns cuja banda contém o texto (sem diferenciar maiúsculas e acentos), em ordem de ID.
+     */
+    List<AlbumDTO> buscarPorBanda(String banda);
+
+    /**
+     * Álbuns cuja banda contém, começa com ou é igual ao texto (sem diferenciar
+     * maiúsculas e acentos), em ordem de ID.
+     */
+    List<AlbumDTO> buscarPorBanda(String banda, CorrespondenciaBanda correspondencia);
+
+    /**
+     * Álbuns que atendem ao filtro, ordenados por (banda, id).
+     */
+    List<AlbumDTO> filtrar(FiltroAlbuns filtro);
+
+    /**
+     * Contagens por gênero e por década dos álbuns que atendem ao filtro.
+     */
+    FacetasDTO contarFacetas(FiltroAlbuns filtro);
+
+    /**
+     * Uma página de até "limite" álbuns depois do cursor, em ordem de (banda, id).
+     *
+     * @param cursor Posição do último álbum da página anterior (null para a primeira página)
+     */
+    PaginaAlbuns listarPagina(FiltroAlbuns filtro, int limite, CursorAlbum cursor, boolean incluirTotal);
+
+    /**
+     * Entrega todos os álbuns ao consumidor, em ordem de ID, sem montar uma lista.
+     */
+    void exportar(Consumer<AlbumDTO> consumidor);
+}
@@ -0,0 +1,171 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceBuscaAlbum;
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Motor de leitura padrão (albuns.catalogo.motor=jpa): cada leitura é uma
+ * consulta ao banco pelo AlbumRepository.
+ *
+ * Leituras devolvem AlbumDTO direto da consulta (projeção), sem criar
+ * entidades gerenciadas. readOnly = true também desliga o flush automático
+ * do Hibernate (FlushMode.MANUAL) durante a transação e permite que a
+ * leitura vá para uma réplica (DataSourceRoteado).
+ */
+@Component
+public class ConsultaAlbunsJpa implements ConsultaAlbuns {
+
+    // Quantidade de IDs por consulta findAllById (evita cláusulas IN gigantes)
+    private static final int TAMANHO_LOTE_IDS = 1000;
+
+    // Acima desta quantidade de resultados a busca por banda usa o LIKE do banco
+    private static final int LIMITE_IDS_INDICE = 2000;
+
+    private final AlbumRepository albumRepository;
+
+    /**
+     * Índice de trigramas que responde a busca por banda sem LIKE '%texto%'.
+     */
+    private final IndiceBuscaAlbum indiceBusca;
+
+    public ConsultaAlbunsJpa(AlbumRepository albumRepository, IndiceBuscaAlbum indiceBusca) {
+        this.albumRepository = albumRepository;
+        this.indiceBusca = indiceBusca;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AlbumDTO> listar() {
+        // ORDER BY a.banda ASC ordena os resultados por nome da banda em ordem crescente
+        return albumRepository.listarDTOs();
+    }
+
+    /**
+     * A busca é respondida pelo índice de trigramas em memória (IndiceBuscaAlbum),
+     * que encontra os IDs sem varrer a tabela; depois os álbuns são lidos pela chave primária.
+     *
+     * O índice só propõe candidatos: a leitura pelos IDs confere de novo a
+     * banda atual com o mesmo LIKE da busca sem índice, então uma entrada
+     * desatualizada (ex: álbum alterado por outra instância) não entra no resultado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AlbumDTO> buscarPorBanda(String banda) {
+        String padrao = AlbumSpecifications.padraoContem(banda);
+
+        // Enquanto o índice de trigramas não estiver pronto (ou se estiver desligado),
+        // usa a consulta do Repository com LIKE '%texto%'
+        if (!indiceBusca.pronto()) {
+            return albumRepository.buscarDTOsPorBanda(padrao);
+        }
+
+        // O índice devolve os IDs em ordem crescente, a mesma ordem (ORDER BY id) do LIKE
+        long[] ids = indiceBusca.buscarPorBanda(banda);
+
+        // Termos muito genéricos (ex: "a") casam com boa parte do catálogo; aí ler
+        // milhares de linhas pela chave primária custa mais que uma única varredura
+        if (ids.length > LIMITE_IDS_INDICE) {
+            return albumRepository.buscarDTOsPorBanda(padrao);
+        }
+
+        // Cada lote já vem ordenado por ID e os lotes são consecutivos
+        List<AlbumDTO> albuns = new ArrayList<>(ids.length);
+        for (int inicio = 0; inicio < ids.length; inicio += TAMANHO_LOTE_IDS) {
+            List<Long> lote = Arrays.stream(ids, inicio, Math.min(inicio + TAMANHO_LOTE_IDS, ids.length))
+                .boxed()
+                .toList();
+            albuns.addAll(albumRepository.buscarDTOsPorIds(lote, padrao));
+        }
+        return albuns;
+    }
+
+    /**
+     * Começo e igualdade são consultas pelo índice da banda normalizada
+     * (idx_albuns_banda_normalizada); "contém" segue a busca acima.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AlbumDTO> buscarPorBanda(String banda, CorrespondenciaBanda correspondencia) {
+        return switch (correspondencia) {
+            case CONTEM -> buscarPorBanda(banda);
+            case PREFIXO -> albumRepository.buscarDTOsPorInicioDaBanda(AlbumSpecifications.padraoPrefixo(banda));
+            case EXATA -> albumRepository.buscarDTOsPorBandaIgual(AlbumModel.normalizarBanda(banda));
+        };
+    }
+
+    /**
+     * Os filtros são combinados como Specifications, então a consulta
+     * tem apenas as condições que o cliente realmente enviou.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AlbumDTO> filtrar(FiltroAlbuns filtro) {
+        return albumRepository.buscarDTOs(filtro.paraSpecification(), 0);
+    }
+
+    /**
+     * Uma única consulta agrupada por gênero e década.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FacetasDTO contarFacetas(FiltroAlbuns filtro) {
+        return albumRepository.contarFacetas(filtro.paraSpecification());
+    }
+
+    /**
+     * O cursor vira mais um critério do WHERE (banda, id) > (:banda, :id),
+     * combinado com os filtros, e o banco lê apenas limite + 1 registros.
+     * Se o registro extra existir, há uma próxima página e o cursor é montado
+     * a partir do último álbum entregue.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaAlbuns listarPagina(FiltroAlbuns filtro, int limite, CursorAlbum cursor, boolean incluirTotal) {
+        Specification<AlbumModel> criterios = filtro.paraSpecification();
+        Specification<AlbumModel> pagina = cursor == null
+            ? criterios
+            : Specification.allOf(criterios, AlbumSpecifications.aposCursor(cursor.banda(), cursor.id()));
+
+        List<AlbumDTO> albuns = albumRepository.buscarDTOs(pagina, limite + 1);
+
+        // Se veio o registro extra, existe próxima página
+        String proximoCursor = null;
+        if (albuns.size() > limite) {
+            albuns = albuns.subList(0, limite);
+            AlbumDTO ultimo = albuns.get(limite - 1);
+            proximoCursor = new CursorAlbum(ultimo.getBanda(), ultimo.getId()).codificar();
+        }
+
+        Long total = incluirTotal ? albumRepository.count(criterios) : null;
+
+        return new PaginaAlbuns(albuns, proximoCursor, total);
+    }
+
+    /**
+     * O Stream lê o banco em lotes pelo cursor e cada linha vira um AlbumDTO
+     * (projeção, sem entidade gerenciada), então o uso de memória fica
+     * constante independente do tamanho da tabela.
+     *
+     * A transação somente leitura mantém a conexão aberta enquanto o Stream é consumido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<AlbumDTO> consumidor) {
+        try (Stream<AlbumDTO> albuns = albumRepository.streamTodos()) {
+            albuns.forEach(consumidor);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import java.util.Locale;
+
+/**
+ * Como o termo da busca por banda é comparado com o nome da banda
+ * (parâmetro "correspondencia" de GET /api/albuns?banda=).
+ *
+ * A comparação é sempre sem diferenciar maiúsculas e acentos.
+ *
+ * - CONTEM (padrão): "maiden" encontra "Iron Maiden". No banco é um
+ *   LIKE '%texto%', que não usa índice; por isso a busca é respondida pelo
+ *   índice de trigramas em memória (IndiceBuscaAlbum)
+ * - PREFIXO: "iron" encontra "Iron Maiden" e "Iron Butterfly"
+ * - EXATA: "iron maiden" encontra só "Iron Maiden"
+ *
+ * PREFIXO e EXATA são consultas pelo índice da banda normalizada
+ * (idx_albuns_banda_normalizada): o banco lê só as linhas que casam.
+ */
+public enum CorrespondenciaBanda {
+
+    CONTEM,
+    PREFIXO,
+    EXATA;
+
+    /**
+     * Converte o parâmetro da requisição ("contem", "prefixo" ou "exata",
+     * sem diferenciar maiúsculas). Ausente equivale a CONTEM.
+     *
+     * @throws IllegalArgumentException se o valor não for nenhum dos três
+     */
+    public static CorrespondenciaBanda de(String valor) {
+        if (!FiltroAlbuns.temTexto(valor)) {
+            return CONTEM;
+        }
+        try {
+            return valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Correspondência inválida: use contem, prefixo ou exata.");
+        }
+    }
+
+    /**
+     * Indica se a banda casa com o termo; os dois já normalizados
+     * (IndiceTrigramas.normalizar).
+     */
+    public boolean aceita(String bandaNormalizada, String termoNormalizado) {
+        return switch (this) {
+            case CONTEM -> bandaNormalizada.contains(termoNormalizado);
+            case PREFIXO -> bandaNormalizada.startsWith(termoNormalizado);
+            case EXATA -> bandaNormalizada.equals(termoNormalizado);
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco usado na paginação por keyset (seek) da listagem de álbuns.
+ *
+ * A listagem é ordenada por (banda, id). O cursor guarda a posição do último
+ * álbum entregue, e a próxima página é buscada com:
+ * WHERE (banda, id) > (:banda, :id)
+ *
+ * Ao contrário de OFFSET, o banco não precisa percorrer e descartar as linhas
+ * das páginas anteriores, então o custo de cada página é constante.
+ *
+ * Para o cliente o cursor é apenas uma string (Base64 URL-safe) que deve ser
+ * devolvida no parâmetro "after" sem modificações.
+ *
+ * @param banda Nome da banda do último álbum da página
+ * @param id ID do último álbum da página (desempate entre álbuns da mesma banda)
+ */
+public record CursorAlbum(String banda, Long id) {
+
+    // Separador entre id e banda. O id vem primeiro porque nunca contém ':'
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Codifica o cursor no formato opaco enviado ao cliente.
+     *
+     * @return String Base64 URL-safe (sem padding) com o conteúdo "id:banda"
+     */
+    public String codificar() {
+        String conteudo = id + String.valueOf(SEPARADOR) + banda;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param cursor String recebida no parâmetro "after"
+     * @return CursorAlbum com a posição da última página
+     * @throws IllegalArgumentException se o cursor estiver malformado
+     */
+    public static CursorAlbum decodificar(String cursor) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = conteudo.indexOf(SEPARADOR);
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            Long id = Long.valueOf(conteudo.substring(0, separador));
+            String banda = conteudo.substring(separador + 1);
+            return new CursorAlbum(banda, id);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
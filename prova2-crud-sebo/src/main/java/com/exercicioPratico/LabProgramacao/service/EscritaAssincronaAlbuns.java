@@ -0,0 +1,305 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.EscritaAssincronaDTO;
+import com.exercicioPratico.LabProgramacao.exceptions.FilaEscritaCheiaException;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação assíncrona de álbuns (write-behind), usada por POST /api/albuns?async=true.
+ *
+ * Fluxo:
+ * 1. enfileirar() valida o álbum na hora, com as mesmas regras de salvar(),
+ *    coloca o álbum em uma fila limitada e devolve um código de rastreio
+ *    (a requisição termina com 202 Accepted, sem esperar o banco)
+ * 2. Uma thread escritora retira os álbuns da fila e os grava em lotes com
+ *    AlbumService.salvarLote(): uma transação e um batch JDBC por lote, em vez
+ *    de uma transação por álbum. Um lote é gravado quando atinge tamanhoLote
+ *    álbuns ou quando o primeiro álbum do lote espera mais que esperaLote.
+ * 3. O cliente acompanha o resultado em GET /api/albuns/escritas/{rastreio}
+ *
+ * Contrapressão: com a fila cheia a requisição é recusada (503 + Retry-After),
+ * em vez de acumular álbuns sem limite na memória.
+ *
+ * Desligamento: o componente para depois do servidor web (nenhuma requisição
+ * nova chega) e antes do pool de conexões; a thread escritora grava tudo o que
+ * ainda está na fila antes de terminar, então nenhuma escrita aceita se perde.
+ */
+@Service
+public class EscritaAssincronaAlbuns implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EscritaAssincronaAlbuns.class);
+
+    // Tempo que a thread escritora espera por álbuns antes de checar se deve parar
+    private static final long ESPERA_OCIOSA_MS = 200;
+
+    // Intervalo mínimo entre duas limpezas dos status antigos
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Situação de uma escrita assíncrona.
+     */
+    public enum StatusEscrita {
+        PENDENTE, GRAVADO, FALHOU
+    }
+
+    /**
+     * Álbum aceito e ainda não gravado.
+     */
+    private record Pendente(String rastreio, AlbumModel album) {
+    }
+
+    /**
+     * Situação guardada para a consulta de status.
+     */
+    private record Situacao(StatusEscrita status, Long albumId, String mensagem, long atualizadaEmNanos) {
+    }
+
+    private final AlbumService albumService;
+    private final BlockingQueue<Pendente> fila;
+    private final int tamanhoLote;
+    private final long esperaLoteNanos;
+    private final long retencaoStatusNanos;
+    private final Duration tempoMaximoDrenagem;
+
+    /**
+     * Situação de cada rastreio. Os finalizados (GRAVADO/FALHOU) são removidos
+     * depois de retencaoStatus; os pendentes ficam até serem gravados.
+     */
+    private final Map<String, Situacao> situacoes = new ConcurrentHashMap<>();
+
+    // volatile: alterados na thread de desligamento, lidos nas requisições e na thread escritora
+    private volatile boolean aceitando;
+    private volatile boolean ativo;
+
+    private Thread escritor;
+    private long ultimaLimpezaNanos = System.nanoTime();
+
+    public EscritaAssincronaAlbuns(AlbumService albumService,
+                                   MeterRegistry registry,
+                                   @Value("${albuns.escrita-assincrona.capacidade-fila:10000}") int capacidadeFila,
+                                   @Value("${albuns.escrita-assincrona.tamanho-lote:500}") int tamanhoLote,
+                                   @Value("${albuns.escrita-assincrona.espera-lote:50ms}") Duration esperaLote,
+                                   @Value("${albuns.escrita-assincrona.retencao-status:10m}") Duration retencaoStatus,
+                                   @Value("${albuns.escrita-assincrona.tempo-maximo-drenagem:30s}") Duration tempoMaximoDrenagem) {
+        this.albumService = albumService;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.esperaLoteNanos = esperaLote.toNanos();
+        this.retencaoStatusNanos = retencaoStatus.toNanos();
+        this.tempoMaximoDrenagem = tempoMaximoDrenagem;
+
+        Gauge.builder("albuns.escrita.fila", fila, BlockingQueue::size)
+            .description("Álbuns aceitos aguardando gravação no banco")
+            .register(registry);
+    }
+
+    /**
+     * Valida o álbum e o coloca na fila de gravação.
+     *
+     * @param album Álbum novo (sem ID), já validado pelo @Valid do Controller
+     * @return Código de rastreio para consultar o status da gravação
+     * @throws IllegalArgumentException se o álbum violar uma regra de negócio
+     * @throws FilaEscritaCheiaException se a fila estiver cheia ou a aplicação desligando
+     */
+    public String enfileirar(AlbumModel album) {
+        if (album.getId() != null) {
+            throw new IllegalArgumentException("A criação assíncrona aceita apenas álbuns novos (sem id).");
+        }
+        albumService.validar(album);
+
+        if (!aceitando) {
+            throw new FilaEscritaCheiaException("A aplicação está sendo desligada e não aceita novas escritas.");
+        }
+
+        String rastreio = UUID.randomUUID().toString();
+        // O status é registrado antes de entrar na fila: a thread escritora pode gravar imediatamente
+        situacoes.put(rastreio, new Situacao(StatusEscrita.PENDENTE, null, null, System.nanoTime()));
+        if (!fila.offer(new Pendente(rastreio, album))) {
+            situacoes.remove(rastreio);
+            throw new FilaEscritaCheiaException("A fila de escrita está cheia. Tente novamente em alguns segundos.");
+        }
+        return rastreio;
+    }
+
+    /**
+     * Consulta o status de uma escrita assíncrona.
+     *
+     * @param rastreio Código devolvido por enfileirar()
+     * @return Status da escrita, ou vazio se o rastreio não existe (ou já expirou)
+     */
+    public Optional<EscritaAssincronaDTO> status(String rastreio) {
+        Situacao situacao = situacoes.get(rastreio);
+        if (situacao == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new EscritaAssincronaDTO(rastreio, situacao.status().name(),
+            situacao.albumId(), situacao.mensagem()));
+    }
+
+    // ========== THREAD ESCRITORA ==========
+
+    private void executarEscritor() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (true) {
+            Pendente primeiro;
+            try {
+                primeiro = fila.poll(ESPERA_OCIOSA_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Não há interrupção prevista: o desligamento é feito pela flag "ativo"
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (primeiro == null) {
+                if (!ativo) {
+                    return; // desligando e a fila já está vazia
+                }
+                limparStatusAntigos(System.nanoTime());
+                continue;
+            }
+
+            lote.add(primeiro);
+            completarLote(lote);
+            gravar(lote);
+            lote.clear();
+        }
+    }
+
+    /**
+     * Junta mais álbuns ao lote até atingir tamanhoLote ou até o primeiro álbum
+     * ter esperado esperaLote. Durante o desligamento não espera: só drena a fila.
+     */
+    private void completarLote(List<Pendente> lote) {
+        long limite = System.nanoTime() + esperaLoteNanos;
+        while (lote.size() < tamanhoLote) {
+            fila.drainTo(lote, tamanhoLote - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= tamanhoLote || restante <= 0 || !ativo) {
+                return;
+            }
+            try {
+                Pendente proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+                if (proximo == null) {
+                    return;
+                }
+                lote.add(proximo);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma única transação. Se o lote falhar (ex: violação de
+     * integridade em um dos álbuns), cada álbum é gravado separadamente, para
+     * que só os álbuns com problema fiquem com status FALHOU.
+     */
+    private void gravar(List<Pendente> lote) {
+        try {
+            albumService.salvarLote(lote.stream().map(Pendente::album).toList());
+            long agora = System.nanoTime();
+            for (Pendente pendente : lote) {
+                situacoes.put(pendente.rastreio(),
+                    new Situacao(StatusEscrita.GRAVADO, pendente.album().getId(), null, agora));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} álbuns; gravando um a um", lote.size(), e);
+            for (Pendente pendente : lote) {
+                gravarSozinho(pendente);
+            }
+        }
+    }
+
+    private void gravarSozinho(Pendente pendente) {
+        AlbumModel album = pendente.album();
+        // O lote que falhou pode ter preenchido IDs que sofreram rollback
+        album.setId(null);
+        album.setVersao(null);
+        try {
+            AlbumModel salvo = albumService.salvar(album);
+            situacoes.put(pendente.rastreio(),
+                new Situacao(StatusEscrita.GRAVADO, salvo.getId(), null, System.nanoTime()));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar álbum do rastreio {}", pendente.rastreio(), e);
+            situacoes.put(pendente.rastreio(),
+                new Situacao(StatusEscrita.FALHOU, null, e.getMessage(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Remove os status finalizados há mais que retencaoStatus, no máximo uma
+     * vez a cada INTERVALO_LIMPEZA_NANOS. Chamado pela thread escritora quando
+     * está ociosa (os testes passam um "agora" no futuro).
+     */
+    void limparStatusAntigos(long agora) {
+        if (agora - ultimaLimpezaNanos < INTERVALO_LIMPEZA_NANOS) {
+            return;
+        }
+        ultimaLimpezaNanos = agora;
+        situacoes.values().removeIf(situacao -> situacao.status() != StatusEscrita.PENDENTE
+            && agora - situacao.atualizadaEmNanos() > retencaoStatusNanos);
+    }
+
+    // ========== CICLO DE VIDA (SmartLifecycle) ==========
+
+    @Override
+    public void start() {
+        aceitando = true;
+        ativo = true;
+        escritor = new Thread(this::executarEscritor, "escritor-albuns");
+        escritor.start();
+    }
+
+    /**
+     * Para de aceitar escritas e espera a thread escritora gravar o que restou na fila.
+     */
+    @Override
+    public void stop() {
+        aceitando = false;
+        ativo = false;
+        try {
+            escritor.join(tempoMaximoDrenagem.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (escritor.isAlive() || !fila.isEmpty()) {
+            log.error("Desligamento com {} álbuns aceitos ainda não gravados", fila.size());
+        } else {
+            log.info("Fila de escrita assíncrona drenada");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    /**
+     * Fase menor que a do servidor web (DEFAULT_PHASE - 1024 e - 2048): o
+     * componente inicia antes do servidor e só para depois dele, quando
+     * nenhuma requisição nova pode mais chegar.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
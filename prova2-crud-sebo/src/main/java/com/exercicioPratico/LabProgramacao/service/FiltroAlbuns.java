@@ -0,0 +1,119 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Filtros da listagem de álbuns (GET /api/albuns). Todos são opcionais
+ * e combinados com AND.
+ *
+ * @param banda Texto contido no nome da banda (case-insensitive)
+ * @param genero Gênero exato (case-insensitive)
+ * @param anoMin Ano de lançamento mínimo (inclusive)
+ * @param anoMax Ano de lançamento máximo (inclusive)
+ * @param precoMin Preço mínimo (inclusive)
+ * @param precoMax Preço máximo (inclusive)
+ */
+public record FiltroAlbuns(String banda,
+                           String genero,
+                           Integer anoMin,
+                           Integer anoMax,
+                           BigDecimal precoMin,
+                           BigDecimal precoMax) {
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * Filtro vazio (todos os álbuns).
+     */
+    public static FiltroAlbuns vazio() {
+        return new FiltroAlbuns(null, null, null, null, null, null);
+    }
+
+    /**
+     * Indica se há algum filtro além da banda. Nesse caso a consulta não pode
+     * ser respondida pelo índice de trigramas nem pelo cache de respostas.
+     */
+    public boolean temFiltrosAlemDaBanda() {
+        return temTexto(genero) || anoMin != null || anoMax != null || precoMin != null || precoMax != null;
+    }
+
+    /**
+     * Indica se algum filtro foi informado. As operações em massa (exclusão e
+     * reajuste de preço) exigem pelo menos um, para que um filtro esquecido não
+     * apague ou reajuste o catálogo inteiro.
+     */
+    public boolean temAlgumFiltro() {
+        return temTexto(banda) || temFiltrosAlemDaBanda();
+    }
+
+    /**
+     * Converte os filtros preenchidos em uma Specification (WHERE ... AND ...).
+     *
+     * @throws IllegalArgumentException se um intervalo tiver mínimo maior que o máximo
+     */
+    public Specification<AlbumModel> paraSpecification() {
+        validar();
+
+        List<Specification<AlbumModel>> criterios = new ArrayList<>();
+        if (temTexto(banda)) {
+            criterios.add(AlbumSpecifications.bandaContem(banda));
+        }
+        if (temTexto(genero)) {
+            criterios.add(AlbumSpecifications.generoIgual(genero));
+        }
+        if (anoMin != null) {
+            criterios.add(AlbumSpecifications.anoMinimo(anoMin));
+        }
+        if (anoMax != null) {
+            criterios.add(AlbumSpecifications.anoMaximo(anoMax));
+        }
+        if (precoMin != null) {
+            criterios.add(AlbumSpecifications.precoMinimo(precoMin));
+        }
+        if (precoMax != null) {
+            criterios.add(AlbumSpecifications.precoMaximo(precoMax));
+        }
+        return Specification.allOf(criterios);
+    }
+
+    /**
+     * Verifica os intervalos (também usado pelo catálogo colunar, que não monta Specification).
+     *
+     * @throws IllegalArgumentException se um intervalo tiver mínimo maior que o máximo
+     */
+    public void validar() {
+        if (anoMin != null && anoMax != null && anoMin > anoMax) {
+            throw new IllegalArgumentException("O ano mínimo não pode ser maior que o ano máximo.");
+        }
+        if (precoMin != null && precoMax != null && precoMin.compareTo(precoMax) > 0) {
+            throw new IllegalArgumentException("O preço mínimo não pode ser maior que o preço máximo.");
+        }
+    }
+
+    /**
+     * Indica se o texto foi informado (null e "" equivalem a filtro ausente).
+     */
+    public static boolean temTexto(String valor) {
+        return valor != null && !valor.isEmpty();
+    }
+
+    /**
+     * Forma canônica de um termo de busca: sem espaços nas pontas, com cada
+     * sequência de espaços reduzida a um só e em minúsculas
+     * ("  Iron   MAIDEN " → "iron maiden").
+     *
+     * Usada na busca por banda e na chave do cache de respostas: buscas que
+     * só diferem nisso dão o mesmo resultado e compartilham a mesma resposta.
+     */
+    public static String normalizarTermo(String termo) {
+        return ESPACOS.matcher(termo.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+
+import java.util.List;
+
+/**
+ * Resultado de uma consulta paginada por cursor no AlbumService.
+ *
+ * @param albuns Álbuns da página atual, ordenados por (banda, id)
+ * @param proximoCursor Cursor para buscar a próxima página (null se esta for a última)
+ * @param total Total de álbuns que atendem ao filtro (null se não foi solicitado)
+ */
+public record PaginaAlbuns(List<AlbumDTO> albuns, String proximoCursor, Long total) {
+}
@@ -0,0 +1,62 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Última escrita aplicada a cada álbum por uma cópia em memória que escuta
+ * o AlbunsAlteradosEvent (catálogo colunar e estatísticas do catálogo).
+ *
+ * Os listeners rodam depois do commit, sem trava comum entre as escritas:
+ * dois eventos do mesmo álbum podem chegar na ordem inversa à dos commits.
+ * Aplicar o mais antigo por último deixaria os valores dele na cópia até a
+ * próxima recarga. Aqui cada alteração é comparada com a sequência já
+ * aplicada ao álbum, e as mais antigas são descartadas.
+ *
+ * As sequências ficam guardadas por duas renovações (renovar(), chamada a
+ * cada recarga da cópia): tempo de sobra para um evento atrasado chegar, sem
+ * guardar para sempre um número por álbum já escrito.
+ *
+ * Não é thread-safe: usado sob a trava de quem aplica as escritas.
+ */
+public class SequenciasAplicadas {
+
+    private Map<Long, Long> atuais = new HashMap<>();
+    private Map<Long, Long> anteriores = new HashMap<>();
+
+    /**
+     * Alterações que ainda devem ser aplicadas, na ordem recebida, e registra
+     * a sequência delas. Alterações sem ID ou sem sequência passam sempre.
+     *
+     * @param alteracoes Alterações de um evento
+     * @return As alterações que não são mais antigas que a última aplicada ao mesmo álbum
+     */
+    public List<AlbunsAlteradosEvent.Alteracao> filtrar(List<AlbunsAlteradosEvent.Alteracao> alteracoes) {
+        List<AlbunsAlteradosEvent.Alteracao> aplicaveis = new ArrayList<>(alteracoes.size());
+        for (AlbunsAlteradosEvent.Alteracao alteracao : alteracoes) {
+            Long id = alteracao.id();
+            Long sequencia = alteracao.sequenciaAlteracao();
+            if (id == null || sequencia == null) {
+                aplicaveis.add(alteracao);
+                continue;
+            }
+            Long aplicada = atuais.containsKey(id) ? atuais.get(id) : anteriores.get(id);
+            if (aplicada != null && sequencia < aplicada) {
+                continue;
+            }
+            atuais.put(id, sequencia);
+            aplicaveis.add(alteracao);
+        }
+        return aplicaveis;
+    }
+
+    /**
+     * Descarta as sequências registradas antes da renovação anterior.
+     */
+    public void renovar() {
+        anteriores = atuais;
+        atuais = new HashMap<>();
+    }
+}
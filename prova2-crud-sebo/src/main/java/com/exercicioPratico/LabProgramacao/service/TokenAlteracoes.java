@@ -0,0 +1,56 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Token opaco da sincronização incremental (GET /api/albuns/changes).
+ *
+ * Guarda a posição na sequência de alterações (SequenciaAlteracoes) até a
+ * qual o cliente já recebeu o catálogo. Na próxima sincronização, só os
+ * álbuns e exclusões com sequência maior são enviados.
+ *
+ * Para o cliente o token é apenas uma string (Base64 URL-safe) que deve ser
+ * devolvida no parâmetro "since" sem modificações.
+ *
+ * @param sequencia Última sequência de alterações já entregue ao cliente
+ */
+public record TokenAlteracoes(long sequencia) {
+
+    // Prefixo que diferencia o token de um cursor de paginação enviado por engano
+    private static final String PREFIXO = "s:";
+
+    /**
+     * Codifica o token no formato opaco enviado ao cliente.
+     *
+     * @return String Base64 URL-safe (sem padding) com o conteúdo "s:sequencia"
+     */
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIXO + sequencia).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente.
+     *
+     * @param token String recebida no parâmetro "since"
+     * @return TokenAlteracoes com a posição da última sincronização
+     * @throws IllegalArgumentException se o token estiver malformado
+     */
+    public static TokenAlteracoes decodificar(String token) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException("Token inválido.");
+            }
+            long sequencia = Long.parseLong(conteudo.substring(PREFIXO.length()));
+            if (sequencia < 0) {
+                throw new IllegalArgumentException("Token inválido.");
+            }
+            return new TokenAlteracoes(sequencia);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Token inválido.");
+        }
+    }
+}
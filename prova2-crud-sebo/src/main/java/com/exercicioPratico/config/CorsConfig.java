@@ -26,7 +26,7 @@ public class CorsConfig implements WebMvcConfigurer {
                     "http://192.168.15.114:3000",      // IP da máquina - Expo Web
                     "http://192.168.15.114:8081"       // IP da máquina - alternativa
                 )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true);  // Permite envio de credenciais (cookies, headers de autenticação)
     }
@@ -0,0 +1,34 @@
+-- Mesmo esquema de db/migration/mysql/V1, com os tipos que o Hibernate usa no
+-- H2 (Instant é "timestamp with time zone"). Usado pelo perfil "embutido" e
+-- pelos testes.
+
+create table albuns (
+    ano integer not null check ((ano>=0) and (ano<=2025)),
+    preco numeric(10,2) not null,
+    atualizado_em timestamp(6) with time zone,
+    id bigint generated by default as identity,
+    sequencia_alteracao bigint,
+    versao bigint,
+    banda varchar(100) not null,
+    titulo varchar(150) not null,
+    genero varchar(255) not null,
+    primary key (id)
+);
+
+create table albuns_excluidos (
+    album_id bigint not null,
+    excluido_em timestamp(6) with time zone,
+    sequencia_alteracao bigint not null,
+    primary key (album_id)
+);
+
+create table sequencia_alteracoes (
+    id integer not null,
+    descartadas_ate bigint not null,
+    valor bigint not null,
+    primary key (id)
+);
+
+create index idx_albuns_sequencia_alteracao on albuns (sequencia_alteracao);
+create index idx_albuns_excluidos_sequencia on albuns_excluidos (sequencia_alteracao);
+create index idx_albuns_excluidos_excluido_em on albuns_excluidos (excluido_em);
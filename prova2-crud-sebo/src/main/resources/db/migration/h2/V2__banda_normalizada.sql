@@ -0,0 +1,4 @@
+-- Ver db/migration/mysql/V2
+alter table albuns add column banda_normalizada varchar(100);
+create index idx_albuns_banda_normalizada on albuns (banda_normalizada, id);
+create index idx_albuns_banda_id on albuns (banda, id);
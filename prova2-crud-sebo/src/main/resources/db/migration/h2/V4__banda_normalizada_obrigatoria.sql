@@ -0,0 +1,2 @@
+-- Ver db/migration/mysql/V4
+alter table albuns alter column banda_normalizada set not null;
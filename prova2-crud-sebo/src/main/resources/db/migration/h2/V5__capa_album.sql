@@ -0,0 +1,2 @@
+-- Ver db/migration/mysql/V5
+alter table albuns add column capa varchar(255);
@@ -0,0 +1,14 @@
+-- Ver db/migration/mysql/V6. O H2 sempre começa vazio (perfil "embutido" e
+-- testes), então não há contador antigo para continuar.
+create table alteracoes (
+    sequencia bigint generated by default as identity,
+    registrada_em timestamp(6) with time zone not null,
+    primary key (sequencia)
+);
+
+create index idx_alteracoes_registrada_em on alteracoes (registrada_em);
+
+insert into sequencia_alteracoes (id, valor, descartadas_ate)
+    select 1, 0, 0 from dual where not exists (select * from sequencia_alteracoes where id = 1);
+
+alter table sequencia_alteracoes drop column valor;
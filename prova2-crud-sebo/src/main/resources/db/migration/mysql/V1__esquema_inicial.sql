@@ -0,0 +1,37 @@
+-- Esquema criado até aqui pelo Hibernate (ddl-auto=update). Em um banco que já
+-- tem estas tabelas, o Flyway não executa este script: registra a versão 1
+-- como linha de base (spring.flyway.baseline-on-migrate) e segue da versão 2.
+
+create table albuns (
+    ano integer not null,
+    preco decimal(10,2) not null,
+    atualizado_em datetime(6),
+    id bigint not null auto_increment,
+    sequencia_alteracao bigint,
+    versao bigint,
+    banda varchar(100) not null,
+    titulo varchar(150) not null,
+    genero varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table albuns_excluidos (
+    album_id bigint not null,
+    excluido_em datetime(6),
+    sequencia_alteracao bigint not null,
+    primary key (album_id)
+) engine=InnoDB;
+
+create table sequencia_alteracoes (
+    id integer not null,
+    descartadas_ate bigint not null,
+    valor bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- GET /api/albuns/changes: álbuns gravados depois da sequência do token
+create index idx_albuns_sequencia_alteracao on albuns (sequencia_alteracao);
+
+-- GET /api/albuns/changes (exclusões depois do token) e compactação das exclusões vencidas
+create index idx_albuns_excluidos_sequencia on albuns_excluidos (sequencia_alteracao);
+create index idx_albuns_excluidos_excluido_em on albuns_excluidos (excluido_em);
@@ -0,0 +1,10 @@
+-- Banda em minúsculas e sem acentos (AlbumModel.bandaNormalizada), usada pelas
+-- buscas por banda: a comparação fica na coluna pura, sem LOWER(), e pode usar
+-- o índice. O ID no fim dos índices dá a ordem dos resultados sem ordenação extra.
+-- A coluna começa vazia: V3 preenche os álbuns existentes e V4 a torna obrigatória.
+alter table albuns
+    add column banda_normalizada varchar(100),
+    add index idx_albuns_banda_normalizada (banda_normalizada, id),
+    -- Listagem ordenada por banda e paginação por cursor (banda, id) > (:banda, :id)
+    add index idx_albuns_banda_id (banda, id),
+    algorithm=inplace, lock=none;
@@ -0,0 +1,3 @@
+-- Todos os álbuns já têm a banda normalizada (V3); daqui em diante quem grava
+-- sempre a preenche (AlbumModel e AlbumLoteRepository).
+alter table albuns modify banda_normalizada varchar(100) not null, algorithm=inplace, lock=none;
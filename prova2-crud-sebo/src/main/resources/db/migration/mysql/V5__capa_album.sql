@@ -0,0 +1,3 @@
+-- Caminho opcional do arquivo da capa (GET /api/albuns/{id}/cover). Coluna
+-- nula no fim da tabela: o InnoDB a adiciona sem reconstruir a tabela.
+alter table albuns add column capa varchar(255), algorithm=instant;
@@ -0,0 +1,24 @@
+-- Números da sincronização incremental (GET /api/albuns/changes) passam a vir do
+-- AUTO_INCREMENT de "alteracoes" (uma linha por escrita) em vez do UPDATE da
+-- linha única de sequencia_alteracoes, que travava todas as escritas entre si
+-- até o commit. Com innodb_autoinc_lock_mode=2 (padrão do MySQL 8) o número é
+-- reservado sem trava que dure até o fim da transação.
+create table alteracoes (
+    sequencia bigint not null auto_increment,
+    registrada_em datetime(6) not null,
+    primary key (sequencia)
+) engine=InnoDB;
+
+-- Escritas recentes, lidas no cálculo da posição segura (AlteracoesRepository.posicao)
+create index idx_alteracoes_registrada_em on alteracoes (registrada_em);
+
+-- Garante a linha de sequencia_alteracoes, que antes era criada na primeira escrita
+insert into sequencia_alteracoes (id, valor, descartadas_ate)
+    select 1, 0, 0 from dual where not exists (select * from sequencia_alteracoes where id = 1);
+
+-- Continua a numeração de onde o contador parou. A data antiga marca o número
+-- como confirmado há muito tempo: os anteriores não são esperados como "em andamento".
+insert into alteracoes (sequencia, registrada_em)
+    select valor, '2000-01-01 00:00:00' from sequencia_alteracoes where id = 1 and valor > 0;
+
+alter table sequencia_alteracoes drop column valor;
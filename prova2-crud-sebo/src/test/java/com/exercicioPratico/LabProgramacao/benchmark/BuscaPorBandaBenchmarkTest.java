@@ -0,0 +1,110 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.busca.IndiceBuscaAlbum;
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark da busca por banda: LIKE '%texto%' no banco vs índice de trigramas.
+ *
+ * Executar com: mvn test -Pbenchmark
+ * Mede com 100 mil e 1 milhão de álbuns e confere que os dois caminhos
+ * devolvem exatamente os mesmos IDs.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "albuns.lote.maximo-itens=50000")
+@ActiveProfiles("benchmark")
+class BuscaPorBandaBenchmarkTest {
+
+    private static final String[] PREFIXOS = {
+        "Iron", "Black", "Deep", "Led", "Pink", "Dead", "Sonic", "Arctic", "Velvet", "Royal",
+        "Crimson", "Electric", "Silver", "Stone", "Wild", "Broken", "Golden", "Neon", "Static", "Lunar"
+    };
+    private static final String[] SUFIXOS = {
+        "Maiden", "Sabbath", "Purple", "Zeppelin", "Floyd", "Kennedys", "Youth", "Monkeys", "Underground", "Blood",
+        "King", "Wizard", "Apples", "Temple", "Hearts", "Social", "Earring", "Lights", "Noise", "Tide"
+    };
+    private static final String[] TERMOS = {"Iron Maiden 7", "zeppelin", "on", "Crimson King 12", "ldstat"};
+    private static final int REPETICOES = 20;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private IndiceBuscaAlbum indiceBusca;
+
+    @Test
+    void compararLikeComIndiceDeTrigramas() {
+        albumRepository.deleteAllInBatch();
+        indiceBusca.reconstruir();
+
+        popular(0, 100_000);
+        medir(100_000);
+
+        popular(100_000, 1_000_000);
+        medir(1_000_000);
+    }
+
+    private void medir(int quantidade) {
+        System.out.printf("%n=== %,d álbuns ===%n", quantidade);
+        for (String termo : TERMOS) {
+            List<Long> idsLike = ids(albumRepository.findByBandaContainingIgnoreCase(termo));
+            List<Long> idsIndice = albumService.buscarPorBanda(termo).stream().map(AlbumDTO::getId).toList();
+            assertEquals(idsLike, idsIndice, "Resultados diferentes para o termo: " + termo);
+
+            double msLike = tempoMedio(() -> albumRepository.findByBandaContainingIgnoreCase(termo));
+            double msIndice = tempoMedio(() -> indiceBusca.buscarPorBanda(termo));
+            double msServico = tempoMedio(() -> albumService.buscarPorBanda(termo));
+
+            System.out.printf("%-18s %7d resultados | LIKE %9.3f ms | índice (IDs) %8.3f ms | índice + carga %9.3f ms%n",
+                '"' + termo + '"', idsLike.size(), msLike, msIndice, msServico);
+        }
+    }
+
+    private double tempoMedio(Supplier<?> consulta) {
+        consulta.get(); // aquecimento
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            consulta.get();
+        }
+        return (System.nanoTime() - inicio) / 1e6 / REPETICOES;
+    }
+
+    private void popular(int de, int ate) {
+        for (int inicio = de; inicio < ate; inicio += 50_000) {
+            List<AlbumModel> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(inicio + 50_000, ate); i++) {
+                AlbumModel album = new AlbumModel();
+                album.setTitulo("Álbum " + i);
+                album.setBanda(PREFIXOS[i % PREFIXOS.length] + " "
+                    + SUFIXOS[(i / PREFIXOS.length) % SUFIXOS.length] + " " + ((i / 400) % 25));
+                album.setAno(1960 + (i % 60));
+                album.setGenero("Rock");
+                album.setPreco(new BigDecimal("59.90"));
+                lote.add(album);
+            }
+            albumService.salvarLote(lote);
+        }
+    }
+
+    private static List<Long> ids(List<AlbumModel> albuns) {
+        return albuns.stream().map(AlbumModel::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,352 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.LabProgramacaoApplication;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga da API completa, sem MySQL: a aplicação sobe com o perfil
+ * "embutido" (H2 em memória) e servidor HTTP real (porta aleatória), e o
+ * CatalogoExemplo grava os álbuns antes da carga começar.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=CargaBenchmarkTest
+ *
+ * Configuração (propriedades de sistema, ex: -Dcarga.modo=taxa -Dcarga.taxa=800):
+ * - carga.albuns: álbuns gravados antes da carga (padrão 5000)
+ * - carga.mix: peso de cada operação (padrão listar:35,buscar:20,obter:30,criar:5,atualizar:7,excluir:3)
+ *   listar  → GET /api/albuns?limit=20 com filtro de gênero ou de década
+ *   buscar  → GET /api/albuns?banda=<trecho do nome de uma banda>
+ *   obter   → GET /api/albuns/{id}
+ *   criar   → POST /api/albuns
+ *   atualizar → PUT /api/albuns/{id}
+ *   excluir → DELETE /api/albuns/{id} de um álbum criado pela própria carga
+ *             (sem nenhum disponível, a requisição vira um criar)
+ * - carga.modo:
+ *   concorrencia → modelo fechado: carga.concorrencia clientes (padrão 32), cada
+ *                  um envia a próxima requisição quando a anterior responde
+ *   taxa         → modelo aberto: carga.taxa requisições por segundo (padrão 500),
+ *                  no horário previsto, responda o servidor ou não. A latência
+ *                  conta a partir do horário previsto: se o servidor atrasa, a
+ *                  fila que se forma aparece nos percentis
+ * - carga.aquecimento / carga.duracao: tempo de carga descartado e medido (padrão 5s / 20s)
+ * - carga.erros-maximo: fração máxima de erros (respostas fora de 2xx ou falhas
+ *   de conexão) para o teste passar (padrão 0.01)
+ *
+ * Resultado em target/resultados/carga.tsv (pasta trocada com -Dresultados=<pasta>),
+ * uma linha por operação e uma linha "total": requisições, erros, vazão e
+ * p50/p95/p99/máximo da latência, em colunas fixas separadas por TAB, para
+ * ser comparado entre versões ou verificado por um script de CI.
+ */
+@Tag("benchmark")
+class CargaBenchmarkTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final List<String> GENEROS = List.of("Rock", "Metal", "Pop", "Jazz", "MPB");
+
+    private enum Operacao { LISTAR, BUSCAR, OBTER, CRIAR, ATUALIZAR, EXCLUIR }
+
+    private final int albuns = Integer.getInteger("carga.albuns", 5_000);
+    private final String mixTexto =
+        System.getProperty("carga.mix", "listar:35,buscar:20,obter:30,criar:5,atualizar:7,excluir:3");
+    private final Map<Operacao, Integer> mix = mix(mixTexto);
+    private final String modo = System.getProperty("carga.modo", "concorrencia");
+    private final int concorrencia = Integer.getInteger("carga.concorrencia", 32);
+    private final int taxa = Integer.getInteger("carga.taxa", 500);
+    private final Duration aquecimento = DurationStyle.detectAndParse(System.getProperty("carga.aquecimento", "5s"));
+    private final Duration duracao = DurationStyle.detectAndParse(System.getProperty("carga.duracao", "20s"));
+    private final double errosMaximo = Double.parseDouble(System.getProperty("carga.erros-maximo", "0.01"));
+
+    // Álbuns do catálogo de exemplo (lidos, atualizados, nunca excluídos) e os criados pela carga
+    private List<Long> ids;
+    private List<String> bandas;
+    private final Queue<Long> criados = new ConcurrentLinkedQueue<>();
+
+    private HttpClient cliente;
+    private String base;
+
+    @Test
+    void executarCarga() throws Exception {
+        if (!modo.equals("concorrencia") && !modo.equals("taxa")) {
+            throw new IllegalArgumentException("carga.modo deve ser concorrencia ou taxa: " + modo);
+        }
+        try (ConfigurableApplicationContext contexto =
+                 new SpringApplicationBuilder(LabProgramacaoApplication.class)
+                     .profiles("embutido")
+                     .run("--server.port=0", "--albuns.exemplo.quantidade=" + albuns)) {
+
+            List<AlbumModel> catalogo = contexto.getBean(AlbumRepository.class).findAll();
+            ids = catalogo.stream().map(AlbumModel::getId).toList();
+            bandas = catalogo.stream().map(AlbumModel::getBanda).distinct().toList();
+
+            int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            base = "http://localhost:" + porta + "/api/albuns";
+            cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+            carga(aquecimento);
+            long inicio = System.nanoTime();
+            Map<Operacao, Latencias> medidas = carga(duracao);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            Latencias total = new Latencias();
+            medidas.values().forEach(total::adicionarTodas);
+            List<String> linhas = new ArrayList<>();
+            linhas.add("# modo=" + modo + (modo.equals("taxa") ? " taxa=" + taxa : " concorrencia=" + concorrencia)
+                + " albuns=" + albuns + " duracao=" + duracao.toSeconds() + "s mix=" + mixTexto
+                + " jdk=" + System.getProperty("java.version"));
+            linhas.add("operacao\trequisicoes\terros\tpor_segundo\tp50_ms\tp95_ms\tp99_ms\tmaximo_ms");
+            medidas.forEach((operacao, latencias) ->
+                linhas.add(linha(operacao.name().toLowerCase(Locale.ROOT), latencias, segundos)));
+            linhas.add(linha("total", total, segundos));
+
+            Path pasta = Path.of(System.getProperty("resultados", "target/resultados"));
+            Files.createDirectories(pasta);
+            Path arquivo = pasta.resolve("carga.tsv");
+            Files.write(arquivo, linhas, StandardCharsets.UTF_8);
+
+            System.out.printf("%n=== Carga ===%n");
+            linhas.forEach(System.out::println);
+            System.out.println("Resultado gravado em " + arquivo.toAbsolutePath());
+
+            double fracaoErros = (double) total.erros() / Math.max(1, total.quantidade() + total.erros());
+            assertTrue(fracaoErros <= errosMaximo,
+                String.format(Locale.ROOT, "%.2f%% de erros (máximo %.2f%%)", fracaoErros * 100, errosMaximo * 100));
+        }
+    }
+
+    /**
+     * Aplica a carga durante o tempo informado, no modo configurado.
+     */
+    private Map<Operacao, Latencias> carga(Duration tempo) {
+        Map<Operacao, Latencias> medidas = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : mix.keySet()) {
+            medidas.put(operacao, new Latencias());
+        }
+        long fim = System.nanoTime() + tempo.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (modo.equals("concorrencia")) {
+                for (int c = 0; c < concorrencia; c++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < fim) {
+                            executar(sortear(), System.nanoTime(), medidas);
+                        }
+                    });
+                }
+            } else {
+                // Cada requisição sai no seu horário previsto, em uma virtual thread própria
+                long intervalo = 1_000_000_000L / taxa;
+                for (long previsto = System.nanoTime(); previsto < fim; previsto += intervalo) {
+                    long espera = previsto - System.nanoTime();
+                    if (espera > 0) {
+                        LockSupport.parkNanos(espera);
+                    }
+                    long horario = previsto;
+                    Operacao operacao = sortear();
+                    executor.submit(() -> executar(operacao, horario, medidas));
+                }
+            }
+        }
+        return medidas;
+    }
+
+    /**
+     * Envia uma requisição e registra a latência (desde "inicio") ou o erro.
+     */
+    private void executar(Operacao operacao, long inicio, Map<Operacao, Latencias> medidas) {
+        Long excluir = null;
+        if (operacao == Operacao.EXCLUIR) {
+            excluir = criados.poll();
+            if (excluir == null) {
+                operacao = Operacao.CRIAR;
+            }
+        }
+        Latencias latencias = medidas.get(operacao);
+        try {
+            HttpResponse<String> resposta = cliente.send(requisicao(operacao, excluir),
+                HttpResponse.BodyHandlers.ofString());
+            long fim = System.nanoTime();
+            if (resposta.statusCode() / 100 != 2) {
+                latencias.erro();
+                return;
+            }
+            latencias.adicionar(fim - inicio);
+            if (operacao == Operacao.CRIAR) {
+                Matcher id = ID.matcher(resposta.body());
+                if (id.find()) {
+                    criados.add(Long.parseLong(id.group(1)));
+                }
+            }
+        } catch (Exception e) {
+            latencias.erro();
+        }
+    }
+
+    private HttpRequest requisicao(Operacao operacao, Long excluir) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return switch (operacao) {
+            case LISTAR -> {
+                int decada = 1950 + 10 * aleatorio.nextInt(7);
+                yield get(aleatorio.nextBoolean()
+                    ? base + "?limit=20&genero=" + GENEROS.get(aleatorio.nextInt(GENEROS.size()))
+                    : base + "?limit=20&anoMin=" + decada + "&anoMax=" + (decada + 9));
+            }
+            case BUSCAR -> {
+                String banda = bandas.get(aleatorio.nextInt(bandas.size()));
+                int inicio = aleatorio.nextInt(Math.max(1, banda.length() - 3));
+                String trecho = banda.substring(inicio, Math.min(banda.length(), inicio + 3 + aleatorio.nextInt(4)));
+                yield get(base + "?banda=" + URLEncoder.encode(trecho, StandardCharsets.UTF_8));
+            }
+            case OBTER -> get(base + "/" + ids.get(aleatorio.nextInt(ids.size())));
+            case CRIAR -> HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo(aleatorio)))
+                .build();
+            case ATUALIZAR -> HttpRequest.newBuilder(URI.create(base + "/" + ids.get(aleatorio.nextInt(ids.size()))))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(corpo(aleatorio)))
+                .build();
+            case EXCLUIR -> HttpRequest.newBuilder(URI.create(base + "/" + excluir)).DELETE().build();
+        };
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").GET().build();
+    }
+
+    private static String corpo(ThreadLocalRandom aleatorio) {
+        return String.format(Locale.ROOT,
+            "{\"titulo\":\"Carga %d\",\"banda\":\"Banda Carga %d\",\"ano\":%d,\"genero\":\"%s\",\"preco\":%.2f}",
+            aleatorio.nextInt(1_000_000), aleatorio.nextInt(500), 1950 + aleatorio.nextInt(75),
+            GENEROS.get(aleatorio.nextInt(GENEROS.size())), 10 + aleatorio.nextInt(29_000) / 100.0);
+    }
+
+    private Operacao sortear() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int sorteio = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operacao, Integer> peso : mix.entrySet()) {
+            sorteio -= peso.getValue();
+            if (sorteio < 0) {
+                return peso.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * "listar:35,buscar:20,..." → peso de cada operação (operações com peso 0 ficam de fora).
+     */
+    private static Map<Operacao, Integer> mix(String texto) {
+        Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+        for (String item : texto.split(",")) {
+            String[] partes = item.trim().split(":");
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso > 0) {
+                pesos.put(Operacao.valueOf(partes[0].trim().toUpperCase(Locale.ROOT)), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("carga.mix sem nenhuma operação: " + texto);
+        }
+        return pesos;
+    }
+
+    private static String linha(String nome, Latencias latencias, double segundos) {
+        long[] ordenadas = latencias.ordenadas();
+        return String.join("\t", nome,
+            Long.toString(ordenadas.length),
+            Long.toString(latencias.erros()),
+            String.format(Locale.ROOT, "%.1f", ordenadas.length / segundos),
+            ms(percentil(ordenadas, 0.50)),
+            ms(percentil(ordenadas, 0.95)),
+            ms(percentil(ordenadas, 0.99)),
+            ms(ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1]));
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)];
+    }
+
+    // Locale.ROOT: ponto decimal fixo, independente do idioma da máquina
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    /**
+     * Latências (em nanossegundos) e erros de uma operação, registrados por várias threads.
+     */
+    private static final class Latencias {
+        private long[] valores = new long[1024];
+        private int quantidade;
+        private long erros;
+
+        synchronized void adicionar(long nanos) {
+            if (quantidade == valores.length) {
+                valores = Arrays.copyOf(valores, quantidade * 2);
+            }
+            valores[quantidade++] = nanos;
+        }
+
+        synchronized void erro() {
+            erros++;
+        }
+
+        synchronized void adicionarTodas(Latencias outras) {
+            for (long nanos : outras.ordenadas()) {
+                adicionar(nanos);
+            }
+            erros += outras.erros();
+        }
+
+        synchronized int quantidade() {
+            return quantidade;
+        }
+
+        synchronized long erros() {
+            return erros;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(valores, quantidade);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.colunar.CatalogoColunar;
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbuns;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbunsJpa;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.ref.Reference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark do motor de leitura colunar (CatalogoColunar) contra as consultas JPA.
+ *
+ * Executar com: mvn test -Pbenchmark
+ * Com 100 mil e 1 milhão de álbuns, mede:
+ * - memória por álbum da cópia colunar (medida no heap e estimada pelos
+ *   arrays), comparada com a mesma quantidade de álbuns em uma List<AlbumDTO>
+ * - tempo médio de cada leitura nos dois motores, depois de conferir que
+ *   os dois devolvem os mesmos álbuns
+ *
+ * Com o H2 em memória, os títulos lidos são as mesmas Strings que o próprio
+ * H2 guarda: a medida no heap conta só o que cada estrutura acrescenta
+ * (colunas e dicionários; objetos AlbumDTO, BigDecimal e Integer). A
+ * estimativa inclui os títulos, como seria lendo do MySQL.
+ */
+@Tag("benchmark")
+// OPTIMIZE_REUSE_RESULTS=FALSE: sem isso o H2 devolve o resultado guardado da execução
+// anterior da mesma consulta (tabela sem alterações) e o JPA não chega a ler os álbuns
+@SpringBootTest(properties = {
+    "albuns.lote.maximo-itens=50000",
+    "spring.datasource.url=jdbc:h2:mem:benchmark-colunar;MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE"
+})
+@ActiveProfiles("benchmark")
+class CatalogoColunarBenchmarkTest {
+
+    private static final String[] GENEROS = {
+        "Rock", "Metal", "Pop", "Jazz", "Blues", "MPB", "Samba", "Eletrônica", "Hip Hop", "Clássica"
+    };
+    private static final String[] PREFIXOS = {"The", "Os", "Black", "Velvet", "Electric", "Iron", "Blue", "Pink"};
+    private static final String[] SUFIXOS = {"Stones", "Mutantes", "Sabbath", "Underground", "Maiden", "Floyd"};
+    private static final int REPETICOES = 20;
+
+    /**
+     * Uma leitura medida nos dois motores; o resultado vira texto para a comparação.
+     */
+    private record Leitura(String nome, Function<ConsultaAlbuns, Object> executar) {
+    }
+
+    private static final List<Leitura> LEITURAS = List.of(
+        new Leitura("primeira página (20)", consulta -> texto(consulta.listarPagina(
+            new FiltroAlbuns(null, null, null, null, null, null), 20, null, false).albuns())),
+        new Leitura("página filtrada + total", consulta -> {
+            var pagina = consulta.listarPagina(
+                new FiltroAlbuns(null, "jazz", 1970, 1999, null, null), 20, null, true);
+            return texto(pagina.albuns()) + " total=" + pagina.total();
+        }),
+        new Leitura("filtrar gênero/ano/preço", consulta -> texto(consulta.filtrar(
+            new FiltroAlbuns(null, "Blues", 1960, 1969, null, new BigDecimal("30"))))),
+        new Leitura("filtrar banda", consulta -> texto(consulta.filtrar(
+            new FiltroAlbuns("maiden 12", null, null, null, null, null)))),
+        new Leitura("facetas sem filtro", consulta -> {
+            var facetas = consulta.contarFacetas(new FiltroAlbuns(null, null, null, null, null, null));
+            return facetas.getPorGenero() + " " + facetas.getPorDecada();
+        }),
+        new Leitura("busca por banda", consulta -> texto(consulta.buscarPorBanda("sabbath 7"))));
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ConsultaAlbunsJpa consultaJpa;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compararColunarComJpa() {
+        albumRepository.deleteAllInBatch();
+        Random aleatorio = new Random(42);
+
+        popular(0, 100_000, aleatorio);
+        medir(100_000);
+
+        popular(100_000, 1_000_000, aleatorio);
+        medir(1_000_000);
+    }
+
+    private void medir(int quantidade) {
+        System.out.printf("%n=== %,d álbuns ===%n", quantidade);
+
+        // Memória retida: heap ocupado com a estrutura viva menos o heap depois de descartá-la (com GC)
+        CatalogoColunar medida = new CatalogoColunar(albumRepository, transactionManager, "colunar");
+        medida.recarregar();
+        long estimado = medida.bytesEstimados();
+        long com = heapUsado();
+        Reference.reachabilityFence(medida);
+        medida = null;
+        long bytesColunar = com - heapUsado();
+
+        List<AlbumDTO> objetos = consultaJpa.listar();
+        com = heapUsado();
+        Reference.reachabilityFence(objetos);
+        objetos = null;
+        long bytesObjetos = com - heapUsado();
+
+        System.out.printf("Memória por álbum: colunar %.1f bytes (estimado %.1f) | List<AlbumDTO> %.1f bytes%n",
+            (double) bytesColunar / quantidade, (double) estimado / quantidade, (double) bytesObjetos / quantidade);
+
+        CatalogoColunar colunar = new CatalogoColunar(albumRepository, transactionManager, "colunar");
+        colunar.recarregar();
+
+        for (Leitura leitura : LEITURAS) {
+            assertEquals(leitura.executar().apply(consultaJpa), leitura.executar().apply(colunar),
+                "Resultados diferentes em: " + leitura.nome());
+
+            double msJpa = tempoMedio(() -> leitura.executar().apply(consultaJpa));
+            double msColunar = tempoMedio(() -> leitura.executar().apply(colunar));
+            System.out.printf("%-26s JPA %9.3f ms | colunar %8.3f ms | %6.1fx%n",
+                leitura.nome(), msJpa, msColunar, msJpa / msColunar);
+        }
+    }
+
+    private static double tempoMedio(Runnable leitura) {
+        leitura.run(); // aquecimento
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            leitura.run();
+        }
+        return (System.nanoTime() - inicio) / 1e6 / REPETICOES;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void popular(int de, int ate, Random aleatorio) {
+        for (int inicio = de; inicio < ate; inicio += 50_000) {
+            List<AlbumModel> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(inicio + 50_000, ate); i++) {
+                // ~1 banda para cada 8 álbuns
+                int banda = aleatorio.nextInt(i / 8 + 1);
+                AlbumModel album = new AlbumModel();
+                album.setTitulo("Álbum " + i);
+                album.setBanda(PREFIXOS[banda % PREFIXOS.length] + " "
+                    + SUFIXOS[banda / PREFIXOS.length % SUFIXOS.length] + " " + banda);
+                album.setGenero(GENEROS[aleatorio.nextInt(GENEROS.length)]);
+                album.setAno(1950 + aleatorio.nextInt(75));
+                album.setPreco(BigDecimal.valueOf(990 + aleatorio.nextInt(29_000), 2));
+                lote.add(album);
+            }
+            albumService.salvarLote(lote);
+        }
+    }
+
+    private static String texto(List<AlbumDTO> albuns) {
+        StringBuilder texto = new StringBuilder();
+        for (AlbumDTO album : albuns) {
+            texto.append(album.getId()).append('|').append(album.getTitulo()).append('|').append(album.getBanda())
+                .append('|').append(album.getAno()).append('|').append(album.getGenero())
+                .append('|').append(album.getPreco().toPlainString()).append('\n');
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,295 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.LabProgramacaoApplication;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark do modo de execução: threads de plataforma do Tomcat vs virtual threads
+ * (spring.threads.virtual.enabled), sob a mesma carga concorrente.
+ *
+ * Executar com: mvn test -Pbenchmark -Dtest=ExecucaoVirtualBenchmarkTest
+ *
+ * A aplicação sobe duas vezes com servidor HTTP real (porta aleatória) e a
+ * mesma configuração, mudando apenas o modo de execução:
+ * - 50 threads no Tomcat (modo plataforma) e 10 conexões no pool (ambos os modos)
+ * - cada comando JDBC espera 20 ms antes de executar, simulando a ida e volta
+ *   ao MySQL pela rede (o H2 em memória responde em microssegundos)
+ *
+ * Carga: 150 clientes simultâneos, 80% GET /api/albuns/{id} de álbuns já em
+ * cache (não usam o banco) e 20% listagens filtradas (sempre vão ao banco).
+ *
+ * O número de clientes é moderado de propósito: com CPU de sobra o gargalo é a
+ * espera pelo banco, que é o cenário que o modo virtual resolve. Com CPU
+ * saturada (cliente e servidor dividem a mesma máquina) os dois modos empatam.
+ *
+ * Durante o modo virtual um JFR (jdk.VirtualThreadPinned) conta as virtual
+ * threads presas à thread de plataforma em código da aplicação; o esperado é zero.
+ */
+@Tag("benchmark")
+class ExecucaoVirtualBenchmarkTest {
+
+    private static final int CLIENTES = 150;
+    private static final int ALBUNS = 2_000;
+    private static final int ALBUNS_QUENTES = 50;
+    private static final int THREADS_TOMCAT = 50;
+    private static final int CONEXOES_BANCO = 10;
+    private static final long LATENCIA_JDBC_MS = 20;
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(3);
+    private static final Duration MEDICAO = Duration.ofSeconds(10);
+
+    /**
+     * Resultado de um modo de execução.
+     */
+    private record Resultado(String modo, long requisicoes, double porSegundo,
+                             long p50CacheMs, long p99CacheMs, long p50BancoMs, long p99BancoMs,
+                             long erros, long pinagens) {
+    }
+
+    @Test
+    void compararThreadsDePlataformaComVirtuais() throws Exception {
+        Resultado plataforma = executar(false);
+        Resultado virtual = executar(true);
+
+        System.out.printf("%n=== Modo de execução: %d clientes, %d threads Tomcat, %d conexões, JDBC +%d ms ===%n",
+            CLIENTES, THREADS_TOMCAT, CONEXOES_BANCO, LATENCIA_JDBC_MS);
+        System.out.printf("%-11s %9s %9s %10s %10s %10s %10s %6s %9s%n",
+            "modo", "req", "req/s", "p50 cache", "p99 cache", "p50 banco", "p99 banco", "erros", "pinagens");
+        for (Resultado r : List.of(plataforma, virtual)) {
+            System.out.printf("%-11s %9d %9.0f %8d ms %8d ms %8d ms %8d ms %6d %9d%n",
+                r.modo(), r.requisicoes(), r.porSegundo(), r.p50CacheMs(), r.p99CacheMs(),
+                r.p50BancoMs(), r.p99BancoMs(), r.erros(), r.pinagens());
+        }
+
+        assertEquals(0, virtual.pinagens(), "Virtual threads presas (pinned) em código da aplicação");
+    }
+
+    private Resultado executar(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto =
+                 new SpringApplicationBuilder(LabProgramacaoApplication.class, LatenciaJdbc.class)
+                     .profiles("benchmark")
+                     // Argumentos de linha de comando: têm precedência sobre o application.properties
+                     // (.properties() do builder só define valores padrão, que o arquivo sobrescreve)
+                     .run(
+                         "--server.port=0",
+                         "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                         "--server.tomcat.threads.max=" + THREADS_TOMCAT,
+                         "--spring.datasource.hikari.maximum-pool-size=" + CONEXOES_BANCO,
+                         "--spring.datasource.hikari.connection-timeout=30000");
+             RecordingStream jfr = new RecordingStream()) {
+
+            AtomicLong pinagens = new AtomicLong();
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            jfr.onEvent("jdk.VirtualThreadPinned", evento -> {
+                if (evento.getStackTrace() != null && evento.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .anyMatch(metodo -> metodo.getType().getName().startsWith("com.exercicioPratico"))) {
+                    pinagens.incrementAndGet();
+                }
+            });
+
+            assertEquals(threadsVirtuais,
+                contexto.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class));
+
+            List<Long> ids = popular(contexto.getBean(AlbumService.class));
+            int porta = contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String base = "http://localhost:" + porta + "/api/albuns";
+
+            HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+            // Coloca os álbuns quentes no cache de respostas
+            for (Long id : ids.subList(0, ALBUNS_QUENTES)) {
+                cliente.send(HttpRequest.newBuilder(URI.create(base + "/" + id)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            }
+
+            carga(cliente, base, ids, AQUECIMENTO);
+            jfr.startAsync();
+            long inicio = System.nanoTime();
+            Amostras amostras = carga(cliente, base, ids, MEDICAO);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            jfr.stop();
+
+            long[] cache = amostras.cache();
+            long[] banco = amostras.banco();
+            return new Resultado(threadsVirtuais ? "virtual" : "plataforma",
+                cache.length + banco.length, (cache.length + banco.length) / segundos,
+                percentil(cache, 0.50), percentil(cache, 0.99),
+                percentil(banco, 0.50), percentil(banco, 0.99),
+                amostras.erros(), threadsVirtuais ? pinagens.get() : 0);
+        }
+    }
+
+    private List<Long> popular(AlbumService albumService) {
+        List<AlbumModel> albuns = new ArrayList<>();
+        for (int i = 0; i < ALBUNS; i++) {
+            AlbumModel album = new AlbumModel();
+            album.setTitulo("Álbum " + i);
+            album.setBanda("Banda " + (i % 200));
+            album.setAno(1960 + (i % 60));
+            album.setGenero(i % 2 == 0 ? "Rock" : "Metal");
+            album.setPreco(new BigDecimal("49.90"));
+            albuns.add(album);
+        }
+        return albumService.salvarLote(albuns).stream().map(AlbumModel::getId).toList();
+    }
+
+    /**
+     * Latências (em nanossegundos) de cada tipo de requisição.
+     */
+    private record Amostras(long[] cache, long[] banco, long erros) {
+    }
+
+    /**
+     * Cada cliente roda em uma virtual thread e envia requisições em sequência
+     * (uma de cada vez, como um app mobile) até o fim da duração.
+     */
+    private Amostras carga(HttpClient cliente, String base, List<Long> ids, Duration duracao) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        AtomicLong erros = new AtomicLong();
+        List<Future<LongStream.Builder[]>> clientes = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                clientes.add(executor.submit(() -> {
+                    LongStream.Builder cache = LongStream.builder();
+                    LongStream.Builder banco = LongStream.builder();
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        boolean usaBanco = aleatorio.nextInt(100) < 20;
+                        String url = usaBanco
+                            ? base + "?genero=" + (aleatorio.nextBoolean() ? "Rock" : "Metal")
+                                + "&anoMin=" + (1960 + aleatorio.nextInt(50)) + "&limit=20"
+                            : base + "/" + ids.get(aleatorio.nextInt(ALBUNS_QUENTES));
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(
+                                HttpRequest.newBuilder(URI.create(url)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        (usaBanco ? banco : cache).add(System.nanoTime() - inicio);
+                    }
+                    return new LongStream.Builder[] {cache, banco};
+                }));
+            }
+        }
+
+        LongStream cache = LongStream.empty();
+        LongStream banco = LongStream.empty();
+        for (Future<LongStream.Builder[]> futuro : clientes) {
+            LongStream.Builder[] latencias = futuro.get();
+            cache = LongStream.concat(cache, latencias[0].build());
+            banco = LongStream.concat(banco, latencias[1].build());
+        }
+        return new Amostras(cache.toArray(), banco.toArray(), erros.get());
+    }
+
+    private static long percentil(long[] latenciasNanos, double percentil) {
+        if (latenciasNanos.length == 0) {
+            return 0;
+        }
+        long[] ordenadas = latenciasNanos.clone();
+        Arrays.sort(ordenadas);
+        int posicao = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)] / 1_000_000;
+    }
+
+    /**
+     * Envolve o DataSource para que cada comando SQL espere LATENCIA_JDBC_MS antes
+     * de executar, como a ida e volta ao MySQL pela rede.
+     *
+     * Registrada como fonte adicional do SpringApplicationBuilder (não é um
+     * @Component, para não ser encontrada pelos outros testes).
+     */
+    public static class LatenciaJdbc implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return comLatencia(super.getConnection(), Connection.class);
+                }
+            };
+        }
+
+        /**
+         * Proxy que adiciona a latência em execute* e devolve statements também com latência.
+         */
+        private static <T> T comLatencia(T alvo, Class<T> tipo) {
+            Object proxy = Proxy.newProxyInstance(alvo.getClass().getClassLoader(), todasInterfaces(alvo.getClass()),
+                (instancia, metodo, argumentos) -> {
+                    if (metodo.getName().startsWith("execute")) {
+                        Thread.sleep(LATENCIA_JDBC_MS);
+                    }
+                    try {
+                        Object retorno = metodo.invoke(alvo, argumentos);
+                        if (retorno instanceof Statement statement) {
+                            return comLatencia(statement, Statement.class);
+                        }
+                        return retorno;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+            return tipo.cast(proxy);
+        }
+
+        private static Class<?>[] todasInterfaces(Class<?> classe) {
+            List<Class<?>> interfaces = new ArrayList<>();
+            for (Class<?> atual = classe; atual != null; atual = atual.getSuperclass()) {
+                for (Class<?> interfaceAtual : atual.getInterfaces()) {
+                    if (!interfaces.contains(interfaceAtual)) {
+                        interfaces.add(interfaceAtual);
+                    }
+                }
+            }
+            return interfaces.toArray(Class<?>[]::new);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumSpecifications;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de alocação das leituras: entidades gerenciadas + mapeamento
+ * (caminho anterior) vs projeção direta para AlbumDTO.
+ *
+ * Executar com: mvn test -Pbenchmark
+ * Mede bytes alocados por chamada na thread atual (com.sun.management.ThreadMXBean)
+ * e o tempo médio de cada caminho.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class LeituraProjecaoBenchmarkTest {
+
+    private static final int QUANTIDADE = 10_000;
+    private static final int REPETICOES = 30;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Test
+    void compararEntidadesComProjecaoDTO() {
+        albumRepository.deleteAllInBatch();
+        List<AlbumModel> albuns = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE; i++) {
+            AlbumModel album = new AlbumModel();
+            album.setTitulo("Álbum " + i);
+            album.setBanda("Banda " + (i % 500));
+            album.setAno(1960 + (i % 60));
+            album.setGenero("Rock");
+            album.setPreco(new BigDecimal("39.90"));
+            albuns.add(album);
+        }
+        albumService.salvarLote(albuns);
+
+        // Caminho anterior: entidades gerenciadas + cópia campo a campo para o DTO
+        Supplier<List<AlbumDTO>> entidades = () -> albumRepository.findAll(Sort.by("banda").ascending())
+            .stream().map(AlbumDTO::de).toList();
+        Supplier<List<AlbumDTO>> projecao = () -> albumService.listar();
+
+        assertEquals(entidades.get().size(), projecao.get().size());
+
+        medir("listar() entidades + mapeamento", entidades);
+        medir("listar() projeção AlbumDTO", projecao);
+        medir("busca por banda entidades", () -> albumRepository.findByBandaContainingIgnoreCase("nda 1")
+            .stream().map(AlbumDTO::de).toList());
+        medir("busca por banda projeção", () -> albumRepository.buscarDTOsPorBanda(AlbumSpecifications.padraoContem("nda 1")));
+    }
+
+    private void medir(String nome, Supplier<?> leitura) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < REPETICOES; i++) {
+            leitura.get(); // aquecimento
+        }
+
+        long bytesAntes = threads.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            leitura.get();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesAntes;
+
+        System.out.printf("%-34s %10.2f MB/chamada | %8.3f ms/chamada%n",
+            nome, bytes / 1e6 / REPETICOES, nanos / 1e6 / REPETICOES);
+    }
+}
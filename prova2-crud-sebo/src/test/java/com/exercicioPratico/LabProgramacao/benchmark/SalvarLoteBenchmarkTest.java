@@ -0,0 +1,84 @@
+package com.exercicioPratico.LabProgramacao.benchmark;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de criação de álbuns: salvar() um a um vs salvarLote().
+ *
+ * Executar com: mvn test -Pbenchmark
+ * O resultado (linhas por segundo de cada caminho) é impresso no console.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("benchmark")
+class SalvarLoteBenchmarkTest {
+
+    private static final int QUANTIDADE = 5_000;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @BeforeEach
+    void limparTabela() {
+        albumRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compararSalvarUmAUmComSalvarLote() {
+        // Aquecimento da JIT e do pool de conexões
+        inserirUmAUm(gerarAlbuns(500));
+        albumService.salvarLote(gerarAlbuns(500));
+        albumRepository.deleteAllInBatch();
+
+        long inicio = System.nanoTime();
+        inserirUmAUm(gerarAlbuns(QUANTIDADE));
+        double linhasPorSegundoUmAUm = QUANTIDADE / ((System.nanoTime() - inicio) / 1e9);
+
+        inicio = System.nanoTime();
+        albumService.salvarLote(gerarAlbuns(QUANTIDADE));
+        double linhasPorSegundoLote = QUANTIDADE / ((System.nanoTime() - inicio) / 1e9);
+
+        assertEquals(2L * QUANTIDADE, albumRepository.count());
+
+        System.out.printf("salvar() um a um: %,.0f linhas/s%n", linhasPorSegundoUmAUm);
+        System.out.printf("salvarLote():     %,.0f linhas/s (%.1fx)%n",
+            linhasPorSegundoLote, linhasPorSegundoLote / linhasPorSegundoUmAUm);
+    }
+
+    private void inserirUmAUm(List<AlbumModel> albuns) {
+        for (AlbumModel album : albuns) {
+            albumService.salvar(album);
+        }
+    }
+
+    private List<AlbumModel> gerarAlbuns(int quantidade) {
+        List<AlbumModel> albuns = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            AlbumModel album = new AlbumModel();
+            album.setTitulo("Álbum " + i);
+            album.setBanda("Banda " + (i % 200));
+            album.setAno(1960 + (i % 60));
+            album.setGenero(i % 2 == 0 ? "Rock" : "Metal");
+            album.setPreco(new BigDecimal("49.90"));
+            albuns.add(album);
+        }
+        return albuns;
+    }
+}
@@ -0,0 +1,128 @@
+package com.exercicioPratico.LabProgramacao.busca;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbunsJpa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Busca por banda pelo índice de trigramas com um H2 em memória no lugar do
+ * MySQL: eventos fora de ordem, entradas desatualizadas do índice (escrita
+ * sem evento, como a de outra instância) e a ordem do resultado nos dois
+ * caminhos (índice e LIKE).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:indice;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class IndiceBuscaAlbumTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ConsultaAlbunsJpa consultaJpa;
+
+    @Autowired
+    private IndiceBuscaAlbum indice;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limparCatalogo() {
+        albumRepository.deleteAllInBatch();
+        indice.reconstruir();
+    }
+
+    @Test
+    void eventoAtrasadoNaoVoltaABandaAntiga() {
+        AlbumModel salvo = albumService.salvar(novoAlbum("Álbum", "Iron Maiden"));
+        long sequencia = salvo.getSequenciaAlteracao();
+
+        // Duas trocas de banda do mesmo álbum entregues na ordem inversa à dos commits
+        indice.aoAlterarAlbuns(AlbunsAlteradosEvent.de(
+            new AlbunsAlteradosEvent.Alteracao(salvo.getId(), "Black Sabbath", "Os Mutantes", sequencia + 2)));
+        indice.aoAlterarAlbuns(AlbunsAlteradosEvent.de(
+            new AlbunsAlteradosEvent.Alteracao(salvo.getId(), "Iron Maiden", "Black Sabbath", sequencia + 1)));
+
+        assertEquals(List.of(salvo.getId()), ids(indice.buscarPorBanda("mutantes")));
+        assertEquals(0, indice.buscarPorBanda("sabbath").length);
+    }
+
+    @Test
+    void entradaDesatualizadaNaoEntraNoResultado() {
+        AlbumModel salvo = albumService.salvar(novoAlbum("Álbum", "Iron Maiden"));
+        // Escrita sem AlbunsAlteradosEvent: o índice ainda guarda "iron maiden"
+        jdbcTemplate.update("UPDATE albuns SET banda = 'Os Mutantes', banda_normalizada = 'os mutantes' WHERE id = ?",
+            salvo.getId());
+
+        assertEquals(List.of(salvo.getId()), ids(indice.buscarPorBanda("maiden")));
+        assertTrue(consultaJpa.buscarPorBanda("maiden").isEmpty());
+        assertTrue(consultaJpa.buscarPorBanda("mutantes").isEmpty());
+
+        // A reconstrução (periódica) corrige o índice
+        indice.reconstruir();
+        assertEquals(List.of(salvo.getId()),
+            consultaJpa.buscarPorBanda("mutantes").stream().map(AlbumDTO::getId).toList());
+    }
+
+    @Test
+    void resultadoEmOrdemDeIdNosDoisCaminhos() {
+        // Bandas fora da ordem dos IDs: "Zé" é gravada antes de "Arnaldo"
+        List<AlbumModel> poucos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            poucos.add(novoAlbum("Álbum " + i, i % 2 == 0 ? "Zé Ramalho e Banda" : "Arnaldo e Banda"));
+        }
+        albumService.salvarLote(poucos);
+        assertOrdenadoPorId(consultaJpa.buscarPorBanda("banda"), 10);
+
+        // Acima do limite de IDs do índice a busca vai para o LIKE do banco
+        List<AlbumModel> muitos = new ArrayList<>();
+        for (int i = 0; i < 2100; i++) {
+            muitos.add(novoAlbum("Álbum " + i, i % 2 == 0 ? "Zé Ramalho e Banda" : "Arnaldo e Banda"));
+        }
+        albumService.salvarLote(muitos);
+        assertOrdenadoPorId(consultaJpa.buscarPorBanda("banda"), 2110);
+    }
+
+    private static void assertOrdenadoPorId(List<AlbumDTO> albuns, int quantidade) {
+        List<Long> ids = albuns.stream().map(AlbumDTO::getId).toList();
+        assertEquals(quantidade, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    private static List<Long> ids(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero("Rock");
+        album.setAno(1980);
+        album.setPreco(new BigDecimal("40.00"));
+        return album;
+    }
+}
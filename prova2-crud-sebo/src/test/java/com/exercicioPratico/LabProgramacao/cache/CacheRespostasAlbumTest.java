@@ -0,0 +1,144 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import com.exercicioPratico.LabProgramacao.serializacao.FormatoResposta;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carregamento único (single-flight) do cache de respostas: requisições
+ * iguais e simultâneas compartilham uma única consulta e serialização.
+ * Também confere a invalidação das buscas por banda, que ignora acentos, e
+ * o descarte das listas quando a versão da coleção muda sem evento local.
+ */
+class CacheRespostasAlbumTest {
+
+    private static final int REQUISICOES = 20;
+    private static final String VERSAO = "\"c-1\"";
+
+    private final CacheRespostasAlbum cache =
+        new CacheRespostasAlbum(1000, Duration.ofSeconds(60), new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newFixedThreadPool(REQUISICOES);
+
+    @Test
+    void buscasEquivalentesSimultaneasCompartilhamUmCarregamento() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger carregamentos = new AtomicInteger();
+        Supplier<RespostaCacheada> carregador = () -> {
+            carregamentos.incrementAndGet();
+            aguardar(liberar);
+            return RespostaCacheada.semValidadores("[]".getBytes(StandardCharsets.UTF_8));
+        };
+
+        // Mesma busca escrita de formas diferentes (maiúsculas e espaços)
+        List<String> termos = List.of("Iron Maiden", "  iron   MAIDEN ", "iron maiden", "IRON\tMaiden");
+        List<Future<RespostaCacheada>> respostas = new ArrayList<>();
+        for (int i = 0; i < REQUISICOES; i++) {
+            String termo = termos.get(i % termos.size());
+            respostas.add(executor.submit(() ->
+                cache.obterBuscaPorBanda(termo, FormatoResposta.JSON, VERSAO, carregador)));
+        }
+        esperarCoalescidas(REQUISICOES - 1);
+        liberar.countDown();
+
+        RespostaCacheada primeira = respostas.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<RespostaCacheada> resposta : respostas) {
+            assertSame(primeira, resposta.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, carregamentos.get());
+        assertEquals(1, cache.estatisticas().faltas());
+        assertEquals(REQUISICOES - 1, cache.estatisticas().coalescidas());
+        executor.shutdown();
+    }
+
+    @Test
+    void escritaDuranteOCarregamentoNaoEntregaRespostaAntiga() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<RespostaCacheada> antiga = executor.submit(() -> cache.obterAlbum(1L, FormatoResposta.JSON, () -> {
+            aguardar(liberar);
+            throw new RuntimeException("album não encontrado com id: 1");
+        }));
+        Future<RespostaCacheada> esperando = executor.submit(() -> cache.obterAlbum(1L, FormatoResposta.JSON, () -> {
+            throw new AssertionError("deveria esperar o carregamento em andamento");
+        }));
+        esperarCoalescidas(1);
+
+        // Depois da escrita, a mesma chave é carregada de novo em vez de esperar a leitura antiga
+        cache.aoAlterarAlbuns(AlbunsAlteradosEvent.de(new AlbunsAlteradosEvent.Alteracao(1L, null, "Iron Maiden", 1L)));
+        RespostaCacheada nova = RespostaCacheada.semValidadores(new byte[] {1});
+        assertSame(nova, cache.obterAlbum(1L, FormatoResposta.JSON, () -> nova));
+
+        // A falha do carregamento chega a quem esperava por ele
+        liberar.countDown();
+        assertTrue(assertThrows(Exception.class, () -> antiga.get(5, TimeUnit.SECONDS)).getCause()
+            .getMessage().contains("não encontrado"));
+        assertTrue(assertThrows(Exception.class, () -> esperando.get(5, TimeUnit.SECONDS)).getCause()
+            .getMessage().contains("não encontrado"));
+        executor.shutdown();
+    }
+
+    @Test
+    void atualizarBandaAcentuadaRemoveBuscaSemAcento() {
+        RespostaCacheada antiga = RespostaCacheada.semValidadores(new byte[] {1});
+        assertSame(antiga, cache.obterBuscaPorBanda("motor", FormatoResposta.JSON, VERSAO, () -> antiga));
+        // Mesma busca com acento: a busca ignora acentos, então usa a mesma entrada
+        assertSame(antiga, cache.obterBuscaPorBanda("Mötor", FormatoResposta.JSON, VERSAO, () -> {
+            throw new AssertionError("deveria usar a entrada da busca sem acento");
+        }));
+
+        cache.aoAlterarAlbuns(AlbunsAlteradosEvent.de(
+            new AlbunsAlteradosEvent.Alteracao(7L, "Motörhead", "Motörhead Live", 2L)));
+
+        RespostaCacheada nova = RespostaCacheada.semValidadores(new byte[] {2});
+        assertSame(nova, cache.obterBuscaPorBanda("motor", FormatoResposta.JSON, VERSAO, () -> nova));
+        executor.shutdown();
+    }
+
+    @Test
+    void escritaDeOutraInstanciaRecarregaLista() {
+        RespostaCacheada antiga = RespostaCacheada.semValidadores(new byte[] {1});
+        assertSame(antiga, cache.obterLista(FormatoResposta.JSON, VERSAO, () -> antiga));
+        assertSame(antiga, cache.obterLista(FormatoResposta.JSON, VERSAO, () -> {
+            throw new AssertionError("deveria usar a entrada da mesma versão");
+        }));
+
+        // Nenhum AlbunsAlteradosEvent aqui: só a versão lida no banco mudou
+        RespostaCacheada nova = RespostaCacheada.semValidadores(new byte[] {2});
+        assertSame(nova, cache.obterLista(FormatoResposta.JSON, "\"c-2\"", () -> nova));
+        assertEquals(1, cache.estatisticas().remocoesPorVersao());
+        executor.shutdown();
+    }
+
+    private void esperarCoalescidas(long quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.estatisticas().coalescidas() < quantidade && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(quantidade, cache.estatisticas().coalescidas());
+    }
+
+    private static void aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.exercicioPratico.LabProgramacao.cache;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET condicional das listagens (GET /api/albuns) com um H2 em memória no
+ * lugar do MySQL: 304 com If-None-Match e If-Modified-Since, e ETag novo
+ * depois de uma escrita desta instância ou de outra (sem evento local).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:versao;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class VersaoCatalogoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private AlteracoesRepository alteracoes;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void listaRespondeNaoModificadoAteAProximaEscrita() throws Exception {
+        albumService.salvar(novoAlbum("Killers", "Iron Maiden"));
+        MvcResult primeira = mockMvc.perform(get("/api/albuns"))
+            .andExpect(status().isOk())
+            .andReturn();
+        String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+        String ultimaModificacao = primeira.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertTrue(etag.startsWith("W/\""), etag);
+        assertNotNull(ultimaModificacao);
+
+        mockMvc.perform(get("/api/albuns").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/albuns").header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacao))
+            .andExpect(status().isNotModified());
+        // Busca por banda e filtros usam a mesma versão
+        mockMvc.perform(get("/api/albuns").param("banda", "maiden").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        albumService.salvar(novoAlbum("Powerslave", "Iron Maiden"));
+        String depoisDaEscrita = mockMvc.perform(get("/api/albuns").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Powerslave")))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, depoisDaEscrita);
+    }
+
+    @Test
+    void escritaDeOutraInstanciaMudaOEtagECarregaALista() throws Exception {
+        albumService.salvar(novoAlbum("Tropicália", "Os Mutantes"));
+        String etag = mockMvc.perform(get("/api/albuns"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Escrita pelo repositório, sem AlbumService: nenhum AlbunsAlteradosEvent nesta
+        // instância, como quando outra instância da aplicação grava o álbum
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            AlbumModel album = novoAlbum("A Divina Comédia", "Os Mutantes");
+            album.setSequenciaAlteracao(alteracoes.proxima());
+            albumRepository.save(album);
+        });
+
+        // A lista guardada no cache era da versão anterior: é lida de novo
+        MvcResult depois = mockMvc.perform(get("/api/albuns").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Divina")))
+            .andReturn();
+        assertNotEquals(etag, depois.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void outraInstanciaCalculaAMesmaVersao() {
+        albumService.salvar(novoAlbum("Nevermind", "Nirvana"));
+        // Uma VersaoCatalogo nova faz o papel de outra instância (ou desta depois de um restart)
+        VersaoCatalogo outraInstancia = new VersaoCatalogo(alteracoes, Duration.ofMinutes(1));
+        assertEquals(versaoCatalogo.atual(), outraInstancia.atual());
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero("Rock");
+        album.setAno(1970);
+        album.setPreco(new BigDecimal("60.00"));
+        return album;
+    }
+}
@@ -0,0 +1,140 @@
+package com.exercicioPratico.LabProgramacao.capas;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/albuns/{id}/cover com um H2 em memória no lugar do MySQL e as
+ * capas em target/capas-teste: cabeçalhos de cache, GET condicional, Range
+ * e os atributos de sendfile entregues ao Tomcat.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:capas;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "albuns.capas.diretorio=target/capas-teste/capas"
+})
+@AutoConfigureMockMvc
+class EnvioCapaTest {
+
+    private static final Path RAIZ = Path.of("target/capas-teste");
+    private static final byte[] IMAGEM = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String url;
+
+    @BeforeEach
+    void criarCapa() throws IOException {
+        Files.createDirectories(RAIZ.resolve("capas/maiden"));
+        Files.write(RAIZ.resolve("capas/maiden/killers.jpg"), IMAGEM);
+        Files.write(RAIZ.resolve("fora.jpg"), IMAGEM);
+
+        AlbumModel album = new AlbumModel();
+        album.setTitulo("Killers");
+        album.setBanda("Iron Maiden");
+        album.setAno(1981);
+        album.setGenero("Metal");
+        album.setPreco(new BigDecimal("80.00"));
+        album.setCapa("maiden/killers.jpg");
+        url = "/api/albuns/" + albumService.salvar(album).getId() + "/cover";
+    }
+
+    @Test
+    void enviaACapaInteiraComCacheLongo() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=2592000, public"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(IMAGEM))
+            .andReturn();
+
+        String etag = resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("\""), etag);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void atendeUmaFaixaDeBytes() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(content().bytes("2345".getBytes(StandardCharsets.US_ASCII)));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        // Várias faixas ou If-Range de outra versão: a capa vai inteira
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1,4-5"))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(IMAGEM));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"antigo\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(IMAGEM));
+    }
+
+    @Test
+    void comSendfileOArquivoFicaParaOTomcat() throws Exception {
+        MvcResult resultado = mockMvc.perform(get(url)
+                .header(HttpHeaders.RANGE, "bytes=4-")
+                .requestAttr(EnvioCapa.SENDFILE_SUPORTADO, Boolean.TRUE))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+            .andExpect(request().attribute(EnvioCapa.SENDFILE_INICIO, 4L))
+            .andExpect(request().attribute(EnvioCapa.SENDFILE_FIM, 10L))
+            .andReturn();
+
+        assertEquals(0, resultado.getResponse().getContentAsByteArray().length);
+        assertEquals(RAIZ.resolve("capas/maiden/killers.jpg").toRealPath().toString(),
+            resultado.getRequest().getAttribute(EnvioCapa.SENDFILE_ARQUIVO));
+    }
+
+    @Test
+    void caminhoForaDoDiretorioDeCapasNaoEServido() throws Exception {
+        String id = url.split("/")[3];
+        jdbcTemplate.update("UPDATE albuns SET capa = '../fora.jpg' WHERE id = " + id);
+        mockMvc.perform(get(url)).andExpect(status().isNotFound());
+
+        jdbcTemplate.update("UPDATE albuns SET capa = NULL WHERE id = " + id);
+        mockMvc.perform(get(url)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,214 @@
+package com.exercicioPratico.LabProgramacao.colunar;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.estatisticas.EstatisticasCatalogo;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.AlbunsAlteradosEvent;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbuns;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbunsJpa;
+import com.exercicioPratico.LabProgramacao.service.CursorAlbum;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import com.exercicioPratico.LabProgramacao.service.PaginaAlbuns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Motor colunar (albuns.catalogo.motor=colunar) com um H2 em memória no lugar
+ * do MySQL: cada leitura em memória é comparada com a mesma leitura feita
+ * pelo banco (ConsultaAlbunsJpa) depois de escritas pelo AlbumService.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:colunar;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "albuns.catalogo.motor=colunar"
+})
+class CatalogoColunarTest {
+
+    private static final String[] BANDAS = {"Iron Maiden", "Os Mutantes", "Pink Floyd", "Black Sabbath", "Motörhead"};
+    private static final String[] GENEROS = {"Rock", "Metal", "MPB"};
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ConsultaAlbunsJpa consultaJpa;
+
+    @Autowired
+    private CatalogoColunar catalogo;
+
+    @Autowired
+    private EstatisticasCatalogo estatisticas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limparCatalogo() {
+        albumRepository.deleteAllInBatch();
+        catalogo.recarregar();
+    }
+
+    @Test
+    void escritasPelaApiAparecemNasLeiturasEmMemoria() {
+        List<AlbumModel> lote = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            lote.add(novoAlbum("Álbum " + i, BANDAS[i % BANDAS.length], GENEROS[i % GENEROS.length],
+                1960 + i, new BigDecimal("20.00").add(BigDecimal.valueOf(i))));
+        }
+        albumService.salvarLote(lote);
+        assertTrue(catalogo.pronto());
+        assertEquals(40, catalogo.tamanho());
+        conferir();
+
+        // Criação, atualização completa trocando a banda (muda a ordem) e PATCH sem banda
+        AlbumModel novo = albumService.salvar(novoAlbum("Novo", "Arnaldo Baptista", "MPB", 1974, new BigDecimal("45.50")));
+        AlbumModel trocado = lote.get(3);
+        trocado.setBanda("Zé Ramalho");
+        albumService.salvar(trocado);
+        AtualizacaoParcialDTO patch = new AtualizacaoParcialDTO();
+        patch.setTitulo("Renomeado");
+        patch.setPreco(new BigDecimal("12.34"));
+        albumService.atualizarParcial(lote.get(7).getId(), patch);
+        conferir();
+
+        // PATCH só da banda, exclusão, reajuste e exclusão em massa
+        AtualizacaoParcialDTO outraBanda = new AtualizacaoParcialDTO();
+        outraBanda.setBanda("Arnaldo Baptista");
+        albumService.atualizarParcial(lote.get(8).getId(), outraBanda);
+        albumService.excluir(novo.getId());
+        albumService.reajustarPrecos(new FiltroAlbuns(null, "Metal", null, null, null, null),
+            new BigDecimal("-10"), null, false);
+        albumService.excluirPorFiltro(new FiltroAlbuns("floyd", null, null, null, null, null));
+        assertEquals(albumRepository.count(), catalogo.tamanho());
+        conferir();
+    }
+
+    @Test
+    void paginasPorCursorIguaisAsDoBanco() {
+        List<AlbumModel> lote = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            lote.add(novoAlbum("Álbum " + i, BANDAS[i % 3], GENEROS[i % GENEROS.length], 1990 + i % 20,
+                new BigDecimal("30.00")));
+        }
+        albumService.salvarLote(lote);
+
+        for (FiltroAlbuns filtro : List.of(
+                new FiltroAlbuns(null, null, null, null, null, null),
+                new FiltroAlbuns("o", "rock", 1995, null, null, null))) {
+            CursorAlbum cursor = null;
+            int paginas = 0;
+            do {
+                PaginaAlbuns doBanco = consultaJpa.listarPagina(filtro, 7, cursor, true);
+                PaginaAlbuns emMemoria = catalogo.listarPagina(filtro, 7, cursor, true);
+                assertEquals(texto(doBanco.albuns()), texto(emMemoria.albuns()));
+                assertEquals(doBanco.proximoCursor(), emMemoria.proximoCursor());
+                assertEquals(doBanco.total(), emMemoria.total());
+                cursor = emMemoria.proximoCursor() != null ? CursorAlbum.decodificar(emMemoria.proximoCursor()) : null;
+                paginas++;
+            } while (cursor != null);
+            assertTrue(paginas > 1);
+        }
+    }
+
+    @Test
+    void albumAlteradoForaDaApiCorrigidoNaRecarga() {
+        AlbumModel salvo = albumService.salvar(novoAlbum("Álbum", "Iron Maiden", "Metal", 1982, new BigDecimal("80.00")));
+        jdbcTemplate.update("UPDATE albuns SET preco = ? WHERE id = ?", new BigDecimal("1.00"), salvo.getId());
+        assertNotEquals(texto(consultaJpa.listar()), texto(catalogo.listar()));
+
+        catalogo.recarregar();
+        assertEquals(texto(consultaJpa.listar()), texto(catalogo.listar()));
+    }
+
+    @Test
+    void eventoAtrasadoNaoSobrescreveEscritaMaisNova() {
+        AlbumModel salvo = albumService.salvar(novoAlbum("Álbum", "Iron Maiden", "Metal", 1982, new BigDecimal("80.00")));
+        estatisticas.reconciliar();
+        long sequencia = salvo.getSequenciaAlteracao();
+
+        // Duas escritas do mesmo álbum com os listeners chamados na ordem inversa à dos commits
+        AlbunsAlteradosEvent maisNova = AlbunsAlteradosEvent.de(new AlbunsAlteradosEvent.Alteracao(salvo.getId(),
+            AlbunsAlteradosEvent.Tipo.ATUALIZADO, null, null,
+            new AlbunsAlteradosEvent.Valores("Novo", "MPB", null, null), sequencia + 2));
+        AlbunsAlteradosEvent maisAntiga = AlbunsAlteradosEvent.de(new AlbunsAlteradosEvent.Alteracao(salvo.getId(),
+            AlbunsAlteradosEvent.Tipo.ATUALIZADO, null, null,
+            new AlbunsAlteradosEvent.Valores("Antigo", "Rock", null, null), sequencia + 1));
+        for (AlbunsAlteradosEvent evento : List.of(maisNova, maisAntiga)) {
+            catalogo.aoAlterarAlbuns(evento);
+            estatisticas.aoAlterarAlbuns(evento);
+        }
+
+        assertEquals(List.of(salvo.getId() + "|Novo|Iron Maiden|1982|MPB|80.00"), texto(catalogo.listar()));
+        assertEquals(Map.of("MPB", 1L), estatisticas.obter().getPorGenero());
+    }
+
+    /**
+     * Compara as leituras do motor colunar com as do banco.
+     */
+    private void conferir() {
+        List<FiltroAlbuns> filtros = List.of(
+            new FiltroAlbuns(null, null, null, null, null, null),
+            new FiltroAlbuns("in", null, null, null, null, null),
+            new FiltroAlbuns(null, "METAL", null, null, null, null),
+            new FiltroAlbuns(null, null, 1970, 1985, new BigDecimal("25.005"), new BigDecimal("50")));
+        for (FiltroAlbuns filtro : filtros) {
+            assertEquals(texto(consultaJpa.filtrar(filtro)), texto(catalogo.filtrar(filtro)), filtro.toString());
+            assertFacetas(consultaJpa.contarFacetas(filtro), catalogo.contarFacetas(filtro));
+        }
+        for (String termo : List.of("maiden", "motor", "a", "ramalho")) {
+            assertEquals(texto(consultaJpa.buscarPorBanda(termo)), texto(catalogo.buscarPorBanda(termo)), termo);
+        }
+        assertEquals(exportados(consultaJpa), exportados(catalogo));
+        // O AlbumService lê do catálogo colunar
+        assertEquals(texto(catalogo.filtrar(filtros.get(0))), texto(albumService.filtrar(filtros.get(0))));
+    }
+
+    private static void assertFacetas(FacetasDTO esperadas, FacetasDTO obtidas) {
+        assertEquals(esperadas.getPorGenero(), obtidas.getPorGenero());
+        assertEquals(esperadas.getPorDecada(), obtidas.getPorDecada());
+    }
+
+    private static List<String> exportados(ConsultaAlbuns consulta) {
+        List<AlbumDTO> albuns = new ArrayList<>();
+        consulta.exportar(albuns::add);
+        return texto(albuns);
+    }
+
+    private static List<String> texto(List<AlbumDTO> albuns) {
+        return albuns.stream()
+            .map(a -> a.getId() + "|" + a.getTitulo() + "|" + a.getBanda() + "|" + a.getAno() + "|"
+                + a.getGenero() + "|" + a.getPreco().toPlainString())
+            .toList();
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero, int ano, BigDecimal preco) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(ano);
+        album.setPreco(preco);
+        return album;
+    }
+}
@@ -0,0 +1,71 @@
+package com.exercicioPratico.LabProgramacao.concorrencia;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ajuste do limite pela latência e reserva para as requisições prioritárias.
+ */
+class LimiteAdaptativoTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void cresceComLatenciaEstavelEEncolheQuandoELaSobe() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 4, 200);
+
+        // Pouco uso: a latência baixa não faz o limite crescer
+        amostras(limite, 100, MS, 2);
+        assertEquals(20, limite.limite());
+
+        // Limite ocupado e latência estável: cresce
+        amostras(limite, 100, MS, -1);
+        assertTrue(limite.limite() > 40, "limite " + limite.limite());
+
+        // Latência 10x maior (requisições esperando): encolhe para perto do mínimo
+        amostras(limite, 100, 10 * MS, -1);
+        assertTrue(limite.limite() <= 8, "limite " + limite.limite());
+
+        // A latência volta ao normal: o limite volta a crescer
+        amostras(limite, 100, MS, -1);
+        assertTrue(limite.limite() > 40, "limite " + limite.limite());
+
+        // Falhas reduzem o limite, sem passar do mínimo
+        LimiteAdaptativo comFalhas = new LimiteAdaptativo(100, 4, 200);
+        comFalhas.registrarFalha();
+        assertEquals(90, comFalhas.limite());
+        for (int i = 0; i < 100; i++) {
+            comFalhas.registrarFalha();
+        }
+        assertEquals(4, comFalhas.limite());
+    }
+
+    @Test
+    void reservaParaPrioritarias() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 4, 200);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limite.tentarAdquirir(0.8) > 0);
+        }
+        // Normais recusadas a partir de 80% do limite; prioritárias até o limite inteiro
+        assertEquals(0, limite.tentarAdquirir(0.8));
+        assertEquals(9, limite.tentarAdquirir(1.0));
+        assertEquals(10, limite.tentarAdquirir(1.0));
+        assertEquals(0, limite.tentarAdquirir(1.0));
+
+        limite.liberar();
+        assertEquals(9, limite.emAndamento());
+        assertEquals(10, limite.tentarAdquirir(1.0));
+    }
+
+    /**
+     * Registra amostras de mesma latência; emAndamento -1 = limite todo ocupado.
+     */
+    private static void amostras(LimiteAdaptativo limite, int quantidade, long latencia, int emAndamento) {
+        for (int i = 0; i < quantidade; i++) {
+            limite.registrarSucesso(latencia, emAndamento < 0 ? limite.limite() : emAndamento);
+        }
+    }
+}
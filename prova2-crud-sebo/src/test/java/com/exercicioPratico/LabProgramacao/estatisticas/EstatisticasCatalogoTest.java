@@ -0,0 +1,153 @@
+package com.exercicioPratico.LabProgramacao.estatisticas;
+
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.dto.EstatisticasDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Estatísticas do catálogo (GET /api/albuns/stats) com um H2 em memória no
+ * lugar do MySQL: cada escrita pela API troca os valores antigos do álbum
+ * pelos novos, e a reconciliação corrige escritas feitas direto no banco.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:estatisticas;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class EstatisticasCatalogoTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private EstatisticasCatalogo estatisticas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<AlbumModel> salvos;
+
+    @BeforeEach
+    void salvarCatalogo() {
+        albumRepository.deleteAllInBatch();
+        estatisticas.reconciliar();
+        salvos = albumService.salvarLote(List.of(
+            novoAlbum("Killers", "Iron Maiden", "Metal", 1981, "80.00"),
+            novoAlbum("Powerslave", "Iron Maiden", "Metal", 1984, "120.00"),
+            novoAlbum("Tropicalia", "Os Mutantes", "MPB", 1968, "50.00")));
+    }
+
+    @Test
+    void escritasSomamOsValoresNovos() {
+        EstatisticasDTO atual = estatisticas.obter();
+        assertEquals(3, atual.getTotal());
+        assertEquals(Map.of("Metal", 2L, "MPB", 1L), atual.getPorGenero());
+        assertEquals(Map.of(1960, 1L, 1980, 2L), atual.getPorDecada());
+        assertPrecos(atual, "50.00", "83.33", "120.00");
+    }
+
+    @Test
+    void atualizacaoDescontaOsValoresAntigos() {
+        // PUT: o álbum de MPB vira Rock de 1991 por 200.00
+        AlbumModel tropicalia = novoAlbum("Tropicalia", "Os Mutantes", "Rock", 1991, "200.00");
+        tropicalia.setId(salvos.get(2).getId());
+        albumService.salvar(tropicalia);
+
+        EstatisticasDTO depoisDoPut = estatisticas.obter();
+        assertEquals(3, depoisDoPut.getTotal());
+        assertEquals(Map.of("Metal", 2L, "Rock", 1L), depoisDoPut.getPorGenero());
+        assertEquals(Map.of(1980, 2L, 1990, 1L), depoisDoPut.getPorDecada());
+        assertPrecos(depoisDoPut, "80.00", "133.33", "200.00");
+
+        // PATCH só do preço: gênero e ano do álbum continuam contando como antes
+        AtualizacaoParcialDTO preco = new AtualizacaoParcialDTO();
+        preco.setPreco(new BigDecimal("30.00"));
+        albumService.atualizarParcial(salvos.get(1).getId(), preco);
+
+        EstatisticasDTO depoisDoPatch = estatisticas.obter();
+        assertEquals(Map.of("Metal", 2L, "Rock", 1L), depoisDoPatch.getPorGenero());
+        assertPrecos(depoisDoPatch, "30.00", "103.33", "200.00");
+
+        // Reajuste em massa: só o preço dos álbuns de Metal muda
+        albumService.reajustarPrecos(new FiltroAlbuns(null, "Metal", null, null, null, null),
+            null, new BigDecimal("10.00"), false);
+        assertPrecos(estatisticas.obter(), "40.00", "110.00", "200.00");
+    }
+
+    @Test
+    void exclusaoDescontaOsValores() {
+        albumService.excluir(salvos.get(1).getId());
+
+        EstatisticasDTO depoisDaExclusao = estatisticas.obter();
+        assertEquals(2, depoisDaExclusao.getTotal());
+        assertEquals(Map.of("Metal", 1L, "MPB", 1L), depoisDaExclusao.getPorGenero());
+        assertEquals(Map.of(1960, 1L, 1980, 1L), depoisDaExclusao.getPorDecada());
+        assertPrecos(depoisDaExclusao, "50.00", "65.00", "80.00");
+
+        // Gêneros e décadas sem álbuns somem; catálogo vazio não tem preço
+        albumService.excluirPorFiltro(new FiltroAlbuns(null, "MPB", null, null, null, null));
+        assertEquals(Map.of("Metal", 1L), estatisticas.obter().getPorGenero());
+        albumService.excluir(salvos.get(0).getId());
+        EstatisticasDTO vazio = estatisticas.obter();
+        assertEquals(0, vazio.getTotal());
+        assertTrue(vazio.getPorGenero().isEmpty());
+        assertTrue(vazio.getPorDecada().isEmpty());
+        assertNull(vazio.getPreco());
+    }
+
+    @Test
+    void reconciliacaoCorrigeEscritasForaDaApi() {
+        // Direto no banco, sem AlbunsAlteradosEvent: as estatísticas não veem
+        jdbcTemplate.update("UPDATE albuns SET genero = 'Rock', preco = 500.00 WHERE id = ?", salvos.get(0).getId());
+        jdbcTemplate.update("DELETE FROM albuns WHERE id = ?", salvos.get(2).getId());
+        EstatisticasDTO antes = estatisticas.obter();
+        assertEquals(3, antes.getTotal());
+        assertEquals(Map.of("Metal", 2L, "MPB", 1L), antes.getPorGenero());
+
+        estatisticas.reconciliar();
+
+        EstatisticasDTO depois = estatisticas.obter();
+        assertEquals(2, depois.getTotal());
+        assertEquals(Map.of("Metal", 1L, "Rock", 1L), depois.getPorGenero());
+        assertEquals(Map.of(1980, 2L), depois.getPorDecada());
+        assertPrecos(depois, "120.00", "310.00", "500.00");
+        assertFalse(depois.getReconciliadoEm().isBefore(antes.getReconciliadoEm()));
+    }
+
+    private static void assertPrecos(EstatisticasDTO estatisticas, String minimo, String media, String maximo) {
+        assertEquals(new BigDecimal(minimo), estatisticas.getPreco().getMinimo());
+        assertEquals(new BigDecimal(media), estatisticas.getPreco().getMedia());
+        assertEquals(new BigDecimal(maximo), estatisticas.getPreco().getMaximo());
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero, int ano, String preco) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(ano);
+        album.setPreco(new BigDecimal(preco));
+        return album;
+    }
+}
@@ -0,0 +1,156 @@
+package com.exercicioPratico.LabProgramacao.repositories;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import com.exercicioPratico.LabProgramacao.service.ConsultaAlbunsJpa;
+import com.exercicioPratico.LabProgramacao.service.CorrespondenciaBanda;
+import com.exercicioPratico.LabProgramacao.service.CursorAlbum;
+import com.exercicioPratico.LabProgramacao.service.FiltroAlbuns;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Planos de execução das consultas que dependem dos índices criados pelas
+ * migrações (db/migration), com um H2 em memória no lugar do MySQL.
+ *
+ * Cada teste executa a consulta de verdade pelo repositório, captura o SQL
+ * gerado pelo Hibernate (ComandosCapturados) e roda EXPLAIN sobre ele. Se uma
+ * mudança na consulta (LOWER() de volta na coluna, curinga no início, ordem
+ * diferente da do índice) ou nas migrações fizer o banco voltar a percorrer
+ * a tabela inteira, o plano deixa de citar o índice e o teste falha.
+ *
+ * Os planos são os do H2; no MySQL os mesmos índices existem e o EXPLAIN
+ * correspondente mostra "type: ref" ou "range" com a mesma "key".
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:planos;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exercicioPratico.LabProgramacao.repositories.PlanosConsultaTest$ComandosCapturados"
+})
+class PlanosConsultaTest {
+
+    /**
+     * Guarda cada SQL preparado pelo Hibernate, sem alterá-lo.
+     */
+    public static class ComandosCapturados implements StatementInspector {
+
+        static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            COMANDOS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private ConsultaAlbunsJpa consultaJpa;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void popular() {
+        albumRepository.deleteAllInBatch();
+        List<AlbumModel> lote = new ArrayList<>();
+        for (String banda : List.of("Iron Maiden", "Iron Butterfly", "IRON MAIDEN", "Motörhead", "Os Mutantes")) {
+            for (int i = 0; i < 20; i++) {
+                AlbumModel album = new AlbumModel();
+                album.setTitulo("Álbum " + i);
+                album.setBanda(banda);
+                album.setAno(1970 + i);
+                album.setGenero("Rock");
+                album.setPreco(new BigDecimal("50.00"));
+                lote.add(album);
+            }
+        }
+        albumService.salvarLote(lote);
+        ComandosCapturados.COMANDOS.clear();
+    }
+
+    @Test
+    void buscaExataUsaOIndiceDaBandaNormalizada() {
+        List<AlbumDTO> albuns = albumRepository.buscarDTOsPorBandaIgual(AlbumModel.normalizarBanda("Iron Maiden"));
+
+        assertEquals(40, albuns.size());
+        String plano = explicar(unicoComando(), "iron maiden");
+        assertUsaIndice(plano, "IDX_ALBUNS_BANDA_NORMALIZADA: BANDA_NORMALIZADA = ?1");
+    }
+
+    @Test
+    void buscaPorPrefixoPercorreSoAFaixaDoIndice() {
+        String padrao = AlbumSpecifications.padraoPrefixo("Iron");
+        List<AlbumDTO> albuns = albumRepository.buscarDTOsPorInicioDaBanda(padrao);
+
+        assertEquals(60, albuns.size());
+        String plano = explicar(unicoComando(), padrao);
+        assertUsaIndice(plano, "IDX_ALBUNS_BANDA_NORMALIZADA: BANDA_NORMALIZADA >= 'iron'");
+    }
+
+    @Test
+    void buscaIgnoraMaiusculasEAcentos() {
+        assertEquals(20, albumService.buscarPorBanda("MOTORHEAD", CorrespondenciaBanda.EXATA).size());
+        assertEquals(20, albumService.buscarPorBanda("motö", CorrespondenciaBanda.PREFIXO).size());
+        assertEquals(20, albumService.buscarPorBanda("orhe", CorrespondenciaBanda.CONTEM).size());
+        assertTrue(albumService.buscarPorBanda("maiden", CorrespondenciaBanda.PREFIXO).isEmpty());
+    }
+
+    @Test
+    void paginasPorCursorLeemOIndiceJaOrdenado() {
+        consultaJpa.listarPagina(FiltroAlbuns.vazio(), 20, null, false);
+        String primeira = explicar(unicoComando(), 21);
+        assertUsaIndice(primeira, "IDX_ALBUNS_BANDA_ID");
+        assertTrue(primeira.contains("index sorted"), primeira);
+
+        ComandosCapturados.COMANDOS.clear();
+        consultaJpa.listarPagina(FiltroAlbuns.vazio(), 20, new CursorAlbum("Iron Maiden", 1L), false);
+        String seguinte = explicar(unicoComando(), "Iron Maiden", "Iron Maiden", 1L, 21);
+        assertUsaIndice(seguinte, "IDX_ALBUNS_BANDA_ID: BANDA >= ?1");
+        assertTrue(seguinte.contains("index sorted"), seguinte);
+    }
+
+    @Test
+    void alteracoesDesdeOTokenUsamOIndiceDaSequencia() {
+        albumRepository.buscarDTOsAlteradosEntre(1, 2);
+
+        String plano = explicar(unicoComando(), 1L, 2L);
+        assertUsaIndice(plano, "IDX_ALBUNS_SEQUENCIA_ALTERACAO: SEQUENCIA_ALTERACAO > ?1");
+    }
+
+    private static String unicoComando() {
+        assertEquals(1, ComandosCapturados.COMANDOS.size(), ComandosCapturados.COMANDOS::toString);
+        return ComandosCapturados.COMANDOS.get(0);
+    }
+
+    private String explicar(String sql, Object... parametros) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parametros));
+    }
+
+    private static void assertUsaIndice(String plano, String trecho) {
+        assertTrue(plano.contains("PUBLIC." + trecho), plano);
+        assertFalse(plano.contains("tableScan"), plano);
+    }
+}
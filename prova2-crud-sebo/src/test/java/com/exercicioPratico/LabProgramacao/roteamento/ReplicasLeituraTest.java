@@ -0,0 +1,137 @@
+package com.exercicioPratico.LabProgramacao.roteamento;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.service.AlbumService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento de leituras para réplicas, com bancos H2 em memória no lugar do
+ * MySQL: um primário e duas réplicas (mais uma terceira URL que nunca responde).
+ *
+ * Não há replicação entre os bancos H2; cada réplica recebe um álbum que só
+ * existe nela, e é isso que mostra de onde cada leitura veio.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primario;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "albuns.replicas.urls=" + ReplicasLeituraTest.REPLICA_1 + "," + ReplicasLeituraTest.REPLICA_2
+        + "," + ReplicasLeituraTest.REPLICA_FORA_DO_AR,
+    "albuns.replicas.janela-apos-escrita=" + ReplicasLeituraTest.JANELA_MS + "ms",
+    "albuns.replicas.tempo-maximo-conexao=250ms",
+    "albuns.replicas.quarentena=1m"
+})
+class ReplicasLeituraTest {
+
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:replica2;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    // IFEXISTS: o banco nunca é criado, então toda conexão falha
+    static final String REPLICA_FORA_DO_AR = "jdbc:h2:mem:replica3;IFEXISTS=TRUE";
+    static final long JANELA_MS = 300;
+
+    private static final long ID_REPLICA_1 = 1_000_001;
+    private static final long ID_REPLICA_2 = 1_000_002;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    @Qualifier("dataSourcePrimario")
+    private DataSource primario;
+
+    private final JdbcTemplate replica1 = new JdbcTemplate(new DriverManagerDataSource(REPLICA_1, "sa", ""));
+    private final JdbcTemplate replica2 = new JdbcTemplate(new DriverManagerDataSource(REPLICA_2, "sa", ""));
+
+    /**
+     * Copia a estrutura das tabelas do primário (criada pelas migrações) para as
+     * réplicas e coloca em cada uma um álbum que só ela tem.
+     */
+    @BeforeEach
+    void prepararReplicas() {
+        List<String> estrutura = new JdbcTemplate(primario).queryForList("SCRIPT NODATA", String.class);
+        for (JdbcTemplate replica : List.of(replica1, replica2)) {
+            replica.execute("DROP ALL OBJECTS");
+            estrutura.forEach(replica::execute);
+        }
+        inserir(replica1, ID_REPLICA_1, "Só na réplica 1");
+        inserir(replica2, ID_REPLICA_2, "Só na réplica 2");
+    }
+
+    @Test
+    void leiturasSomenteLeituraVaoParaAsReplicasEmRodizio() throws InterruptedException {
+        esperarJanela();
+
+        // Cada listar() é uma transação nova e pega a próxima réplica disponível
+        Set<String> bandas = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            albumService.listar().forEach(album -> bandas.add(album.getBanda()));
+        }
+        assertEquals(Set.of("Só na réplica 1", "Só na réplica 2"), bandas);
+    }
+
+    @Test
+    void escritasVaoParaOPrimarioELeiturasLogoAposFicamNele() throws InterruptedException {
+        AlbumModel salvo = albumService.salvar(novoAlbum("Gravado no primário"));
+
+        // Dentro da janela após a escrita: a leitura encontra o álbum no primário
+        AlbumDTO lido = albumService.buscarPorId(salvo.getId());
+        assertEquals("Gravado no primário", lido.getBanda());
+
+        // Passada a janela, a leitura volta para as réplicas, que não têm o álbum
+        esperarJanela();
+        assertThrows(RuntimeException.class, () -> albumService.buscarPorId(salvo.getId()));
+        assertEquals(1, new JdbcTemplate(primario).queryForObject(
+            "SELECT COUNT(*) FROM albuns WHERE id = ?", Integer.class, salvo.getId()));
+    }
+
+    @Test
+    void replicaForaDoArSaiDoRodizio() throws InterruptedException {
+        esperarJanela();
+
+        // A réplica 3 falha na primeira tentativa e fica de quarentena;
+        // nenhuma leitura falha nem cai no primário por causa dela
+        for (int i = 0; i < 9; i++) {
+            List<AlbumDTO> albuns = albumService.listar();
+            assertEquals(1, albuns.size());
+            assertTrue(albuns.get(0).getBanda().startsWith("Só na réplica"));
+        }
+    }
+
+    private void esperarJanela() throws InterruptedException {
+        Thread.sleep(JANELA_MS + 100);
+    }
+
+    private static void inserir(JdbcTemplate banco, long id, String banda) {
+        banco.update("INSERT INTO albuns (id, titulo, banda, banda_normalizada, ano, genero, preco, versao)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            id, "Álbum", banda, AlbumModel.normalizarBanda(banda), 2000, "Rock", new BigDecimal("50.00"), 0L);
+    }
+
+    private static AlbumModel novoAlbum(String banda) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo("Álbum");
+        album.setBanda(banda);
+        album.setAno(2000);
+        album.setGenero("Rock");
+        album.setPreco(new BigDecimal("50.00"));
+        return album;
+    }
+}
@@ -0,0 +1,161 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH e DELETE /api/albuns/{id} com um H2 em memória no lugar do MySQL:
+ * 204 ou 404 pela quantidade de linhas do UPDATE/DELETE direto, campos
+ * ausentes sem alteração, validação de cada campo enviado e as colunas que
+ * o @PreUpdate do AlbumModel manteria (banda_normalizada, versão, sequência).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:parcial;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class AtualizacaoParcialTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    private AlbumModel salvo;
+
+    @BeforeEach
+    void salvarAlbum() {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo("Killers");
+        album.setBanda("Iron Maiden");
+        album.setAno(1981);
+        album.setGenero("Metal");
+        album.setPreco(new BigDecimal("80.00"));
+        salvo = albumService.salvar(album);
+    }
+
+    @Test
+    void alteraSoOsCamposEnviados() throws Exception {
+        String etag = mockMvc.perform(get("/api/albuns/" + salvo.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/albuns/" + salvo.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"preco\": 79.90}"))
+            .andExpect(status().isNoContent());
+
+        AlbumModel atualizado = albumRepository.findById(salvo.getId()).orElseThrow();
+        assertEquals(new BigDecimal("79.90"), atualizado.getPreco());
+        assertEquals("Killers", atualizado.getTitulo());
+        assertEquals("Iron Maiden", atualizado.getBanda());
+        assertEquals(1981, atualizado.getAno());
+        assertEquals("Metal", atualizado.getGenero());
+        assertEquals("iron maiden", atualizado.getBandaNormalizada());
+
+        // O GET seguinte já traz a versão nova, com outro ETag
+        String etagDepois = mockMvc.perform(get("/api/albuns/" + salvo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.preco").value(79.90))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, etagDepois);
+    }
+
+    @Test
+    void updateDiretoMantemBandaNormalizadaVersaoESequencia() throws Exception {
+        mockMvc.perform(patch("/api/albuns/" + salvo.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banda\": \"  Os   MUTANTES \", \"ano\": 1968}"))
+            .andExpect(status().isNoContent());
+
+        AlbumModel atualizado = albumRepository.findById(salvo.getId()).orElseThrow();
+        assertEquals("  Os   MUTANTES ", atualizado.getBanda());
+        assertEquals(AlbumModel.normalizarBanda("  Os   MUTANTES "), atualizado.getBandaNormalizada());
+        assertEquals(1968, atualizado.getAno());
+        assertTrue(atualizado.getVersao() > salvo.getVersao());
+        assertTrue(atualizado.getSequenciaAlteracao() > salvo.getSequenciaAlteracao());
+        assertFalse(atualizado.getAtualizadoEm().isBefore(salvo.getAtualizadoEm()));
+    }
+
+    @Test
+    void cadaCampoEnviadoEValidado() throws Exception {
+        String longo = "x".repeat(151);
+        String[] invalidos = {
+            "{}",
+            "{\"titulo\": \"   \"}",
+            "{\"titulo\": \"" + longo + "\"}",
+            "{\"banda\": \"\"}",
+            "{\"banda\": \"" + longo + "\"}",
+            "{\"genero\": \" \"}",
+            "{\"ano\": 1800}",
+            "{\"preco\": 0}",
+            "{\"preco\": 1000}",
+            // Um campo inválido impede a gravação dos válidos
+            "{\"titulo\": \"Powerslave\", \"preco\": -1}"
+        };
+        for (String corpo : invalidos) {
+            mockMvc.perform(patch("/api/albuns/" + salvo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(corpo))
+                .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(patch("/api/albuns/" + salvo.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"titulo\": \"" + longo + "\"}"))
+            .andExpect(jsonPath("$.message", startsWith("titulo: ")));
+
+        AlbumModel atual = albumRepository.findById(salvo.getId()).orElseThrow();
+        assertEquals("Killers", atual.getTitulo());
+        assertEquals(new BigDecimal("80.00"), atual.getPreco());
+        assertEquals(salvo.getVersao(), atual.getVersao());
+    }
+
+    @Test
+    void idInexistenteResponde404() throws Exception {
+        mockMvc.perform(patch("/api/albuns/" + Long.MAX_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"preco\": 79.90}"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/albuns/" + Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void excluiUmaVezSo() throws Exception {
+        mockMvc.perform(delete("/api/albuns/" + salvo.getId()))
+            .andExpect(status().isNoContent());
+        assertFalse(albumRepository.existsById(salvo.getId()));
+
+        mockMvc.perform(delete("/api/albuns/" + salvo.getId()))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/albuns/" + salvo.getId()))
+            .andExpect(status().isNotFound());
+    }
+}
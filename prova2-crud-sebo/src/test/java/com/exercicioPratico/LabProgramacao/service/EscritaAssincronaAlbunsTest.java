@@ -0,0 +1,237 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.EscritaAssincronaDTO;
+import com.exercicioPratico.LabProgramacao.exceptions.ApiExceptionHandler;
+import com.exercicioPratico.LabProgramacao.exceptions.FilaEscritaCheiaException;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Criação assíncrona (write-behind) com um AlbumService falso no lugar do
+ * banco: 503 com a fila cheia, desligamento que grava tudo o que foi aceito,
+ * lote que falha gravado um a um e expiração dos status finalizados.
+ */
+class EscritaAssincronaAlbunsTest {
+
+    private static final String DUPLICADO = "Duplicado";
+
+    @Test
+    void filaCheiaRecusaNovasEscritas() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        AlbumServiceFalso servico = new AlbumServiceFalso(liberar);
+        EscritaAssincronaAlbuns escrita = novaEscrita(servico, 3, 1, Duration.ofMillis(10));
+        escrita.start();
+        try {
+            // O primeiro álbum segura a thread escritora; os próximos 3 enchem a fila
+            List<String> aceitos = new ArrayList<>();
+            aceitos.add(escrita.enfileirar(novoAlbum("Primeiro")));
+            assertTrue(servico.gravando.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                aceitos.add(escrita.enfileirar(novoAlbum("Na fila " + i)));
+            }
+
+            FilaEscritaCheiaException recusa =
+                assertThrows(FilaEscritaCheiaException.class, () -> escrita.enfileirar(novoAlbum("Recusado")));
+            for (String rastreio : aceitos) {
+                assertEquals("PENDENTE", escrita.status(rastreio).orElseThrow().getStatus());
+            }
+
+            ResponseEntity<Object> resposta = new ApiExceptionHandler().handleFilaEscritaCheia(recusa);
+            assertEquals(503, resposta.getStatusCode().value());
+            assertEquals("1", resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        } finally {
+            liberar.countDown();
+            escrita.stop();
+        }
+    }
+
+    @Test
+    void desligamentoGravaTodasAsEscritasAceitas() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        AlbumServiceFalso servico = new AlbumServiceFalso(liberar);
+        EscritaAssincronaAlbuns escrita = novaEscrita(servico, 8, 3, Duration.ofMillis(10));
+        escrita.start();
+
+        // Enche a fila com a thread escritora parada no primeiro lote
+        List<String> aceitos = new ArrayList<>();
+        aceitos.add(escrita.enfileirar(novoAlbum("Álbum 0")));
+        assertTrue(servico.gravando.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 8; i++) {
+            aceitos.add(escrita.enfileirar(novoAlbum("Álbum " + i)));
+        }
+        assertThrows(FilaEscritaCheiaException.class, () -> escrita.enfileirar(novoAlbum("Recusado")));
+
+        // O banco volta a responder enquanto o desligamento já espera a drenagem
+        Thread.ofVirtual().start(() -> {
+            dormir(100);
+            liberar.countDown();
+        });
+        escrita.stop();
+
+        assertFalse(escrita.isRunning());
+        Set<Long> albunsGravados = ConcurrentHashMap.newKeySet();
+        for (String rastreio : aceitos) {
+            EscritaAssincronaDTO status = escrita.status(rastreio).orElseThrow();
+            assertEquals("GRAVADO", status.getStatus(), rastreio);
+            assertNotNull(status.getAlbumId());
+            albunsGravados.add(status.getAlbumId());
+        }
+        assertEquals(servico.gravados, albunsGravados);
+        assertThrows(FilaEscritaCheiaException.class, () -> escrita.enfileirar(novoAlbum("Depois do stop")));
+    }
+
+    @Test
+    void loteComFalhaEGravadoUmAUm() {
+        AlbumServiceFalso servico = new AlbumServiceFalso(new CountDownLatch(0));
+        // Espera longa: os três álbuns entram no mesmo lote
+        EscritaAssincronaAlbuns escrita = novaEscrita(servico, 10, 3, Duration.ofSeconds(5));
+        escrita.start();
+        try {
+            String primeiro = escrita.enfileirar(novoAlbum("Killers"));
+            String duplicado = escrita.enfileirar(novoAlbum(DUPLICADO));
+            String terceiro = escrita.enfileirar(novoAlbum("Powerslave"));
+
+            assertEquals("GRAVADO", esperarFinalizado(escrita, primeiro).getStatus());
+            EscritaAssincronaDTO falha = esperarFinalizado(escrita, duplicado);
+            assertEquals("FALHOU", falha.getStatus());
+            assertTrue(falha.getMensagem().contains("Duplicate entry"), falha.getMensagem());
+            assertEquals("GRAVADO", esperarFinalizado(escrita, terceiro).getStatus());
+
+            // Uma tentativa do lote inteiro e depois cada álbum sozinho, sem os IDs do lote desfeito
+            assertEquals(List.of(3), servico.tentativasDeLote);
+            assertEquals(3, servico.gravacoesSozinhas.get());
+            assertEquals(2, servico.gravados.size());
+        } finally {
+            escrita.stop();
+        }
+    }
+
+    @Test
+    void statusFinalizadoExpiraDepoisDaRetencao() {
+        AlbumServiceFalso servico = new AlbumServiceFalso(new CountDownLatch(0));
+        EscritaAssincronaAlbuns escrita = novaEscrita(servico, 10, 1, Duration.ofMillis(10));
+        escrita.start();
+        String rastreio = escrita.enfileirar(novoAlbum("Killers"));
+        assertEquals("GRAVADO", esperarFinalizado(escrita, rastreio).getStatus());
+        escrita.stop();
+
+        // Retenção de 10 minutos: aos 5 o status continua disponível, aos 11 já expirou
+        long agora = System.nanoTime();
+        escrita.limparStatusAntigos(agora + TimeUnit.MINUTES.toNanos(5));
+        assertTrue(escrita.status(rastreio).isPresent());
+        escrita.limparStatusAntigos(agora + TimeUnit.MINUTES.toNanos(11));
+        assertTrue(escrita.status(rastreio).isEmpty());
+    }
+
+    private static EscritaAssincronaAlbuns novaEscrita(AlbumService servico, int capacidadeFila,
+                                                      int tamanhoLote, Duration esperaLote) {
+        return new EscritaAssincronaAlbuns(servico, new SimpleMeterRegistry(), capacidadeFila, tamanhoLote,
+            esperaLote, Duration.ofMinutes(10), Duration.ofSeconds(10));
+    }
+
+    private static EscritaAssincronaDTO esperarFinalizado(EscritaAssincronaAlbuns escrita, String rastreio) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            EscritaAssincronaDTO status = escrita.status(rastreio).orElseThrow();
+            if (!"PENDENTE".equals(status.getStatus())) {
+                return status;
+            }
+            dormir(10);
+        }
+        return fail("Escrita " + rastreio + " ainda pendente");
+    }
+
+    private static void dormir(long milissegundos) {
+        try {
+            Thread.sleep(milissegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AlbumModel novoAlbum(String titulo) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda("Iron Maiden");
+        album.setGenero("Metal");
+        album.setAno(1980);
+        album.setPreco(new BigDecimal("40.00"));
+        return album;
+    }
+
+    /**
+     * AlbumService sem banco: grava em memória, pode ficar parado até "liberar"
+     * e recusa álbuns com o título DUPLICADO como o MySQL recusaria uma chave repetida.
+     */
+    private static class AlbumServiceFalso extends AlbumService {
+
+        private final CountDownLatch liberar;
+        private final CountDownLatch gravando = new CountDownLatch(1);
+        private final AtomicLong proximoId = new AtomicLong();
+        private final List<Integer> tentativasDeLote = new CopyOnWriteArrayList<>();
+        private final AtomicLong gravacoesSozinhas = new AtomicLong();
+        private final Set<Long> gravados = ConcurrentHashMap.newKeySet();
+
+        AlbumServiceFalso(CountDownLatch liberar) {
+            super(null, null, null, null, null, null, null, 500, 10000, 1000, Duration.ofMinutes(1));
+            this.liberar = liberar;
+        }
+
+        @Override
+        public List<AlbumModel> salvarLote(List<AlbumModel> albuns) {
+            gravando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            tentativasDeLote.add(albuns.size());
+            // Como no batch JDBC, os IDs já foram preenchidos quando o commit falha
+            for (AlbumModel album : albuns) {
+                album.setId(proximoId.incrementAndGet());
+            }
+            if (albuns.stream().anyMatch(album -> DUPLICADO.equals(album.getTitulo()))) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            albuns.forEach(album -> gravados.add(album.getId()));
+            return albuns;
+        }
+
+        @Override
+        public AlbumModel salvar(AlbumModel album) {
+            gravacoesSozinhas.incrementAndGet();
+            if (album.getId() != null) {
+                throw new IllegalStateException("Álbum com o ID de um lote desfeito");
+            }
+            if (DUPLICADO.equals(album.getTitulo())) {
+                throw new DataIntegrityViolationException("Duplicate entry");
+            }
+            album.setId(proximoId.incrementAndGet());
+            gravados.add(album.getId());
+            return album;
+        }
+    }
+}
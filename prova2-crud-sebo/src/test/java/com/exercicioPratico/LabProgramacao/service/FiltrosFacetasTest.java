@@ -0,0 +1,135 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.FacetasDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Filtros combinados e facetas da listagem (GET /api/albuns?genero=&anoMin=...&facetas=true)
+ * com um H2 em memória no lugar do MySQL: cada filtro restringe o resultado
+ * com AND, as facetas contam só os álbuns do filtro e intervalos com mínimo
+ * maior que o máximo são recusados.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:filtros;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+class FiltrosFacetasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @BeforeEach
+    void salvarCatalogo() {
+        albumRepository.deleteAllInBatch();
+        albumService.salvarLote(List.of(
+            novoAlbum("Killers", "Iron Maiden", "Metal", 1981, "80.00"),
+            novoAlbum("Powerslave", "Iron Maiden", "Metal", 1984, "120.00"),
+            novoAlbum("Paranoid", "Black Sabbath", "Metal", 1970, "60.00"),
+            novoAlbum("Tropicalia", "Os Mutantes", "MPB", 1968, "50.00"),
+            novoAlbum("Nevermind", "Nirvana", "Rock", 1991, "90.00"),
+            novoAlbum("Clube da Esquina", "Milton Nascimento", "MPB", 1972, "70.00")));
+    }
+
+    @Test
+    void filtrosSaoCombinadosComAnd() {
+        assertEquals(List.of("Paranoid", "Killers", "Powerslave"),
+            titulos(new FiltroAlbuns(null, "metal", null, null, null, null)));
+        assertEquals(List.of("Killers", "Powerslave"),
+            titulos(new FiltroAlbuns(null, "Metal", 1980, null, null, null)));
+        assertEquals(List.of("Paranoid"),
+            titulos(new FiltroAlbuns(null, null, 1970, 1970, null, null)));
+        // Faixa de preço inclusive nas duas pontas
+        assertEquals(List.of("Paranoid", "Killers", "Clube da Esquina", "Nevermind"),
+            titulos(new FiltroAlbuns(null, null, null, null, new BigDecimal("60.00"), new BigDecimal("90.00"))));
+        assertEquals(List.of("Killers"),
+            titulos(new FiltroAlbuns("iron", null, null, null, null, new BigDecimal("100"))));
+        assertTrue(titulos(new FiltroAlbuns("iron", "MPB", null, null, null, null)).isEmpty());
+    }
+
+    @Test
+    void facetasContamSoOsAlbunsDoFiltro() {
+        FacetasDTO todas = albumService.contarFacetas(FiltroAlbuns.vazio());
+        assertEquals(Map.of("Metal", 3L, "MPB", 2L, "Rock", 1L), todas.getPorGenero());
+        assertEquals(Map.of(1960, 1L, 1970, 2L, 1980, 2L, 1990, 1L), todas.getPorDecada());
+
+        FacetasDTO metal = albumService.contarFacetas(new FiltroAlbuns(null, "Metal", null, null, null, null));
+        assertEquals(Map.of("Metal", 3L), metal.getPorGenero());
+        assertEquals(Map.of(1970, 1L, 1980, 2L), metal.getPorDecada());
+
+        FacetasDTO nenhum = albumService.contarFacetas(new FiltroAlbuns(null, null, 2000, null, null, null));
+        assertTrue(nenhum.getPorGenero().isEmpty());
+        assertTrue(nenhum.getPorDecada().isEmpty());
+    }
+
+    @Test
+    void respostaTrazItensTotalEFacetas() throws Exception {
+        mockMvc.perform(get("/api/albuns")
+                .param("genero", "MPB")
+                .param("facetas", "true")
+                .param("total", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.itens.length()").value(2))
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.facetas.porGenero.MPB").value(2))
+            .andExpect(jsonPath("$.facetas.porDecada['1960']").value(1))
+            .andExpect(jsonPath("$.facetas.porDecada['1970']").value(1));
+    }
+
+    @Test
+    void intervaloComMinimoMaiorQueOMaximoERecusado() throws Exception {
+        FiltroAlbuns anos = new FiltroAlbuns(null, null, 1990, 1980, null, null);
+        FiltroAlbuns precos = new FiltroAlbuns(null, null, null, null, new BigDecimal("100"), new BigDecimal("50"));
+        for (FiltroAlbuns invertido : List.of(anos, precos)) {
+            assertThrows(IllegalArgumentException.class, () -> albumService.filtrar(invertido));
+            assertThrows(IllegalArgumentException.class, () -> albumService.contarFacetas(invertido));
+            assertThrows(IllegalArgumentException.class, () -> albumService.listarPagina(invertido, 10, null, false));
+        }
+
+        mockMvc.perform(get("/api/albuns").param("anoMin", "1990").param("anoMax", "1980"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/albuns").param("precoMin", "100").param("precoMax", "50").param("facetas", "true"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private List<String> titulos(FiltroAlbuns filtro) {
+        return albumService.filtrar(filtro).stream().map(AlbumDTO::getTitulo).toList();
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero, int ano, String preco) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(ano);
+        album.setPreco(new BigDecimal(preco));
+        return album;
+    }
+}
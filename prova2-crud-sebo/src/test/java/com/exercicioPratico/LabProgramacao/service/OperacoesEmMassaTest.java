@@ -0,0 +1,147 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Exclusão e reajuste de preço em massa (AlbumService.excluirPorFiltro e
+ * reajustarPrecos) com um H2 em memória no lugar do MySQL e blocos de 5
+ * álbuns: filtro obrigatório, reajuste fora da faixa sem alterar nenhum
+ * preço e quantidades que terminam exatamente no fim de um bloco ou logo depois.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:massa;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "albuns.massa.tamanho-bloco=5"
+})
+class OperacoesEmMassaTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @BeforeEach
+    void limparCatalogo() {
+        albumRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void operacoesEmMassaExigemFiltro() {
+        albumService.salvar(novoAlbum("Killers", "Iron Maiden", "Metal", "40.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> albumService.excluirPorFiltro(FiltroAlbuns.vazio()));
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.reajustarPrecos(FiltroAlbuns.vazio(), new BigDecimal("10"), null, false));
+        assertEquals(1, albumRepository.count());
+        assertEquals(List.of(new BigDecimal("40.00")), precos());
+
+        // todos=true confirma o reajuste do catálogo inteiro
+        assertEquals(1, albumService.reajustarPrecos(FiltroAlbuns.vazio(), new BigDecimal("10"), null, true));
+        assertEquals(List.of(new BigDecimal("44.00")), precos());
+    }
+
+    @Test
+    void reajusteForaDaFaixaNaoAlteraNenhumPreco() {
+        albumService.salvarLote(List.of(
+            novoAlbum("Killers", "Iron Maiden", "Metal", "40.00"),
+            novoAlbum("Box Set", "Iron Maiden", "Metal", "990.00")));
+        FiltroAlbuns metal = new FiltroAlbuns(null, "Metal", null, null, null, null);
+
+        // 990.00 + 5% = 1039.50: nenhum dos dois é reajustado
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.reajustarPrecos(metal, new BigDecimal("5"), null, false));
+        // -100% deixaria preço 0.00 e +10.00 deixaria exatamente 1000.00: extremos fora da faixa
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.reajustarPrecos(metal, new BigDecimal("-100"), null, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.reajustarPrecos(metal, null, new BigDecimal("10.00"), false));
+        assertEquals(List.of(new BigDecimal("40.00"), new BigDecimal("990.00")), precos());
+
+        assertEquals(2, albumService.reajustarPrecos(metal, null, new BigDecimal("9.99"), false));
+        assertEquals(List.of(new BigDecimal("49.99"), new BigDecimal("999.99")), precos());
+    }
+
+    @Test
+    void reajusteEmBlocosAtingeTodosOsAlbunsDoFiltro() {
+        // 10 álbuns de Metal: o segundo bloco termina exatamente no último
+        salvarCatalogo(10, 3);
+        FiltroAlbuns metal = new FiltroAlbuns(null, "Metal", null, null, null, null);
+        assertEquals(10, albumService.reajustarPrecos(metal, new BigDecimal("-10"), null, false));
+        assertEquals(Map.of("Metal", List.of(new BigDecimal("36.00")), "Rock", List.of(new BigDecimal("40.00"))),
+            precosPorGenero());
+
+        // Mais um álbum: o terceiro bloco tem um só
+        albumService.salvar(novoAlbum("Álbum extra", "Iron Maiden", "Metal", "36.00"));
+        assertEquals(11, albumService.reajustarPrecos(metal, null, new BigDecimal("4.00"), false));
+        assertEquals(Map.of("Metal", List.of(new BigDecimal("40.00")), "Rock", List.of(new BigDecimal("40.00"))),
+            precosPorGenero());
+    }
+
+    @Test
+    void exclusaoEmBlocosAtingeTodosOsAlbunsDoFiltro() {
+        // 10 álbuns de Metal: o segundo bloco termina exatamente no último
+        salvarCatalogo(10, 3);
+        assertEquals(10, albumService.excluirPorFiltro(new FiltroAlbuns(null, "Metal", null, null, null, null)));
+        assertEquals(3, albumRepository.count());
+
+        // 11 álbuns de Rock com ano 1980 (3 já existiam): o terceiro bloco tem um só
+        salvarCatalogo(0, 8);
+        assertEquals(11, albumService.excluirPorFiltro(new FiltroAlbuns(null, "Rock", 1980, 1980, null, null)));
+        assertEquals(0, albumRepository.count());
+    }
+
+    private void salvarCatalogo(int metal, int rock) {
+        List<AlbumModel> lote = new ArrayList<>();
+        for (int i = 0; i < metal; i++) {
+            lote.add(novoAlbum("Metal " + i, "Iron Maiden", "Metal", "40.00"));
+        }
+        for (int i = 0; i < rock; i++) {
+            lote.add(novoAlbum("Rock " + i, "Os Mutantes", "Rock", "40.00"));
+        }
+        albumService.salvarLote(lote);
+    }
+
+    private List<BigDecimal> precos() {
+        return albumRepository.findAll().stream()
+            .map(AlbumModel::getPreco)
+            .sorted()
+            .toList();
+    }
+
+    /**
+     * Preços distintos de cada gênero.
+     */
+    private Map<String, List<BigDecimal>> precosPorGenero() {
+        return albumRepository.findAll().stream()
+            .collect(Collectors.groupingBy(AlbumModel::getGenero,
+                Collectors.mapping(AlbumModel::getPreco, Collectors.collectingAndThen(Collectors.toSet(),
+                    distintos -> distintos.stream().sorted().toList()))));
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero, String preco) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(1980);
+        album.setPreco(new BigDecimal(preco));
+        return album;
+    }
+}
@@ -0,0 +1,179 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Paginação por cursor (AlbumService.listarPagina) com um H2 em memória no
+ * lugar do MySQL: páginas seguidas cobrem o filtro em ordem de (banda, id)
+ * sem repetir nem pular álbuns, inclusive com escritas entre as páginas, e
+ * limites e cursores inválidos são recusados.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:paginacao;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class PaginacaoCursorTest {
+
+    private static final String[] BANDAS = {"Rush", "Kiss", "Yes", "Kiss", "Queen"};
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @BeforeEach
+    void limparCatalogo() {
+        albumRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void paginasSeguidasCobremOCatalogoEmOrdem() {
+        // Bandas repetidas: o id desempata álbuns da mesma banda entre uma página e outra
+        salvarCatalogo(23);
+
+        List<PaginaAlbuns> paginas = percorrer(FiltroAlbuns.vazio(), 5);
+        assertEquals(5, paginas.size());
+        assertEquals(List.of(5, 5, 5, 5, 3), paginas.stream().map(pagina -> pagina.albuns().size()).toList());
+        assertEquals(idsEsperados(""), idsDasPaginas(paginas));
+    }
+
+    @Test
+    void ultimaPaginaCheiaNaoTemProximoCursor() {
+        salvarCatalogo(10);
+
+        PaginaAlbuns primeira = albumService.listarPagina(FiltroAlbuns.vazio(), 5, null, true);
+        assertNotNull(primeira.proximoCursor());
+        assertEquals(10L, primeira.total());
+
+        PaginaAlbuns segunda = albumService.listarPagina(FiltroAlbuns.vazio(), 5, primeira.proximoCursor(), false);
+        assertEquals(5, segunda.albuns().size());
+        assertNull(segunda.proximoCursor());
+        assertNull(segunda.total());
+    }
+
+    @Test
+    void escritasEntreAsPaginasNaoRepetemNemPulamAlbuns() {
+        salvarCatalogo(10);
+        PaginaAlbuns primeira = albumService.listarPagina(FiltroAlbuns.vazio(), 4, null, false);
+        List<Long> vistos = new ArrayList<>(idsEmOrdem(primeira.albuns()));
+
+        // Um álbum antes do cursor e um depois; um da primeira página é excluído
+        albumService.salvar(novoAlbum("Antes", "Aerosmith", "Rock"));
+        AlbumModel depois = albumService.salvar(novoAlbum("Depois", "ZZ Top", "Rock"));
+        albumService.excluir(vistos.get(0));
+
+        String cursor = primeira.proximoCursor();
+        while (cursor != null) {
+            PaginaAlbuns pagina = albumService.listarPagina(FiltroAlbuns.vazio(), 4, cursor, false);
+            vistos.addAll(idsEmOrdem(pagina.albuns()));
+            cursor = pagina.proximoCursor();
+        }
+
+        // Os 10 álbuns originais uma vez cada, mais o gravado depois do cursor
+        assertEquals(11, vistos.size());
+        assertEquals(11, vistos.stream().distinct().count());
+        assertEquals(depois.getId(), vistos.get(vistos.size() - 1));
+    }
+
+    @Test
+    void cursorSegueOFiltro() {
+        salvarCatalogo(12);
+        FiltroAlbuns kiss = new FiltroAlbuns("kiss", null, null, null, null, null);
+
+        List<PaginaAlbuns> paginas = percorrer(kiss, 2);
+        assertEquals(idsEsperados("Kiss"), idsDasPaginas(paginas));
+        assertEquals(List.of(2, 2, 1), paginas.stream().map(pagina -> pagina.albuns().size()).toList());
+    }
+
+    @Test
+    void limiteECursorInvalidosSaoRecusados() {
+        salvarCatalogo(3);
+        FiltroAlbuns vazio = FiltroAlbuns.vazio();
+
+        assertThrows(IllegalArgumentException.class, () -> albumService.listarPagina(vazio, 0, null, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.listarPagina(vazio, AlbumService.LIMITE_MAXIMO_PAGINA + 1, null, false));
+        assertEquals(3, albumService.listarPagina(vazio, AlbumService.LIMITE_MAXIMO_PAGINA, null, false)
+            .albuns().size());
+        assertEquals(1, albumService.listarPagina(vazio, 1, null, false).albuns().size());
+
+        assertThrows(IllegalArgumentException.class, () -> albumService.listarPagina(vazio, 5, "!!!", false));
+        // Base64 de "sem-separador"
+        assertThrows(IllegalArgumentException.class,
+            () -> albumService.listarPagina(vazio, 5, "c2VtLXNlcGFyYWRvcg", false));
+    }
+
+    private List<PaginaAlbuns> percorrer(FiltroAlbuns filtro, int limite) {
+        List<PaginaAlbuns> paginas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaAlbuns pagina = albumService.listarPagina(filtro, limite, cursor, false);
+            paginas.add(pagina);
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return paginas;
+    }
+
+    /**
+     * IDs dos álbuns cuja banda contém o texto, ordenados por (banda, id) aqui no teste.
+     */
+    private List<Long> idsEsperados(String banda) {
+        return albumRepository.findAll().stream()
+            .filter(album -> album.getBanda().contains(banda))
+            .sorted(Comparator.comparing(AlbumModel::getBanda).thenComparing(AlbumModel::getId))
+            .map(AlbumModel::getId)
+            .toList();
+    }
+
+    private static List<Long> idsDasPaginas(List<PaginaAlbuns> paginas) {
+        return paginas.stream().flatMap(pagina -> idsEmOrdem(pagina.albuns()).stream()).toList();
+    }
+
+    /**
+     * IDs na ordem recebida, conferindo que a lista está ordenada por (banda, id).
+     */
+    private static List<Long> idsEmOrdem(List<AlbumDTO> albuns) {
+        List<AlbumDTO> ordenados = albuns.stream()
+            .sorted(Comparator.comparing(AlbumDTO::getBanda).thenComparing(AlbumDTO::getId))
+            .toList();
+        assertEquals(ordenados, albuns);
+        return albuns.stream().map(AlbumDTO::getId).toList();
+    }
+
+    private void salvarCatalogo(int quantidade) {
+        List<AlbumModel> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(novoAlbum("Álbum " + i, BANDAS[i % BANDAS.length], "Rock"));
+        }
+        albumService.salvarLote(lote);
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(1980);
+        album.setPreco(new BigDecimal("40.00"));
+        return album;
+    }
+}
@@ -0,0 +1,175 @@
+package com.exercicioPratico.LabProgramacao.service;
+
+import com.exercicioPratico.LabProgramacao.dto.AlbumDTO;
+import com.exercicioPratico.LabProgramacao.dto.AlteracoesDTO;
+import com.exercicioPratico.LabProgramacao.dto.AtualizacaoParcialDTO;
+import com.exercicioPratico.LabProgramacao.model.AlbumModel;
+import com.exercicioPratico.LabProgramacao.repositories.AlbumRepository;
+import com.exercicioPratico.LabProgramacao.repositories.AlteracoesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sincronização incremental (AlbumService.listarAlteracoes) com um H2 em
+ * memória no lugar do MySQL: depois de cada tipo de escrita, a resposta
+ * traz só os álbuns alterados e os excluídos desde o token, e não passa
+ * de uma escrita ainda em andamento.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:alteracoes;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class SincronizacaoIncrementalTest {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private CompactacaoExclusoes compactacao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AlteracoesRepository alteracoesRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void devolveSoAsAlteracoesDesdeOToken() {
+        List<AlbumModel> lote = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lote.add(novoAlbum("Álbum " + i, i < 5 ? "Iron Maiden" : "Os Mutantes", i < 5 ? "Metal" : "MPB"));
+        }
+        albumService.salvarLote(lote);
+
+        // Primeira sincronização: catálogo completo
+        AlteracoesDTO inicial = albumService.listarAlteracoes(null);
+        assertTrue(inicial.isCompleto());
+        assertEquals(albumRepository.count(), inicial.getAlterados().size());
+
+        // Sem escritas desde o token: nada novo, mesmo token
+        AlteracoesDTO vazia = albumService.listarAlteracoes(inicial.getToken());
+        assertFalse(vazia.isCompleto());
+        assertTrue(vazia.getAlterados().isEmpty());
+        assertTrue(vazia.getExcluidos().isEmpty());
+        assertEquals(inicial.getToken(), vazia.getToken());
+
+        // Uma escrita de cada tipo
+        AlbumModel novo = albumService.salvar(novoAlbum("Novo", "Arnaldo Baptista", "MPB"));
+        AlbumModel trocado = lote.get(1);
+        trocado.setTitulo("Trocado");
+        albumService.salvar(trocado);
+        AtualizacaoParcialDTO patch = new AtualizacaoParcialDTO();
+        patch.setPreco(new BigDecimal("12.34"));
+        albumService.atualizarParcial(lote.get(2).getId(), patch);
+        albumService.excluir(lote.get(3).getId());
+        albumService.reajustarPrecos(new FiltroAlbuns(null, "MPB", null, null, null, null),
+            null, BigDecimal.ONE, false);
+        albumService.excluirPorFiltro(new FiltroAlbuns("mutantes", null, 1990, 1990, null, null));
+
+        AlteracoesDTO alteracoes = albumService.listarAlteracoes(inicial.getToken());
+        assertFalse(alteracoes.isCompleto());
+        // Os álbuns MPB aparecem uma vez só, com o preço reajustado (última escrita)
+        List<Long> esperados = new ArrayList<>(List.of(lote.get(1).getId(), lote.get(2).getId()));
+        albumRepository.findAll().stream()
+            .filter(album -> "MPB".equals(album.getGenero()))
+            .forEach(album -> esperados.add(album.getId()));
+        assertEquals(esperados.stream().sorted().toList(), ids(alteracoes.getAlterados()).stream().sorted().toList());
+        assertEquals(new BigDecimal("51.00"), alteracoes.getAlterados().stream()
+            .filter(album -> album.getId().equals(novo.getId())).findFirst().orElseThrow().getPreco());
+        List<Long> excluidos = new ArrayList<>(List.of(lote.get(3).getId()));
+        lote.subList(5, 10).forEach(album -> excluidos.add(album.getId()));
+        assertEquals(excluidos, alteracoes.getExcluidos());
+
+        // Ao compactar o registro de exclusões, o token antigo passa a receber o catálogo completo
+        AlteracoesDTO atual = albumService.listarAlteracoes(alteracoes.getToken());
+        assertTrue(atual.getAlterados().isEmpty());
+        jdbcTemplate.update("UPDATE albuns_excluidos SET excluido_em = ?",
+            Timestamp.from(Instant.now().minus(365, ChronoUnit.DAYS)));
+        assertEquals(6, compactacao.compactar());
+
+        AlteracoesDTO expirada = albumService.listarAlteracoes(inicial.getToken());
+        assertTrue(expirada.isCompleto());
+        assertEquals(albumRepository.count(), expirada.getAlterados().size());
+        // O token posterior às exclusões descartadas continua incremental
+        assertFalse(albumService.listarAlteracoes(alteracoes.getToken()).isCompleto());
+
+        assertThrows(IllegalArgumentException.class, () -> albumService.listarAlteracoes("nao-e-um-token"));
+    }
+
+    @Test
+    void escritaEmAndamentoSeguraAPosicao() throws Exception {
+        albumService.salvar(novoAlbum("Krig-ha, Bandolo!", "Raul Seixas", "Rock"));
+        String token = albumService.listarAlteracoes(null).getToken();
+
+        // Um 404 não pede número à sequência
+        Integer registros = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alteracoes", Integer.class);
+        assertThrows(RuntimeException.class, () -> albumService.excluir(Long.MAX_VALUE));
+        assertEquals(registros, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alteracoes", Integer.class));
+
+        // Escrita com número menor ainda sem commit, enquanto uma posterior confirma
+        CountDownLatch reservado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> emAndamento = CompletableFuture.runAsync(() ->
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                alteracoesRepository.proxima();
+                reservado.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        assertTrue(reservado.await(5, TimeUnit.SECONDS));
+        AlbumModel posterior = albumService.salvar(novoAlbum("Gita", "Raul Seixas", "Rock"));
+
+        AlteracoesDTO parada = albumService.listarAlteracoes(token);
+        assertTrue(parada.getAlterados().isEmpty());
+        assertEquals(token, parada.getToken());
+
+        liberar.countDown();
+        emAndamento.get(5, TimeUnit.SECONDS);
+        AlteracoesDTO liberada = albumService.listarAlteracoes(token);
+        assertEquals(List.of(posterior.getId()), ids(liberada.getAlterados()));
+    }
+
+    private static List<Long> ids(List<AlbumDTO> albuns) {
+        return albuns.stream().map(AlbumDTO::getId).toList();
+    }
+
+    private static AlbumModel novoAlbum(String titulo, String banda, String genero) {
+        AlbumModel album = new AlbumModel();
+        album.setTitulo(titulo);
+        album.setBanda(banda);
+        album.setGenero(genero);
+        album.setAno(1990);
+        album.setPreco(new BigDecimal("50.00"));
+        return album;
+    }
+}